@@ -0,0 +1,79 @@
+package com.edreams.travelrecommender.bundle;
+
+import com.edreams.travelrecommender.model.ActivityRecommendation;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import com.edreams.travelrecommender.model.PackageRecommendation;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one package query over a destination with thousands of flights, hundreds of
+ * hotels and a couple of hundred activities.
+ *
+ * <p>The latency budget is set far above the expected time, so the reported time is that of
+ * a complete branch-and-bound search on the common fork-join pool.</p>
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=PackageBuilder}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class PackageBuilderBenchmark {
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"2000"})
+    public int flights;
+
+    @Param({"500"})
+    public int hotels;
+
+    @Param({"200"})
+    public int activities;
+
+    @Param({"2", "4"})
+    public int maximumActivities;
+
+    private PackageBuilder builder;
+    private PackageQuery query;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<FlightRecommendation> flightList = new ArrayList<>(flights);
+        for (int i = 0; i < flights; i++) {
+            LocalDateTime departure = DAY.plusMinutes(random.nextInt(2 * 24 * 60));
+            flightList.add(new FlightRecommendation("F" + i, "Flight " + i, "Scheduled service", random.nextDouble(),
+                "JFK", "CDG", departure, departure.plusHours(8), "Airline " + random.nextInt(20), true, List.of(),
+                100 + random.nextInt(1_500)));
+        }
+        List<HotelRecommendation> hotelList = new ArrayList<>(hotels);
+        for (int i = 0; i < hotels; i++) {
+            hotelList.add(new HotelRecommendation("H" + i, "Hotel " + i, "City hotel", random.nextDouble(),
+                "Hotel " + i, 1 + random.nextInt(5), "Paris, France", List.of(), 50 + random.nextInt(400),
+                random.nextDouble() * 10, true));
+        }
+        List<ActivityRecommendation> activityList = new ArrayList<>(activities);
+        for (int i = 0; i < activities; i++) {
+            activityList.add(new ActivityRecommendation("A" + i, "Activity " + i, "City activity",
+                random.nextDouble(), "Activity " + i, "Paris, France", Duration.ofHours(2), List.of("Cultural"),
+                false, 5 + random.nextInt(300), 0));
+        }
+        builder = PackageBuilder.of(flightList, hotelList, activityList);
+        query = new PackageQuery("JFK", "CDG", "Paris, France", DAY, DAY.plusDays(2), 2_500, maximumActivities);
+    }
+
+    @Benchmark
+    public List<PackageRecommendation> tenBest() {
+        return builder.build(query, 10, Duration.ofSeconds(10));
+    }
+}
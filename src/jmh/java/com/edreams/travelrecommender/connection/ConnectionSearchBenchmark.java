@@ -0,0 +1,70 @@
+package com.edreams.travelrecommender.connection;
+
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one connection query over a day of direct legs between a few hundred airports.
+ *
+ * <p>Each invocation searches a different origin/destination pair from a fixed rotation,
+ * so the reported time is the average cost of one query. The target is under 5 ms with
+ * {@code legs = 100000}.</p>
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=ConnectionSearch}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class ConnectionSearchBenchmark {
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"100000"})
+    public int legs;
+
+    @Param({"300"})
+    public int airports;
+
+    @Param({"PRICE", "DURATION"})
+    public ItineraryOrder order;
+
+    private ConnectionSearch search;
+    private String[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<FlightRecommendation> flights = new ArrayList<>(legs);
+        for (int i = 0; i < legs; i++) {
+            int from = random.nextInt(airports);
+            int to = (from + 1 + random.nextInt(airports - 1)) % airports;
+            LocalDateTime departure = DAY.plusMinutes(random.nextInt(24 * 60));
+            flights.add(new FlightRecommendation("F" + i, "Flight " + i, "Scheduled service", random.nextDouble(),
+                "A" + from, "A" + to, departure, departure.plusMinutes(45 + random.nextInt(720)),
+                "Airline " + random.nextInt(20), true, List.of(), 20 + random.nextInt(1_500)));
+        }
+        search = ConnectionSearch.of(flights, Duration.ofMinutes(45), Duration.ofHours(6), 3);
+        queries = new String[64][];
+        for (int i = 0; i < queries.length; i++) {
+            int from = random.nextInt(airports);
+            int to = (from + 1 + random.nextInt(airports - 1)) % airports;
+            queries[i] = new String[] {"A" + from, "A" + to};
+        }
+    }
+
+    @Benchmark
+    public List<Itinerary> tenBest() {
+        String[] query = queries[next++ & (queries.length - 1)];
+        return search.search(query[0], query[1], DAY.withHour(6), DAY.withHour(12), 10, order);
+    }
+}
@@ -0,0 +1,102 @@
+package com.edreams.travelrecommender.json;
+
+import com.edreams.travelrecommender.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures line-delimited JSON throughput over a feed of one million mixed flights,
+ * hotels and activities. Each invocation processes the whole feed, so the reported
+ * time per operation divided by {@code records} is the cost per record.
+ *
+ * <p>{@code readHeap} and {@code readDirect} parse the same bytes from a heap array and
+ * from a direct buffer, as a memory-mapped feed file would provide. {@code write}
+ * serializes the feed to a stream that discards its input.</p>
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=JsonFeed}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector", "-Xmx4g"})
+public class JsonFeedBenchmark {
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Param({"1000000"})
+    public int records;
+
+    private List<Recommendation> feed;
+    private byte[] heapBytes;
+    private ByteBuffer directBytes;
+    private RecommendationJsonReader reader;
+    private RecommendationJsonWriter writer;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        String[] airports = {"JFK", "LAX", "CDG", "LHR", "NRT", "BCN", "FCO", "SYD"};
+        String[] cities = {"Paris", "London", "Tokyo", "Barcelona", "Rome", "Sydney"};
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        feed = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            String city = cities[random.nextInt(cities.length)];
+            feed.add(switch (i % 3) {
+                case 0 -> {
+                    LocalDateTime departure = base.plusMinutes(random.nextInt(500_000));
+                    yield new FlightRecommendation("F" + i, "Flight " + i, "Scheduled service", random.nextDouble(),
+                        airports[random.nextInt(airports.length)], airports[random.nextInt(airports.length)],
+                        departure, departure.plusMinutes(60 + random.nextInt(900)), "Airline " + random.nextInt(20),
+                        random.nextBoolean(), List.of("Wi-Fi", "Meals"), Math.round(random.nextDouble() * 150_000) / 100.0);
+                }
+                case 1 -> new HotelRecommendation("H" + i, "Hotel " + i, "City hotel", random.nextDouble(),
+                    "Hotel " + i, 1 + random.nextInt(5), city, List.of("Wi-Fi", "Pool", "Spa"),
+                    Math.round(random.nextDouble() * 50_000) / 100.0, random.nextDouble() * 10, random.nextBoolean());
+                default -> new ActivityRecommendation("A" + i, "Activity " + i, "Guided tour", random.nextDouble(),
+                    "Tour " + i, city, Duration.ofMinutes(30 + random.nextInt(300)), List.of("Cultural"),
+                    random.nextBoolean(), Math.round(random.nextDouble() * 20_000) / 100.0, random.nextInt(18));
+            });
+        }
+        reader = new RecommendationJsonReader();
+        writer = new RecommendationJsonWriter();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeLines(feed, out);
+        heapBytes = out.toByteArray();
+        directBytes = ByteBuffer.allocateDirect(heapBytes.length).put(heapBytes).flip();
+    }
+
+    @Benchmark
+    public void readHeap(Blackhole blackhole) {
+        reader.forEachLine(ByteBuffer.wrap(heapBytes), blackhole::consume);
+    }
+
+    @Benchmark
+    public void readDirect(Blackhole blackhole) {
+        reader.forEachLine(directBytes.duplicate(), blackhole::consume);
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        return writer.writeLines(feed, DISCARD);
+    }
+}
@@ -0,0 +1,84 @@
+package com.edreams.travelrecommender.render;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code RecommendationService.describeRecommendation} with {@link RecommendationRenderer}.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=DescribeRecommendation}.
+ * Add {@code -prof gc} to the JMH arguments to compare allocation per operation.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class DescribeRecommendationBenchmark {
+    private static final int BATCH = 1024;
+
+    private List<Recommendation> recommendations;
+    private RecommendationRenderer renderer;
+    private StringBuilder reusable;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        recommendations = new ArrayList<>(BATCH);
+        while (recommendations.size() < BATCH) {
+            int i = recommendations.size();
+            var flight = new FlightRecommendation(
+                "F" + i, "Flight " + i, "desc", 0.8, "JFK", "CDG",
+                LocalDateTime.of(2024, 5, 1, 8, 0), LocalDateTime.of(2024, 5, 1, 20, 15),
+                "Air France", random.nextBoolean(), List.of("Wi-Fi"), 100 + random.nextDouble() * 900);
+            var hotel = new HotelRecommendation(
+                "H" + i, "Hotel " + i, "desc", 0.8, "Grand Hotel", 1 + random.nextInt(5),
+                "Paris", List.of("Pool"), 50 + random.nextDouble() * 400, 1.2, true);
+            var activity = new ActivityRecommendation(
+                "A" + i, "Activity " + i, "desc", 0.8, "Louvre Tour", "Paris",
+                Duration.ofMinutes(30 + random.nextInt(300)), List.of("Museum"), true,
+                10 + random.nextDouble() * 90, 0);
+            var pkg = new PackageRecommendation(
+                "P" + i, "Weekend " + i, "desc", 0.8, flight, hotel, List.of(activity),
+                0.1, 500 + random.nextDouble() * 1000);
+            recommendations.addAll(List.of(flight, hotel, activity, pkg));
+        }
+        renderer = RecommendationRenderer.create();
+        reusable = new StringBuilder(256);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void stringFormat(Blackhole blackhole) {
+        for (Recommendation rec : recommendations) {
+            blackhole.consume(RecommendationService.describeRecommendation(rec));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void rendererToString(Blackhole blackhole) {
+        for (Recommendation rec : recommendations) {
+            blackhole.consume(renderer.describe(rec));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void rendererReusedBuilder(Blackhole blackhole) {
+        for (Recommendation rec : recommendations) {
+            reusable.setLength(0);
+            blackhole.consume(renderer.render(rec, reusable).length());
+        }
+    }
+}
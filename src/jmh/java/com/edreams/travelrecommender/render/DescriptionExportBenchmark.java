@@ -0,0 +1,87 @@
+package com.edreams.travelrecommender.render;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares concatenating descriptions and encoding them at the end with streaming them
+ * through {@link DescriptionExporter}. Both variants write to a channel that discards its
+ * input, so only rendering and encoding are measured.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=DescriptionExport}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class DescriptionExportBenchmark {
+    private static final WritableByteChannel DISCARD = new WritableByteChannel() {
+        @Override
+        public int write(ByteBuffer source) {
+            int bytes = source.remaining();
+            source.position(source.limit());
+            return bytes;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Param({"100000"})
+    public int records;
+
+    private List<Recommendation> recommendations;
+    private DescriptionExporter exporter;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        recommendations = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            if (random.nextBoolean()) {
+                recommendations.add(new HotelRecommendation(
+                    "H" + i, "Hotel " + i, "desc", 0.8, "Grand Hotel " + i, 1 + random.nextInt(5),
+                    "Paris", List.of(), 50 + random.nextDouble() * 400, 1.2, true));
+            } else {
+                recommendations.add(new ActivityRecommendation(
+                    "A" + i, "Activity " + i, "desc", 0.8, "Tour " + i, "Paris",
+                    Duration.ofMinutes(30 + random.nextInt(300)), List.of(), true,
+                    10 + random.nextDouble() * 90, 0));
+            }
+        }
+        exporter = new DescriptionExporter(RecommendationRenderer.create(), 1 << 16);
+    }
+
+    @Benchmark
+    public long concatenateThenEncode() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Recommendation rec : recommendations) {
+            text.append(RecommendationService.describeRecommendation(rec)).append('\n');
+        }
+        return DISCARD.write(ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public long streamingExport() throws IOException {
+        return exporter.export(recommendations, DISCARD);
+    }
+}
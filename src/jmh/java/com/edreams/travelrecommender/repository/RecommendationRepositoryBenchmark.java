@@ -0,0 +1,84 @@
+package com.edreams.travelrecommender.repository;
+
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import com.edreams.travelrecommender.model.Recommendation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a mixed workload of 95% lookups and 5% single-record updates on 32 threads.
+ *
+ * <p>{@code repository} runs the mix against {@link RecommendationRepository};
+ * {@code synchronizedMap} runs it against a {@code Collections.synchronizedMap} of a
+ * {@code HashMap}, where every read waits for every write. Throughput is reported per
+ * operation across all threads.</p>
+ *
+ * <p>Every id has two versions that differ in price, and each write stores one of them
+ * at random. Half the writes therefore replace the stored record, so the repository
+ * really updates its type index instead of seeing the instance it already holds.</p>
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=RecommendationRepository}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(32)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class RecommendationRepositoryBenchmark {
+    /** Out of 100 operations, how many are writes. */
+    private static final int WRITE_PERCENT = 5;
+
+    @Param({"100000"})
+    public int records;
+
+    private String[] ids;
+    /** Two versions per id: {@code versions[row][0]} and a repriced {@code versions[row][1]}. */
+    private HotelRecommendation[][] versions;
+    private RecommendationRepository repository;
+    private Map<String, Recommendation> synchronizedMap;
+
+    @Setup
+    public void setUp() {
+        ids = new String[records];
+        versions = new HotelRecommendation[records][2];
+        repository = new RecommendationRepository();
+        synchronizedMap = Collections.synchronizedMap(new HashMap<>());
+        for (int i = 0; i < records; i++) {
+            ids[i] = "H" + i;
+            for (int v = 0; v < 2; v++) {
+                versions[i][v] = new HotelRecommendation(ids[i], "Hotel " + i, "City hotel", 0.5, "Hotel " + i,
+                    1 + i % 5, "City " + i % 100, List.of(), 50 + i % 400 + v, 1.0, true);
+            }
+            repository.put(versions[i][0]);
+            synchronizedMap.put(ids[i], versions[i][0]);
+        }
+    }
+
+    @Benchmark
+    public Object repository() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int row = random.nextInt(records);
+        if (random.nextInt(100) < WRITE_PERCENT) {
+            return repository.put(versions[row][random.nextInt(2)]);
+        }
+        return repository.findById(ids[row]);
+    }
+
+    @Benchmark
+    public Object synchronizedMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int row = random.nextInt(records);
+        if (random.nextInt(100) < WRITE_PERCENT) {
+            return synchronizedMap.put(ids[row], versions[row][random.nextInt(2)]);
+        }
+        return synchronizedMap.get(ids[row]);
+    }
+}
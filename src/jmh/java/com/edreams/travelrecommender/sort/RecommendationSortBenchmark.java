@@ -0,0 +1,69 @@
+package com.edreams.travelrecommender.sort;
+
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sorting hotels by stars descending then price ascending with a chained
+ * comparator and with the primitive radix sort.
+ *
+ * <p>The comparator sort calls two accessors per comparison; the radix sort reads each key
+ * once. {@code parallelRadix} only differs from {@code radix} on machines with several
+ * cores.</p>
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=RecommendationSort}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class RecommendationSortBenchmark {
+    private static final Comparator<HotelRecommendation> STARS_THEN_PRICE = Comparator
+        .comparingInt(HotelRecommendation::starRating).reversed()
+        .thenComparingDouble(HotelRecommendation::pricePerNight);
+    private static final SortKey<HotelRecommendation> STARS = SortKey.descending(HotelRecommendation::starRating);
+    private static final SortKey<HotelRecommendation> PRICE = SortKey.ascending(HotelRecommendation::pricePerNight);
+
+    @Param({"100000", "1000000", "4000000"})
+    public int size;
+
+    private List<HotelRecommendation> hotels;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        hotels = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hotels.add(new HotelRecommendation("H" + i, "Hotel " + i, "City hotel", random.nextDouble(),
+                "Hotel " + i, 1 + random.nextInt(5), "City " + random.nextInt(100), List.of(),
+                50 + random.nextDouble() * 400, random.nextDouble() * 10, true));
+        }
+        Collections.shuffle(hotels, random);
+    }
+
+    @Benchmark
+    public List<HotelRecommendation> comparator() {
+        List<HotelRecommendation> sorted = new ArrayList<>(hotels);
+        sorted.sort(STARS_THEN_PRICE);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<HotelRecommendation> radix() {
+        return RecommendationSort.sort(hotels, STARS, PRICE);
+    }
+
+    @Benchmark
+    public List<HotelRecommendation> parallelRadix() {
+        return RecommendationSort.parallelSort(hotels, STARS, PRICE);
+    }
+}
@@ -0,0 +1,98 @@
+package com.edreams.travelrecommender;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list that presents several source lists as one, without copying elements.
+ *
+ * <p>A prefix-sum table records where each source list starts in the combined index
+ * space, so {@link #get(int)} finds the owning list with a binary search over the
+ * table and then delegates to it. The table is built from the source sizes at creation
+ * time; the sources must not be structurally modified while the view is in use.</p>
+ *
+ * <p>Empty source lists are dropped when the view is created, so every table entry
+ * is strictly greater than the previous one.</p>
+ *
+ * @param <T> the common element type of the source lists
+ * @see RecommendationService#combineRecommendationsView(List[])
+ */
+final class ConcatenatedListView<T> extends AbstractList<T> implements RandomAccess {
+    private final List<? extends T>[] parts;
+    private final int[] offsets;
+    private final int size;
+
+    @SafeVarargs
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ConcatenatedListView(List<? extends T>... lists) {
+        List<List<? extends T>> nonEmpty = new ArrayList<>(lists.length);
+        for (List<? extends T> list : lists) {
+            if (!list.isEmpty()) {
+                nonEmpty.add(list);
+            }
+        }
+        this.parts = nonEmpty.toArray(new List[0]);
+        this.offsets = new int[parts.length];
+        long total = 0;
+        for (int i = 0; i < parts.length; i++) {
+            offsets[i] = (int) total;
+            total += parts[i].size();
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Combined size exceeds Integer.MAX_VALUE: " + total);
+        }
+        this.size = (int) total;
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        // Exact hit returns the list that starts at index; otherwise the one before the insertion point
+        int part = Arrays.binarySearch(offsets, index);
+        if (part < 0) {
+            part = -part - 2;
+        }
+        return parts[part].get(index - offsets[part]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Walks each source list with its own iterator, so iteration stays linear even
+     * when a source is not {@link RandomAccess}.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int part = 0;
+            private Iterator<? extends T> current = parts.length > 0 ? parts[0].iterator() : null;
+
+            @Override
+            public boolean hasNext() {
+                while (current != null && !current.hasNext()) {
+                    part++;
+                    current = part < parts.length ? parts[part].iterator() : null;
+                }
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+}
@@ -1,8 +1,12 @@
 package com.edreams.travelrecommender;
 
+import com.edreams.travelrecommender.index.ConfidenceIndex;
 import com.edreams.travelrecommender.model.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 /**
@@ -94,7 +98,97 @@ public class RecommendationService {
                 .filter(predicate)
                 .collect(Collectors.toList());
     }
-    
+
+    /**
+     * Default number of elements below which parallel filtering falls back to the
+     * sequential path.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 8_192;
+
+    /**
+     * Filters a list of recommendations in parallel on a dedicated fork-join pool.
+     *
+     * <p>This is the parallel counterpart of {@link #filterByPredicate}, using
+     * {@link #DEFAULT_PARALLEL_THRESHOLD} as the split threshold and a pool owned by this
+     * class rather than {@link ForkJoinPool#commonPool()}, so long filters do not starve
+     * parallel streams elsewhere in the application.</p>
+     *
+     * @param <T> the type parameter for recommendations, bounded by the Recommendation interface
+     * @param recommendations the source list of recommendations to filter (producer of T)
+     * @param predicate a thread-safe condition to test each recommendation against (consumer of T)
+     * @return a new list containing only the matching recommendations, in encounter order
+     * @see #filterByPredicateParallel(List, Predicate, int, ForkJoinPool)
+     */
+    public static <T extends Recommendation> List<T> filterByPredicateParallel(
+            List<? extends T> recommendations,
+            Predicate<? super T> predicate) {
+        return filterByPredicateParallel(recommendations, predicate,
+                DEFAULT_PARALLEL_THRESHOLD, ParallelPool.INSTANCE);
+    }
+
+    /**
+     * Filters a list of recommendations in parallel with an explicit split threshold and pool.
+     *
+     * <p>The list is split recursively until each range holds at most {@code splitThreshold}
+     * elements. Every leaf task tests its own range and marks matches in a shared flag array
+     * (each index is written by exactly one task), then a final sequential pass copies the
+     * marked elements into a list presized to the exact match count. The result therefore
+     * keeps the encounter order of the source list, and the predicate runs exactly once
+     * per element.</p>
+     *
+     * <p>Lists no larger than {@code splitThreshold} are filtered sequentially with
+     * {@link #filterByPredicate}, because forking would cost more than it saves.</p>
+     *
+     * <h3>OCP Java 21 Feature: Fork/Join Framework</h3>
+     * <p>{@link RecursiveTask} splits work into subtasks with {@code fork()} and combines
+     * their results with {@code join()}. Calling {@code compute()} on one half directly,
+     * instead of forking both halves, keeps the current worker thread busy.</p>
+     *
+     * <p>Usage example:</p>
+     * <pre>{@code
+     * ForkJoinPool searchPool = new ForkJoinPool(8);
+     * List<HotelRecommendation> cheapHotels = RecommendationService.filterByPredicateParallel(
+     *     hotels, hotel -> hotel.pricePerNight() < 100.0, 4_096, searchPool);
+     * }</pre>
+     *
+     * @param <T> the type parameter for recommendations, bounded by the Recommendation interface
+     * @param recommendations the source list of recommendations to filter (producer of T)
+     * @param predicate a thread-safe condition to test each recommendation against (consumer of T)
+     * @param splitThreshold the maximum number of elements a single task tests sequentially
+     * @param pool the fork-join pool to run on
+     * @return a new list containing only the matching recommendations, in encounter order
+     * @throws IllegalArgumentException if {@code splitThreshold} is less than 1
+     */
+    public static <T extends Recommendation> List<T> filterByPredicateParallel(
+            List<? extends T> recommendations,
+            Predicate<? super T> predicate,
+            int splitThreshold,
+            ForkJoinPool pool) {
+        if (splitThreshold < 1) {
+            throw new IllegalArgumentException("Split threshold must be at least 1");
+        }
+        Objects.requireNonNull(predicate);
+        Objects.requireNonNull(pool);
+        if (recommendations.size() <= splitThreshold) {
+            return filterByPredicate(recommendations, predicate);
+        }
+
+        // Index-based splitting needs constant-time get(); copy linked lists once up front
+        List<? extends T> source = recommendations instanceof RandomAccess
+                ? recommendations
+                : new ArrayList<>(recommendations);
+        boolean[] matches = new boolean[source.size()];
+        int count = pool.invoke(new FilterTask<>(source, predicate, matches, 0, matches.length, splitThreshold));
+
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < matches.length; i++) {
+            if (matches[i]) {
+                result.add(source.get(i));
+            }
+        }
+        return result;
+    }
+
     /**
      * Filters recommendations by a minimum confidence score threshold.
      * 
@@ -132,7 +226,175 @@ public class RecommendationService {
         return filterByPredicate(recommendations, 
                 rec -> rec.getConfidenceScore() >= minimumConfidence);
     }
-    
+
+    /**
+     * Filters an indexed catalog by a minimum confidence score threshold.
+     *
+     * <p>This overload gives the same result as {@link #filterByConfidence(List, double)}
+     * for the list the index was built from, but answers the query with a binary search
+     * over the index's primitive score column instead of testing every record. Prefer it
+     * when the same catalog is filtered many times.</p>
+     *
+     * <p>Usage example:</p>
+     * <pre>{@code
+     * ConfidenceIndex<HotelRecommendation> index = ConfidenceIndex.of(hotels);
+     * List<HotelRecommendation> bestHotels =
+     *     RecommendationService.filterByConfidence(index, 0.85);
+     * }</pre>
+     *
+     * @param <T> the type parameter for recommendations, bounded by the Recommendation interface
+     * @param index a confidence index built over the source recommendations
+     * @param minimumConfidence the minimum confidence score (0.0 to 1.0) for inclusion
+     * @return an unmodifiable list of recommendations at or above the threshold, in encounter order
+     */
+    public static <T extends Recommendation> List<T> filterByConfidence(
+            ConfidenceIndex<T> index,
+            double minimumConfidence) {
+        return index.atLeastInEncounterOrder(minimumConfidence);
+    }
+
+    /**
+     * Orders recommendations by confidence score, lowest first.
+     *
+     * <p>This is the natural "better is greater" order used by {@link #topK(List, int)};
+     * pass {@code CONFIDENCE_ORDER.reversed()} to sort best-first.</p>
+     */
+    public static final Comparator<Recommendation> CONFIDENCE_ORDER =
+            Comparator.comparingDouble(Recommendation::getConfidenceScore);
+
+    /**
+     * Returns the {@code k} recommendations with the highest confidence scores.
+     *
+     * <p>This replaces the pattern "filter, sort everything, keep the first N" with a
+     * single pass that keeps only the best {@code k} elements seen so far. Recommendations
+     * with equal scores keep their encounter order.</p>
+     *
+     * <p>Usage example:</p>
+     * <pre>{@code
+     * List<HotelRecommendation> bestTen = RecommendationService.topK(hotels, 10);
+     * }</pre>
+     *
+     * @param <T> the type parameter for recommendations, bounded by the Recommendation interface
+     * @param recommendations the source list of recommendations (producer of T)
+     * @param k the maximum number of recommendations to return
+     * @return a new list of at most {@code k} recommendations, best first
+     * @throws IllegalArgumentException if {@code k} is negative
+     * @see #topK(List, int, Comparator)
+     */
+    public static <T extends Recommendation> List<T> topK(List<? extends T> recommendations, int k) {
+        return topK(recommendations, k, CONFIDENCE_ORDER);
+    }
+
+    /**
+     * Returns the {@code k} greatest recommendations according to a comparator.
+     *
+     * <p>The comparator defines "better" as "greater", so a score-like comparator can be
+     * passed directly. Elements that compare equal keep their encounter order, which makes
+     * the result deterministic and identical to a stable sort followed by truncation.</p>
+     *
+     * <h3>Algorithm: Bounded Min-Heap</h3>
+     * <p>The method keeps a binary heap of at most {@code k} elements whose root is the
+     * <em>worst</em> element kept. Each new element is compared with the root only; if it
+     * is better, it replaces the root and sifts down in O(log k). The whole selection is
+     * O(n log k) time and allocates only the {@code k}-sized heap and the result, instead
+     * of O(n log n) time and an n-element copy for a full sort. The heap is finally
+     * emptied in place, worst element last, which leaves it sorted best-first.</p>
+     *
+     * <p>Usage example with a price-adjusted score:</p>
+     * <pre>{@code
+     * Comparator<HotelRecommendation> valueForMoney = Comparator.comparingDouble(
+     *     hotel -> hotel.getConfidenceScore() / Math.log1p(hotel.pricePerNight()));
+     * List<HotelRecommendation> bestValue = RecommendationService.topK(hotels, 20, valueForMoney);
+     * }</pre>
+     *
+     * @param <T> the type parameter for recommendations, bounded by the Recommendation interface
+     * @param recommendations the source list of recommendations (producer of T)
+     * @param k the maximum number of recommendations to return
+     * @param comparator the ordering in which greater means better (consumer of T)
+     * @return a new list of at most {@code k} recommendations, best first
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    public static <T extends Recommendation> List<T> topK(
+            List<? extends T> recommendations,
+            int k,
+            Comparator<? super T> comparator) {
+        BoundedHeap<T> heap = new BoundedHeap<>(checkK(k, recommendations.size()), comparator);
+        int index = 0;
+        for (T rec : recommendations) {
+            heap.offer(rec, index++);
+        }
+        return heap.drainBestFirst();
+    }
+
+    /**
+     * Returns the {@code k} greatest recommendations according to a comparator, selecting
+     * in parallel on the dedicated pool.
+     *
+     * @param <T> the type parameter for recommendations, bounded by the Recommendation interface
+     * @param recommendations the source list of recommendations (producer of T)
+     * @param k the maximum number of recommendations to return
+     * @param comparator a thread-safe ordering in which greater means better (consumer of T)
+     * @return a new list of at most {@code k} recommendations, best first
+     * @throws IllegalArgumentException if {@code k} is negative
+     * @see #topKParallel(List, int, Comparator, int, ForkJoinPool)
+     */
+    public static <T extends Recommendation> List<T> topKParallel(
+            List<? extends T> recommendations,
+            int k,
+            Comparator<? super T> comparator) {
+        return topKParallel(recommendations, k, comparator, DEFAULT_PARALLEL_THRESHOLD, ParallelPool.INSTANCE);
+    }
+
+    /**
+     * Returns the {@code k} greatest recommendations, selecting in parallel with an
+     * explicit split threshold and pool.
+     *
+     * <p>Each leaf task builds its own bounded heap over its range; when two subtasks
+     * complete, the smaller heap is offered into the larger one. Every task therefore
+     * allocates at most {@code k} slots, and the result is identical to
+     * {@link #topK(List, int, Comparator)}, including the encounter order of ties.</p>
+     *
+     * @param <T> the type parameter for recommendations, bounded by the Recommendation interface
+     * @param recommendations the source list of recommendations (producer of T)
+     * @param k the maximum number of recommendations to return
+     * @param comparator a thread-safe ordering in which greater means better (consumer of T)
+     * @param splitThreshold the maximum number of elements a single task scans sequentially
+     * @param pool the fork-join pool to run on
+     * @return a new list of at most {@code k} recommendations, best first
+     * @throws IllegalArgumentException if {@code k} is negative or {@code splitThreshold} is less than 1
+     */
+    public static <T extends Recommendation> List<T> topKParallel(
+            List<? extends T> recommendations,
+            int k,
+            Comparator<? super T> comparator,
+            int splitThreshold,
+            ForkJoinPool pool) {
+        if (splitThreshold < 1) {
+            throw new IllegalArgumentException("Split threshold must be at least 1");
+        }
+        int capacity = checkK(k, recommendations.size());
+        Objects.requireNonNull(comparator);
+        Objects.requireNonNull(pool);
+        if (recommendations.size() <= splitThreshold) {
+            return topK(recommendations, k, comparator);
+        }
+        List<? extends T> source = recommendations instanceof RandomAccess
+                ? recommendations
+                : new ArrayList<>(recommendations);
+        return pool.invoke(new TopKTask<T>(source, capacity, comparator, 0, source.size(), splitThreshold))
+                .drainBestFirst();
+    }
+
+    /**
+     * Validates {@code k} and returns the heap capacity actually needed.
+     */
+    private static int checkK(int k, int size) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        return Math.min(k, size);
+    }
+
     /**
      * Combines multiple lists of recommendations into a single consolidated list.
      * 
@@ -168,18 +430,55 @@ public class RecommendationService {
      *   <li>The method actually processes {@code List} objects containing {@code Object} references</li>
      * </ul>
      * 
+     * <p>The result is a mutable {@link ArrayList} presized to the combined length, so
+     * adding the inputs never triggers a resize. Callers that only read the combined list
+     * can avoid the copy entirely with {@link #combineRecommendationsView}.</p>
+     *
      * @param <T> the common supertype of all recommendations in the input lists
      * @param lists any number of recommendation lists to combine
      * @return a new list containing all recommendations from all input lists
      */
     @SafeVarargs
     public static <T extends Recommendation> List<T> combineRecommendations(List<? extends T>... lists) {
-        List<T> result = new ArrayList<>();
+        int totalSize = 0;
+        for (List<? extends T> list : lists) {
+            totalSize = Math.addExact(totalSize, list.size());
+        }
+        List<T> result = new ArrayList<>(totalSize);
         for (List<? extends T> list : lists) {
             result.addAll(list);
         }
         return result;
     }
+
+    /**
+     * Combines multiple lists of recommendations into a read-only view without copying.
+     *
+     * <p>This is the zero-copy counterpart of {@link #combineRecommendations}. The returned
+     * list is backed by the input lists: it stores only a table of where each input starts,
+     * and {@code get(index)} finds the right input with a binary search over that table
+     * (O(log k) for k inputs) before delegating to it.</p>
+     *
+     * <p>Because the view reads through to its inputs, they must not be structurally
+     * modified (elements added or removed) while the view is in use. The view itself
+     * rejects all modification with {@link UnsupportedOperationException}. Use
+     * {@link #combineRecommendations} when a mutable or independent copy is needed.</p>
+     *
+     * <p>Usage example:</p>
+     * <pre>{@code
+     * List<Recommendation> everything =
+     *     RecommendationService.<Recommendation>combineRecommendationsView(flights, hotels, activities);
+     * Recommendation tenth = everything.get(9);   // no elements were copied
+     * }</pre>
+     *
+     * @param <T> the common supertype of all recommendations in the input lists
+     * @param lists any number of recommendation lists to combine
+     * @return an unmodifiable, random-access view over all input lists in order
+     */
+    @SafeVarargs
+    public static <T extends Recommendation> List<T> combineRecommendationsView(List<? extends T>... lists) {
+        return new ConcatenatedListView<>(lists);
+    }
     
     /**
      * Safely adds a recommendation to a list, demonstrating the "Consumer Super" pattern.
@@ -249,6 +548,9 @@ public class RecommendationService {
      * implementations, the compiler can verify that all cases are covered. The default
      * case is technically unreachable but included for robustness.</p>
      * 
+     * <p>For rendering many records, {@link com.edreams.travelrecommender.render.RecommendationRenderer}
+     * produces identical text without {@code String.format} and can append to a reused buffer.</p>
+     * 
      * @param recommendation the recommendation to describe
      * @return a formatted string description tailored to the specific recommendation type
      */
@@ -351,7 +653,163 @@ public class RecommendationService {
         
         return categorized;
     }
-    
+
+    /**
+     * Categorizes recommendations into per-type lists keyed by {@link RecommendationType}.
+     *
+     * <p>This is the enum-keyed alternative to {@link #categorizeRecommendations}. Each
+     * element is classified once with {@link RecommendationType#of}, an exhaustive switch
+     * over the sealed hierarchy, rather than a chain of instanceof tests. A first pass
+     * counts each type into a primitive array, so every list in the result is created
+     * with exactly the capacity it needs; a second pass fills them.</p>
+     *
+     * <p>The returned {@link EnumMap} always contains all four keys, in declaration order,
+     * with an empty list for types that do not occur.</p>
+     *
+     * <p>Usage example:</p>
+     * <pre>{@code
+     * EnumMap<RecommendationType, List<Recommendation>> byType =
+     *     RecommendationService.categorizeByType(allRecommendations);
+     * List<Recommendation> hotels = byType.get(RecommendationType.HOTEL);
+     * }</pre>
+     *
+     * @param recommendations a list of mixed recommendation types
+     * @return a map from every recommendation type to the recommendations of that type
+     */
+    public static EnumMap<RecommendationType, List<Recommendation>> categorizeByType(
+            List<? extends Recommendation> recommendations) {
+        int[] counts = new int[RecommendationType.values().length];
+        for (Recommendation rec : recommendations) {
+            counts[RecommendationType.of(rec).ordinal()]++;
+        }
+
+        List<Recommendation>[] buckets = newBuckets(counts);
+        for (Recommendation rec : recommendations) {
+            buckets[RecommendationType.of(rec).ordinal()].add(rec);
+        }
+
+        return toEnumMap(buckets);
+    }
+
+    /**
+     * Counts recommendations by type without building any lists.
+     *
+     * <p>Use this instead of {@link #categorizeByType} when only the number of each type
+     * is needed, for example on dashboards. It makes a single pass with four primitive
+     * counters and allocates nothing per element.</p>
+     *
+     * @param recommendations a list of mixed recommendation types
+     * @return the number of flights, hotels, activities and packages in the list
+     */
+    public static RecommendationCounts countByType(List<? extends Recommendation> recommendations) {
+        int[] counts = new int[RecommendationType.values().length];
+        for (Recommendation rec : recommendations) {
+            counts[RecommendationType.of(rec).ordinal()]++;
+        }
+        return RecommendationCounts.fromOrdinals(counts);
+    }
+
+    /**
+     * Categorizes recommendations by type in parallel on a dedicated fork-join pool.
+     *
+     * <p>The result is equal to {@link #categorizeByType} for the same list, including the
+     * encounter order inside each per-type list. Lists no larger than
+     * {@link #DEFAULT_PARALLEL_THRESHOLD} are categorized sequentially.</p>
+     *
+     * <p>The parallel stream is started from inside the pool used by
+     * {@link #filterByPredicateParallel}, so its tasks run there instead of on
+     * {@link ForkJoinPool#commonPool()}.</p>
+     *
+     * @param recommendations a list of mixed recommendation types
+     * @return a map from every recommendation type to the recommendations of that type
+     * @see #toTypeCategories()
+     */
+    public static EnumMap<RecommendationType, List<Recommendation>> categorizeByTypeParallel(
+            List<? extends Recommendation> recommendations) {
+        if (recommendations.size() <= DEFAULT_PARALLEL_THRESHOLD) {
+            return categorizeByType(recommendations);
+        }
+        return ParallelPool.INSTANCE
+                .submit(() -> recommendations.parallelStream().collect(toTypeCategories()))
+                .join();
+    }
+
+    /**
+     * Returns a collector that groups recommendations into per-type lists.
+     *
+     * <p>Unlike {@code Collectors.groupingBy}, this collector keeps no shared map. Each
+     * fork-join task of a parallel stream gets its own container of four lists and fills
+     * it without synchronization; containers are merged pairwise, left before right, when
+     * subtasks complete. No lock is taken at any point, and the merged lists keep the
+     * encounter order of the stream.</p>
+     *
+     * <h3>OCP Java 21 Feature: Custom Collectors</h3>
+     * <p>{@link Collector#of} assembles a collector from a supplier (new container), an
+     * accumulator (add one element), a combiner (merge two containers) and a finisher
+     * (convert the container to the result). The combiner is only called for parallel
+     * streams.</p>
+     *
+     * <p>Usage example:</p>
+     * <pre>{@code
+     * EnumMap<RecommendationType, List<Recommendation>> byType =
+     *     catalog.parallelStream().collect(RecommendationService.toTypeCategories());
+     * }</pre>
+     *
+     * @return a collector producing a map with all four recommendation types as keys
+     */
+    public static Collector<Recommendation, ?, EnumMap<RecommendationType, List<Recommendation>>> toTypeCategories() {
+        return Collector.of(
+                TypeBuckets::new,
+                TypeBuckets::add,
+                TypeBuckets::merge,
+                TypeBuckets::toEnumMap);
+    }
+
+    /**
+     * Returns a collector that counts recommendations by type.
+     *
+     * <p>Each parallel task accumulates into its own {@code int[]} of four counters, and
+     * the arrays are summed when tasks are merged.</p>
+     *
+     * @return a collector producing the per-type counts
+     * @see #countByType(List)
+     */
+    public static Collector<Recommendation, ?, RecommendationCounts> toTypeCounts() {
+        return Collector.of(
+                () -> new int[RecommendationType.values().length],
+                (counts, rec) -> counts[RecommendationType.of(rec).ordinal()]++,
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        left[i] += right[i];
+                    }
+                    return left;
+                },
+                RecommendationCounts::fromOrdinals);
+    }
+
+    /**
+     * Wraps per-type buckets, indexed by ordinal, in an {@link EnumMap}.
+     */
+    private static EnumMap<RecommendationType, List<Recommendation>> toEnumMap(List<Recommendation>[] buckets) {
+        EnumMap<RecommendationType, List<Recommendation>> categorized = new EnumMap<>(RecommendationType.class);
+        for (RecommendationType type : RecommendationType.values()) {
+            categorized.put(type, buckets[type.ordinal()]);
+        }
+        return categorized;
+    }
+
+    /**
+     * Creates one list per recommendation type, each presized to its count.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Recommendation>[] newBuckets(int[] counts) {
+        List<Recommendation>[] buckets = new List[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            buckets[i] = new ArrayList<>(counts[i]);
+        }
+        return buckets;
+    }
+
     /**
      * Demonstrates a key limitation of Java's generic type system: type erasure.
      * 
@@ -404,4 +862,230 @@ public class RecommendationService {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Holder for the dedicated pool behind the parallel methods, created on first use.
+     */
+    private static final class ParallelPool {
+        static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Fork-join task that tests a range of a list and marks matches in a flag array.
+     *
+     * <p>Returns the number of matches in its range so the caller can presize the result.</p>
+     */
+    private static final class FilterTask<T> extends RecursiveTask<Integer> {
+        private final List<? extends T> source;
+        private final Predicate<? super T> predicate;
+        private final boolean[] matches;
+        private final int from;
+        private final int to;
+        private final int splitThreshold;
+
+        FilterTask(List<? extends T> source, Predicate<? super T> predicate, boolean[] matches,
+                   int from, int to, int splitThreshold) {
+            this.source = source;
+            this.predicate = predicate;
+            this.matches = matches;
+            this.from = from;
+            this.to = to;
+            this.splitThreshold = splitThreshold;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= splitThreshold) {
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    if (predicate.test(source.get(i))) {
+                        matches[i] = true;
+                        count++;
+                    }
+                }
+                return count;
+            }
+            int mid = (from + to) >>> 1;
+            var left = new FilterTask<T>(source, predicate, matches, from, mid, splitThreshold);
+            left.fork();
+            int rightCount = new FilterTask<T>(source, predicate, matches, mid, to, splitThreshold).compute();
+            return left.join() + rightCount;
+        }
+    }
+
+    /**
+     * Fixed-capacity min-heap that keeps the best elements offered to it.
+     *
+     * <p>The root is the worst element kept. Each element carries its encounter index, and
+     * of two equal elements the later one counts as worse, so ties resolve exactly as in a
+     * stable sort.</p>
+     */
+    private static final class BoundedHeap<T> {
+        private Object[] elements;
+        private int[] indices;
+        private final Comparator<? super T> comparator;
+        private int size;
+
+        BoundedHeap(int capacity, Comparator<? super T> comparator) {
+            this.elements = new Object[capacity];
+            this.indices = new int[capacity];
+            this.comparator = comparator;
+        }
+
+        void offer(T element, int index) {
+            if (size < elements.length) {
+                elements[size] = element;
+                indices[size] = index;
+                siftUp(size++);
+            } else if (size > 0 && isBetter(element, index, elementAt(0), indices[0])) {
+                elements[0] = element;
+                indices[0] = index;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * Offers every element of the smaller heap into the larger one, first growing the
+         * larger heap up to {@code capacity} if both together hold more than it can keep.
+         */
+        BoundedHeap<T> merge(BoundedHeap<T> other, int capacity) {
+            BoundedHeap<T> into = size >= other.size ? this : other;
+            BoundedHeap<T> from = into == this ? other : this;
+            int needed = Math.min(capacity, into.size + from.size);
+            if (into.elements.length < needed) {
+                // A heap prefix is still a valid heap, so a plain copy keeps the order
+                into.elements = Arrays.copyOf(into.elements, needed);
+                into.indices = Arrays.copyOf(into.indices, needed);
+            }
+            for (int i = 0; i < from.size; i++) {
+                into.offer(from.elementAt(i), from.indices[i]);
+            }
+            return into;
+        }
+
+        /**
+         * Repeatedly moves the root (the worst element) behind the shrinking heap, leaving
+         * the array sorted best-first, and returns it as a list.
+         */
+        List<T> drainBestFirst() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(elementAt(i));
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T elementAt(int i) {
+            return (T) elements[i];
+        }
+
+        private boolean isBetter(T a, int aIndex, T b, int bIndex) {
+            int cmp = comparator.compare(a, b);
+            return cmp > 0 || (cmp == 0 && aIndex < bIndex);
+        }
+
+        private void siftUp(int child) {
+            while (child > 0) {
+                int parent = (child - 1) >>> 1;
+                if (!isBetter(elementAt(parent), indices[parent], elementAt(child), indices[child])) {
+                    return;
+                }
+                swap(parent, child);
+                child = parent;
+            }
+        }
+
+        private void siftDown(int parent, int end) {
+            while (true) {
+                int worst = parent;
+                int left = 2 * parent + 1;
+                int right = left + 1;
+                if (left < end && isBetter(elementAt(worst), indices[worst], elementAt(left), indices[left])) {
+                    worst = left;
+                }
+                if (right < end && isBetter(elementAt(worst), indices[worst], elementAt(right), indices[right])) {
+                    worst = right;
+                }
+                if (worst == parent) {
+                    return;
+                }
+                swap(parent, worst);
+                parent = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Object element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+            int index = indices[i];
+            indices[i] = indices[j];
+            indices[j] = index;
+        }
+    }
+
+    /**
+     * Fork-join task that selects the best elements of a range into a bounded heap.
+     */
+    private static final class TopKTask<T> extends RecursiveTask<BoundedHeap<T>> {
+        private final List<? extends T> source;
+        private final int capacity;
+        private final Comparator<? super T> comparator;
+        private final int from;
+        private final int to;
+        private final int splitThreshold;
+
+        TopKTask(List<? extends T> source, int capacity, Comparator<? super T> comparator,
+                 int from, int to, int splitThreshold) {
+            this.source = source;
+            this.capacity = capacity;
+            this.comparator = comparator;
+            this.from = from;
+            this.to = to;
+            this.splitThreshold = splitThreshold;
+        }
+
+        @Override
+        protected BoundedHeap<T> compute() {
+            if (to - from <= splitThreshold) {
+                BoundedHeap<T> heap = new BoundedHeap<>(Math.min(capacity, to - from), comparator);
+                for (int i = from; i < to; i++) {
+                    heap.offer(source.get(i), i);
+                }
+                return heap;
+            }
+            int mid = (from + to) >>> 1;
+            var left = new TopKTask<T>(source, capacity, comparator, from, mid, splitThreshold);
+            left.fork();
+            BoundedHeap<T> right = new TopKTask<T>(source, capacity, comparator, mid, to, splitThreshold).compute();
+            return left.join().merge(right, capacity);
+        }
+    }
+
+    /**
+     * Per-task container for {@link #toTypeCategories()}: one list per recommendation type.
+     */
+    private static final class TypeBuckets {
+        private final List<Recommendation>[] buckets = newBuckets(new int[RecommendationType.values().length]);
+
+        void add(Recommendation rec) {
+            buckets[RecommendationType.of(rec).ordinal()].add(rec);
+        }
+
+        TypeBuckets merge(TypeBuckets right) {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i].addAll(right.buckets[i]);
+            }
+            return this;
+        }
+
+        EnumMap<RecommendationType, List<Recommendation>> toEnumMap() {
+            return RecommendationService.toEnumMap(buckets);
+        }
+    }
+}
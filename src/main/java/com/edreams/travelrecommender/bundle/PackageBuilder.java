@@ -0,0 +1,557 @@
+package com.edreams.travelrecommender.bundle;
+
+import com.edreams.travelrecommender.index.RouteIndex;
+import com.edreams.travelrecommender.model.ActivityRecommendation;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import com.edreams.travelrecommender.model.PackageRecommendation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assembles the best flight + hotel + activity packages for a trip by branch and bound.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>{@link PackageRecommendation}s used to be put together by hand. This class generates
+ * them from the catalog: for a {@link PackageQuery} it considers every flight in the
+ * departure window, every hotel at the location and every set of up to
+ * {@code maximumActivities} activities there, and returns the N packages with the highest
+ * score, without enumerating that cartesian product.</p>
+ *
+ * <h2>Pricing and Score</h2>
+ * <p>A package with {@code a} activities lasts
+ * {@link PackageRecommendation#getDurationInDays()} = max(3, a / 2) nights. Its individual
+ * price is the flight price, plus the nightly hotel price times the nights, plus the activity
+ * prices; its total price is the individual price less the builder's discount, and must not
+ * exceed the query's maximum price. The package confidence is the mean confidence of its
+ * components, and its score is</p>
+ * <pre>
+ *   score = confidence + savingsWeight * savings / maximumPrice
+ * </pre>
+ * <p>so that a package saving the whole budget would be worth {@code savingsWeight} extra
+ * confidence.</p>
+ *
+ * <h2>Search</h2>
+ * <p>Each hotel is searched by its own fork-join task. A task walks the flights cheapest
+ * first and, for each flight, extends activity sets depth first over the activities sorted
+ * by price, most expensive first. Two bounds prune the walk:</p>
+ * <ul>
+ *   <li><strong>Price</strong>: once the cheapest completion of a flight exceeds the
+ *       maximum price, every dearer flight does too, and the task stops.</li>
+ *   <li><strong>Score</strong>: a partial package's best completion has a confidence of at
+ *       most the best remaining activity confidence, and savings of at most those of adding
+ *       the most expensive remaining activities. When that bound falls below the N-th best
+ *       score found by any task, the remaining siblings are skipped, since their bounds
+ *       are no higher.</li>
+ * </ul>
+ * <p>Each task keeps its own N best in a bounded heap and publishes its N-th best score to
+ * the other tasks, so a good package found for one hotel prunes all of them. Only the
+ * packages that end up in the final N are turned into {@link PackageRecommendation}s.</p>
+ *
+ * <h2>Latency Budget</h2>
+ * <p>Every task checks the elapsed time regularly. Once any task finds the budget spent it
+ * raises a shared flag, and every search frame of every task returns at its next node, so
+ * a query returns the best packages found within roughly that time. Results are exact when
+ * the search finishes inside the budget. Ties are broken by lower price and then by
+ * catalog position, so a completed search returns the same packages on every run.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * PackageBuilder builder = PackageBuilder.of(flights, hotels, activities);
+ *
+ * PackageQuery trip = new PackageQuery("JFK", "CDG", "Paris, France",
+ *     LocalDateTime.parse("2023-10-15T00:00"), LocalDateTime.parse("2023-10-17T00:00"),
+ *     2_000.0, 3);
+ * List<PackageRecommendation> best = builder.build(trip, 5, Duration.ofMillis(50));
+ * }</pre>
+ *
+ * <p>An instance is immutable after construction and may be queried from many threads.</p>
+ */
+public final class PackageBuilder {
+    /** The default fraction taken off the individual price of a package. */
+    public static final double DEFAULT_DISCOUNT = 0.10;
+    /** The default weight of savings, relative to the budget, against confidence. */
+    public static final double DEFAULT_SAVINGS_WEIGHT = 1.0;
+    /** The default time a query may spend searching. */
+    public static final Duration DEFAULT_LATENCY_BUDGET = Duration.ofMillis(100);
+
+    /**
+     * Absolute allowance added to score bounds, so that rounding in a bound never prunes a
+     * package whose score equals the threshold.
+     */
+    private static final double BOUND_SLACK = 1e-9;
+    /** Search nodes visited between two reads of the clock; a power of two. */
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private static final HotelRecommendation[] NO_HOTELS = new HotelRecommendation[0];
+    private static final ActivityRecommendation[] NO_ACTIVITIES = new ActivityRecommendation[0];
+
+    /** Best first: higher score, then lower price, then earlier hotel, flight and activities. */
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+        .comparingDouble(Candidate::score).reversed()
+        .thenComparingDouble(Candidate::totalPrice)
+        .thenComparingInt(Candidate::hotel)
+        .thenComparingInt(Candidate::flight)
+        .thenComparing(Candidate::activities, Arrays::compare);
+    private static final Comparator<Candidate> WORST_FIRST = BEST_FIRST.reversed();
+
+    private final RouteIndex flights;
+    private final Map<String, HotelRecommendation[]> hotels;
+    /** Activities by location, most expensive first. */
+    private final Map<String, ActivityRecommendation[]> activities;
+    private final double discount;
+    private final double savingsWeight;
+
+    private PackageBuilder(RouteIndex flights, Map<String, HotelRecommendation[]> hotels,
+                           Map<String, ActivityRecommendation[]> activities,
+                           double discount, double savingsWeight) {
+        this.flights = flights;
+        this.hotels = hotels;
+        this.activities = activities;
+        this.discount = discount;
+        this.savingsWeight = savingsWeight;
+    }
+
+    /**
+     * Builds a package builder over the given catalog with the default discount and savings
+     * weight.
+     *
+     * @param flights the candidate flights (producer of FlightRecommendation)
+     * @param hotels the candidate hotels (producer of HotelRecommendation)
+     * @param activities the candidate activities (producer of ActivityRecommendation)
+     * @return a new builder
+     * @throws NullPointerException if a flight's airports or departure time, or a hotel's or
+     *         activity's location, is null
+     * @see #of(List, List, List, double, double)
+     */
+    public static PackageBuilder of(List<? extends FlightRecommendation> flights,
+                                    List<? extends HotelRecommendation> hotels,
+                                    List<? extends ActivityRecommendation> activities) {
+        return of(flights, hotels, activities, DEFAULT_DISCOUNT, DEFAULT_SAVINGS_WEIGHT);
+    }
+
+    /**
+     * Builds a package builder over the given catalog.
+     *
+     * <p>Flights are indexed by route with a {@link RouteIndex}; hotels and activities are
+     * grouped by location, and each location's activities are sorted by price once.</p>
+     *
+     * @param flights the candidate flights (producer of FlightRecommendation)
+     * @param hotels the candidate hotels (producer of HotelRecommendation)
+     * @param activities the candidate activities (producer of ActivityRecommendation)
+     * @param discount the fraction taken off the individual price of every package
+     * @param savingsWeight the weight of savings, relative to the budget, in the score
+     * @return a new builder
+     * @throws IllegalArgumentException if the discount is not in [0.0, 1.0) or the savings
+     *         weight is negative or not finite
+     * @throws NullPointerException if a flight's airports or departure time, or a hotel's or
+     *         activity's location, is null
+     */
+    public static PackageBuilder of(List<? extends FlightRecommendation> flights,
+                                    List<? extends HotelRecommendation> hotels,
+                                    List<? extends ActivityRecommendation> activities,
+                                    double discount, double savingsWeight) {
+        if (!(discount >= 0.0 && discount < 1.0)) {
+            throw new IllegalArgumentException("Discount must be in [0.0, 1.0)");
+        }
+        if (!(savingsWeight >= 0.0) || Double.isInfinite(savingsWeight)) {
+            throw new IllegalArgumentException("Savings weight must be non-negative and finite");
+        }
+
+        Map<String, List<HotelRecommendation>> hotelsByLocation = new HashMap<>();
+        for (HotelRecommendation hotel : hotels) {
+            Objects.requireNonNull(hotel.location(), "location");
+            hotelsByLocation.computeIfAbsent(hotel.location(), location -> new ArrayList<>()).add(hotel);
+        }
+        Map<String, HotelRecommendation[]> hotelColumns = new HashMap<>();
+        hotelsByLocation.forEach((location, list) -> hotelColumns.put(location, list.toArray(NO_HOTELS)));
+
+        Map<String, List<ActivityRecommendation>> activitiesByLocation = new HashMap<>();
+        for (ActivityRecommendation activity : activities) {
+            Objects.requireNonNull(activity.location(), "location");
+            activitiesByLocation.computeIfAbsent(activity.location(), location -> new ArrayList<>()).add(activity);
+        }
+        Map<String, ActivityRecommendation[]> activityColumns = new HashMap<>();
+        activitiesByLocation.forEach((location, list) -> {
+            // List.sort is stable, so equal prices keep their catalog order
+            list.sort(Comparator.comparingDouble(ActivityRecommendation::price).reversed());
+            activityColumns.put(location, list.toArray(NO_ACTIVITIES));
+        });
+
+        return new PackageBuilder(RouteIndex.of(flights), hotelColumns, activityColumns, discount, savingsWeight);
+    }
+
+    /**
+     * Returns the score this builder gives a package for a query.
+     *
+     * <p>Packages returned by {@link #build} are ranked by this score, up to rounding.</p>
+     *
+     * @param recommendation the package to score
+     * @param query the query whose maximum price scales the savings
+     * @return the package confidence plus its weighted savings
+     */
+    public double score(PackageRecommendation recommendation, PackageQuery query) {
+        return recommendation.getConfidenceScore()
+            + savingsWeight * recommendation.getSavingsAmount() / query.maximumPrice();
+    }
+
+    /**
+     * Returns the best packages for a query using the default latency budget and the common
+     * fork-join pool.
+     *
+     * @param query the trip to build packages for
+     * @param n the maximum number of packages to return
+     * @return up to {@code n} packages, best first
+     * @throws IllegalArgumentException if {@code n} is negative
+     * @see #build(PackageQuery, int, Duration, ForkJoinPool)
+     */
+    public List<PackageRecommendation> build(PackageQuery query, int n) {
+        return build(query, n, DEFAULT_LATENCY_BUDGET, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the best packages for a query found within a latency budget, using the common
+     * fork-join pool.
+     *
+     * @param query the trip to build packages for
+     * @param n the maximum number of packages to return
+     * @param latencyBudget the time the search may take
+     * @return up to {@code n} packages, best first
+     * @throws IllegalArgumentException if {@code n} or the budget is negative
+     * @see #build(PackageQuery, int, Duration, ForkJoinPool)
+     */
+    public List<PackageRecommendation> build(PackageQuery query, int n, Duration latencyBudget) {
+        return build(query, n, latencyBudget, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the best packages for a query found within a latency budget.
+     *
+     * <h3>Complexity</h3>
+     * <p>Without pruning the search would visit F × H × C(A, K) packages for F flights, H
+     * hotels and A activities with at most K per package. The price bound stops each hotel's
+     * walk at the first unaffordable flight, and the score bound cuts every activity subtree
+     * that cannot reach the current N-th best, so in practice a few packages per flight and
+     * hotel are scored. The hotels are searched in parallel on {@code pool}.</p>
+     *
+     * @param query the trip to build packages for
+     * @param n the maximum number of packages to return
+     * @param latencyBudget the time the search may take; when it runs out the best packages
+     *        found so far are returned
+     * @param pool the pool that runs the per-hotel tasks
+     * @return up to {@code n} packages, best first; empty if no flight, hotel or activity
+     *         matches or no package fits the maximum price
+     * @throws IllegalArgumentException if {@code n} or the budget is negative
+     */
+    public List<PackageRecommendation> build(PackageQuery query, int n, Duration latencyBudget, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        if (latencyBudget.isNegative()) {
+            throw new IllegalArgumentException("Latency budget must not be negative");
+        }
+
+        FlightRecommendation[] flightColumn = flights
+            .flights(query.origin(), query.destination(), query.departFrom(), query.departTo())
+            .toArray(new FlightRecommendation[0]);
+        // Arrays.sort on objects is stable, so equal prices keep their departure order
+        Arrays.sort(flightColumn, Comparator.comparingDouble(FlightRecommendation::price));
+        HotelRecommendation[] hotelColumn = hotels.getOrDefault(query.location(), NO_HOTELS);
+        ActivityRecommendation[] activityColumn = activities.getOrDefault(query.location(), NO_ACTIVITIES);
+
+        List<PackageRecommendation> result = new ArrayList<>();
+        if (n == 0 || flightColumn.length == 0 || hotelColumn.length == 0 || activityColumn.length == 0) {
+            return result;
+        }
+        var search = new Search(query, n, flightColumn, hotelColumn, activityColumn,
+            start, saturatedNanos(latencyBudget));
+        List<Candidate> candidates = pool.invoke(new HotelTask(search, 0, hotelColumn.length));
+        candidates.sort(BEST_FIRST);
+        for (Candidate candidate : candidates.subList(0, Math.min(n, candidates.size()))) {
+            result.add(search.toPackage(candidate));
+        }
+        return result;
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * The number of nights of a package with the given number of activities, as computed by
+     * {@link PackageRecommendation#getDurationInDays()}.
+     */
+    private static int nights(int activityCount) {
+        return Math.max(3, activityCount / 2);
+    }
+
+    /**
+     * A scored package, identified by positions in the query's flight, hotel and activity
+     * columns so that only the returned packages are ever materialized.
+     */
+    private record Candidate(double score, double confidence, double totalPrice,
+                             int flight, int hotel, int[] activities) {
+    }
+
+    /**
+     * The columns and shared state of one query.
+     */
+    private final class Search {
+        final int n;
+        final int maximumActivities;
+        final double maximumPrice;
+        /** The individual price whose discounted total is the maximum price. */
+        final double maximumIndividualPrice;
+        final double keep;
+        final String location;
+
+        final FlightRecommendation[] flights;
+        final double[] flightPrices;
+        final double[] flightConfidences;
+        final HotelRecommendation[] hotels;
+        final ActivityRecommendation[] activities;
+        final double[] activityPrices;
+        final double[] activityConfidences;
+        /** {@code bestConfidenceFrom[i]} is the highest activity confidence at or after i. */
+        final double[] bestConfidenceFrom;
+        /** {@code pricePrefix[i]} is the sum of the i most expensive activity prices. */
+        final double[] pricePrefix;
+
+        final long start;
+        final long budgetNanos;
+        volatile boolean expired;
+        /**
+         * The bits of the highest N-th best score any task has found. Scores are never
+         * negative, so their bit patterns order like the scores.
+         */
+        final AtomicLong threshold = new AtomicLong(Double.doubleToLongBits(0.0));
+
+        Search(PackageQuery query, int n, FlightRecommendation[] flights, HotelRecommendation[] hotels,
+               ActivityRecommendation[] activities, long start, long budgetNanos) {
+            this.n = n;
+            this.maximumActivities = query.maximumActivities();
+            this.maximumPrice = query.maximumPrice();
+            this.keep = 1.0 - discount;
+            this.maximumIndividualPrice = maximumPrice / keep;
+            this.location = query.location();
+            this.flights = flights;
+            this.hotels = hotels;
+            this.activities = activities;
+            this.start = start;
+            this.budgetNanos = budgetNanos;
+
+            flightPrices = new double[flights.length];
+            flightConfidences = new double[flights.length];
+            for (int i = 0; i < flights.length; i++) {
+                flightPrices[i] = flights[i].price();
+                flightConfidences[i] = flights[i].confidenceScore();
+            }
+            activityPrices = new double[activities.length];
+            activityConfidences = new double[activities.length];
+            pricePrefix = new double[activities.length + 1];
+            for (int i = 0; i < activities.length; i++) {
+                activityPrices[i] = activities[i].price();
+                activityConfidences[i] = activities[i].confidenceScore();
+                pricePrefix[i + 1] = pricePrefix[i] + activityPrices[i];
+            }
+            bestConfidenceFrom = new double[activities.length + 1];
+            for (int i = activities.length - 1; i >= 0; i--) {
+                bestConfidenceFrom[i] = Math.max(bestConfidenceFrom[i + 1], activityConfidences[i]);
+            }
+        }
+
+        double threshold() {
+            return Double.longBitsToDouble(threshold.get());
+        }
+
+        void raiseThreshold(double score) {
+            threshold.accumulateAndGet(Double.doubleToLongBits(score), Math::max);
+        }
+
+        /**
+         * Reads the clock and sets {@link #expired} once the budget is spent. Searches call
+         * this every {@code DEADLINE_CHECK_INTERVAL} nodes and read the flag on every node.
+         */
+        void checkDeadline() {
+            if (System.nanoTime() - start >= budgetNanos) {
+                expired = true;
+            }
+        }
+
+        PackageRecommendation toPackage(Candidate candidate) {
+            FlightRecommendation flight = flights[candidate.flight()];
+            HotelRecommendation hotel = hotels[candidate.hotel()];
+            List<ActivityRecommendation> chosen = new ArrayList<>(candidate.activities().length);
+            StringBuilder id = new StringBuilder("PK-").append(flight.id()).append('-').append(hotel.id());
+            for (int activity : candidate.activities()) {
+                chosen.add(activities[activity]);
+                id.append('-').append(activities[activity].id());
+            }
+            String description = flight.title() + ", " + nights(chosen.size()) + " nights at "
+                + hotel.hotelName() + " and " + chosen.size()
+                + (chosen.size() == 1 ? " activity" : " activities");
+            return new PackageRecommendation(id.toString(), location + " with " + hotel.hotelName(),
+                description, Math.min(1.0, candidate.confidence()), flight, hotel, List.copyOf(chosen),
+                discount, candidate.totalPrice());
+        }
+    }
+
+    /**
+     * Branch-and-bound search of the packages built around one hotel.
+     */
+    private final class HotelSearch {
+        private final Search search;
+        private final int hotel;
+        private final double hotelPrice;
+        private final double hotelConfidence;
+        private final PriorityQueue<Candidate> best = new PriorityQueue<>(WORST_FIRST);
+        private final int[] chosen;
+        private int flight;
+        private double flightPrice;
+        private int nodes;
+
+        HotelSearch(Search search, int hotel) {
+            this.search = search;
+            this.hotel = hotel;
+            this.hotelPrice = search.hotels[hotel].pricePerNight();
+            this.hotelConfidence = search.hotels[hotel].confidenceScore();
+            this.chosen = new int[search.maximumActivities];
+        }
+
+        List<Candidate> run() {
+            double cheapestActivity = search.activityPrices[search.activityPrices.length - 1];
+            for (flight = 0; flight < search.flights.length && !search.expired; flight++) {
+                flightPrice = search.flightPrices[flight];
+                // Flights are cheapest first, so once one cannot fit, none after it can
+                if ((flightPrice + hotelPrice * nights(1) + cheapestActivity) * search.keep > search.maximumPrice) {
+                    break;
+                }
+                extend(0, 0, search.flightConfidences[flight] + hotelConfidence, 0.0);
+            }
+            return new ArrayList<>(best);
+        }
+
+        /**
+         * Tries each activity from {@code from} on as the next one of a package that already
+         * holds {@code depth} activities costing {@code activityPrice}, and the extensions of
+         * each.
+         */
+        private void extend(int from, int depth, double confidenceSum, double activityPrice) {
+            for (int next = from; next < search.activities.length; next++) {
+                if ((++nodes & (DEADLINE_CHECK_INTERVAL - 1)) == 0) {
+                    search.checkDeadline();
+                }
+                // Read on every node, so that every frame unwinds as soon as any task expires
+                if (search.expired) {
+                    return;
+                }
+                // Bounds only fall as the start moves right, so no later sibling can do better
+                if (bound(depth, next, confidenceSum, activityPrice) + BOUND_SLACK
+                        < search.threshold()) {
+                    return;
+                }
+                double price = activityPrice + search.activityPrices[next];
+                int count = depth + 1;
+                double individualPrice = flightPrice + hotelPrice * nights(count) + price;
+                if (individualPrice * search.keep > search.maximumPrice) {
+                    // Too dear, and so is every extension; cheaper activities follow
+                    continue;
+                }
+                chosen[depth] = next;
+                double sum = confidenceSum + search.activityConfidences[next];
+                offer(sum / (count + 2), individualPrice, count);
+                if (count < search.maximumActivities) {
+                    extend(next + 1, count, sum, price);
+                }
+            }
+        }
+
+        /**
+         * Returns an upper bound on the score of any package that adds activities from
+         * {@code from} on to the current one.
+         *
+         * <p>Adding j activities of confidence at most c to a sum s over m components gives a
+         * mean of (s + j c) / (m + j), which is monotonic in j, so the bound is the larger
+         * of its values at the fewest and the most activities that can be added.</p>
+         */
+        private double bound(int depth, int from, double confidenceSum, double activityPrice) {
+            int room = Math.min(search.maximumActivities - depth, search.activities.length - from);
+            if (room <= 0) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            double bestConfidence = search.bestConfidenceFrom[from];
+            int components = depth + 2;
+            double confidence = Math.max(
+                (confidenceSum + bestConfidence) / (components + 1),
+                (confidenceSum + room * bestConfidence) / (components + room));
+            double individualPrice = Math.min(search.maximumIndividualPrice,
+                flightPrice + hotelPrice * nights(depth + room) + activityPrice
+                    + search.pricePrefix[from + room] - search.pricePrefix[from]);
+            return Math.min(1.0, confidence) + savingsWeight * discount * individualPrice / search.maximumPrice;
+        }
+
+        private void offer(double confidence, double individualPrice, int count) {
+            double totalPrice = individualPrice * search.keep;
+            double score = confidence + savingsWeight * (individualPrice - totalPrice) / search.maximumPrice;
+            if (score < search.threshold()) {
+                return;
+            }
+            var candidate = new Candidate(score, confidence, totalPrice, flight, hotel, Arrays.copyOf(chosen, count));
+            if (best.size() < search.n) {
+                best.add(candidate);
+            } else if (WORST_FIRST.compare(candidate, best.peek()) > 0) {
+                best.poll();
+                best.add(candidate);
+            } else {
+                return;
+            }
+            if (best.size() == search.n) {
+                search.raiseThreshold(best.peek().score());
+            }
+        }
+    }
+
+    /**
+     * Fork-join task that searches a range of hotels, one leaf task per hotel.
+     */
+    private final class HotelTask extends RecursiveTask<List<Candidate>> {
+        private final Search search;
+        private final int from;
+        private final int to;
+
+        HotelTask(Search search, int from, int to) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Candidate> compute() {
+            if (to - from == 1) {
+                return new HotelSearch(search, from).run();
+            }
+            int mid = (from + to) >>> 1;
+            var left = new HotelTask(search, from, mid);
+            left.fork();
+            List<Candidate> candidates = new HotelTask(search, mid, to).compute();
+            candidates.addAll(left.join());
+            return candidates;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.edreams.travelrecommender.bundle;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * The trip a {@link PackageBuilder} assembles packages for.
+ *
+ * <p>Flights are taken from {@code origin} to {@code destination} departing in
+ * [{@code departFrom}, {@code departTo}); hotels and activities are taken from
+ * {@code location}, which is matched exactly against
+ * {@link com.edreams.travelrecommender.model.HotelRecommendation#location()} and
+ * {@link com.edreams.travelrecommender.model.ActivityRecommendation#location()}. Airports and
+ * locations are separate because flights name airport codes while hotels and activities
+ * name cities.</p>
+ *
+ * @param origin the departure airport code
+ * @param destination the arrival airport code
+ * @param location the hotel and activity location
+ * @param departFrom the earliest flight departure, inclusive
+ * @param departTo the latest flight departure, exclusive
+ * @param maximumPrice the highest discounted package price accepted
+ * @param maximumActivities the largest number of activities in one package
+ */
+public record PackageQuery(
+    String origin,
+    String destination,
+    String location,
+    LocalDateTime departFrom,
+    LocalDateTime departTo,
+    double maximumPrice,
+    int maximumActivities
+) {
+    /**
+     * Validates the query.
+     *
+     * @throws NullPointerException if an airport, the location or a window bound is null
+     * @throws IllegalArgumentException if {@code departTo} is before {@code departFrom}, the
+     *         maximum price is not positive and finite, or {@code maximumActivities} is less
+     *         than 1
+     */
+    public PackageQuery {
+        Objects.requireNonNull(origin, "origin");
+        Objects.requireNonNull(destination, "destination");
+        Objects.requireNonNull(location, "location");
+        if (departTo.isBefore(departFrom)) {
+            throw new IllegalArgumentException("Window end " + departTo + " is before its start " + departFrom);
+        }
+        if (!(maximumPrice > 0.0) || Double.isInfinite(maximumPrice)) {
+            throw new IllegalArgumentException("Maximum price must be positive and finite");
+        }
+        if (maximumActivities < 1) {
+            throw new IllegalArgumentException("Maximum activities must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.edreams.travelrecommender.codec;
+
+import com.edreams.travelrecommender.model.*;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, schema-versioned binary encoding of recommendation batches.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Cache replicas exchange batches of recommendations. Java serialization writes class
+ * descriptors and field names, and generic JSON spells every number and key in text. This
+ * codec writes only values, in a fixed order per record type:</p>
+ * <ul>
+ *   <li>{@code int} and {@code long} values as LEB128 varints (ZigZag for signed ones)</li>
+ *   <li>{@code double} values as fixed 8-byte IEEE 754, so prices round-trip exactly</li>
+ *   <li>{@code LocalDateTime} as UTC epoch seconds plus nano-of-second</li>
+ *   <li>strings through a per-batch dictionary: the first occurrence is written inline,
+ *       later ones as a varint reference</li>
+ *   <li>a {@link PackageRecommendation} as references to the ids of its flight, hotel
+ *       and activities, which appear once earlier in the batch</li>
+ * </ul>
+ *
+ * <h2>Batch Layout</h2>
+ * <pre>
+ * magic:u16 "RC"  schemaVersion:varint  entryCount:varint  entry*
+ * entry = tag:byte body
+ * tag   = RecommendationType ordinal, | 0x80 for a component only referenced by packages
+ * </pre>
+ * <p>Each batch is self-contained: dictionaries start empty, so batches can be decoded
+ * independently and in any order. {@link #decode(InputStream)} rejects batches with an
+ * unknown magic number or schema version.</p>
+ *
+ * <h2>OCP Java 21 Feature: Exhaustive Dispatch</h2>
+ * <p>Encoding dispatches with a pattern matching switch over the sealed
+ * {@link Recommendation} interface, and decoding with a switch over
+ * {@link RecommendationType}; neither has a default branch. Adding a permitted record
+ * therefore breaks the build here until the codec learns the new type, instead of failing
+ * at runtime on the other side of the wire.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * byte[] message = RecommendationCodec.encode(changedRecommendations);
+ * // ... send to replicas ...
+ * List<Recommendation> received = RecommendationCodec.decode(message);
+ * }</pre>
+ */
+public final class RecommendationCodec {
+    /** The schema version written by this codec and the only one it reads. */
+    public static final int SCHEMA_VERSION = 1;
+
+    private static final int MAGIC = ('R' << 8) | 'C';
+    private static final int COMPONENT_FLAG = 0x80;
+    private static final RecommendationType[] TYPES = RecommendationType.values();
+
+    /** String reference meaning {@code null}. */
+    private static final int NULL_STRING = 0;
+    /** String reference meaning "a new literal follows". */
+    private static final int NEW_STRING = 1;
+    /** Offset added to dictionary indices so they do not collide with the markers above. */
+    private static final int FIRST_REFERENCE = 2;
+
+    private RecommendationCodec() {
+    }
+
+    /**
+     * Encodes a batch into a new byte array.
+     *
+     * @param recommendations the recommendations to encode, in order
+     * @return the encoded batch
+     * @throws IllegalArgumentException if a package component has a null id, or two
+     *         different components in the batch share an id
+     */
+    public static byte[] encode(List<? extends Recommendation> recommendations) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            encode(recommendations, bytes);
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes a batch to a stream. The stream is flushed but not closed.
+     *
+     * @param recommendations the recommendations to encode, in order
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if a package component has a null id, or two
+     *         different components in the batch share an id
+     */
+    public static void encode(List<? extends Recommendation> recommendations, OutputStream out) throws IOException {
+        List<Entry> entries = plan(recommendations);
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 13));
+        data.writeShort(MAGIC);
+        VarInts.writeUnsigned(data, SCHEMA_VERSION);
+        VarInts.writeUnsigned(data, entries.size());
+        Writer writer = new Writer(data);
+        for (Entry entry : entries) {
+            int tag = RecommendationType.of(entry.recommendation()).ordinal();
+            data.writeByte(entry.component() ? tag | COMPONENT_FLAG : tag);
+            writer.write(entry.recommendation());
+        }
+        data.flush();
+    }
+
+    /**
+     * Decodes a batch from a byte array.
+     *
+     * @param message an encoded batch
+     * @return the top-level recommendations in their original order
+     * @throws IOException if the data is truncated, malformed or of another schema version
+     */
+    public static List<Recommendation> decode(byte[] message) throws IOException {
+        return decode(new ByteArrayInputStream(message));
+    }
+
+    /**
+     * Decodes one batch from a stream.
+     *
+     * <p>Exactly the bytes of one batch are consumed, so several batches can be read from
+     * one stream in sequence. The stream is read in small pieces; pass a buffered stream.</p>
+     *
+     * @param in the stream to read from; it is not closed
+     * @return the top-level recommendations in their original order
+     * @throws IOException if the data is truncated, malformed or of another schema version
+     */
+    public static List<Recommendation> decode(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readUnsignedShort() != MAGIC) {
+            throw new StreamCorruptedException("Not a recommendation batch");
+        }
+        long version = VarInts.readUnsigned(data);
+        if (version != SCHEMA_VERSION) {
+            throw new StreamCorruptedException(
+                "Unsupported schema version " + version + ", expected " + SCHEMA_VERSION);
+        }
+        int count = VarInts.readCount(data);
+        Reader reader = new Reader(data);
+        List<Recommendation> result = new ArrayList<>(Math.min(count, 1 << 16));
+        for (int i = 0; i < count; i++) {
+            int tag = data.readUnsignedByte();
+            int ordinal = tag & ~COMPONENT_FLAG;
+            if (ordinal >= TYPES.length) {
+                throw new StreamCorruptedException("Unknown record tag " + tag);
+            }
+            Recommendation recommendation = reader.read(TYPES[ordinal]);
+            if ((tag & COMPONENT_FLAG) == 0) {
+                result.add(recommendation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One record to write, and whether it is only there to be referenced by a package.
+     */
+    private record Entry(Recommendation recommendation, boolean component) {
+    }
+
+    /**
+     * Orders the batch so every package component is written before the first package
+     * that references it, reusing an earlier record with the same id when it is equal.
+     */
+    private static List<Entry> plan(List<? extends Recommendation> recommendations) {
+        List<Entry> entries = new ArrayList<>(recommendations.size());
+        Map<String, Recommendation> written = new HashMap<>();
+        for (Recommendation recommendation : recommendations) {
+            if (recommendation instanceof PackageRecommendation pkg) {
+                addComponent(pkg.flight(), entries, written);
+                addComponent(pkg.hotel(), entries, written);
+                for (ActivityRecommendation activity : pkg.activities()) {
+                    addComponent(activity, entries, written);
+                }
+            }
+            entries.add(new Entry(recommendation, false));
+            if (recommendation.getId() != null) {
+                written.put(recommendation.getId(), recommendation);
+            }
+        }
+        return entries;
+    }
+
+    private static void addComponent(Recommendation component, List<Entry> entries,
+                                     Map<String, Recommendation> written) {
+        if (component.getId() == null) {
+            throw new IllegalArgumentException("Package components need an id to be referenced");
+        }
+        Recommendation existing = written.get(component.getId());
+        if (existing == null) {
+            entries.add(new Entry(component, true));
+            written.put(component.getId(), component);
+        } else if (!existing.equals(component)) {
+            throw new IllegalArgumentException("Different records share the id " + component.getId());
+        }
+    }
+
+    /**
+     * Encoder state for one batch: the output and the string dictionary built so far.
+     */
+    private static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void write(Recommendation recommendation) throws IOException {
+            writeString(recommendation.getId());
+            writeString(recommendation.getTitle());
+            writeString(recommendation.getDescription());
+            out.writeDouble(recommendation.getConfidenceScore());
+            switch (recommendation) {
+                case FlightRecommendation flight -> {
+                    writeString(flight.departureAirport());
+                    writeString(flight.arrivalAirport());
+                    writeTime(flight.departureTime());
+                    writeTime(flight.arrivalTime());
+                    writeString(flight.airline());
+                    out.writeBoolean(flight.isDirect());
+                    writeStrings(flight.amenities());
+                    out.writeDouble(flight.price());
+                }
+                case HotelRecommendation hotel -> {
+                    writeString(hotel.hotelName());
+                    VarInts.writeUnsigned(out, hotel.starRating());
+                    writeString(hotel.location());
+                    writeStrings(hotel.amenities());
+                    out.writeDouble(hotel.pricePerNight());
+                    out.writeDouble(hotel.distanceToCenter());
+                    out.writeBoolean(hotel.hasFreeCancellation());
+                }
+                case ActivityRecommendation activity -> {
+                    writeString(activity.activityName());
+                    writeString(activity.location());
+                    writeDuration(activity.duration());
+                    writeStrings(activity.categories());
+                    out.writeBoolean(activity.isIndoor());
+                    out.writeDouble(activity.price());
+                    VarInts.writeUnsigned(out, activity.minimumAge());
+                }
+                case PackageRecommendation pkg -> {
+                    writeString(pkg.flight().getId());
+                    writeString(pkg.hotel().getId());
+                    VarInts.writeUnsigned(out, pkg.activities().size());
+                    for (ActivityRecommendation activity : pkg.activities()) {
+                        writeString(activity.getId());
+                    }
+                    out.writeDouble(pkg.packageDiscount());
+                    out.writeDouble(pkg.totalPrice());
+                }
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                VarInts.writeUnsigned(out, NULL_STRING);
+                return;
+            }
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                VarInts.writeUnsigned(out, FIRST_REFERENCE + (long) index);
+                return;
+            }
+            dictionary.put(value, dictionary.size());
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            VarInts.writeUnsigned(out, NEW_STRING);
+            VarInts.writeUnsigned(out, utf8.length);
+            out.write(utf8);
+        }
+
+        /** Writes the size plus one, so zero can stand for a null list. */
+        private void writeStrings(List<String> values) throws IOException {
+            if (values == null) {
+                VarInts.writeUnsigned(out, 0);
+                return;
+            }
+            VarInts.writeUnsigned(out, values.size() + 1L);
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        /** Writes the nano-of-second plus one, so zero can stand for null, then the seconds. */
+        private void writeTime(LocalDateTime time) throws IOException {
+            if (time == null) {
+                VarInts.writeUnsigned(out, 0);
+                return;
+            }
+            VarInts.writeUnsigned(out, time.getNano() + 1L);
+            VarInts.writeSigned(out, time.toEpochSecond(ZoneOffset.UTC));
+        }
+
+        private void writeDuration(Duration duration) throws IOException {
+            if (duration == null) {
+                VarInts.writeUnsigned(out, 0);
+                return;
+            }
+            VarInts.writeUnsigned(out, duration.getNano() + 1L);
+            VarInts.writeSigned(out, duration.getSeconds());
+        }
+    }
+
+    /**
+     * Decoder state for one batch: the string dictionary and the records decoded so far,
+     * by id, for resolving package references.
+     */
+    private static final class Reader {
+        private final DataInputStream in;
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Recommendation> byId = new HashMap<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        Recommendation read(RecommendationType type) throws IOException {
+            String id = readString();
+            String title = readString();
+            String description = readString();
+            double confidence = in.readDouble();
+            Recommendation recommendation = switch (type) {
+                case FLIGHT -> new FlightRecommendation(id, title, description, confidence,
+                    readString(), readString(), readTime(), readTime(),
+                    readString(), in.readBoolean(), readStrings(), in.readDouble());
+                case HOTEL -> new HotelRecommendation(id, title, description, confidence,
+                    readString(), VarInts.readCount(in), readString(), readStrings(),
+                    in.readDouble(), in.readDouble(), in.readBoolean());
+                case ACTIVITY -> new ActivityRecommendation(id, title, description, confidence,
+                    readString(), readString(), readDuration(), readStrings(),
+                    in.readBoolean(), in.readDouble(), VarInts.readCount(in));
+                case PACKAGE -> {
+                    FlightRecommendation flight = resolve(readString(), FlightRecommendation.class);
+                    HotelRecommendation hotel = resolve(readString(), HotelRecommendation.class);
+                    int activityCount = VarInts.readCount(in);
+                    List<ActivityRecommendation> activities = new ArrayList<>(Math.min(activityCount, 64));
+                    for (int i = 0; i < activityCount; i++) {
+                        activities.add(resolve(readString(), ActivityRecommendation.class));
+                    }
+                    yield new PackageRecommendation(id, title, description, confidence,
+                        flight, hotel, List.copyOf(activities), in.readDouble(), in.readDouble());
+                }
+            };
+            if (id != null) {
+                byId.put(id, recommendation);
+            }
+            return recommendation;
+        }
+
+        private <T extends Recommendation> T resolve(String id, Class<T> type) throws IOException {
+            Recommendation component = byId.get(id);
+            if (!type.isInstance(component)) {
+                throw new StreamCorruptedException("Package references unknown " + type.getSimpleName() + " " + id);
+            }
+            return type.cast(component);
+        }
+
+        private String readString() throws IOException {
+            long reference = VarInts.readUnsigned(in);
+            if (reference == NULL_STRING) {
+                return null;
+            }
+            if (reference == NEW_STRING) {
+                byte[] utf8 = new byte[VarInts.readCount(in)];
+                in.readFully(utf8);
+                String value = new String(utf8, StandardCharsets.UTF_8);
+                dictionary.add(value);
+                return value;
+            }
+            long index = reference - FIRST_REFERENCE;
+            if (index >= dictionary.size()) {
+                throw new StreamCorruptedException("Unknown string reference " + reference);
+            }
+            return dictionary.get((int) index);
+        }
+
+        private List<String> readStrings() throws IOException {
+            int sizePlusOne = VarInts.readCount(in);
+            if (sizePlusOne == 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(Math.min(sizePlusOne - 1, 64));
+            for (int i = 1; i < sizePlusOne; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        private LocalDateTime readTime() throws IOException {
+            int nanoPlusOne = VarInts.readCount(in);
+            if (nanoPlusOne == 0) {
+                return null;
+            }
+            return LocalDateTime.ofEpochSecond(VarInts.readSigned(in), nanoPlusOne - 1, ZoneOffset.UTC);
+        }
+
+        private Duration readDuration() throws IOException {
+            int nanoPlusOne = VarInts.readCount(in);
+            if (nanoPlusOne == 0) {
+                return null;
+            }
+            return Duration.ofSeconds(VarInts.readSigned(in), nanoPlusOne - 1);
+        }
+    }
+}
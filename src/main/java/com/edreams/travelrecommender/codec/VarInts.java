@@ -0,0 +1,59 @@
+package com.edreams.travelrecommender.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+/**
+ * LEB128 variable-length integers: seven bits per byte, low bits first, with the high
+ * bit set on every byte except the last. Values below 128 take one byte.
+ *
+ * <p>Signed values go through ZigZag encoding first, so small negative numbers stay
+ * short as well.</p>
+ */
+final class VarInts {
+
+    private VarInts() {
+    }
+
+    static void writeUnsigned(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static void writeSigned(DataOutput out, long value) throws IOException {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readUnsigned(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Varint longer than 10 bytes");
+    }
+
+    static long readSigned(DataInput in) throws IOException {
+        long raw = readUnsigned(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Reads an unsigned varint that must fit in a non-negative {@code int}.
+     */
+    static int readCount(DataInput in) throws IOException {
+        long value = readUnsigned(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Count out of range: " + value);
+        }
+        return (int) value;
+    }
+}
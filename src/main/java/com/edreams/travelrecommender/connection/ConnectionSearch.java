@@ -0,0 +1,391 @@
+package com.edreams.travelrecommender.connection;
+
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import com.edreams.travelrecommender.symbol.SymbolTable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Assembles multi-leg itineraries from direct flights and returns the K best for a query.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Suppliers send connecting flights as opaque records with {@code isDirect=false}. This
+ * class builds its own connections instead: it indexes the direct legs as a time-dependent
+ * graph of airports and searches it for journeys from an origin to a destination that
+ * respect a minimum and maximum connection time at every stop.</p>
+ *
+ * <h2>Adjacency Index</h2>
+ * <p>Airports are numbered by a {@link SymbolTable}. Legs are stored in compressed sparse
+ * row form: one set of primitive columns (departure and arrival epoch seconds, destination
+ * code, price) sorted by departure airport and then by departure time, plus an
+ * {@code offsets} array giving each airport's range. The legs that can follow an arrival
+ * are therefore one contiguous run found by binary search.</p>
+ *
+ * <h2>Search</h2>
+ * <p>The search is a best-first label search. A label is a partial journey ending at an
+ * airport; labels are expanded from a priority queue ordered by the requested
+ * {@link ItineraryOrder}. Because prices and elapsed time never decrease along a journey,
+ * labels reach the destination in rank order, and the search stops as soon as K of them
+ * have. A label is discarded when K labels already expanded at the same airport dominate
+ * it (the same arrival time, no more legs, no airports it has not visited, and no worse
+ * cost), since each of those could take the same onward legs for an itinerary at least as
+ * good. An earlier arrival does not dominate, because the maximum connection time closes
+ * its connection window sooner. Journeys never revisit an airport.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ConnectionSearch search = ConnectionSearch.of(flights, Duration.ofMinutes(45));
+ *
+ * List<Itinerary> cheapest = search.search("JFK", "NRT",
+ *     LocalDateTime.parse("2023-10-15T00:00"), LocalDateTime.parse("2023-10-16T00:00"),
+ *     5, ItineraryOrder.PRICE);
+ * }</pre>
+ *
+ * <p>An instance is immutable after construction and may be queried from many threads.</p>
+ */
+public final class ConnectionSearch {
+    /** The default longest layover considered when none is given. */
+    public static final Duration DEFAULT_MAXIMUM_CONNECTION_TIME = Duration.ofHours(12);
+    /** The default largest number of legs in one itinerary. */
+    public static final int DEFAULT_MAXIMUM_LEGS = 3;
+
+    private final SymbolTable airports;
+    private final int[] offsets;
+    private final long[] departures;
+    private final long[] arrivals;
+    private final int[] destinations;
+    private final double[] prices;
+    private final FlightRecommendation[] legs;
+    private final long minimumConnectionSeconds;
+    private final long maximumConnectionSeconds;
+    private final int maximumLegs;
+
+    private ConnectionSearch(SymbolTable airports, int[] offsets, long[] departures, long[] arrivals,
+                             int[] destinations, double[] prices, FlightRecommendation[] legs,
+                             Duration minimumConnectionTime, Duration maximumConnectionTime, int maximumLegs) {
+        this.airports = airports;
+        this.offsets = offsets;
+        this.departures = departures;
+        this.arrivals = arrivals;
+        this.destinations = destinations;
+        this.prices = prices;
+        this.legs = legs;
+        this.minimumConnectionSeconds = minimumConnectionTime.toSeconds();
+        this.maximumConnectionSeconds = maximumConnectionTime.toSeconds();
+        this.maximumLegs = maximumLegs;
+    }
+
+    /**
+     * Builds a search over the given flights with the default maximum connection time and
+     * number of legs.
+     *
+     * @param flights the candidate legs (producer of FlightRecommendation)
+     * @param minimumConnectionTime the shortest layover allowed between two legs
+     * @return a new search
+     * @throws IllegalArgumentException if the connection time is negative
+     * @see #of(List, Duration, Duration, int)
+     */
+    public static ConnectionSearch of(List<? extends FlightRecommendation> flights, Duration minimumConnectionTime) {
+        return of(flights, minimumConnectionTime, DEFAULT_MAXIMUM_CONNECTION_TIME, DEFAULT_MAXIMUM_LEGS);
+    }
+
+    /**
+     * Builds a search over the given flights.
+     *
+     * <p>Only direct flights with both airports and both times set, and arriving no earlier
+     * than they depart, are used as legs; other records are ignored. Building sorts the
+     * legs once, in O(n log n).</p>
+     *
+     * @param flights the candidate legs (producer of FlightRecommendation)
+     * @param minimumConnectionTime the shortest layover allowed between two legs
+     * @param maximumConnectionTime the longest layover allowed between two legs
+     * @param maximumLegs the largest number of legs in one itinerary
+     * @return a new search
+     * @throws IllegalArgumentException if a connection time is negative, the minimum is
+     *         greater than the maximum, or {@code maximumLegs} is less than 1
+     */
+    public static ConnectionSearch of(List<? extends FlightRecommendation> flights,
+                                      Duration minimumConnectionTime,
+                                      Duration maximumConnectionTime,
+                                      int maximumLegs) {
+        if (minimumConnectionTime.isNegative() || minimumConnectionTime.compareTo(maximumConnectionTime) > 0) {
+            throw new IllegalArgumentException("Connection times must satisfy 0 <= minimum <= maximum");
+        }
+        if (maximumLegs < 1) {
+            throw new IllegalArgumentException("Maximum legs must be at least 1");
+        }
+
+        SymbolTable airports = new SymbolTable();
+        List<FlightRecommendation> usable = new ArrayList<>();
+        List<Integer> origins = new ArrayList<>();
+        for (FlightRecommendation flight : flights) {
+            if (isUsableLeg(flight)) {
+                usable.add(flight);
+                origins.add(airports.encode(flight.departureAirport()));
+                airports.encode(flight.arrivalAirport());
+            }
+        }
+
+        Integer[] order = new Integer[usable.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(origins::get)
+            .thenComparing(i -> usable.get(i).departureTime()));
+
+        int[] offsets = new int[airports.size() + 1];
+        long[] departures = new long[order.length];
+        long[] arrivals = new long[order.length];
+        int[] destinations = new int[order.length];
+        double[] prices = new double[order.length];
+        FlightRecommendation[] legs = new FlightRecommendation[order.length];
+        for (int row = 0; row < order.length; row++) {
+            FlightRecommendation leg = usable.get(order[row]);
+            offsets[origins.get(order[row]) + 1]++;
+            departures[row] = epochSecond(leg.departureTime());
+            arrivals[row] = epochSecond(leg.arrivalTime());
+            destinations[row] = airports.codeOf(leg.arrivalAirport());
+            prices[row] = leg.price();
+            legs[row] = leg;
+        }
+        for (int airport = 0; airport < airports.size(); airport++) {
+            offsets[airport + 1] += offsets[airport];
+        }
+        return new ConnectionSearch(airports, offsets, departures, arrivals, destinations, prices, legs,
+            minimumConnectionTime, maximumConnectionTime, maximumLegs);
+    }
+
+    /**
+     * Returns the number of direct legs in the adjacency index.
+     *
+     * @return the number of usable legs
+     */
+    public int legCount() {
+        return legs.length;
+    }
+
+    /**
+     * Finds the best itineraries between two airports whose first leg departs in a window.
+     *
+     * <h3>Complexity</h3>
+     * <p>Each expansion costs one binary search into the departure airport's run plus the
+     * legs inside the connection window. Dominance pruning keeps at most K useful labels
+     * per airport, and the search ends after the K-th arrival at the destination.</p>
+     *
+     * @param origin the departure airport code
+     * @param destination the arrival airport code
+     * @param departFrom the earliest departure of the first leg, inclusive
+     * @param departTo the latest departure of the first leg, exclusive
+     * @param k the maximum number of itineraries to return
+     * @param order the ranking criterion
+     * @return up to {@code k} itineraries, best first; empty if the airports are unknown,
+     *         equal, or not connected within the limits
+     * @throws IllegalArgumentException if {@code k} is negative or {@code departTo} is
+     *         before {@code departFrom}
+     */
+    public List<Itinerary> search(String origin, String destination,
+                                  LocalDateTime departFrom, LocalDateTime departTo,
+                                  int k, ItineraryOrder order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        if (departTo.isBefore(departFrom)) {
+            throw new IllegalArgumentException("Window end " + departTo + " is before its start " + departFrom);
+        }
+        int from = airports.codeOf(origin);
+        int to = airports.codeOf(destination);
+        if (k == 0 || from == SymbolTable.NO_CODE || to == SymbolTable.NO_CODE || from == to) {
+            return List.of();
+        }
+
+        PriorityQueue<Label> frontier = new PriorityQueue<>(labelOrder(order));
+        long sequence = 0;
+        long windowEnd = epochSecond(departTo);
+        for (int row = firstDepartingAt(from, epochSecond(departFrom)); row < offsets[from + 1]; row++) {
+            if (departures[row] >= windowEnd) {
+                break;
+            }
+            frontier.add(new Label(null, row, destinations[row], departures[row], arrivals[row],
+                prices[row], 1, sequence++));
+        }
+
+        Label[] expanded = new Label[airports.size()];
+        List<Itinerary> results = new ArrayList<>(Math.min(k, 16));
+        Label label;
+        while ((label = frontier.poll()) != null) {
+            if (label.airport == to) {
+                results.add(toItinerary(label));
+                if (results.size() == k) {
+                    break;
+                }
+                continue;
+            }
+            if (label.legCount == maximumLegs || isDominated(label, expanded, k, order)) {
+                continue;
+            }
+            long earliest = label.arrival + minimumConnectionSeconds;
+            long latest = label.arrival + maximumConnectionSeconds;
+            // A journey one leg short of the limit can only usefully continue to the destination
+            boolean lastLeg = label.legCount + 1 == maximumLegs;
+            for (int row = firstDepartingAt(label.airport, earliest); row < offsets[label.airport + 1]; row++) {
+                if (departures[row] > latest) {
+                    break;
+                }
+                if (lastLeg ? destinations[row] == to
+                        : destinations[row] != from && !label.visits(destinations[row])) {
+                    frontier.add(new Label(label, row, destinations[row], label.start, arrivals[row],
+                        label.price + prices[row], label.legCount + 1, sequence++));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns true if {@code k} labels already expanded at the label's airport dominate it,
+     * and otherwise records the label as expanded.
+     *
+     * <p>{@code expanded} holds, per airport, the most recently expanded label; older ones
+     * are reached through {@link Label#previousExpanded}.</p>
+     */
+    private static boolean isDominated(Label label, Label[] expanded, int k, ItineraryOrder order) {
+        int dominating = 0;
+        for (Label other = expanded[label.airport]; other != null; other = other.previousExpanded) {
+            if (other.dominates(label, order) && ++dominating >= k) {
+                return true;
+            }
+        }
+        label.previousExpanded = expanded[label.airport];
+        expanded[label.airport] = label;
+        return false;
+    }
+
+    /**
+     * Returns the first row of an airport's run that departs at or after {@code second}.
+     */
+    private int firstDepartingAt(int airport, long second) {
+        int low = offsets[airport];
+        int high = offsets[airport + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departures[mid] < second) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Itinerary toItinerary(Label label) {
+        FlightRecommendation[] path = new FlightRecommendation[label.legCount];
+        for (Label step = label; step != null; step = step.parent) {
+            path[step.legCount - 1] = legs[step.row];
+        }
+        return new Itinerary(Arrays.asList(path));
+    }
+
+    private static Comparator<Label> labelOrder(ItineraryOrder order) {
+        Comparator<Label> byPrice = Comparator.comparingDouble(label -> label.price);
+        Comparator<Label> byDuration = Comparator.comparingLong(Label::elapsed);
+        Comparator<Label> ranking = switch (order) {
+            case PRICE -> byPrice.thenComparing(byDuration);
+            case DURATION -> byDuration.thenComparing(byPrice);
+        };
+        return ranking.thenComparingLong(label -> label.arrival).thenComparingLong(label -> label.sequence);
+    }
+
+    private static boolean isUsableLeg(FlightRecommendation flight) {
+        return flight.isDirect()
+                && flight.departureAirport() != null
+                && flight.arrivalAirport() != null
+                && flight.departureTime() != null
+                && flight.arrivalTime() != null
+                && !flight.arrivalTime().isBefore(flight.departureTime());
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * A partial journey: the last leg taken, the airport reached and the running totals.
+     * Labels are created and read by a single query only.
+     */
+    private static final class Label {
+        final Label parent;
+        final int row;
+        final int airport;
+        final long start;
+        final long arrival;
+        final double price;
+        final int legCount;
+        final long sequence;
+        /** The label expanded before this one at the same airport, or null. */
+        Label previousExpanded;
+
+        Label(Label parent, int row, int airport, long start, long arrival,
+              double price, int legCount, long sequence) {
+            this.parent = parent;
+            this.row = row;
+            this.airport = airport;
+            this.start = start;
+            this.arrival = arrival;
+            this.price = price;
+            this.legCount = legCount;
+            this.sequence = sequence;
+        }
+
+        long elapsed() {
+            return arrival - start;
+        }
+
+        /** Returns true if every airport this journey reached was also reached by {@code other}. */
+        boolean visitsOnlyAirportsOf(Label other) {
+            for (Label step = this; step != null; step = step.parent) {
+                if (!other.visits(step.airport)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Returns true if the journey already passed through the airport. */
+        boolean visits(int code) {
+            for (Label step = this; step != null; step = step.parent) {
+                if (step.airport == code) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns true if any onward legs {@code other} can take are open to this label too,
+         * for a total that is at least as good under the given order.
+         *
+         * <p>The onward legs of a label are those departing in its connection window and not
+         * returning to an airport it visited. An earlier arrival closes the window sooner,
+         * under the maximum connection time, so only labels arriving at the same moment
+         * share a window; and the label must have visited no airport that {@code other} has
+         * not.</p>
+         */
+        boolean dominates(Label other, ItineraryOrder order) {
+            if (legCount > other.legCount || arrival != other.arrival || !visitsOnlyAirportsOf(other)) {
+                return false;
+            }
+            return switch (order) {
+                case PRICE -> price <= other.price;
+                // Elapsed time is measured from the start, so a later start can only help
+                case DURATION -> start >= other.start;
+            };
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.edreams.travelrecommender.connection;
+
+import com.edreams.travelrecommender.model.FlightRecommendation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A journey assembled from one or more direct flight legs.
+ *
+ * <p>Legs are stored in travel order: each leg departs from the airport where the previous
+ * one arrived. Totals are derived from the legs on demand, so an itinerary is as cheap to
+ * create as the list it wraps.</p>
+ *
+ * <p><strong>OCP Java 21 Note:</strong> The compact constructor replaces the {@code legs}
+ * argument with an unmodifiable copy before the implicit field assignment, so the record
+ * stays immutable even if the caller later changes its list.</p>
+ *
+ * @param legs the flights of the journey in travel order
+ */
+public record Itinerary(List<FlightRecommendation> legs) {
+
+    /**
+     * Validates and copies the legs.
+     *
+     * @throws IllegalArgumentException if there are no legs
+     * @throws NullPointerException if the list or any leg is null
+     */
+    public Itinerary {
+        legs = List.copyOf(legs);
+        if (legs.isEmpty()) {
+            throw new IllegalArgumentException("An itinerary needs at least one leg");
+        }
+    }
+
+    /**
+     * Returns the airport where the journey starts.
+     *
+     * @return the departure airport of the first leg
+     */
+    public String origin() {
+        return legs.get(0).departureAirport();
+    }
+
+    /**
+     * Returns the airport where the journey ends.
+     *
+     * @return the arrival airport of the last leg
+     */
+    public String destination() {
+        return legs.get(legs.size() - 1).arrivalAirport();
+    }
+
+    /**
+     * Returns the departure time of the first leg.
+     *
+     * @return when the journey starts
+     */
+    public LocalDateTime departureTime() {
+        return legs.get(0).departureTime();
+    }
+
+    /**
+     * Returns the arrival time of the last leg.
+     *
+     * @return when the journey ends
+     */
+    public LocalDateTime arrivalTime() {
+        return legs.get(legs.size() - 1).arrivalTime();
+    }
+
+    /**
+     * Returns the time from the first departure to the last arrival, including layovers.
+     *
+     * @return the total journey duration
+     */
+    public Duration totalDuration() {
+        return Duration.between(departureTime(), arrivalTime());
+    }
+
+    /**
+     * Returns the sum of the leg prices.
+     *
+     * @return the total price
+     */
+    public double totalPrice() {
+        double total = 0.0;
+        for (FlightRecommendation leg : legs) {
+            total += leg.price();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of intermediate stops.
+     *
+     * @return the number of legs minus one
+     */
+    public int stops() {
+        return legs.size() - 1;
+    }
+}
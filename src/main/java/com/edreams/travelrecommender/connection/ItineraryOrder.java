@@ -0,0 +1,31 @@
+package com.edreams.travelrecommender.connection;
+
+import java.util.Comparator;
+
+/**
+ * The criteria by which {@link ConnectionSearch} ranks itineraries, best first.
+ *
+ * <p>Each constant names a primary criterion; ties are broken by the other criterion and
+ * then by the earlier arrival, so rankings are deterministic.</p>
+ */
+public enum ItineraryOrder {
+    /** Cheapest total price first. */
+    PRICE,
+    /** Shortest time from first departure to last arrival first. */
+    DURATION;
+
+    /**
+     * Returns a comparator that orders itineraries by this criterion, best first.
+     *
+     * @return the itinerary comparator
+     */
+    public Comparator<Itinerary> comparator() {
+        Comparator<Itinerary> byPrice = Comparator.comparingDouble(Itinerary::totalPrice);
+        Comparator<Itinerary> byDuration = Comparator.comparing(Itinerary::totalDuration);
+        Comparator<Itinerary> ranking = switch (this) {
+            case PRICE -> byPrice.thenComparing(byDuration);
+            case DURATION -> byDuration.thenComparing(byPrice);
+        };
+        return ranking.thenComparing(Itinerary::arrivalTime);
+    }
+}
@@ -0,0 +1,159 @@
+package com.edreams.travelrecommender.filter;
+
+import com.edreams.travelrecommender.model.Recommendation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bulk evaluator for numeric threshold filters over primitive column arrays.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>{@link com.edreams.travelrecommender.RecommendationService#filterByPredicate} calls a
+ * lambda, and through it a record accessor, for every element. For numeric thresholds on
+ * large lists, this class instead extracts the field once into a {@code double[]} column
+ * and compares the whole column in a tight loop, producing a {@link Selection} bitmap.
+ * Columns are cached per field, so repeated queries over the same list skip extraction.</p>
+ *
+ * <h2>SIMD Acceleration</h2>
+ * <p>When the {@code jdk.incubator.vector} module is resolved at runtime
+ * ({@code --add-modules jdk.incubator.vector}), comparisons run through the Vector API
+ * and test several lanes per instruction. Otherwise a scalar kernel with identical
+ * results is used. {@link #isVectorized()} reports which one is active.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ColumnarFilter<HotelRecommendation> filter = ColumnarFilter.of(hotels);
+ *
+ * Selection fourStars = filter.where(NumericField.STAR_RATING, Comparison.GREATER_OR_EQUAL, 4);
+ * Selection affordable = filter.where(NumericField.PRICE_PER_NIGHT, Comparison.LESS_THAN, 200.0);
+ *
+ * List<HotelRecommendation> matches = filter.select(fourStars.and(affordable));
+ * }</pre>
+ *
+ * @param <T> the type of recommendation being filtered
+ */
+public final class ColumnarFilter<T extends Recommendation> {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final ComparisonKernel KERNEL = loadKernel();
+
+    private final List<T> rows;
+    private final Map<NumericField<?>, double[]> columns = new ConcurrentHashMap<>();
+
+    private ColumnarFilter(List<T> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Creates a filter over a snapshot of the given recommendations.
+     *
+     * @param <T> the type of recommendation
+     * @param recommendations the rows to filter (producer of T)
+     * @return a new filter
+     * @throws NullPointerException if the list or any of its elements is null
+     */
+    public static <T extends Recommendation> ColumnarFilter<T> of(List<? extends T> recommendations) {
+        return new ColumnarFilter<>(List.copyOf(recommendations));
+    }
+
+    /**
+     * Returns whether comparisons are running on the Vector API kernel.
+     *
+     * @return true if SIMD comparisons are in use, false for the scalar fallback
+     */
+    public static boolean isVectorized() {
+        return KERNEL != ScalarComparisonKernel.INSTANCE;
+    }
+
+    /**
+     * Compares every element of a column against a constant.
+     *
+     * @param column the values to test
+     * @param comparison the operator to apply
+     * @param constant the right-hand side of the comparison
+     * @return a selection with one bit set per matching element
+     */
+    public static Selection compare(double[] column, Comparison comparison, double constant) {
+        long[] bitmap = new long[Selection.wordCount(column.length)];
+        KERNEL.compare(column, comparison, constant, bitmap);
+        return new Selection(bitmap, column.length);
+    }
+
+    /**
+     * Returns the number of rows in this filter.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Selects the rows whose field value satisfies the comparison.
+     *
+     * @param field the numeric field to test (consumer of T)
+     * @param comparison the operator to apply
+     * @param constant the right-hand side of the comparison
+     * @return a selection aligned with the rows of this filter
+     */
+    public Selection where(NumericField<? super T> field, Comparison comparison, double constant) {
+        return compare(column(field), comparison, constant);
+    }
+
+    /**
+     * Selects the rows whose field value lies in the closed range {@code [min, max]}.
+     *
+     * @param field the numeric field to test (consumer of T)
+     * @param min the lower bound, inclusive
+     * @param max the upper bound, inclusive
+     * @return a selection aligned with the rows of this filter
+     */
+    public Selection between(NumericField<? super T> field, double min, double max) {
+        double[] values = column(field);
+        return compare(values, Comparison.GREATER_OR_EQUAL, min)
+                .and(compare(values, Comparison.LESS_OR_EQUAL, max));
+    }
+
+    /**
+     * Materializes the rows marked in a selection, preserving encounter order.
+     *
+     * @param selection a selection produced by this filter
+     * @return a new list of the selected recommendations
+     */
+    public List<T> select(Selection selection) {
+        return selection.applyTo(rows);
+    }
+
+    /**
+     * Returns the cached column for a field, extracting it on first use.
+     */
+    private double[] column(NumericField<? super T> field) {
+        return columns.computeIfAbsent(field, ignored -> {
+            double[] values = new double[rows.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.extractor().applyAsDouble(rows.get(i));
+            }
+            return values;
+        });
+    }
+
+    /**
+     * Picks the SIMD kernel if the incubator module is available, the scalar one otherwise.
+     *
+     * <p>The vector kernel is loaded by name so that this class never links against
+     * {@code jdk.incubator.vector} when the module is absent.</p>
+     */
+    private static ComparisonKernel loadKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return ScalarComparisonKernel.INSTANCE;
+        }
+        try {
+            return (ComparisonKernel) Class.forName(ColumnarFilter.class.getPackageName() + ".VectorComparisonKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return ScalarComparisonKernel.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.edreams.travelrecommender.filter;
+
+/**
+ * The comparison operators supported by the columnar filter engine.
+ *
+ * <p>Each constant compares a column value (left) against a query constant (right),
+ * so {@code GREATER_OR_EQUAL} with 0.8 selects rows where {@code value >= 0.8}.
+ * The scalar fallback uses {@link #test(double, double)} directly, while the
+ * vectorized kernel maps each constant to the equivalent lane-wise operator.</p>
+ *
+ * <p><strong>OCP Java 21 Note:</strong> Enum constants can carry their own behavior.
+ * Here a single abstract method would work too, but a switch expression over
+ * {@code this} keeps all the operator semantics visible in one place.</p>
+ */
+public enum Comparison {
+    LESS_THAN,
+    LESS_OR_EQUAL,
+    GREATER_THAN,
+    GREATER_OR_EQUAL,
+    EQUAL;
+
+    /**
+     * Applies this comparison to a single pair of values.
+     *
+     * @param value the column value
+     * @param constant the query constant
+     * @return true if the value satisfies the comparison
+     */
+    public boolean test(double value, double constant) {
+        return switch (this) {
+            case LESS_THAN -> value < constant;
+            case LESS_OR_EQUAL -> value <= constant;
+            case GREATER_THAN -> value > constant;
+            case GREATER_OR_EQUAL -> value >= constant;
+            case EQUAL -> value == constant;
+        };
+    }
+}
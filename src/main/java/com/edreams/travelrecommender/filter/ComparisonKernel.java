@@ -0,0 +1,21 @@
+package com.edreams.travelrecommender.filter;
+
+/**
+ * Strategy for evaluating one comparison over a whole primitive column.
+ *
+ * <p>Implementations set bit {@code i} of {@code bitmap} when {@code column[i]}
+ * satisfies the comparison. The bitmap is zeroed by the caller and sized to
+ * hold {@code column.length} bits.</p>
+ */
+interface ComparisonKernel {
+
+    /**
+     * Evaluates the comparison for every element and records matches in the bitmap.
+     *
+     * @param column the values to test
+     * @param comparison the operator to apply
+     * @param constant the right-hand side of the comparison
+     * @param bitmap the output selection words, one bit per column element
+     */
+    void compare(double[] column, Comparison comparison, double constant, long[] bitmap);
+}
@@ -0,0 +1,59 @@
+package com.edreams.travelrecommender.filter;
+
+import com.edreams.travelrecommender.model.*;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A numeric record component that the columnar filter engine can extract into a column.
+ *
+ * <p>The type parameter records which recommendation type owns the field, so the compiler
+ * rejects a query such as filtering flights by {@code STAR_RATING}. Integer components
+ * ({@code starRating}, {@code minimumAge}) are widened to {@code double}, which is exact
+ * for every {@code int} value.</p>
+ *
+ * <p><strong>OCP Java 21 Note:</strong> Generic records can hold constants typed with
+ * different arguments. Because {@code ColumnarFilter<T>} accepts a
+ * {@code NumericField<? super T>} (Consumer Super), {@link #CONFIDENCE_SCORE}, declared
+ * for {@code Recommendation}, works with a filter over any subtype.</p>
+ *
+ * @param <T> the recommendation type that owns this field
+ * @param name the record component name, used for diagnostics
+ * @param extractor reads the field from a recommendation
+ */
+public record NumericField<T extends Recommendation>(
+    String name,
+    ToDoubleFunction<? super T> extractor
+) {
+    /** {@link Recommendation#getConfidenceScore()} for every recommendation type. */
+    public static final NumericField<Recommendation> CONFIDENCE_SCORE =
+        new NumericField<>("confidenceScore", Recommendation::getConfidenceScore);
+
+    /** {@link FlightRecommendation#price()}. */
+    public static final NumericField<FlightRecommendation> FLIGHT_PRICE =
+        new NumericField<>("price", FlightRecommendation::price);
+
+    /** {@link HotelRecommendation#pricePerNight()}. */
+    public static final NumericField<HotelRecommendation> PRICE_PER_NIGHT =
+        new NumericField<>("pricePerNight", HotelRecommendation::pricePerNight);
+
+    /** {@link HotelRecommendation#distanceToCenter()}. */
+    public static final NumericField<HotelRecommendation> DISTANCE_TO_CENTER =
+        new NumericField<>("distanceToCenter", HotelRecommendation::distanceToCenter);
+
+    /** {@link HotelRecommendation#starRating()}. */
+    public static final NumericField<HotelRecommendation> STAR_RATING =
+        new NumericField<>("starRating", HotelRecommendation::starRating);
+
+    /** {@link ActivityRecommendation#price()}. */
+    public static final NumericField<ActivityRecommendation> ACTIVITY_PRICE =
+        new NumericField<>("price", ActivityRecommendation::price);
+
+    /** {@link ActivityRecommendation#minimumAge()}. */
+    public static final NumericField<ActivityRecommendation> MINIMUM_AGE =
+        new NumericField<>("minimumAge", ActivityRecommendation::minimumAge);
+
+    /** {@link PackageRecommendation#totalPrice()}. */
+    public static final NumericField<PackageRecommendation> PACKAGE_TOTAL_PRICE =
+        new NumericField<>("totalPrice", PackageRecommendation::totalPrice);
+}
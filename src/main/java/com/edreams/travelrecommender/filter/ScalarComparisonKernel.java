@@ -0,0 +1,33 @@
+package com.edreams.travelrecommender.filter;
+
+/**
+ * Portable kernel that tests one element at a time.
+ *
+ * <p>This is the fallback used when the {@code jdk.incubator.vector} module is not
+ * resolved at runtime, and it also finishes the tail elements that do not fill a
+ * whole vector in {@link VectorComparisonKernel}.</p>
+ */
+final class ScalarComparisonKernel implements ComparisonKernel {
+
+    static final ScalarComparisonKernel INSTANCE = new ScalarComparisonKernel();
+
+    private ScalarComparisonKernel() {
+    }
+
+    @Override
+    public void compare(double[] column, Comparison comparison, double constant, long[] bitmap) {
+        compareRange(column, 0, column.length, comparison, constant, bitmap);
+    }
+
+    /**
+     * Evaluates the comparison for {@code column[from..to)}.
+     */
+    static void compareRange(double[] column, int from, int to,
+                             Comparison comparison, double constant, long[] bitmap) {
+        for (int i = from; i < to; i++) {
+            if (comparison.test(column[i], constant)) {
+                bitmap[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+}
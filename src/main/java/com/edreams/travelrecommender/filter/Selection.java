@@ -0,0 +1,191 @@
+package com.edreams.travelrecommender.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable bitmap marking which rows of a column-aligned list were selected.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>The columnar filter engine does not build a list for every condition. Instead each
+ * condition produces a {@code Selection} with one bit per row, and conditions are combined
+ * with word-wide {@link #and(Selection)} / {@link #or(Selection)} operations that handle
+ * 64 rows at a time. Records are only touched once, when the final selection is applied
+ * to the source list with {@link #applyTo(List)}.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * Selection cheap = filter.where(NumericField.PRICE_PER_NIGHT, Comparison.LESS_THAN, 150.0);
+ * Selection central = filter.where(NumericField.DISTANCE_TO_CENTER, Comparison.LESS_OR_EQUAL, 1.0);
+ * List<HotelRecommendation> result = cheap.and(central).applyTo(hotels);
+ * }</pre>
+ */
+public final class Selection {
+    private final long[] words;
+    private final int size;
+
+    Selection(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of words needed to hold {@code size} bits.
+     */
+    static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    /**
+     * Creates a selection with every row selected.
+     *
+     * @param size the number of rows
+     * @return a selection containing all rows
+     */
+    public static Selection all(int size) {
+        long[] words = new long[wordCount(size)];
+        java.util.Arrays.fill(words, -1L);
+        if ((size & 63) != 0) {
+            words[words.length - 1] = (1L << size) - 1;
+        }
+        return new Selection(words, size);
+    }
+
+    /**
+     * Creates a selection from a bitmap built by a scan outside this package.
+     *
+     * <p>Bit {@code i % 64} of word {@code i / 64} marks row {@code i}. The array is
+     * copied, and bits beyond {@code size} are ignored.</p>
+     *
+     * @param words the bitmap words
+     * @param size the number of rows
+     * @return a selection of the marked rows
+     * @throws IllegalArgumentException if the array does not hold exactly the words
+     *         needed for {@code size} rows
+     */
+    public static Selection fromBitmap(long[] words, int size) {
+        if (size < 0 || words.length != wordCount(size)) {
+            throw new IllegalArgumentException(
+                "Expected " + wordCount(Math.max(size, 0)) + " words for " + size + " rows but got " + words.length);
+        }
+        long[] copy = words.clone();
+        if ((size & 63) != 0) {
+            copy[copy.length - 1] &= (1L << size) - 1;
+        }
+        return new Selection(copy, size);
+    }
+
+    /**
+     * Returns the number of rows this selection covers, selected or not.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the given row is selected.
+     *
+     * @param row the row index
+     * @return true if the row is selected
+     * @throws IndexOutOfBoundsException if the row is outside the selection
+     */
+    public boolean isSelected(int row) {
+        java.util.Objects.checkIndex(row, size);
+        return (words[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Returns the number of selected rows.
+     *
+     * @return the population count of the bitmap
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the rows selected in both this and the other selection.
+     *
+     * @param other a selection over the same rows
+     * @return a new selection holding the intersection
+     * @throws IllegalArgumentException if the selections cover a different number of rows
+     */
+    public Selection and(Selection other) {
+        checkSameSize(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new Selection(result, size);
+    }
+
+    /**
+     * Returns the rows selected in either this or the other selection.
+     *
+     * @param other a selection over the same rows
+     * @return a new selection holding the union
+     * @throws IllegalArgumentException if the selections cover a different number of rows
+     */
+    public Selection or(Selection other) {
+        checkSameSize(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new Selection(result, size);
+    }
+
+    /**
+     * Returns the indices of the selected rows in ascending order.
+     *
+     * @return a new array of selected row indices
+     */
+    public int[] toIndices() {
+        int[] indices = new int[cardinality()];
+        int next = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                indices[next++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Picks the selected rows out of a list aligned with this selection.
+     *
+     * <p>The result keeps the encounter order of the source list, like
+     * {@code RecommendationService.filterByPredicate}.</p>
+     *
+     * @param <T> the element type
+     * @param rows the list the selection was computed from (producer of T)
+     * @return a new list containing only the selected elements
+     * @throws IllegalArgumentException if the list size does not match the selection
+     */
+    public <T> List<T> applyTo(List<? extends T> rows) {
+        if (rows.size() != size) {
+            throw new IllegalArgumentException(
+                "Selection covers " + size + " rows but list has " + rows.size());
+        }
+        List<T> result = new ArrayList<>(cardinality());
+        for (int index : toIndices()) {
+            result.add(rows.get(index));
+        }
+        return result;
+    }
+
+    private void checkSameSize(Selection other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException(
+                "Selections cover different row counts: " + size + " and " + other.size);
+        }
+    }
+}
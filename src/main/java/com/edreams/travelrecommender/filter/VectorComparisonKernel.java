@@ -0,0 +1,43 @@
+package com.edreams.travelrecommender.filter;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel built on the incubating Vector API.
+ *
+ * <p>Each iteration loads {@code SPECIES.length()} doubles, compares them against a
+ * broadcast constant in one instruction and turns the resulting lane mask straight
+ * into bitmap bits. The lane count is a power of two no larger than 64, so a mask
+ * never straddles two bitmap words.</p>
+ *
+ * <p>This class is only loaded by {@link ColumnarFilter} after it has confirmed that
+ * {@code jdk.incubator.vector} is present in the boot layer; referencing it otherwise
+ * would fail with a {@link NoClassDefFoundError}.</p>
+ */
+final class VectorComparisonKernel implements ComparisonKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void compare(double[] column, Comparison comparison, double constant, long[] bitmap) {
+        VectorOperators.Comparison operator = switch (comparison) {
+            case LESS_THAN -> VectorOperators.LT;
+            case LESS_OR_EQUAL -> VectorOperators.LE;
+            case GREATER_THAN -> VectorOperators.GT;
+            case GREATER_OR_EQUAL -> VectorOperators.GE;
+            case EQUAL -> VectorOperators.EQ;
+        };
+
+        int upperBound = SPECIES.loopBound(column.length);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            VectorMask<Double> mask = DoubleVector.fromArray(SPECIES, column, i)
+                    .compare(operator, constant);
+            bitmap[i >>> 6] |= mask.toLong() << i;
+        }
+        ScalarComparisonKernel.compareRange(column, i, column.length, comparison, constant, bitmap);
+    }
+}
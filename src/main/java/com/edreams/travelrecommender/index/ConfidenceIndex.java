@@ -0,0 +1,211 @@
+package com.edreams.travelrecommender.index;
+
+import com.edreams.travelrecommender.filter.Selection;
+import com.edreams.travelrecommender.model.Recommendation;
+import com.edreams.travelrecommender.sort.RecommendationSort;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read-optimized index that answers confidence threshold queries without scanning.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>{@link com.edreams.travelrecommender.RecommendationService#filterByConfidence} tests
+ * every record on every call. For a catalog that is built once and queried many times,
+ * this index pays the sorting cost up front: confidence scores are copied into a
+ * primitive {@code double[]} in descending order, with a parallel {@code int[]} of
+ * ordinals pointing back at the source records. A threshold query is then a binary
+ * search over the score column followed by a contiguous slice of the ordinal column.</p>
+ *
+ * <h2>Columnar Layout</h2>
+ * <pre>
+ *   rank      0     1     2     3
+ *   scores  [0.92, 0.85, 0.85, 0.60]   (descending, primitive doubles)
+ *   ordinals[   4,    0,    2,    1]   (position in the source list)
+ * </pre>
+ * <p>Ties keep their original encounter order, so the layout is deterministic.</p>
+ *
+ * <h2>OCP Java 21 Note</h2>
+ * <p>The class is generic in {@code T extends Recommendation}, and the static factory
+ * accepts a {@code List<? extends T>} (Producer Extends). A
+ * {@code ConfidenceIndex<Recommendation>} can therefore be built from a
+ * {@code List<FlightRecommendation>}, exactly like the service methods.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ConfidenceIndex<HotelRecommendation> index = ConfidenceIndex.of(hotels);
+ *
+ * // Best-first view of all hotels with a score of at least 0.8
+ * List<HotelRecommendation> best = index.atLeast(0.8);
+ *
+ * // Same records in the order of the source list (matches filterByConfidence)
+ * List<HotelRecommendation> ordered = index.atLeastInEncounterOrder(0.8);
+ * }</pre>
+ *
+ * @param <T> the type of recommendation held by the index
+ */
+public final class ConfidenceIndex<T extends Recommendation> {
+    private final List<T> records;
+    private final double[] scores;
+    private final int[] ordinals;
+
+    private ConfidenceIndex(List<T> records, double[] scores, int[] ordinals) {
+        this.records = records;
+        this.scores = scores;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Builds an index over the given recommendations.
+     *
+     * <p>The source list is copied, so later changes to it are not reflected in the index.
+     * Building sorts the scores with {@link RecommendationSort#sortedOrdinals}, a linear
+     * radix sort; every query afterwards costs O(log n) plus the size of the returned
+     * slice.</p>
+     *
+     * @param <T> the type of recommendation
+     * @param recommendations the recommendations to index (producer of T)
+     * @return a new index over a snapshot of the recommendations
+     * @throws NullPointerException if the list or any of its elements is null
+     */
+    public static <T extends Recommendation> ConfidenceIndex<T> of(List<? extends T> recommendations) {
+        List<T> records = List.copyOf(recommendations);
+        int size = records.size();
+
+        // Read every score exactly once; the sort below works on primitives only
+        double[] unsorted = new double[size];
+        for (int i = 0; i < size; i++) {
+            unsorted[i] = records.get(i).getConfidenceScore();
+        }
+        int[] ordinals = RecommendationSort.sortedOrdinals(unsorted, true);
+
+        double[] scores = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            scores[rank] = unsorted[ordinals[rank]];
+        }
+        return new ConfidenceIndex<>(records, scores, ordinals);
+    }
+
+    /**
+     * Returns the number of indexed recommendations.
+     *
+     * @return the size of the index
+     */
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Counts the recommendations whose confidence score is at or above the threshold.
+     *
+     * <p>This is a pure binary search over the score column and touches no records.</p>
+     *
+     * @param minimumConfidence the minimum confidence score for inclusion
+     * @return the number of matching recommendations
+     */
+    public int countAtLeast(double minimumConfidence) {
+        int low = 0;
+        int high = scores.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (scores[mid] >= minimumConfidence) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the recommendations at or above the threshold, best first.
+     *
+     * <p>The result is a read-only, random-access view over a slice of the index;
+     * no list is copied and no record is inspected to build it.</p>
+     *
+     * @param minimumConfidence the minimum confidence score for inclusion
+     * @return an unmodifiable view of the matching recommendations in descending confidence order
+     */
+    public List<T> atLeast(double minimumConfidence) {
+        return new RankSlice<>(records, ordinals, countAtLeast(minimumConfidence));
+    }
+
+    /**
+     * Returns the recommendations at or above the threshold in their original order.
+     *
+     * <p>The result matches {@code RecommendationService.filterByConfidence} for the same
+     * source list. Only the ordinals of the matching slice are sorted, so the extra cost
+     * over {@link #atLeast(double)} is proportional to the number of matches.</p>
+     *
+     * @param minimumConfidence the minimum confidence score for inclusion
+     * @return an unmodifiable list of the matching recommendations in encounter order
+     */
+    public List<T> atLeastInEncounterOrder(double minimumConfidence) {
+        int count = countAtLeast(minimumConfidence);
+        int[] positions = Arrays.copyOf(ordinals, count);
+        Arrays.sort(positions);
+        return new RankSlice<>(records, positions, count);
+    }
+
+    /**
+     * Selects the recommendations at or above the threshold as a bitmap over the source rows.
+     *
+     * <p>This lets a confidence threshold compose with other {@link Selection}s over the same
+     * source list, such as the windows of a {@link FlightTimeIndex}. Building the bitmap
+     * costs one bit per match; no record is inspected.</p>
+     *
+     * @param minimumConfidence the minimum confidence score for inclusion
+     * @return a selection over the rows of the source list
+     */
+    public Selection selectAtLeast(double minimumConfidence) {
+        int count = countAtLeast(minimumConfidence);
+        long[] words = new long[(records.size() + 63) >>> 6];
+        for (int rank = 0; rank < count; rank++) {
+            int ordinal = ordinals[rank];
+            words[ordinal >>> 6] |= 1L << ordinal;
+        }
+        return Selection.fromBitmap(words, records.size());
+    }
+
+    /**
+     * Returns the confidence score stored at the given rank.
+     *
+     * @param rank the position in descending confidence order, starting at 0
+     * @return the confidence score at that rank
+     * @throws IndexOutOfBoundsException if the rank is outside the index
+     */
+    public double scoreAt(int rank) {
+        return scores[rank];
+    }
+
+    /**
+     * Read-only list view that maps the first {@code size} positions to records.
+     */
+    private static final class RankSlice<T> extends AbstractList<T> implements RandomAccess {
+        private final List<T> records;
+        private final int[] positions;
+        private final int size;
+
+        RankSlice(List<T> records, int[] positions, int size) {
+            this.records = records;
+            this.positions = positions;
+            this.size = size;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return records.get(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
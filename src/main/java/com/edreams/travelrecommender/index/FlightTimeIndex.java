@@ -0,0 +1,318 @@
+package com.edreams.travelrecommender.index;
+
+import com.edreams.travelrecommender.filter.Selection;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import com.edreams.travelrecommender.symbol.SymbolTable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A read-optimized index over flight departure and arrival times that answers time-window
+ * queries as {@link Selection} bitmaps.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>A query such as "flights leaving between Friday 18:00 and Saturday 10:00" otherwise
+ * scans every record and compares two {@code LocalDateTime}s per flight. This index sorts
+ * each time column once into a primitive array of epoch minutes (UTC), so a window query
+ * is a binary search followed by a contiguous run of matching rows.</p>
+ *
+ * <h2>Columnar Layout</h2>
+ * <pre>
+ *   rank        0         1         2         3
+ *   minutes [28289310, 28289310, 28289670, 28290150]   (ascending epoch minutes)
+ *   ordinals[       3,        0,        2,        1]   (position in the source list)
+ * </pre>
+ * <p>Rows inside a window's first and last minute are checked against their exact
+ * {@code LocalDateTime}, so bounds with seconds or nanoseconds are honoured. Every other
+ * row in the window is selected without touching its record. Flights with a null time
+ * never match a window on that time.</p>
+ *
+ * <h2>Composing Filters</h2>
+ * <p>Every query returns a {@link Selection} over the rows of the source list, the same
+ * currency as {@link com.edreams.travelrecommender.filter.ColumnarFilter}. Windows compose
+ * with each other, with {@link #onRoute(String, String)} and with
+ * {@link ConfidenceIndex#selectAtLeast(double)} by word-wide {@code AND}, and records are
+ * only touched once, by {@link #select(Selection)}.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * FlightTimeIndex times = FlightTimeIndex.of(flights);
+ * ConfidenceIndex<FlightRecommendation> confidence = ConfidenceIndex.of(flights);
+ *
+ * Selection weekend = times.departingBetween(
+ *     LocalDateTime.parse("2023-10-13T18:00"), LocalDateTime.parse("2023-10-14T10:00"));
+ * Selection result = weekend
+ *     .and(times.onRoute("JFK", "CDG"))
+ *     .and(confidence.selectAtLeast(0.8));
+ *
+ * List<FlightRecommendation> matches = times.select(result);
+ * }</pre>
+ */
+public final class FlightTimeIndex {
+
+    /**
+     * One time field, sorted: epoch minutes next to the source ordinals they belong to.
+     */
+    private record TimeColumn(Function<FlightRecommendation, LocalDateTime> field, int[] minutes, int[] ordinals) {
+    }
+
+    private final List<FlightRecommendation> rows;
+    private final TimeColumn departures;
+    private final TimeColumn arrivals;
+    private final SymbolTable airports;
+    private final Map<Integer, int[]> routeRows;
+
+    private FlightTimeIndex(List<FlightRecommendation> rows, TimeColumn departures, TimeColumn arrivals,
+                            SymbolTable airports, Map<Integer, int[]> routeRows) {
+        this.rows = rows;
+        this.departures = departures;
+        this.arrivals = arrivals;
+        this.airports = airports;
+        this.routeRows = routeRows;
+    }
+
+    /**
+     * Builds an index over the given flights.
+     *
+     * <p>The source list is copied, so later changes to it are not reflected in the index.
+     * Building costs O(n log n) for the two time columns and O(n) for the route groups.</p>
+     *
+     * @param flights the flights to index (producer of FlightRecommendation)
+     * @return a new index over a snapshot of the flights
+     * @throws NullPointerException if the list or any of its elements is null
+     * @throws IllegalArgumentException if the flights use more than 65,536 distinct airports
+     */
+    public static FlightTimeIndex of(List<? extends FlightRecommendation> flights) {
+        List<FlightRecommendation> rows = List.copyOf(flights);
+
+        SymbolTable airports = new SymbolTable();
+        Map<Integer, int[]> routeRows = groupByRoute(rows, airports);
+        return new FlightTimeIndex(rows,
+            buildColumn(rows, FlightRecommendation::departureTime),
+            buildColumn(rows, FlightRecommendation::arrivalTime),
+            airports, routeRows);
+    }
+
+    /**
+     * Returns the number of indexed flights.
+     *
+     * @return the size of the index
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Selects the flights that depart within a time window.
+     *
+     * <h3>Complexity</h3>
+     * <p>O(log n) to find the window, plus one bit per matching row and an empty bitmap of
+     * n / 64 words. Only rows in the window's first and last minute touch their record.</p>
+     *
+     * @param from the earliest departure time, inclusive
+     * @param to the latest departure time, exclusive
+     * @return a selection over the source rows
+     * @throws IllegalArgumentException if {@code to} is before {@code from}
+     */
+    public Selection departingBetween(LocalDateTime from, LocalDateTime to) {
+        return window(departures, from, to);
+    }
+
+    /**
+     * Selects the flights that arrive within a time window.
+     *
+     * @param from the earliest arrival time, inclusive
+     * @param to the latest arrival time, exclusive
+     * @return a selection over the source rows
+     * @throws IllegalArgumentException if {@code to} is before {@code from}
+     * @see #departingBetween(LocalDateTime, LocalDateTime)
+     */
+    public Selection arrivingBetween(LocalDateTime from, LocalDateTime to) {
+        return window(arrivals, from, to);
+    }
+
+    /**
+     * Selects the flights on a route.
+     *
+     * <p>Rows are grouped by route when the index is built, so this costs one lookup plus
+     * one bit per flight on the route.</p>
+     *
+     * @param departureAirport the departure airport code
+     * @param arrivalAirport the arrival airport code
+     * @return a selection over the source rows, empty for an unknown route
+     */
+    public Selection onRoute(String departureAirport, String arrivalAirport) {
+        long[] words = new long[wordCount(rows.size())];
+        int departure = airports.codeOf(departureAirport);
+        int arrival = airports.codeOf(arrivalAirport);
+        if (departure != SymbolTable.NO_CODE && arrival != SymbolTable.NO_CODE) {
+            int[] routeOrdinals = routeRows.get(RouteIndex.routeKey(departure, arrival));
+            if (routeOrdinals != null) {
+                for (int ordinal : routeOrdinals) {
+                    words[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+        }
+        return Selection.fromBitmap(words, rows.size());
+    }
+
+    /**
+     * Returns the selected flights in the order of the source list.
+     *
+     * @param selection a selection computed against this index or another index over the
+     *        same source list
+     * @return a new list of the selected flights
+     * @throws IllegalArgumentException if the selection covers a different number of rows
+     */
+    public List<FlightRecommendation> select(Selection selection) {
+        return selection.applyTo(rows);
+    }
+
+    private Selection window(TimeColumn column, LocalDateTime from, LocalDateTime to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Window end " + to + " is before its start " + from);
+        }
+        int firstMinute = epochMinute(from);
+        int lastMinute = epochMinute(to);
+        int[] minutes = column.minutes();
+        int[] ordinals = column.ordinals();
+        long[] words = new long[wordCount(rows.size())];
+
+        int end = upperBound(minutes, lastMinute);
+        for (int rank = lowerBound(minutes, firstMinute); rank < end; rank++) {
+            int minute = minutes[rank];
+            int ordinal = ordinals[rank];
+            // Rows strictly inside the window need no record access
+            if (minute == firstMinute || minute == lastMinute) {
+                LocalDateTime time = column.field().apply(rows.get(ordinal));
+                if (time.isBefore(from) || !time.isBefore(to)) {
+                    continue;
+                }
+            }
+            words[ordinal >>> 6] |= 1L << ordinal;
+        }
+        return Selection.fromBitmap(words, rows.size());
+    }
+
+    /**
+     * Groups row ordinals by route key, skipping rows without both airports.
+     *
+     * <p>Rows are packed as {@code routeKey << 32 | ordinal} and sorted, which makes each
+     * route a contiguous run with its ordinals in ascending order.</p>
+     */
+    private static Map<Integer, int[]> groupByRoute(List<FlightRecommendation> rows, SymbolTable airports) {
+        long[] packed = new long[rows.size()];
+        int count = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            FlightRecommendation flight = rows.get(i);
+            if (flight.departureAirport() != null && flight.arrivalAirport() != null) {
+                int key = RouteIndex.routeKey(
+                    encodeAirport(airports, flight.departureAirport()),
+                    encodeAirport(airports, flight.arrivalAirport()));
+                packed[count++] = (long) key << 32 | i;
+            }
+        }
+        Arrays.sort(packed, 0, count);
+
+        Map<Integer, int[]> routeRows = new HashMap<>();
+        for (int start = 0, end; start < count; start = end) {
+            int key = (int) (packed[start] >> 32);
+            end = start + 1;
+            while (end < count && (int) (packed[end] >> 32) == key) {
+                end++;
+            }
+            int[] ordinals = new int[end - start];
+            for (int i = start; i < end; i++) {
+                ordinals[i - start] = (int) packed[i];
+            }
+            routeRows.put(key, ordinals);
+        }
+        return routeRows;
+    }
+
+    private static int encodeAirport(SymbolTable airports, String airport) {
+        int code = airports.encode(airport);
+        if (code >= RouteIndex.MAX_AIRPORTS) {
+            throw new IllegalArgumentException("Flight time index holds at most " + RouteIndex.MAX_AIRPORTS + " airports");
+        }
+        return code;
+    }
+
+    /**
+     * Sorts one time column by epoch minute, skipping rows whose time is null.
+     *
+     * <p>Each row is packed into a {@code long} as {@code minute << 32 | ordinal}, so a
+     * primitive sort orders by minute and keeps ties in encounter order.</p>
+     */
+    private static TimeColumn buildColumn(List<FlightRecommendation> rows,
+                                          Function<FlightRecommendation, LocalDateTime> field) {
+        long[] packed = new long[rows.size()];
+        int count = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            LocalDateTime time = field.apply(rows.get(i));
+            if (time != null) {
+                packed[count++] = (long) epochMinute(time) << 32 | i;
+            }
+        }
+        Arrays.sort(packed, 0, count);
+
+        int[] minutes = new int[count];
+        int[] ordinals = new int[count];
+        for (int rank = 0; rank < count; rank++) {
+            minutes[rank] = (int) (packed[rank] >> 32);
+            ordinals[rank] = (int) packed[rank];
+        }
+        return new TimeColumn(field, minutes, ordinals);
+    }
+
+    /**
+     * Returns the epoch minute (UTC) of a time, saturated to the {@code int} range.
+     *
+     * <p>An {@code int} covers about 4,000 years either side of 1970; times beyond that
+     * share the extreme minute and are always compared exactly.</p>
+     */
+    private static int epochMinute(LocalDateTime time) {
+        long minute = Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, minute));
+    }
+
+    /** Returns the first rank whose minute is at least {@code key}. */
+    private static int lowerBound(int[] minutes, int key) {
+        int low = 0;
+        int high = minutes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (minutes[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Returns the first rank whose minute is greater than {@code key}. */
+    private static int upperBound(int[] minutes, int key) {
+        int low = 0;
+        int high = minutes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (minutes[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+}
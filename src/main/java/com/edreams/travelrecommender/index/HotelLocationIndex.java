@@ -0,0 +1,306 @@
+package com.edreams.travelrecommender.index;
+
+import com.edreams.travelrecommender.model.HotelRecommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of hotels by location that answers "N+ stars within D km of the centre" with
+ * binary searches instead of a scan.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Filtering hotels on {@code location} and {@code distanceToCenter} with
+ * {@link com.edreams.travelrecommender.RecommendationService#filterByPredicate} reads every
+ * hotel in the catalog. This index groups hotels by location and, within a location, into
+ * one bucket per star rating. Each bucket keeps its hotels sorted by distance next to a
+ * primitive {@code double[]} distance column.</p>
+ *
+ * <h2>Bucket Layout</h2>
+ * <pre>
+ *   location "Paris"
+ *     5 stars  distances [0.3, 1.8]        hotels [H7, H2]
+ *     4 stars  distances [0.4, 0.9, 2.5]   hotels [H1, H9, H4]
+ *     3 stars  distances [0.2]             hotels [H5]
+ * </pre>
+ * <p>A query for 4+ stars within 1 km reads only the 4- and 5-star buckets, takes the prefix
+ * of each up to the distance bound by binary search, and merges the prefixes by distance.
+ * Hotels with a NaN distance sort last and match no finite distance bound.</p>
+ *
+ * <h2>Updates and Concurrency</h2>
+ * <p>Locations live in a {@link ConcurrentHashMap}. {@link #add} and {@link #remove} copy
+ * one bucket and replace only that location's bucket array, costing O(bucket size)
+ * however many locations there are. {@link #rebuild} builds a complete new map and swaps
+ * it in at once, so readers see either the old catalog or the new one. Writers are
+ * serialized; readers never lock.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * HotelLocationIndex hotels = HotelLocationIndex.of(catalogHotels);
+ *
+ * // 4+ star hotels within 1 km of the centre of Paris, nearest first
+ * List<HotelRecommendation> central = hotels.within("Paris", 1.0, 4);
+ *
+ * hotels.add(newHotel);
+ * hotels.rebuild(nightlyHotels);
+ * }</pre>
+ */
+public final class HotelLocationIndex {
+    /** The lowest star rating a hotel can have. */
+    private static final int MIN_STARS = 1;
+    /** The highest star rating a hotel can have. */
+    private static final int MAX_STARS = 5;
+
+    private static final Bucket EMPTY_BUCKET = new Bucket(new double[0], new HotelRecommendation[0]);
+    private static final Comparator<HotelRecommendation> BY_DISTANCE =
+        Comparator.comparingDouble(HotelRecommendation::distanceToCenter);
+
+    /**
+     * Hotels of one location and star rating, sorted by distance. Never modified after
+     * publication.
+     */
+    private record Bucket(double[] distances, HotelRecommendation[] hotels) {
+    }
+
+    /**
+     * Star buckets by location, each array indexed by {@code starRating - MIN_STARS}.
+     * Arrays are replaced, never modified, after publication; the map itself is replaced
+     * by {@link #rebuild}.
+     */
+    private volatile ConcurrentHashMap<String, Bucket[]> locations = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    /**
+     * Creates an empty index.
+     */
+    public HotelLocationIndex() {
+    }
+
+    /**
+     * Builds an index over the given hotels.
+     *
+     * @param hotels the hotels to index (producer of HotelRecommendation)
+     * @return a new index
+     * @throws NullPointerException if a hotel or its location is null
+     * @see #rebuild(List)
+     */
+    public static HotelLocationIndex of(List<? extends HotelRecommendation> hotels) {
+        HotelLocationIndex index = new HotelLocationIndex();
+        index.rebuild(hotels);
+        return index;
+    }
+
+    /**
+     * Replaces the whole contents of the index.
+     *
+     * <p>Hotels are grouped and each bucket is sorted once, in O(n log n). The new contents
+     * are published in one step. Hotels at equal distances keep their order in the list.</p>
+     *
+     * @param hotels the hotels to index (producer of HotelRecommendation)
+     * @throws NullPointerException if a hotel or its location is null
+     */
+    public void rebuild(List<? extends HotelRecommendation> hotels) {
+        Map<String, List<List<HotelRecommendation>>> grouped = new HashMap<>();
+        for (HotelRecommendation hotel : hotels) {
+            Objects.requireNonNull(hotel.location(), "location");
+            grouped.computeIfAbsent(hotel.location(), location -> {
+                List<List<HotelRecommendation>> buckets = new ArrayList<>();
+                for (int stars = MIN_STARS; stars <= MAX_STARS; stars++) {
+                    buckets.add(new ArrayList<>());
+                }
+                return buckets;
+            }).get(hotel.starRating() - MIN_STARS).add(hotel);
+        }
+
+        ConcurrentHashMap<String, Bucket[]> rebuilt = new ConcurrentHashMap<>(grouped.size());
+        grouped.forEach((location, starLists) -> {
+            Bucket[] buckets = new Bucket[MAX_STARS - MIN_STARS + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                List<HotelRecommendation> bucketHotels = starLists.get(i);
+                // List.sort is stable, so equal distances keep their source order
+                bucketHotels.sort(BY_DISTANCE);
+                buckets[i] = toBucket(bucketHotels.toArray(new HotelRecommendation[0]));
+            }
+            rebuilt.put(location, buckets);
+        });
+        synchronized (writeLock) {
+            locations = rebuilt;
+        }
+    }
+
+    /**
+     * Returns the number of indexed hotels.
+     *
+     * <p>Locations are summed one by one, so updates made during the call may or may not
+     * be counted.</p>
+     *
+     * @return the number of hotels across all locations
+     */
+    public int size() {
+        int size = 0;
+        for (Bucket[] buckets : locations.values()) {
+            for (Bucket bucket : buckets) {
+                size += bucket.hotels().length;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Counts the hotels in a location within a distance and at or above a star rating.
+     *
+     * <p>This is one binary search per star bucket and touches no hotel.</p>
+     *
+     * @param location the location to search
+     * @param maximumDistance the largest distance to the centre, inclusive
+     * @param minimumStars the lowest star rating, inclusive
+     * @return the number of matching hotels
+     */
+    public int count(String location, double maximumDistance, int minimumStars) {
+        Bucket[] buckets = locations.get(location);
+        if (buckets == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int stars = Math.max(minimumStars, MIN_STARS); stars <= MAX_STARS; stars++) {
+            count += upperBound(buckets[stars - MIN_STARS].distances(), maximumDistance);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the hotels in a location within a distance and at or above a star rating,
+     * nearest first.
+     *
+     * <h3>Complexity</h3>
+     * <p>One binary search per star bucket, then a merge of at most five sorted prefixes:
+     * O(log n + m) for m matches. Hotels at equal distances are listed from the highest star
+     * rating down.</p>
+     *
+     * @param location the location to search
+     * @param maximumDistance the largest distance to the centre, inclusive
+     * @param minimumStars the lowest star rating, inclusive
+     * @return a new list of the matching hotels sorted by distance
+     */
+    public List<HotelRecommendation> within(String location, double maximumDistance, int minimumStars) {
+        Bucket[] buckets = locations.get(location);
+        if (buckets == null) {
+            return new ArrayList<>();
+        }
+        int first = Math.max(minimumStars, MIN_STARS) - MIN_STARS;
+        int[] ends = new int[buckets.length];
+        int[] next = new int[buckets.length];
+        int total = 0;
+        for (int b = first; b < buckets.length; b++) {
+            ends[b] = upperBound(buckets[b].distances(), maximumDistance);
+            total += ends[b];
+        }
+
+        List<HotelRecommendation> result = new ArrayList<>(total);
+        while (result.size() < total) {
+            int nearest = -1;
+            // Scan from the highest rating so that ties go to the better hotel
+            for (int b = buckets.length - 1; b >= first; b--) {
+                if (next[b] < ends[b] && (nearest < 0
+                        || buckets[b].distances()[next[b]] < buckets[nearest].distances()[next[nearest]])) {
+                    nearest = b;
+                }
+            }
+            result.add(buckets[nearest].hotels()[next[nearest]++]);
+        }
+        return result;
+    }
+
+    /**
+     * Adds a hotel to its location and star bucket, after any hotels at the same distance.
+     *
+     * @param hotel the hotel to add
+     * @throws NullPointerException if the hotel or its location is null
+     */
+    public void add(HotelRecommendation hotel) {
+        Objects.requireNonNull(hotel.location(), "location");
+        synchronized (writeLock) {
+            Bucket[] buckets = locations.get(hotel.location());
+            buckets = buckets == null ? emptyBuckets() : buckets.clone();
+            int b = hotel.starRating() - MIN_STARS;
+            HotelRecommendation[] hotels = buckets[b].hotels();
+            int position = upperBound(buckets[b].distances(), hotel.distanceToCenter());
+
+            HotelRecommendation[] updated = new HotelRecommendation[hotels.length + 1];
+            System.arraycopy(hotels, 0, updated, 0, position);
+            updated[position] = hotel;
+            System.arraycopy(hotels, position, updated, position + 1, hotels.length - position);
+            buckets[b] = toBucket(updated);
+            locations.put(hotel.location(), buckets);
+        }
+    }
+
+    /**
+     * Removes one occurrence of a hotel, matched with {@link HotelRecommendation#equals}.
+     *
+     * @param hotel the hotel to remove
+     * @return true if the hotel was found and removed
+     */
+    public boolean remove(HotelRecommendation hotel) {
+        if (hotel == null || hotel.location() == null) {
+            return false;
+        }
+        synchronized (writeLock) {
+            Bucket[] buckets = locations.get(hotel.location());
+            if (buckets == null) {
+                return false;
+            }
+            int b = hotel.starRating() - MIN_STARS;
+            HotelRecommendation[] hotels = buckets[b].hotels();
+            int position = Arrays.asList(hotels).indexOf(hotel);
+            if (position < 0) {
+                return false;
+            }
+            HotelRecommendation[] updated = new HotelRecommendation[hotels.length - 1];
+            System.arraycopy(hotels, 0, updated, 0, position);
+            System.arraycopy(hotels, position + 1, updated, position, hotels.length - position - 1);
+            buckets = buckets.clone();
+            buckets[b] = toBucket(updated);
+            locations.put(hotel.location(), buckets);
+            return true;
+        }
+    }
+
+    private static Bucket[] emptyBuckets() {
+        Bucket[] buckets = new Bucket[MAX_STARS - MIN_STARS + 1];
+        Arrays.fill(buckets, EMPTY_BUCKET);
+        return buckets;
+    }
+
+    private static Bucket toBucket(HotelRecommendation[] hotels) {
+        double[] distances = new double[hotels.length];
+        for (int i = 0; i < hotels.length; i++) {
+            distances[i] = hotels[i].distanceToCenter();
+        }
+        return new Bucket(distances, hotels);
+    }
+
+    /**
+     * Returns the number of leading distances that are at most {@code bound}. NaN distances
+     * sort last under {@link Double#compare} and never count.
+     */
+    private static int upperBound(double[] distances, double bound) {
+        int low = 0;
+        int high = distances.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(distances[mid], bound) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,462 @@
+package com.edreams.travelrecommender.index;
+
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import com.edreams.travelrecommender.symbol.SymbolTable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An index of flights by route that answers origin/destination and date-window lookups
+ * without scanning the catalog.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Finding the flights between two airports with
+ * {@link com.edreams.travelrecommender.RecommendationService#filterByPredicate} compares two
+ * strings on every flight in the catalog. This index groups flights by route once, so a
+ * lookup is one hash probe on an {@code int} key followed by a binary search inside the
+ * route.</p>
+ *
+ * <h2>Route Keys</h2>
+ * <p>Airport codes are numbered by a private {@link SymbolTable}, and a route is keyed by
+ * the two codes packed into a single {@code int}: departure code in the high 16 bits,
+ * arrival code in the low 16 bits (see {@link #routeKey(int, int)}). Routes live in an
+ * open-addressing table of primitive keys, so a lookup neither boxes nor hashes strings
+ * beyond the two airport lookups. The index holds at most 65,536 distinct airports.</p>
+ *
+ * <h2>Route Layout</h2>
+ * <p>Within a route, flights are kept sorted by {@code departureTime}, next to a primitive
+ * column of departure epoch seconds (UTC):</p>
+ * <pre>
+ *   route JFK-CDG
+ *   seconds [1697358600, 1697380200, 1697380200, 1697445000]   (ascending)
+ *   flights [     FL123,      FL456,      FL789,      FL321]
+ * </pre>
+ * <p>A date-window lookup is a binary search over the seconds column and returns a
+ * read-only slice of the flights column; no list is copied. Flights with equal departure
+ * times keep their insertion order.</p>
+ *
+ * <h2>Updates and Concurrency</h2>
+ * <p>{@link #add} and {@link #remove} copy the affected route's arrays and publish the new
+ * copy, which costs O(route size) and leaves all other routes untouched. Writers are
+ * serialized; readers never lock and always see a complete route, and slices returned
+ * earlier keep showing the route as it was when they were taken.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * RouteIndex routes = RouteIndex.of(flights);
+ *
+ * // All JFK to CDG flights, earliest departure first
+ * List<FlightRecommendation> all = routes.flights("JFK", "CDG");
+ *
+ * // Departures on the evening of 15 October
+ * List<FlightRecommendation> evening = routes.flights("JFK", "CDG",
+ *     LocalDateTime.parse("2023-10-15T18:00"), LocalDateTime.parse("2023-10-16T00:00"));
+ *
+ * routes.add(newFlight);
+ * routes.remove(cancelledFlight);
+ * }</pre>
+ */
+public final class RouteIndex {
+    /** The largest number of distinct airports a 16-bit code can hold. */
+    static final int MAX_AIRPORTS = 1 << 16;
+
+    private static final Route EMPTY_ROUTE = new Route(0, new FlightRecommendation[0], new long[0]);
+
+    /**
+     * The flights of one route and their departure seconds, both sorted by departure time.
+     * Instances are immutable; all fields are final, so a reader that sees a route in the
+     * table also sees its contents.
+     */
+    private static final class Route {
+        final int key;
+        final FlightRecommendation[] flights;
+        final long[] seconds;
+
+        Route(int key, FlightRecommendation[] flights, long[] seconds) {
+            this.key = key;
+            this.flights = flights;
+            this.seconds = seconds;
+        }
+    }
+
+    /**
+     * Open-addressing table of routes, probed linearly by route key. Writers fill empty
+     * slots and replace routes in place; a slot never becomes empty again.
+     */
+    private static final class Table {
+        final Route[] routes;
+        final int mask;
+        /** {@code 32 - log2(capacity)}: the product's top bits pick the home slot. */
+        final int shift;
+        int used;
+
+        Table(int capacity) {
+            this.routes = new Route[capacity];
+            this.mask = capacity - 1;
+            this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        }
+
+        /**
+         * Returns the slot holding {@code key}, or the empty slot where it belongs.
+         *
+         * <p>Fibonacci hashing: the top bits of {@code key * 2^32 / phi} depend on every
+         * bit of the key, so both airport codes spread over tables of any size.</p>
+         */
+        int slotOf(int key) {
+            int slot = (key * 0x9E3779B9) >>> shift;
+            Route route;
+            while ((route = routes[slot]) != null && route.key != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        void put(int slot, Route route) {
+            if (routes[slot] == null) {
+                used++;
+            }
+            routes[slot] = route;
+        }
+    }
+
+    private final SymbolTable airports = new SymbolTable();
+    private final Object writeLock = new Object();
+    private volatile Table table = new Table(16);
+    private volatile int size;
+
+    /**
+     * Creates an empty index.
+     */
+    public RouteIndex() {
+    }
+
+    /**
+     * Builds an index over the given flights.
+     *
+     * <p>Flights are grouped by route and each route is sorted once, so bulk building costs
+     * O(n log n) instead of the O(n * route size) of adding flights one by one. Flights with
+     * equal departure times on the same route keep their order in the source list.</p>
+     *
+     * @param flights the flights to index (producer of FlightRecommendation)
+     * @return a new index
+     * @throws NullPointerException if a flight, its airports or its departure time is null
+     * @throws IllegalArgumentException if the flights use more than 65,536 distinct airports
+     */
+    public static RouteIndex of(List<? extends FlightRecommendation> flights) {
+        RouteIndex index = new RouteIndex();
+        List<FlightRecommendation> sorted = new ArrayList<>(flights);
+        for (FlightRecommendation flight : sorted) {
+            checkIndexable(flight);
+        }
+        // List.sort is stable, so equal departure times keep their source order
+        sorted.sort(Comparator.comparing(FlightRecommendation::departureTime));
+
+        synchronized (index.writeLock) {
+            Map<Integer, List<FlightRecommendation>> byRoute = new HashMap<>();
+            for (FlightRecommendation flight : sorted) {
+                byRoute.computeIfAbsent(index.encodeRoute(flight), key -> new ArrayList<>()).add(flight);
+            }
+            Table table = index.table;
+            for (Map.Entry<Integer, List<FlightRecommendation>> entry : byRoute.entrySet()) {
+                table = ensureCapacity(table);
+                int key = entry.getKey();
+                table.put(table.slotOf(key), toRoute(key, entry.getValue()));
+            }
+            index.size = sorted.size();
+            index.table = table;
+        }
+        return index;
+    }
+
+    /**
+     * Packs two airport codes into a route key.
+     *
+     * @param departureCode the departure airport code, between 0 and 65,535
+     * @param arrivalCode the arrival airport code, between 0 and 65,535
+     * @return the route key
+     */
+    static int routeKey(int departureCode, int arrivalCode) {
+        return departureCode << 16 | arrivalCode;
+    }
+
+    /**
+     * Returns the number of indexed flights.
+     *
+     * @return the number of flights across all routes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of routes that currently have at least one flight.
+     *
+     * @return the number of non-empty routes
+     */
+    public int routeCount() {
+        Table current = table;
+        int count = 0;
+        for (Route route : current.routes) {
+            if (route != null && route.flights.length > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns all flights on a route, earliest departure first.
+     *
+     * @param departureAirport the departure airport code
+     * @param arrivalAirport the arrival airport code
+     * @return an unmodifiable view of the route's flights, empty for an unknown route
+     */
+    public List<FlightRecommendation> flights(String departureAirport, String arrivalAirport) {
+        Route route = route(departureAirport, arrivalAirport);
+        return new RouteSlice(route.flights, 0, route.flights.length);
+    }
+
+    /**
+     * Returns the flights on a route that depart within a time window, earliest first.
+     *
+     * <h3>Complexity</h3>
+     * <p>Two binary searches over the route's primitive seconds column, O(log r) for a route
+     * of r flights. The result is a view, so no flight is copied.</p>
+     *
+     * @param departureAirport the departure airport code
+     * @param arrivalAirport the arrival airport code
+     * @param from the earliest departure time, inclusive
+     * @param to the latest departure time, exclusive
+     * @return an unmodifiable view of the matching flights in departure order
+     * @throws IllegalArgumentException if {@code to} is before {@code from}
+     */
+    public List<FlightRecommendation> flights(
+            String departureAirport, String arrivalAirport, LocalDateTime from, LocalDateTime to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Window end " + to + " is before its start " + from);
+        }
+        Route route = route(departureAirport, arrivalAirport);
+        return new RouteSlice(route.flights, lowerBound(route, from), lowerBound(route, to));
+    }
+
+    /**
+     * Adds a flight to its route.
+     *
+     * <p>The flight is placed after any flights with the same departure time.</p>
+     *
+     * @param flight the flight to add
+     * @throws NullPointerException if the flight, its airports or its departure time is null
+     * @throws IllegalArgumentException if the flight would add a 65,537th distinct airport
+     */
+    public void add(FlightRecommendation flight) {
+        checkIndexable(flight);
+        synchronized (writeLock) {
+            int key = encodeRoute(flight);
+            Table current = ensureCapacity(table);
+            int slot = current.slotOf(key);
+            Route route = current.routes[slot] == null ? EMPTY_ROUTE : current.routes[slot];
+
+            int position = upperBound(route, flight.departureTime());
+            int length = route.flights.length;
+            FlightRecommendation[] flights = new FlightRecommendation[length + 1];
+            long[] seconds = new long[length + 1];
+            System.arraycopy(route.flights, 0, flights, 0, position);
+            System.arraycopy(route.seconds, 0, seconds, 0, position);
+            flights[position] = flight;
+            seconds[position] = epochSecond(flight.departureTime());
+            System.arraycopy(route.flights, position, flights, position + 1, length - position);
+            System.arraycopy(route.seconds, position, seconds, position + 1, length - position);
+
+            current.put(slot, new Route(key, flights, seconds));
+            size++;
+            table = current;
+        }
+    }
+
+    /**
+     * Removes one occurrence of a flight from its route.
+     *
+     * <p>The flight is matched with {@link FlightRecommendation#equals}, searching only the
+     * flights on its route that share its departure time.</p>
+     *
+     * @param flight the flight to remove
+     * @return true if the flight was found and removed
+     */
+    public boolean remove(FlightRecommendation flight) {
+        if (flight == null || flight.departureAirport() == null
+                || flight.arrivalAirport() == null || flight.departureTime() == null) {
+            return false;
+        }
+        synchronized (writeLock) {
+            int departure = airports.codeOf(flight.departureAirport());
+            int arrival = airports.codeOf(flight.arrivalAirport());
+            if (departure == SymbolTable.NO_CODE || arrival == SymbolTable.NO_CODE) {
+                return false;
+            }
+            Table current = table;
+            int slot = current.slotOf(routeKey(departure, arrival));
+            Route route = current.routes[slot];
+            if (route == null) {
+                return false;
+            }
+            int end = upperBound(route, flight.departureTime());
+            for (int i = lowerBound(route, flight.departureTime()); i < end; i++) {
+                if (route.flights[i].equals(flight)) {
+                    int length = route.flights.length;
+                    FlightRecommendation[] flights = new FlightRecommendation[length - 1];
+                    long[] seconds = new long[length - 1];
+                    System.arraycopy(route.flights, 0, flights, 0, i);
+                    System.arraycopy(route.seconds, 0, seconds, 0, i);
+                    System.arraycopy(route.flights, i + 1, flights, i, length - i - 1);
+                    System.arraycopy(route.seconds, i + 1, seconds, i, length - i - 1);
+                    // Emptied routes keep their slot, so probe chains never need tombstones
+                    current.put(slot, new Route(route.key, flights, seconds));
+                    size--;
+                    table = current;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private Route route(String departureAirport, String arrivalAirport) {
+        // codeOf never adds, so looking up unknown airports does not grow the dictionary
+        int departure = airports.codeOf(departureAirport);
+        int arrival = airports.codeOf(arrivalAirport);
+        if (departure == SymbolTable.NO_CODE || arrival == SymbolTable.NO_CODE) {
+            return EMPTY_ROUTE;
+        }
+        Table current = table;
+        Route route = current.routes[current.slotOf(routeKey(departure, arrival))];
+        return route == null ? EMPTY_ROUTE : route;
+    }
+
+    private int encodeRoute(FlightRecommendation flight) {
+        return routeKey(encodeAirport(flight.departureAirport()), encodeAirport(flight.arrivalAirport()));
+    }
+
+    private int encodeAirport(String airport) {
+        if (airports.codeOf(airport) == SymbolTable.NO_CODE && airports.size() >= MAX_AIRPORTS) {
+            throw new IllegalArgumentException("Route index holds at most " + MAX_AIRPORTS + " airports");
+        }
+        return airports.encode(airport);
+    }
+
+    /**
+     * Returns a table with room for one more route: the same table, or a doubled copy once
+     * it is half full. Must be called while holding the write lock.
+     */
+    private static Table ensureCapacity(Table current) {
+        if ((current.used + 1) * 2 <= current.routes.length) {
+            return current;
+        }
+        Table grown = new Table(current.routes.length * 2);
+        for (Route route : current.routes) {
+            if (route != null) {
+                grown.put(grown.slotOf(route.key), route);
+            }
+        }
+        return grown;
+    }
+
+    private static Route toRoute(int key, List<FlightRecommendation> flights) {
+        FlightRecommendation[] array = flights.toArray(new FlightRecommendation[0]);
+        long[] seconds = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            seconds[i] = epochSecond(array[i].departureTime());
+        }
+        return new Route(key, array, seconds);
+    }
+
+    private static void checkIndexable(FlightRecommendation flight) {
+        Objects.requireNonNull(flight, "flight");
+        Objects.requireNonNull(flight.departureAirport(), "departureAirport");
+        Objects.requireNonNull(flight.arrivalAirport(), "arrivalAirport");
+        Objects.requireNonNull(flight.departureTime(), "departureTime");
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the first position whose departure time is at or after {@code time}.
+     *
+     * <p>The search runs on whole seconds first; only flights in the same second as
+     * {@code time} are compared as {@code LocalDateTime} to honour sub-second precision.</p>
+     */
+    private static int lowerBound(Route route, LocalDateTime time) {
+        int position = secondsLowerBound(route.seconds, epochSecond(time));
+        while (position < route.flights.length && route.flights[position].departureTime().isBefore(time)) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Returns the first position whose departure time is after {@code time}.
+     */
+    private static int upperBound(Route route, LocalDateTime time) {
+        int position = secondsLowerBound(route.seconds, epochSecond(time));
+        while (position < route.flights.length && !route.flights[position].departureTime().isAfter(time)) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int secondsLowerBound(long[] seconds, long key) {
+        int low = 0;
+        int high = seconds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (seconds[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Read-only list view over a range of a published route array.
+     */
+    private static final class RouteSlice extends AbstractList<FlightRecommendation> implements RandomAccess {
+        private final FlightRecommendation[] flights;
+        private final int from;
+        private final int to;
+
+        RouteSlice(FlightRecommendation[] flights, int from, int to) {
+            this.flights = flights;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public FlightRecommendation get(int index) {
+            Objects.checkIndex(index, to - from);
+            return flights[from + index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOfRange(flights, from, to, Object[].class);
+        }
+    }
+}
@@ -0,0 +1,640 @@
+package com.edreams.travelrecommender.index;
+
+import com.edreams.travelrecommender.model.Recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * An inverted full-text index over recommendation titles and descriptions, ranked by BM25
+ * blended with confidence.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Free-text search with {@code String.contains} reads every title and description in the
+ * catalog on every query. This index tokenizes the text once and keeps, for every term, a
+ * posting list of the records that contain it. A query reads only the posting lists of its
+ * own terms.</p>
+ *
+ * <h2>Tokenization</h2>
+ * <p>Text is split into maximal runs of letters and digits ({@link Character#isLetterOrDigit})
+ * and lower-cased, so {@code "Wi-Fi, Paris!"} yields {@code wi}, {@code fi} and {@code paris}.
+ * Title terms are counted {@value #TITLE_WEIGHT} times, so a match in the title outranks
+ * the same match in the description.</p>
+ *
+ * <h2>Posting Lists</h2>
+ * <p>Each posting is a record ordinal and a term frequency. Ordinals are stored as the gap
+ * to the previous one, and both numbers as LEB128 varints, so common terms in a large
+ * catalog usually take one or two bytes per posting. Every {@value #SKIP_INTERVAL} postings
+ * a skip entry records the ordinal reached and the byte offset, which lets an {@code AND}
+ * query jump over long stretches of a common term's list.</p>
+ *
+ * <h2>Queries and Ranking</h2>
+ * <p>{@link Match#ALL} intersects the posting lists, driven by the rarest term;
+ * {@link Match#ANY} merges them, skipping terms that can no longer change the top K
+ * (MaxScore). Matches are scored with Okapi BM25 ({@code k1 = 1.2},
+ * {@code b = 0.75}), and the score is blended with confidence as
+ * {@code bm25 * (1 + confidenceWeight * confidenceScore)}. Only the best K hits are kept,
+ * in a bounded heap.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * TextIndex<Recommendation> text = TextIndex.of(catalog);
+ *
+ * List<TextIndex.Hit<Recommendation>> hits = text.search("paris museum", TextIndex.Match.ALL, 20);
+ * hits.forEach(hit -> System.out.println(hit.score() + " " + hit.recommendation().getTitle()));
+ * }</pre>
+ *
+ * <p>The index is immutable after construction and may be queried from many threads.</p>
+ *
+ * @param <T> the type of recommendation held by the index
+ */
+public final class TextIndex<T extends Recommendation> {
+    /** How many times each title term is counted relative to a description term. */
+    public static final int TITLE_WEIGHT = 2;
+    /** The default weight of the confidence score in the blended ranking. */
+    public static final double DEFAULT_CONFIDENCE_WEIGHT = 1.0;
+
+    static final int SKIP_INTERVAL = 64;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NO_MORE = Integer.MAX_VALUE;
+
+    /**
+     * How the terms of a query are combined.
+     */
+    public enum Match {
+        /** Records must contain every query term. */
+        ALL,
+        /** Records must contain at least one query term. */
+        ANY
+    }
+
+    /**
+     * A matching recommendation and its blended score.
+     *
+     * @param <T> the type of recommendation
+     * @param recommendation the matching record
+     * @param score the BM25 score blended with confidence; higher is better
+     */
+    public record Hit<T>(T recommendation, double score) {
+    }
+
+    /**
+     * The compressed posting list of one term, with its skip entries.
+     */
+    private record Postings(byte[] bytes, int count, int[] skipOrdinals, int[] skipOffsets) {
+    }
+
+    private final List<T> records;
+    private final Map<String, Postings> terms;
+    private final int[] lengths;
+    private final double averageLength;
+
+    private TextIndex(List<T> records, Map<String, Postings> terms, int[] lengths, double averageLength) {
+        this.records = records;
+        this.terms = terms;
+        this.lengths = lengths;
+        this.averageLength = averageLength;
+    }
+
+    /**
+     * Builds an index over the titles and descriptions of the given recommendations.
+     *
+     * <p>The source list is copied, so later changes to it are not reflected in the index.
+     * Building reads every title and description once. Null text is treated as empty.</p>
+     *
+     * @param <T> the type of recommendation
+     * @param recommendations the recommendations to index (producer of T)
+     * @return a new index over a snapshot of the recommendations
+     * @throws NullPointerException if the list or any of its elements is null
+     */
+    public static <T extends Recommendation> TextIndex<T> of(List<? extends T> recommendations) {
+        List<T> records = List.copyOf(recommendations);
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        int[] lengths = new int[records.size()];
+        long totalLength = 0;
+
+        Map<String, int[]> frequencies = new HashMap<>();
+        for (int ordinal = 0; ordinal < records.size(); ordinal++) {
+            Recommendation record = records.get(ordinal);
+            frequencies.clear();
+            int length = countTerms(record.getTitle(), TITLE_WEIGHT, frequencies)
+                    + countTerms(record.getDescription(), 1, frequencies);
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                builders.computeIfAbsent(entry.getKey(), term -> new PostingsBuilder())
+                    .add(ordinal, entry.getValue()[0]);
+            }
+            lengths[ordinal] = length;
+            totalLength += length;
+        }
+
+        Map<String, Postings> terms = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((term, builder) -> terms.put(term, builder.build()));
+        double averageLength = records.isEmpty() ? 0.0 : (double) totalLength / records.size();
+        return new TextIndex<>(records, terms, lengths, averageLength);
+    }
+
+    /**
+     * Splits text into lower-case terms, in order of appearance.
+     *
+     * @param text the text to tokenize, or null
+     * @return the terms, possibly empty
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        forEachTerm(text, tokens::add);
+        return tokens;
+    }
+
+    /**
+     * Returns the number of indexed recommendations.
+     *
+     * @return the size of the index
+     */
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Returns the number of distinct terms in the index.
+     *
+     * @return the vocabulary size
+     */
+    public int termCount() {
+        return terms.size();
+    }
+
+    /**
+     * Counts the recommendations that match a query, without scoring them.
+     *
+     * @param query the free-text query
+     * @param match how the query terms are combined
+     * @return the number of matching recommendations
+     */
+    public int count(String query, Match match) {
+        Cursor[] cursors = cursors(query, match);
+        int count = 0;
+        for (int ordinal = first(cursors, match); ordinal != NO_MORE; ordinal = next(cursors, match, ordinal)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the best matches for a query with the default confidence weight.
+     *
+     * @param query the free-text query
+     * @param match how the query terms are combined
+     * @param k the maximum number of hits to return
+     * @return up to {@code k} hits, best first
+     * @throws IllegalArgumentException if {@code k} is negative
+     * @see #search(String, Match, int, double)
+     */
+    public List<Hit<T>> search(String query, Match match, int k) {
+        return search(query, match, k, DEFAULT_CONFIDENCE_WEIGHT);
+    }
+
+    /**
+     * Returns the best matches for a query, ranked by BM25 blended with confidence.
+     *
+     * <h3>Complexity</h3>
+     * <p>Proportional to the postings read: for {@link Match#ANY} the sum of the query terms'
+     * list lengths, for {@link Match#ALL} at most that and usually close to the rarest term's
+     * length thanks to skip entries. Each match costs O(log k) in the bounded heap. Ties are
+     * broken in favour of the record that comes first in the source list.</p>
+     *
+     * @param query the free-text query
+     * @param match how the query terms are combined
+     * @param k the maximum number of hits to return
+     * @param confidenceWeight how strongly confidence boosts the text score; 0 ranks by
+     *        BM25 alone
+     * @return up to {@code k} hits, best first; empty if the query has no terms
+     * @throws IllegalArgumentException if {@code k} or {@code confidenceWeight} is negative
+     */
+    public List<Hit<T>> search(String query, Match match, int k, double confidenceWeight) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        if (!(confidenceWeight >= 0.0)) {
+            throw new IllegalArgumentException("Confidence weight must not be negative");
+        }
+        Cursor[] cursors = cursors(query, match);
+        TopHits top = new TopHits(Math.min(k, records.size()));
+        if (match == Match.ALL) {
+            for (int ordinal = first(cursors, match); ordinal != NO_MORE; ordinal = next(cursors, match, ordinal)) {
+                double norm = norm(ordinal);
+                double bm25 = 0.0;
+                for (Cursor cursor : cursors) {
+                    bm25 += cursor.score(norm);
+                }
+                top.offer(ordinal, blend(ordinal, bm25, confidenceWeight));
+            }
+        } else {
+            rankAny(cursors, top, confidenceWeight);
+        }
+
+        int[] ordinals = top.drainBestFirst();
+        List<Hit<T>> hits = new ArrayList<>(ordinals.length);
+        for (int i = 0; i < ordinals.length; i++) {
+            hits.add(new Hit<>(records.get(ordinals[i]), top.scores[i]));
+        }
+        return hits;
+    }
+
+    /**
+     * Ranks the union of the posting lists with MaxScore pruning.
+     *
+     * <p>No term can contribute more than {@code idf * (k1 + 1)} to BM25, and confidence
+     * multiplies the sum by at most {@code 1 + confidenceWeight}. Once the heap is full,
+     * the terms whose combined bounds cannot lift a record above the weakest kept hit become
+     * non-essential: candidates are drawn only from the remaining, essential terms, and
+     * non-essential lists are probed with skips just for those candidates. A query that mixes
+     * a very common term with a rare one therefore reads little more than the rare term's
+     * list.</p>
+     */
+    private void rankAny(Cursor[] cursors, TopHits top, double confidenceWeight) {
+        for (Cursor cursor : cursors) {
+            cursor.next();
+        }
+        Arrays.sort(cursors, (a, b) -> Double.compare(a.idf, b.idf));
+        double[] bounds = new double[cursors.length];
+        double cumulative = 0.0;
+        for (int i = 0; i < cursors.length; i++) {
+            cumulative += cursors[i].idf * (K1 + 1);
+            bounds[i] = cumulative;
+        }
+        double maximumBoost = 1 + confidenceWeight;
+        // Contributions are summed in cursor order at the end, so a record's score does not
+        // depend on which terms were essential when it was found
+        double[] contributions = new double[cursors.length];
+
+        int essential = 0;
+        while (essential < cursors.length) {
+            int candidate = NO_MORE;
+            for (int i = essential; i < cursors.length; i++) {
+                candidate = Math.min(candidate, cursors[i].ordinal);
+            }
+            if (candidate == NO_MORE) {
+                return;
+            }
+            double norm = norm(candidate);
+            double partial = 0.0;
+            Arrays.fill(contributions, 0.0);
+            for (int i = essential; i < cursors.length; i++) {
+                if (cursors[i].ordinal == candidate) {
+                    contributions[i] = cursors[i].score(norm);
+                    partial += contributions[i];
+                    cursors[i].next();
+                }
+            }
+            double needed = top.threshold() / maximumBoost;
+            int probed = essential;
+            while (probed > 0 && partial + bounds[probed - 1] > needed) {
+                probed--;
+                if (cursors[probed].advance(candidate) == candidate) {
+                    contributions[probed] = cursors[probed].score(norm);
+                    partial += contributions[probed];
+                }
+            }
+            if (probed > 0) {
+                // The unprobed terms cannot lift this record into the top K
+                continue;
+            }
+            double bm25 = 0.0;
+            for (double contribution : contributions) {
+                bm25 += contribution;
+            }
+            top.offer(candidate, blend(candidate, bm25, confidenceWeight));
+
+            needed = top.threshold() / maximumBoost;
+            while (essential < cursors.length && bounds[essential] <= needed) {
+                essential++;
+            }
+        }
+    }
+
+    private double norm(int ordinal) {
+        return K1 * (1 - B + B * lengths[ordinal] / averageLength);
+    }
+
+    private double blend(int ordinal, double bm25, double confidenceWeight) {
+        return bm25 * (1 + confidenceWeight * records.get(ordinal).getConfidenceScore());
+    }
+
+    /**
+     * Opens one cursor per distinct query term. For {@link Match#ALL}, an unknown term
+     * means no record can match, and the cursors are ordered rarest first.
+     */
+    private Cursor[] cursors(String query, Match match) {
+        Set<String> distinct = new LinkedHashSet<>(tokenize(query));
+        List<Cursor> cursors = new ArrayList<>(distinct.size());
+        for (String term : distinct) {
+            Postings postings = terms.get(term);
+            if (postings != null) {
+                double df = postings.count();
+                double idf = Math.log(1 + (records.size() - df + 0.5) / (df + 0.5));
+                cursors.add(new Cursor(postings, idf));
+            } else if (match == Match.ALL) {
+                return new Cursor[0];
+            }
+        }
+        cursors.sort((a, b) -> Integer.compare(a.postings.count(), b.postings.count()));
+        return cursors.toArray(new Cursor[0]);
+    }
+
+    private static int first(Cursor[] cursors, Match match) {
+        for (Cursor cursor : cursors) {
+            cursor.next();
+        }
+        return match == Match.ALL ? align(cursors, 0) : smallest(cursors);
+    }
+
+    private static int next(Cursor[] cursors, Match match, int current) {
+        if (match == Match.ALL) {
+            cursors[0].next();
+            return align(cursors, cursors[0].ordinal);
+        }
+        for (Cursor cursor : cursors) {
+            if (cursor.ordinal == current) {
+                cursor.next();
+            }
+        }
+        return smallest(cursors);
+    }
+
+    /**
+     * Advances all cursors to the first ordinal at or after {@code target} that every one
+     * of them contains, and returns it.
+     */
+    private static int align(Cursor[] cursors, int target) {
+        if (cursors.length == 0) {
+            return NO_MORE;
+        }
+        int candidate = Math.max(target, cursors[0].ordinal);
+        int agreeing = 0;
+        int i = 0;
+        while (candidate != NO_MORE && agreeing < cursors.length) {
+            int found = cursors[i].advance(candidate);
+            if (found == candidate) {
+                agreeing++;
+            } else {
+                candidate = found;
+                agreeing = 1;
+            }
+            i = (i + 1) % cursors.length;
+        }
+        return candidate;
+    }
+
+    private static int smallest(Cursor[] cursors) {
+        int smallest = NO_MORE;
+        for (Cursor cursor : cursors) {
+            smallest = Math.min(smallest, cursor.ordinal);
+        }
+        return smallest;
+    }
+
+    /**
+     * Adds the weighted term counts of one text to {@code frequencies} and returns the
+     * weighted number of terms.
+     */
+    private static int countTerms(String text, int weight, Map<String, int[]> frequencies) {
+        int[] length = {0};
+        forEachTerm(text, term -> {
+            frequencies.computeIfAbsent(term, ignored -> new int[1])[0] += weight;
+            length[0] += weight;
+        });
+        return length[0];
+    }
+
+    private static void forEachTerm(String text, Consumer<String> action) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder term = new StringBuilder(16);
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                term.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (!term.isEmpty()) {
+                action.accept(term.toString());
+                term.setLength(0);
+            }
+        }
+        if (!term.isEmpty()) {
+            action.accept(term.toString());
+        }
+    }
+
+    /**
+     * Bounded min-heap of the best hits seen so far; the root is the weakest hit kept.
+     * Among equal scores the later ordinal counts as weaker, and since ordinals are offered
+     * in ascending order, an equal score never displaces a kept hit.
+     */
+    private static final class TopHits {
+        final int[] ordinals;
+        final double[] scores;
+        int size;
+
+        TopHits(int capacity) {
+            this.ordinals = new int[capacity];
+            this.scores = new double[capacity];
+        }
+
+        /** Returns the score a new hit must beat, or negative infinity while not full. */
+        double threshold() {
+            return size < ordinals.length ? Double.NEGATIVE_INFINITY : size == 0 ? Double.POSITIVE_INFINITY : scores[0];
+        }
+
+        void offer(int ordinal, double score) {
+            if (size < ordinals.length) {
+                ordinals[size] = ordinal;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && score > scores[0]) {
+                ordinals[0] = ordinal;
+                scores[0] = score;
+                siftDown(size);
+            }
+        }
+
+        /**
+         * Moves the weakest hit behind the shrinking heap until the arrays are sorted
+         * best-first, and returns the ordinals of the kept hits.
+         */
+        int[] drainBestFirst() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(end);
+            }
+            return Arrays.copyOf(ordinals, size);
+        }
+
+        private boolean weaker(int i, int j) {
+            return scores[i] < scores[j] || (scores[i] == scores[j] && ordinals[i] > ordinals[j]);
+        }
+
+        private void siftUp(int child) {
+            while (child > 0) {
+                int parent = (child - 1) >>> 1;
+                if (!weaker(child, parent)) {
+                    return;
+                }
+                swap(child, parent);
+                child = parent;
+            }
+        }
+
+        private void siftDown(int end) {
+            int parent = 0;
+            while (true) {
+                int weakest = parent;
+                int left = 2 * parent + 1;
+                int right = left + 1;
+                if (left < end && weaker(left, weakest)) {
+                    weakest = left;
+                }
+                if (right < end && weaker(right, weakest)) {
+                    weakest = right;
+                }
+                if (weakest == parent) {
+                    return;
+                }
+                swap(parent, weakest);
+                parent = weakest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int ordinal = ordinals[i];
+            ordinals[i] = ordinals[j];
+            ordinals[j] = ordinal;
+            double score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+
+    /**
+     * Appends postings for one term in ascending ordinal order.
+     */
+    private static final class PostingsBuilder {
+        private byte[] bytes = new byte[8];
+        private int length;
+        private int count;
+        private int lastOrdinal = -1;
+        private int[] skipOrdinals = new int[0];
+        private int[] skipOffsets = new int[0];
+        private int skips;
+
+        void add(int ordinal, int frequency) {
+            if (count > 0 && count % SKIP_INTERVAL == 0) {
+                if (skips == skipOrdinals.length) {
+                    skipOrdinals = Arrays.copyOf(skipOrdinals, Math.max(4, skips * 2));
+                    skipOffsets = Arrays.copyOf(skipOffsets, skipOrdinals.length);
+                }
+                skipOrdinals[skips] = lastOrdinal;
+                skipOffsets[skips++] = length;
+            }
+            writeVarInt(ordinal - lastOrdinal);
+            writeVarInt(frequency);
+            lastOrdinal = ordinal;
+            count++;
+        }
+
+        Postings build() {
+            return new Postings(Arrays.copyOf(bytes, length), count,
+                Arrays.copyOf(skipOrdinals, skips), Arrays.copyOf(skipOffsets, skips));
+        }
+
+        private void writeVarInt(int value) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+    }
+
+    /**
+     * Reads one posting list forwards. Skip entry {@code j} marks the start of block
+     * {@code j + 1}: the ordinal just before it and the block's byte offset.
+     */
+    private static final class Cursor {
+        final Postings postings;
+        final double idf;
+        int ordinal = -1;
+        int frequency;
+        private int offset;
+        private int read;
+
+        Cursor(Postings postings, double idf) {
+            this.postings = postings;
+            this.idf = idf;
+        }
+
+        /** Returns this term's BM25 contribution to the current posting. */
+        double score(double norm) {
+            return idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+
+        /** Moves to the next posting and returns its ordinal, or {@code NO_MORE}. */
+        int next() {
+            if (read == postings.count()) {
+                ordinal = NO_MORE;
+                return NO_MORE;
+            }
+            ordinal += readVarInt();
+            frequency = readVarInt();
+            read++;
+            return ordinal;
+        }
+
+        /** Moves to the first posting at or after {@code target} and returns its ordinal. */
+        int advance(int target) {
+            if (ordinal >= target) {
+                return ordinal;
+            }
+            int[] skipOrdinals = postings.skipOrdinals();
+            int block = read / SKIP_INTERVAL;
+            // Jump to the last block that starts before the target
+            int jump = -1;
+            while (block < skipOrdinals.length && skipOrdinals[block] < target) {
+                jump = block++;
+            }
+            if (jump >= 0) {
+                ordinal = skipOrdinals[jump];
+                offset = postings.skipOffsets()[jump];
+                read = (jump + 1) * SKIP_INTERVAL;
+            }
+            while (next() < target) {
+                // Decode forwards within the block
+            }
+            return ordinal;
+        }
+
+        private int readVarInt() {
+            byte[] bytes = postings.bytes();
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
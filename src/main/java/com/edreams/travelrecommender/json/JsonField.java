@@ -0,0 +1,118 @@
+package com.edreams.travelrecommender.json;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The JSON member names of the recommendation schema, pre-encoded as UTF-8.
+ *
+ * <p>Names match the record component names, plus {@code "type"} as the discriminator.
+ * The reader identifies a member by comparing its raw bytes against these names, bucketed
+ * by length, so no {@code String} is created per key.</p>
+ */
+enum JsonField {
+    TYPE("type"),
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    CONFIDENCE_SCORE("confidenceScore"),
+    DEPARTURE_AIRPORT("departureAirport"),
+    ARRIVAL_AIRPORT("arrivalAirport"),
+    DEPARTURE_TIME("departureTime"),
+    ARRIVAL_TIME("arrivalTime"),
+    AIRLINE("airline"),
+    IS_DIRECT("isDirect"),
+    AMENITIES("amenities"),
+    PRICE("price"),
+    HOTEL_NAME("hotelName"),
+    STAR_RATING("starRating"),
+    LOCATION("location"),
+    PRICE_PER_NIGHT("pricePerNight"),
+    DISTANCE_TO_CENTER("distanceToCenter"),
+    HAS_FREE_CANCELLATION("hasFreeCancellation"),
+    ACTIVITY_NAME("activityName"),
+    DURATION("duration"),
+    CATEGORIES("categories"),
+    IS_INDOOR("isIndoor"),
+    MINIMUM_AGE("minimumAge"),
+    FLIGHT("flight"),
+    HOTEL("hotel"),
+    ACTIVITIES("activities"),
+    PACKAGE_DISCOUNT("packageDiscount"),
+    TOTAL_PRICE("totalPrice");
+
+    private static final JsonField[][] BY_LENGTH = byLength();
+
+    private final String name;
+    private final byte[] bytes;
+    /** {@code "name":} ready to copy into the output. */
+    private final byte[] key;
+
+    JsonField(String name) {
+        this.name = name;
+        this.bytes = name.getBytes(StandardCharsets.UTF_8);
+        this.key = ('"' + name + "\":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    String jsonName() {
+        return name;
+    }
+
+    byte[] key() {
+        return key;
+    }
+
+    /**
+     * Finds the field whose name equals {@code length} bytes of {@code in} at {@code start}.
+     *
+     * @return the field, or null for a member this schema does not know
+     */
+    static JsonField lookup(ByteBuffer in, int start, int length) {
+        if (length >= BY_LENGTH.length) {
+            return null;
+        }
+        for (JsonField field : BY_LENGTH[length]) {
+            if (matches(in, start, field.bytes)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a field by name; used when a member name contains escapes.
+     */
+    static JsonField lookup(String name) {
+        for (JsonField field : values()) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(ByteBuffer in, int start, byte[] name) {
+        for (int i = 0; i < name.length; i++) {
+            if (in.get(start + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static JsonField[][] byLength() {
+        int longest = 0;
+        for (JsonField field : values()) {
+            longest = Math.max(longest, field.bytes.length);
+        }
+        JsonField[][] buckets = new JsonField[longest + 1][0];
+        for (JsonField field : values()) {
+            JsonField[] bucket = buckets[field.bytes.length];
+            bucket = Arrays.copyOf(bucket, bucket.length + 1);
+            bucket[bucket.length - 1] = field;
+            buckets[field.bytes.length] = bucket;
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,712 @@
+package com.edreams.travelrecommender.json;
+
+import com.edreams.travelrecommender.model.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Parses recommendations from UTF-8 JSON in a {@code byte[]} or {@link ByteBuffer}.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Supplier feeds arrive as line-delimited JSON with millions of records. This reader
+ * walks the bytes once, recognizes member names by comparing raw bytes, and stores each
+ * value directly in a reusable slot for the matching record constructor argument. When
+ * the object ends, the record is built from those slots. No tree, no per-key
+ * {@code String} and no reflection is involved; the only allocations are the values that
+ * end up in the record.</p>
+ *
+ * <h2>Accepted Input</h2>
+ * <p>The reader accepts the format written by {@link RecommendationJsonWriter}, in any
+ * member order. Unknown members are skipped; missing members default to {@code null},
+ * {@code 0} or {@code false}. Objects nested under {@code "flight"}, {@code "hotel"} and
+ * {@code "activities"} may omit {@code "type"}; those members are only read in a
+ * top-level object, so component objects cannot be nested further. Numbers with up to 17 significant digits
+ * and no exponent are converted without creating a {@code String}; other numbers fall back
+ * to {@link Double#parseDouble}, so every input converts to the correctly rounded value.
+ * The reader is lenient about some details of the JSON grammar, such as leading zeros.</p>
+ *
+ * <p>Malformed input raises {@link IllegalArgumentException} with the byte offset of the
+ * problem. Values rejected by the record constructors, such as a confidence score above
+ * 1.0, surface as the records' own {@code IllegalArgumentException}.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * RecommendationJsonReader reader = new RecommendationJsonReader();
+ * try (FileChannel channel = FileChannel.open(feed)) {
+ *     ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+ *     reader.forEachLine(bytes, catalog::add);
+ * }
+ * }</pre>
+ *
+ * <p>A reader owns reusable parse state and is not thread-safe; use one per thread.</p>
+ */
+public final class RecommendationJsonReader {
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private ByteBuffer in;
+    private int position;
+    private int limit;
+    private byte[] scratch = new byte[256];
+    /** Argument slots by nesting depth, reused from object to object. */
+    private final List<Slots> slots = new ArrayList<>();
+
+    /**
+     * Parses a single JSON object.
+     *
+     * @param json the UTF-8 bytes of one object, optionally surrounded by whitespace
+     * @return the parsed recommendation
+     * @throws IllegalArgumentException if the input is malformed or has trailing content
+     */
+    public Recommendation read(byte[] json) {
+        Recommendation recommendation = read(ByteBuffer.wrap(json));
+        if (position < limit) {
+            throw error("Trailing content after object", position);
+        }
+        return recommendation;
+    }
+
+    /**
+     * Parses one JSON object from the buffer's position, and advances the position past it.
+     *
+     * @param json the buffer to read from
+     * @return the parsed recommendation
+     * @throws IllegalArgumentException if the input is malformed
+     */
+    public Recommendation read(ByteBuffer json) {
+        start(json);
+        Recommendation recommendation = readObject(0, null);
+        skipWhitespace();
+        json.position(position);
+        return recommendation;
+    }
+
+    /**
+     * Parses every object in line-delimited JSON between the buffer's position and limit.
+     *
+     * @param lines the buffer to read; its position is moved to the limit
+     * @return the parsed recommendations in input order
+     * @throws IllegalArgumentException if the input is malformed
+     */
+    public List<Recommendation> readLines(ByteBuffer lines) {
+        List<Recommendation> result = new ArrayList<>();
+        forEachLine(lines, result::add);
+        return result;
+    }
+
+    /**
+     * Parses line-delimited JSON and hands each record to {@code action} as soon as it is
+     * complete, so the caller decides what to keep.
+     *
+     * <p>Blank lines are skipped. Objects may in fact be separated by any JSON whitespace.</p>
+     *
+     * @param lines the buffer to read; its position is moved to the limit
+     * @param action receives each parsed recommendation
+     * @throws IllegalArgumentException if the input is malformed
+     */
+    public void forEachLine(ByteBuffer lines, Consumer<? super Recommendation> action) {
+        start(lines);
+        skipWhitespace();
+        while (position < limit) {
+            action.accept(readObject(0, null));
+            skipWhitespace();
+        }
+        lines.position(position);
+    }
+
+    private void start(ByteBuffer buffer) {
+        in = buffer;
+        position = buffer.position();
+        limit = buffer.limit();
+    }
+
+    /**
+     * Reads one object into the slots for {@code depth} and builds its record.
+     *
+     * @param expected the type implied by the enclosing member, or null at the top level
+     */
+    private Recommendation readObject(int depth, RecommendationType expected) {
+        skipWhitespace();
+        expect('{');
+        if (depth == slots.size()) {
+            slots.add(new Slots());
+        }
+        Slots values = slots.get(depth);
+        values.reset(expected);
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+        } else {
+            while (true) {
+                skipWhitespace();
+                JsonField field = readKey();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                readValue(field, values, depth);
+                skipWhitespace();
+                byte separator = next();
+                if (separator == '}') {
+                    break;
+                }
+                if (separator != ',') {
+                    throw error("Expected ',' or '}'", position - 1);
+                }
+            }
+        }
+        if (values.type == null) {
+            throw error("Missing \"type\" member", position - 1);
+        }
+        if (expected != null && values.type != expected) {
+            throw error("Expected a " + expected + " object but found " + values.type, position - 1);
+        }
+        return values.build();
+    }
+
+    private JsonField readKey() {
+        expect('"');
+        int keyStart = position;
+        while (position < limit) {
+            byte b = in.get(position);
+            if (b == '"') {
+                JsonField field = JsonField.lookup(in, keyStart, position - keyStart);
+                position++;
+                return field;
+            }
+            if (b == '\\') {
+                // Escaped member names are legal but rare; decode and match by name
+                position = keyStart - 1;
+                return JsonField.lookup(readString());
+            }
+            position++;
+        }
+        throw error("Unterminated member name", keyStart);
+    }
+
+    private void readValue(JsonField field, Slots values, int depth) {
+        if (field == null) {
+            skipValue();
+            return;
+        }
+        switch (field) {
+            case TYPE -> values.type = readType();
+            case ID -> values.id = readString();
+            case TITLE -> values.title = readString();
+            case DESCRIPTION -> values.description = readString();
+            case CONFIDENCE_SCORE -> values.confidenceScore = readDouble();
+            case DEPARTURE_AIRPORT -> values.departureAirport = readString();
+            case ARRIVAL_AIRPORT -> values.arrivalAirport = readString();
+            case DEPARTURE_TIME -> values.departureTime = readTime();
+            case ARRIVAL_TIME -> values.arrivalTime = readTime();
+            case AIRLINE -> values.airline = readString();
+            case IS_DIRECT -> values.isDirect = readBoolean();
+            case AMENITIES -> values.amenities = readStrings();
+            case PRICE -> values.price = readDouble();
+            case HOTEL_NAME -> values.hotelName = readString();
+            case STAR_RATING -> values.starRating = readInt();
+            case LOCATION -> values.location = readString();
+            case PRICE_PER_NIGHT -> values.pricePerNight = readDouble();
+            case DISTANCE_TO_CENTER -> values.distanceToCenter = readDouble();
+            case HAS_FREE_CANCELLATION -> values.hasFreeCancellation = readBoolean();
+            case ACTIVITY_NAME -> values.activityName = readString();
+            case DURATION -> values.duration = readDuration();
+            case CATEGORIES -> values.categories = readStrings();
+            case IS_INDOOR -> values.isIndoor = readBoolean();
+            case MINIMUM_AGE -> values.minimumAge = readInt();
+            case FLIGHT -> values.flight = readNullLiteral()
+                ? null : (FlightRecommendation) readObject(nestedDepth(depth, "flight"), RecommendationType.FLIGHT);
+            case HOTEL -> values.hotel = readNullLiteral()
+                ? null : (HotelRecommendation) readObject(nestedDepth(depth, "hotel"), RecommendationType.HOTEL);
+            case ACTIVITIES -> values.activities = readActivities(nestedDepth(depth, "activities"));
+            case PACKAGE_DISCOUNT -> values.packageDiscount = readDouble();
+            case TOTAL_PRICE -> values.totalPrice = readDouble();
+        }
+    }
+
+    /**
+     * Returns the depth of a component object. Components only appear in a top-level
+     * package, so nesting them any deeper is rejected here instead of recursing until the
+     * stack overflows.
+     */
+    private int nestedDepth(int depth, String member) {
+        if (depth > 0) {
+            throw error("Member \"" + member + "\" is only allowed in a top-level package", position);
+        }
+        return depth + 1;
+    }
+
+    private RecommendationType readType() {
+        String name = readString();
+        if (name != null) {
+            switch (name) {
+                case "flight" -> { return RecommendationType.FLIGHT; }
+                case "hotel" -> { return RecommendationType.HOTEL; }
+                case "activity" -> { return RecommendationType.ACTIVITY; }
+                case "package" -> { return RecommendationType.PACKAGE; }
+                default -> { }
+            }
+        }
+        throw error("Unknown recommendation type " + name, position - 1);
+    }
+
+    private List<ActivityRecommendation> readActivities(int depth) {
+        if (readNullLiteral()) {
+            return null;
+        }
+        expect('[');
+        List<ActivityRecommendation> activities = new ArrayList<>();
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return List.of();
+        }
+        while (true) {
+            activities.add((ActivityRecommendation) readObject(depth, RecommendationType.ACTIVITY));
+            skipWhitespace();
+            byte separator = next();
+            if (separator == ']') {
+                return List.copyOf(activities);
+            }
+            if (separator != ',') {
+                throw error("Expected ',' or ']'", position - 1);
+            }
+        }
+    }
+
+    private List<String> readStrings() {
+        if (readNullLiteral()) {
+            return null;
+        }
+        expect('[');
+        List<String> values = new ArrayList<>();
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return values;
+        }
+        while (true) {
+            skipWhitespace();
+            values.add(readString());
+            skipWhitespace();
+            byte separator = next();
+            if (separator == ']') {
+                return values;
+            }
+            if (separator != ',') {
+                throw error("Expected ',' or ']'", position - 1);
+            }
+        }
+    }
+
+    /**
+     * Reads a string or {@code null}. Strings without escapes are decoded with one bulk
+     * UTF-8 conversion; escapes switch to a slower builder-based path.
+     */
+    private String readString() {
+        if (readNullLiteral()) {
+            return null;
+        }
+        expect('"');
+        int start = position;
+        while (position < limit) {
+            byte b = in.get(position);
+            if (b == '"') {
+                String value = decode(start, position);
+                position++;
+                return value;
+            }
+            if (b == '\\') {
+                return readEscapedString(start);
+            }
+            position++;
+        }
+        throw error("Unterminated string", start - 1);
+    }
+
+    private String readEscapedString(int start) {
+        StringBuilder value = new StringBuilder(position - start + 16);
+        int runStart = start;
+        while (position < limit) {
+            byte b = in.get(position);
+            if (b == '"') {
+                value.append(decode(runStart, position));
+                position++;
+                return value.toString();
+            }
+            if (b != '\\') {
+                position++;
+                continue;
+            }
+            value.append(decode(runStart, position));
+            position++;
+            byte escape = next();
+            switch (escape) {
+                case '"', '\\', '/' -> value.append((char) escape);
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> value.append(readHexChar());
+                default -> throw error("Invalid escape", position - 1);
+            }
+            runStart = position;
+        }
+        throw error("Unterminated string", start - 1);
+    }
+
+    private char readHexChar() {
+        if (position + 4 > limit) {
+            throw error("Truncated unicode escape", position);
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(in.get(position++), 16);
+            if (digit < 0) {
+                throw error("Invalid unicode escape", position - 1);
+            }
+            value = (value << 4) | digit;
+        }
+        return (char) value;
+    }
+
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (in.hasArray()) {
+            return new String(in.array(), in.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        in.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a number. Plain decimals with at most 17 significant digits and at most 22
+     * fraction digits are exact integers divided by an exact power of ten, which IEEE 754
+     * division rounds correctly; everything else goes through {@link Double#parseDouble}.
+     */
+    private double readDouble() {
+        int start = position;
+        boolean negative = peek() == '-';
+        if (negative) {
+            position++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean simple = true;
+        int integerStart = position;
+        while (position < limit && isDigit(in.get(position))) {
+            mantissa = mantissa * 10 + (in.get(position++) - '0');
+            digits++;
+        }
+        if (position == integerStart) {
+            throw error("Expected a number", start);
+        }
+        if (position < limit && in.get(position) == '.') {
+            position++;
+            int fractionStart = position;
+            while (position < limit && isDigit(in.get(position))) {
+                mantissa = mantissa * 10 + (in.get(position++) - '0');
+                digits++;
+            }
+            fractionDigits = position - fractionStart;
+            if (fractionDigits == 0) {
+                throw error("Expected a digit after '.'", position);
+            }
+        }
+        if (position < limit && (in.get(position) == 'e' || in.get(position) == 'E')) {
+            simple = false;
+            position++;
+            if (position < limit && (in.get(position) == '+' || in.get(position) == '-')) {
+                position++;
+            }
+            int exponentStart = position;
+            while (position < limit && isDigit(in.get(position))) {
+                position++;
+            }
+            if (position == exponentStart) {
+                throw error("Expected exponent digits", position);
+            }
+        }
+        if (simple && digits <= 17 && mantissa < 1L << 53 && fractionDigits < POWERS_OF_TEN.length) {
+            double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(decode(start, position));
+    }
+
+    private int readInt() {
+        int start = position;
+        double value = readDouble();
+        if (value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw error("Expected an integer", start);
+        }
+        return (int) value;
+    }
+
+    private boolean readBoolean() {
+        if (matchLiteral("true")) {
+            return true;
+        }
+        if (matchLiteral("false")) {
+            return false;
+        }
+        throw error("Expected true or false", position);
+    }
+
+    private boolean readNullLiteral() {
+        return matchLiteral("null");
+    }
+
+    private boolean matchLiteral(String literal) {
+        if (position + literal.length() > limit) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (in.get(position + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        position += literal.length();
+        return true;
+    }
+
+    /**
+     * Reads an ISO local date-time. The shapes {@link LocalDateTime#toString()} produces
+     * ({@code yyyy-MM-ddTHH:mm}, optionally with seconds and a fraction) are parsed from
+     * the bytes directly; anything else falls back to {@link LocalDateTime#parse}.
+     */
+    private LocalDateTime readTime() {
+        int start = position;
+        if (readNullLiteral()) {
+            return null;
+        }
+        expect('"');
+        int textStart = position;
+        while (position < limit && in.get(position) != '"' && in.get(position) != '\\') {
+            position++;
+        }
+        if (position < limit && in.get(position) == '"') {
+            LocalDateTime fast = parseTime(textStart, position);
+            if (fast != null) {
+                position++;
+                return fast;
+            }
+        }
+        position = start;
+        String text = readString();
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            throw error("Invalid date-time " + text, start);
+        }
+    }
+
+    private LocalDateTime parseTime(int start, int end) {
+        int length = end - start;
+        if (length < 16 || in.get(start + 4) != '-' || in.get(start + 7) != '-'
+                || in.get(start + 10) != 'T' || in.get(start + 13) != ':') {
+            return null;
+        }
+        int year = digits(start, 4);
+        int month = digits(start + 5, 2);
+        int day = digits(start + 8, 2);
+        int hour = digits(start + 11, 2);
+        int minute = digits(start + 14, 2);
+        int second = 0;
+        int nano = 0;
+        if (length > 16) {
+            if (length < 19 || in.get(start + 16) != ':') {
+                return null;
+            }
+            second = digits(start + 17, 2);
+            if (length > 19) {
+                int fraction = length - 20;
+                if (in.get(start + 19) != '.' || fraction < 1 || fraction > 9) {
+                    return null;
+                }
+                nano = digits(start + 20, fraction);
+                for (int i = fraction; i < 9; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /** Returns the value of {@code count} ASCII digits, or -1 if any byte is not a digit. */
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            byte b = in.get(start + i);
+            if (!isDigit(b)) {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private Duration readDuration() {
+        int start = position;
+        String text = readString();
+        try {
+            return text == null ? null : Duration.parse(text);
+        } catch (DateTimeParseException e) {
+            throw error("Invalid duration " + text, start);
+        }
+    }
+
+    /**
+     * Skips any JSON value, tracking nesting and strings so brackets inside strings
+     * are not counted.
+     */
+    private void skipValue() {
+        int depth = 0;
+        do {
+            skipWhitespace();
+            byte b = peek();
+            switch (b) {
+                case '{', '[' -> {
+                    depth++;
+                    position++;
+                }
+                case '}', ']' -> {
+                    depth--;
+                    position++;
+                }
+                case '"' -> readString();
+                case ',', ':' -> position++;
+                default -> {
+                    if (!readNullLiteral() && !matchLiteral("true") && !matchLiteral("false")) {
+                        readDouble();
+                    }
+                }
+            }
+        } while (depth > 0);
+    }
+
+    private void skipWhitespace() {
+        while (position < limit) {
+            byte b = in.get(position);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private void expect(char c) {
+        if (position >= limit || in.get(position) != c) {
+            throw error("Expected '" + c + "'", position);
+        }
+        position++;
+    }
+
+    private byte peek() {
+        if (position >= limit) {
+            throw error("Unexpected end of input", position);
+        }
+        return in.get(position);
+    }
+
+    private byte next() {
+        byte b = peek();
+        position++;
+        return b;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static IllegalArgumentException error(String message, int offset) {
+        return new IllegalArgumentException(message + " at byte " + offset);
+    }
+
+    /**
+     * Constructor arguments collected while an object is parsed.
+     */
+    private static final class Slots {
+        RecommendationType type;
+        String id;
+        String title;
+        String description;
+        double confidenceScore;
+        String departureAirport;
+        String arrivalAirport;
+        LocalDateTime departureTime;
+        LocalDateTime arrivalTime;
+        String airline;
+        boolean isDirect;
+        List<String> amenities;
+        double price;
+        String hotelName;
+        int starRating;
+        String location;
+        double pricePerNight;
+        double distanceToCenter;
+        boolean hasFreeCancellation;
+        String activityName;
+        Duration duration;
+        List<String> categories;
+        boolean isIndoor;
+        int minimumAge;
+        FlightRecommendation flight;
+        HotelRecommendation hotel;
+        List<ActivityRecommendation> activities;
+        double packageDiscount;
+        double totalPrice;
+
+        void reset(RecommendationType expected) {
+            type = expected;
+            id = title = description = null;
+            departureAirport = arrivalAirport = airline = hotelName = location = activityName = null;
+            departureTime = arrivalTime = null;
+            amenities = categories = null;
+            duration = null;
+            flight = null;
+            hotel = null;
+            activities = null;
+            confidenceScore = price = pricePerNight = distanceToCenter = packageDiscount = totalPrice = 0.0;
+            starRating = minimumAge = 0;
+            isDirect = hasFreeCancellation = isIndoor = false;
+        }
+
+        Recommendation build() {
+            return switch (type) {
+                case FLIGHT -> new FlightRecommendation(id, title, description, confidenceScore,
+                    departureAirport, arrivalAirport, departureTime, arrivalTime,
+                    airline, isDirect, amenities, price);
+                case HOTEL -> new HotelRecommendation(id, title, description, confidenceScore,
+                    hotelName, starRating, location, amenities,
+                    pricePerNight, distanceToCenter, hasFreeCancellation);
+                case ACTIVITY -> new ActivityRecommendation(id, title, description, confidenceScore,
+                    activityName, location, duration, categories,
+                    isIndoor, price, minimumAge);
+                case PACKAGE -> new PackageRecommendation(id, title, description, confidenceScore,
+                    flight, hotel, activities, packageDiscount, totalPrice);
+            };
+        }
+    }
+}
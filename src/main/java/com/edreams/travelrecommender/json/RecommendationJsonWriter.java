@@ -0,0 +1,347 @@
+package com.edreams.travelrecommender.json;
+
+import com.edreams.travelrecommender.model.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes recommendations as JSON objects straight into UTF-8 bytes.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>A reflection-based mapper discovers the record components at runtime and usually
+ * builds a tree of nodes or a {@code String} before producing bytes. This writer knows the
+ * schema at compile time: a pattern matching switch over the sealed hierarchy writes each
+ * component in a fixed order into one reusable byte array, which is then copied to the
+ * output. Member names are pre-encoded, and numbers are formatted into a reused
+ * {@link StringBuilder}.</p>
+ *
+ * <h2>Schema</h2>
+ * <p>Each object starts with a {@code "type"} member ({@code "flight"}, {@code "hotel"},
+ * {@code "activity"} or {@code "package"}) followed by one member per record component,
+ * named like the component. Times use {@link LocalDateTime#toString()}, durations
+ * {@link Duration#toString()}, and packages embed their flight, hotel and activities as
+ * nested objects. {@link RecommendationJsonReader} reads exactly this format, and a
+ * written record always reads back equal.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * RecommendationJsonWriter writer = new RecommendationJsonWriter();
+ * try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(feed))) {
+ *     writer.writeLines(catalog, out);
+ * }
+ * }</pre>
+ *
+ * <p>A writer owns its buffers and is not thread-safe; use one per thread.</p>
+ */
+public final class RecommendationJsonWriter {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer = new byte[1024];
+    private int length;
+    private final StringBuilder scratch = new StringBuilder(32);
+
+    /**
+     * Encodes one recommendation as a JSON object.
+     *
+     * @param recommendation the recommendation to write
+     * @return the UTF-8 bytes of the object
+     * @throws IllegalArgumentException if a {@code double} component is NaN or infinite,
+     *         which JSON cannot represent
+     */
+    public byte[] toBytes(Recommendation recommendation) {
+        length = 0;
+        writeObject(recommendation);
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Encodes one recommendation as a JSON string.
+     *
+     * @param recommendation the recommendation to write
+     * @return the JSON text
+     * @throws IllegalArgumentException if a {@code double} component is NaN or infinite
+     */
+    public String toJson(Recommendation recommendation) {
+        length = 0;
+        writeObject(recommendation);
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes one JSON object per line, each followed by {@code '\n'}.
+     *
+     * <p>Lines are collected in the internal buffer and written in chunks of about 64 KiB.
+     * The stream is not closed.</p>
+     *
+     * @param recommendations the recommendations to write
+     * @param out the stream to write to
+     * @return the number of bytes written
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if a {@code double} component is NaN or infinite
+     */
+    public long writeLines(List<? extends Recommendation> recommendations, OutputStream out) throws IOException {
+        long written = 0;
+        length = 0;
+        for (Recommendation recommendation : recommendations) {
+            writeObject(recommendation);
+            writeByte('\n');
+            if (length >= 1 << 16) {
+                out.write(buffer, 0, length);
+                written += length;
+                length = 0;
+            }
+        }
+        out.write(buffer, 0, length);
+        written += length;
+        length = 0;
+        return written;
+    }
+
+    private void writeObject(Recommendation recommendation) {
+        writeByte('{');
+        writeKey(JsonField.TYPE, true);
+        writeAscii(switch (recommendation) {
+            case FlightRecommendation flight -> "\"flight\"";
+            case HotelRecommendation hotel -> "\"hotel\"";
+            case ActivityRecommendation activity -> "\"activity\"";
+            case PackageRecommendation pkg -> "\"package\"";
+        });
+        writeString(JsonField.ID, recommendation.getId());
+        writeString(JsonField.TITLE, recommendation.getTitle());
+        writeString(JsonField.DESCRIPTION, recommendation.getDescription());
+        writeDouble(JsonField.CONFIDENCE_SCORE, recommendation.getConfidenceScore());
+        switch (recommendation) {
+            case FlightRecommendation flight -> {
+                writeString(JsonField.DEPARTURE_AIRPORT, flight.departureAirport());
+                writeString(JsonField.ARRIVAL_AIRPORT, flight.arrivalAirport());
+                writeTime(JsonField.DEPARTURE_TIME, flight.departureTime());
+                writeTime(JsonField.ARRIVAL_TIME, flight.arrivalTime());
+                writeString(JsonField.AIRLINE, flight.airline());
+                writeBoolean(JsonField.IS_DIRECT, flight.isDirect());
+                writeStrings(JsonField.AMENITIES, flight.amenities());
+                writeDouble(JsonField.PRICE, flight.price());
+            }
+            case HotelRecommendation hotel -> {
+                writeString(JsonField.HOTEL_NAME, hotel.hotelName());
+                writeInt(JsonField.STAR_RATING, hotel.starRating());
+                writeString(JsonField.LOCATION, hotel.location());
+                writeStrings(JsonField.AMENITIES, hotel.amenities());
+                writeDouble(JsonField.PRICE_PER_NIGHT, hotel.pricePerNight());
+                writeDouble(JsonField.DISTANCE_TO_CENTER, hotel.distanceToCenter());
+                writeBoolean(JsonField.HAS_FREE_CANCELLATION, hotel.hasFreeCancellation());
+            }
+            case ActivityRecommendation activity -> {
+                writeString(JsonField.ACTIVITY_NAME, activity.activityName());
+                writeString(JsonField.LOCATION, activity.location());
+                writeDuration(activity.duration());
+                writeStrings(JsonField.CATEGORIES, activity.categories());
+                writeBoolean(JsonField.IS_INDOOR, activity.isIndoor());
+                writeDouble(JsonField.PRICE, activity.price());
+                writeInt(JsonField.MINIMUM_AGE, activity.minimumAge());
+            }
+            case PackageRecommendation pkg -> {
+                writeNested(JsonField.FLIGHT, pkg.flight());
+                writeNested(JsonField.HOTEL, pkg.hotel());
+                writeKey(JsonField.ACTIVITIES, false);
+                if (pkg.activities() == null) {
+                    writeRaw(NULL);
+                } else {
+                    writeByte('[');
+                    for (int i = 0; i < pkg.activities().size(); i++) {
+                        if (i > 0) {
+                            writeByte(',');
+                        }
+                        writeObject(pkg.activities().get(i));
+                    }
+                    writeByte(']');
+                }
+                writeDouble(JsonField.PACKAGE_DISCOUNT, pkg.packageDiscount());
+                writeDouble(JsonField.TOTAL_PRICE, pkg.totalPrice());
+            }
+        }
+        writeByte('}');
+    }
+
+    private void writeNested(JsonField field, Recommendation nested) {
+        writeKey(field, false);
+        if (nested == null) {
+            writeRaw(NULL);
+        } else {
+            writeObject(nested);
+        }
+    }
+
+    private void writeKey(JsonField field, boolean first) {
+        if (!first) {
+            writeByte(',');
+        }
+        writeRaw(field.key());
+    }
+
+    private void writeString(JsonField field, String value) {
+        writeKey(field, false);
+        writeStringValue(value);
+    }
+
+    private void writeStrings(JsonField field, List<String> values) {
+        writeKey(field, false);
+        if (values == null) {
+            writeRaw(NULL);
+            return;
+        }
+        writeByte('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeStringValue(values.get(i));
+        }
+        writeByte(']');
+    }
+
+    private void writeDouble(JsonField field, double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException(field.jsonName() + " is not a finite number: " + value);
+        }
+        writeKey(field, false);
+        scratch.setLength(0);
+        writeAscii(scratch.append(value));
+    }
+
+    private void writeInt(JsonField field, int value) {
+        writeKey(field, false);
+        scratch.setLength(0);
+        writeAscii(scratch.append(value));
+    }
+
+    private void writeBoolean(JsonField field, boolean value) {
+        writeKey(field, false);
+        writeRaw(value ? TRUE : FALSE);
+    }
+
+    private void writeTime(JsonField field, LocalDateTime time) {
+        writeKey(field, false);
+        if (time == null) {
+            writeRaw(NULL);
+            return;
+        }
+        writeByte('"');
+        writeAscii(time.toString());
+        writeByte('"');
+    }
+
+    private void writeDuration(Duration duration) {
+        writeKey(JsonField.DURATION, false);
+        if (duration == null) {
+            writeRaw(NULL);
+            return;
+        }
+        writeByte('"');
+        writeAscii(duration.toString());
+        writeByte('"');
+    }
+
+    /**
+     * Writes a quoted string, encoding UTF-8 inline. Unpaired surrogates are written as
+     * {@code \}{@code u} escapes so they survive the round trip.
+     */
+    private void writeStringValue(String value) {
+        if (value == null) {
+            writeRaw(NULL);
+            return;
+        }
+        ensureCapacity(value.length() * 6 + 2);
+        byte[] out = buffer;
+        int position = length;
+        out[position++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                out[position++] = (byte) c;
+            } else if (c == '"' || c == '\\') {
+                out[position++] = '\\';
+                out[position++] = (byte) c;
+            } else if (c < 0x20) {
+                position = writeControl(out, position, c);
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                position = writeUnicodeEscape(out, position, c);
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out[position++] = '"';
+        length = position;
+    }
+
+    private static int writeControl(byte[] out, int position, char c) {
+        char escape = switch (c) {
+            case '\n' -> 'n';
+            case '\r' -> 'r';
+            case '\t' -> 't';
+            case '\b' -> 'b';
+            case '\f' -> 'f';
+            default -> 0;
+        };
+        if (escape == 0) {
+            return writeUnicodeEscape(out, position, c);
+        }
+        out[position++] = '\\';
+        out[position++] = (byte) escape;
+        return position;
+    }
+
+    private static int writeUnicodeEscape(byte[] out, int position, char c) {
+        out[position++] = '\\';
+        out[position++] = 'u';
+        out[position++] = HEX[(c >> 12) & 0xF];
+        out[position++] = HEX[(c >> 8) & 0xF];
+        out[position++] = HEX[(c >> 4) & 0xF];
+        out[position++] = HEX[c & 0xF];
+        return position;
+    }
+
+    private void writeAscii(CharSequence text) {
+        ensureCapacity(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[length++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void writeRaw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) c;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
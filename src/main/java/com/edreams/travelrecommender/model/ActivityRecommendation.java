@@ -69,6 +69,10 @@ public record ActivityRecommendation(
     int minimumAge
 ) implements Recommendation {
     
+    private static final FeatureSet ADVENTURE = FeatureSet.of("Adventure");
+    private static final FeatureSet CULTURAL = FeatureSet.of("Cultural", "Museum");
+    private static final FeatureSet CULINARY = FeatureSet.of("Food", "Dining");
+    
     /**
      * Compact constructor with validation logic for ActivityRecommendation.
      * 
@@ -87,6 +91,9 @@ public record ActivityRecommendation(
      *   <li>Minimum age requirement is a non-negative value</li>
      * </ul>
      * 
+     * <p>The categories list is replaced by an immutable {@link FeatureSet} that carries
+     * its category bitset.</p>
+     * 
      * @throws IllegalArgumentException if any validation constraint is violated
      */
     public ActivityRecommendation {
@@ -99,6 +106,9 @@ public record ActivityRecommendation(
         if (minimumAge < 0) {
             throw new IllegalArgumentException("Minimum age cannot be negative");
         }
+        if (categories != null) {
+            categories = FeatureSet.of(categories);
+        }
     }
     
     /**
@@ -141,6 +151,26 @@ public record ActivityRecommendation(
         return confidenceScore;
     }
     
+    /**
+     * Returns true if this activity has every category in {@code required}.
+     *
+     * @param required the categories that must all be present
+     * @return true if all required categories are present
+     */
+    public boolean hasCategories(FeatureSet required) {
+        return categories instanceof FeatureSet features && features.containsAll(required);
+    }
+    
+    /**
+     * Returns true if this activity has at least one category in {@code candidates}.
+     *
+     * @param candidates the categories of which one must be present
+     * @return true if any candidate category is present
+     */
+    public boolean hasAnyCategory(FeatureSet candidates) {
+        return categories instanceof FeatureSet features && features.containsAny(candidates);
+    }
+    
     /**
      * Returns a categorization of the activity based on its attributes.
      * 
@@ -162,14 +192,18 @@ public record ActivityRecommendation(
      *   <li>Falls back to simple indoor/outdoor classification</li>
      * </ul>
      * 
+     * <p>Each check tests the category bitset against a precomputed mask rather than
+     * scanning the category names.</p>
+     * 
      * @return a string describing the type of activity
      */
     public String getActivityType() {
-        if (categories.contains("Adventure") && !isIndoor) {
+        FeatureSet features = FeatureSet.of(categories);
+        if (features.containsAny(ADVENTURE) && !isIndoor) {
             return "Outdoor Adventure";
-        } else if (categories.contains("Cultural") || categories.contains("Museum")) {
+        } else if (features.containsAny(CULTURAL)) {
             return "Cultural Experience";
-        } else if (categories.contains("Food") || categories.contains("Dining")) {
+        } else if (features.containsAny(CULINARY)) {
             return "Culinary Experience";
         } else {
             return isIndoor ? "Indoor Activity" : "Outdoor Activity";
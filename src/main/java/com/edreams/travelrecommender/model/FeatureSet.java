@@ -0,0 +1,237 @@
+package com.edreams.travelrecommender.model;
+
+import com.edreams.travelrecommender.symbol.SymbolTable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of amenity or category names that also carries a bitset of them.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Amenities and categories come from a small vocabulary ("Wi-Fi", "Pool", "Museum", ...),
+ * but checking them with {@link List#contains} compares strings one by one. A process-wide
+ * registry gives every distinct name a bit position, and each {@code FeatureSet} stores the
+ * bits of its names next to the names themselves. Tests such as "Pool AND Spa" become one
+ * {@code AND} per 64 registered names, and {@link #contains(Object)} is a hash lookup plus
+ * a bit test.</p>
+ *
+ * <p>The record compact constructors of {@link HotelRecommendation},
+ * {@link FlightRecommendation} and {@link ActivityRecommendation} wrap their lists with
+ * {@link #of(Collection)}, so every record carries its mask without a change to the
+ * canonical constructor signatures. The names themselves are stored as the canonical
+ * instances from the registry.</p>
+ *
+ * <h2>OCP Java 21 Note</h2>
+ * <p>Records cannot declare extra instance fields, but a compact constructor may reassign
+ * a component parameter before it is stored. This class uses that to attach derived data
+ * to an existing component. Because it extends {@link AbstractList}, {@code equals},
+ * {@code hashCode} and {@code toString} behave exactly like those of any other list with
+ * the same elements, so record equality is unchanged.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * FeatureSet poolAndSpa = FeatureSet.of("Pool", "Spa");
+ * List<HotelRecommendation> wellness = RecommendationService.filterByPredicate(
+ *     hotels, hotel -> hotel.hasAmenities(poolAndSpa));
+ * }</pre>
+ *
+ * <h2>Registry Bound</h2>
+ * <p>The registry is shared by every record in the process and never forgets a name, so
+ * it stops at {@value #REGISTRY_CAPACITY} names. That is far more than the amenity and
+ * category vocabularies need, and keeps masks at most {@code REGISTRY_CAPACITY / 64}
+ * words. Names that arrive once the registry is full, such as free text fed in by
+ * mistake, get no bit: they are kept in a small side array and checked by a linear scan,
+ * so every query stays correct. {@code null} names are accepted and handled the same way,
+ * which keeps lists with {@code null} elements valid record components.</p>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ */
+public final class FeatureSet extends AbstractList<String> implements RandomAccess {
+    /** The maximum number of names that are given a bit position. */
+    public static final int REGISTRY_CAPACITY = 1024;
+
+    /** Maps amenity and category names to their bit positions, up to the capacity. */
+    private static final SymbolTable REGISTRY = new SymbolTable();
+    private static final long[] NO_BITS = new long[0];
+    private static final String[] NO_NAMES = new String[0];
+
+    private final String[] names;
+    private final long[] bits;
+    /** The names without a bit position: nulls and names seen after the registry filled up. */
+    private final String[] unindexed;
+
+    private FeatureSet(String[] names, long[] bits, String[] unindexed) {
+        this.names = names;
+        this.bits = bits;
+        this.unindexed = unindexed;
+    }
+
+    /**
+     * Returns a feature set with the given names, in order.
+     *
+     * <p>If the argument is already a {@code FeatureSet} it is returned as is. Otherwise
+     * the names are copied, so later changes to the argument are not reflected.</p>
+     *
+     * @param names the amenity or category names; {@code null} elements are allowed
+     * @return an immutable feature set
+     * @throws NullPointerException if the collection is null
+     */
+    public static FeatureSet of(Collection<String> names) {
+        if (names instanceof FeatureSet features) {
+            return features;
+        }
+        String[] canonical = new String[names.size()];
+        long[] bits = NO_BITS;
+        String[] unindexed = NO_NAMES;
+        int unindexedCount = 0;
+        int i = 0;
+        for (String name : names) {
+            int bit = bitOf(name);
+            if (bit == SymbolTable.NO_CODE) {
+                canonical[i++] = name;
+                if (unindexedCount == unindexed.length) {
+                    unindexed = Arrays.copyOf(unindexed, Math.max(4, unindexedCount * 2));
+                }
+                unindexed[unindexedCount++] = name;
+                continue;
+            }
+            canonical[i++] = REGISTRY.decode(bit);
+            int word = bit >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, word + 1);
+            }
+            bits[word] |= 1L << bit;
+        }
+        return new FeatureSet(canonical, bits, Arrays.copyOf(unindexed, unindexedCount));
+    }
+
+    /**
+     * Returns the bit position of a name, registering it while the registry has room.
+     *
+     * <p>New names are registered under a lock that also checks the capacity, so once a
+     * name is refused it is refused for good and every set agrees on whether it has a bit.</p>
+     *
+     * @return the bit position, or {@link SymbolTable#NO_CODE} for null and refused names
+     */
+    private static int bitOf(String name) {
+        if (name == null) {
+            return SymbolTable.NO_CODE;
+        }
+        int bit = REGISTRY.codeOf(name);
+        if (bit == SymbolTable.NO_CODE) {
+            synchronized (REGISTRY) {
+                bit = REGISTRY.size() < REGISTRY_CAPACITY ? REGISTRY.encode(name) : REGISTRY.codeOf(name);
+            }
+        }
+        return bit;
+    }
+
+    /**
+     * Returns a feature set with the given names, typically used as a query mask.
+     *
+     * @param names the amenity or category names
+     * @return an immutable feature set
+     * @throws NullPointerException if the array is null
+     */
+    public static FeatureSet of(String... names) {
+        return of(Arrays.asList(names));
+    }
+
+    /**
+     * Returns true if this set contains every name in {@code required}.
+     *
+     * @param required the names that must all be present
+     * @return true if {@code required} is a subset of this set
+     */
+    public boolean containsAll(FeatureSet required) {
+        long[] other = required.bits;
+        for (int i = 0; i < other.length; i++) {
+            long mine = i < bits.length ? bits[i] : 0L;
+            if ((mine & other[i]) != other[i]) {
+                return false;
+            }
+        }
+        for (String name : required.unindexed) {
+            if (!isUnindexed(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if this set contains at least one name in {@code candidates}.
+     *
+     * @param candidates the names of which one must be present
+     * @return true if the two sets intersect
+     */
+    public boolean containsAny(FeatureSet candidates) {
+        int words = Math.min(bits.length, candidates.bits.length);
+        for (int i = 0; i < words; i++) {
+            if ((bits[i] & candidates.bits[i]) != 0) {
+                return true;
+            }
+        }
+        for (String name : candidates.unindexed) {
+            if (isUnindexed(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the first 64 bits of the mask, covering the first 64 registered names.
+     *
+     * <p>This is meant for packing masks into {@code long[]} columns for bulk filtering
+     * when the vocabulary is known to be small. Names without a bit are not included.</p>
+     *
+     * @return the low word of the mask
+     */
+    public long lowBits() {
+        return bits.length == 0 ? 0L : bits[0];
+    }
+
+    /**
+     * Checks membership with a registry lookup and a bit test instead of a scan.
+     */
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return isUnindexed(null);
+        }
+        if (!(o instanceof String name)) {
+            return false;
+        }
+        int bit = REGISTRY.codeOf(name);
+        if (bit == SymbolTable.NO_CODE) {
+            return isUnindexed(name);
+        }
+        int word = bit >>> 6;
+        return word < bits.length && (bits[word] & (1L << bit)) != 0;
+    }
+
+    private boolean isUnindexed(String name) {
+        for (String candidate : unindexed) {
+            if (Objects.equals(candidate, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String get(int index) {
+        return names[index];
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+}
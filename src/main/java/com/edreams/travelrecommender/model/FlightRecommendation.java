@@ -88,6 +88,9 @@ public record FlightRecommendation(
      *   <li>Price is not negative</li>
      * </ul>
      * 
+     * <p>The amenities list is replaced by an immutable {@link FeatureSet} that carries
+     * its amenity bitset.</p>
+     * 
      * @throws IllegalArgumentException if validation fails
      */
     public FlightRecommendation {
@@ -97,6 +100,22 @@ public record FlightRecommendation(
         if (price < 0.0) {
             throw new IllegalArgumentException("Price cannot be negative");
         }
+        if (amenities != null) {
+            amenities = FeatureSet.of(amenities);
+        }
+    }
+
+    /**
+     * Returns true if this flight offers every amenity in {@code required}.
+     *
+     * <p>The check is a bitwise {@code AND} of the precomputed masks, so a query such as
+     * {@code FeatureSet.of("Pool", "Spa")} can be built once and reused for every record.</p>
+     *
+     * @param required the amenities that must all be present
+     * @return true if all required amenities are present
+     */
+    public boolean hasAmenities(FeatureSet required) {
+        return amenities instanceof FeatureSet features && features.containsAll(required);
     }
     
     /**
@@ -84,6 +84,9 @@ public record HotelRecommendation(
      *   <li>Price per night is a non-negative value</li>
      * </ul>
      * 
+     * <p>The amenities list is replaced by an immutable {@link FeatureSet} that carries
+     * its amenity bitset.</p>
+     * 
      * @throws IllegalArgumentException if any validation constraint is violated
      */
     public HotelRecommendation {
@@ -96,6 +99,22 @@ public record HotelRecommendation(
         if (pricePerNight < 0.0) {
             throw new IllegalArgumentException("Price cannot be negative");
         }
+        if (amenities != null) {
+            amenities = FeatureSet.of(amenities);
+        }
+    }
+
+    /**
+     * Returns true if this hotel offers every amenity in {@code required}.
+     *
+     * <p>The check is a bitwise {@code AND} of the precomputed masks, so a query such as
+     * {@code FeatureSet.of("Pool", "Spa")} can be built once and reused for every record.</p>
+     *
+     * @param required the amenities that must all be present
+     * @return true if all required amenities are present
+     */
+    public boolean hasAmenities(FeatureSet required) {
+        return amenities instanceof FeatureSet features && features.containsAll(required);
     }
     
     /**
@@ -0,0 +1,66 @@
+package com.edreams.travelrecommender.model;
+
+import java.util.List;
+
+/**
+ * The derived prices of a {@link PackageRecommendation}, computed once.
+ *
+ * <p>{@link PackageRecommendation#getSavingsAmount()} walks the activity list on every
+ * call, and a record cannot cache the result in a field of its own. This companion record
+ * holds the values so that code reading them repeatedly pays for the computation once.
+ * For sort keys over many packages, {@link #savingsAmounts(List)} fills a primitive array
+ * in a single pass.</p>
+ *
+ * <p><strong>OCP Java 21 Note:</strong> The record is built by a static factory from the
+ * package rather than by callers, so its values always agree with the methods they come
+ * from.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * PackageMetrics metrics = pkg.metrics();
+ * System.out.println(metrics.durationInDays() + " days, save $" + metrics.savingsAmount());
+ *
+ * double[] savings = PackageMetrics.savingsAmounts(packages);
+ * }</pre>
+ *
+ * @param durationInDays the package duration, as {@link PackageRecommendation#getDurationInDays()}
+ * @param individualPrice the separate price of the components, as
+ *        {@link PackageRecommendation#getIndividualPrice()}
+ * @param savingsAmount the amount saved, as {@link PackageRecommendation#getSavingsAmount()}
+ */
+public record PackageMetrics(int durationInDays, double individualPrice, double savingsAmount) {
+
+    /**
+     * Computes the metrics of a package.
+     *
+     * @param recommendation the package to measure
+     * @return the package's duration, individual price and savings
+     */
+    public static PackageMetrics of(PackageRecommendation recommendation) {
+        double individualPrice = recommendation.getIndividualPrice();
+        return new PackageMetrics(recommendation.getDurationInDays(), individualPrice,
+            individualPrice - recommendation.totalPrice());
+    }
+
+    /**
+     * Computes the savings of every package in a list.
+     *
+     * <p>The values are identical to calling {@link PackageRecommendation#getSavingsAmount()}
+     * on each package, but are computed in one pass into a primitive array, ready to be used
+     * as sort keys without further calls or boxing.</p>
+     *
+     * <h3>Complexity</h3>
+     * <p>O(n + a) for n packages holding a activities in total.</p>
+     *
+     * @param recommendations the packages (producer of PackageRecommendation)
+     * @return an array whose element i is the savings of package i
+     */
+    public static double[] savingsAmounts(List<? extends PackageRecommendation> recommendations) {
+        double[] savings = new double[recommendations.size()];
+        int i = 0;
+        for (PackageRecommendation recommendation : recommendations) {
+            savings[i++] = recommendation.getSavingsAmount();
+        }
+        return savings;
+    }
+}
@@ -17,7 +17,8 @@ import java.util.List;
  *   <li><strong>Records</strong>: Uses Java's record feature for immutable data modeling</li>
  *   <li><strong>Sealed Types</strong>: Implements a permitted subtype of the sealed Recommendation interface</li>
  *   <li><strong>Composition</strong>: Demonstrates object composition by aggregating other recommendation types</li>
- *   <li><strong>Functional Programming</strong>: Uses streams to process collections in the getSavingsAmount() method</li>
+ *   <li><strong>Derived Values</strong>: Computes prices and savings from its components, with a
+ *       {@link PackageMetrics} companion record to hold them when they are read repeatedly</li>
  * </ul>
  * 
  * <h2>Design Pattern</h2>
@@ -163,6 +164,36 @@ public record PackageRecommendation(
         return Math.max(3, activities.size() / 2);
     }
     
+    /**
+     * Returns the price of booking the flight, hotel and activities separately.
+     *
+     * <p>This is the flight price, plus the nightly hotel price for
+     * {@link #getDurationInDays()} nights, plus every activity price. Activity prices are
+     * added with the same compensated (Kahan) summation as {@link java.util.stream.DoubleStream#sum()},
+     * so the result is bit-for-bit the one the stream gave, but the loop allocates nothing.</p>
+     *
+     * @return the undiscounted price of the package components
+     */
+    public double getIndividualPrice() {
+        double sum = 0.0;
+        double compensation = 0.0;
+        double simpleSum = 0.0;
+        for (ActivityRecommendation activity : activities) {
+            double price = activity.price();
+            double corrected = price - compensation;
+            double next = sum + corrected;
+            compensation = (next - sum) - corrected;
+            sum = next;
+            simpleSum += price;
+        }
+        double activityPrices = sum - compensation;
+        // Like DoubleStream.sum(), prefer the simple sum when infinities made the compensated one NaN
+        if (Double.isNaN(activityPrices) && Double.isInfinite(simpleSum)) {
+            activityPrices = simpleSum;
+        }
+        return flight.price() + hotel.pricePerNight() * getDurationInDays() + activityPrices;
+    }
+
     /**
      * Calculates the monetary savings provided by this package compared to booking each component separately.
      * 
@@ -170,12 +201,10 @@ public record PackageRecommendation(
      * operates on their components. It calculates the difference between the sum of
      * individual prices and the discounted package price.</p>
      * 
-     * <p><strong>OCP Java 21 Note:</strong> This method showcases:</p>
-     * <ul>
-     *   <li>Functional programming with streams to calculate the sum of activity prices</li>
-     *   <li>Method references (ActivityRecommendation::price) for concise code</li>
-     *   <li>Complex calculations based on multiple record components</li>
-     * </ul>
+     * <p><strong>OCP Java 21 Note:</strong> A record cannot declare instance fields beyond its
+     * components, so it cannot cache a derived value itself. Callers that read the savings
+     * many times, such as a sort, should compute them once with {@link #metrics()} or
+     * {@link PackageMetrics#savingsAmounts(List)}.</p>
      * 
      * <p>The calculation:</p>
      * <ol>
@@ -186,11 +215,18 @@ public record PackageRecommendation(
      * </ol>
      * 
      * @return the amount saved by booking the package instead of individual components
+     * @see #getIndividualPrice()
      */
     public double getSavingsAmount() {
-        double individualPrices = flight.price() + 
-                                 (hotel.pricePerNight() * getDurationInDays()) +
-                                 activities.stream().mapToDouble(ActivityRecommendation::price).sum();
-        return individualPrices - totalPrice;
+        return getIndividualPrice() - totalPrice;
+    }
+
+    /**
+     * Computes the derived prices of this package once.
+     *
+     * @return the duration, individual price and savings of this package
+     */
+    public PackageMetrics metrics() {
+        return PackageMetrics.of(this);
     }
-}
\ No newline at end of file
+}
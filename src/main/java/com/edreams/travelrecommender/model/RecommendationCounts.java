@@ -0,0 +1,69 @@
+package com.edreams.travelrecommender.model;
+
+/**
+ * Per-type counts for a collection of recommendations.
+ *
+ * <p>This record is the result of counting without categorizing: it holds four
+ * primitive counters instead of four lists, so producing it allocates nothing per
+ * counted element.</p>
+ *
+ * <p><strong>OCP Java 21 Note:</strong> The compact constructor validates the
+ * components, and {@link #get(RecommendationType)} uses a switch expression over
+ * an enum, which the compiler also checks for exhaustiveness.</p>
+ *
+ * @param flights the number of flight recommendations
+ * @param hotels the number of hotel recommendations
+ * @param activities the number of activity recommendations
+ * @param packages the number of package recommendations
+ */
+public record RecommendationCounts(int flights, int hotels, int activities, int packages) {
+
+    /**
+     * Compact constructor that rejects negative counts.
+     *
+     * @throws IllegalArgumentException if any count is negative
+     */
+    public RecommendationCounts {
+        if (flights < 0 || hotels < 0 || activities < 0 || packages < 0) {
+            throw new IllegalArgumentException("Counts cannot be negative");
+        }
+    }
+
+    /**
+     * Creates counts from an array indexed by {@link RecommendationType#ordinal()}.
+     *
+     * @param countsByOrdinal one counter per recommendation type
+     * @return the corresponding counts
+     */
+    public static RecommendationCounts fromOrdinals(int[] countsByOrdinal) {
+        return new RecommendationCounts(
+            countsByOrdinal[RecommendationType.FLIGHT.ordinal()],
+            countsByOrdinal[RecommendationType.HOTEL.ordinal()],
+            countsByOrdinal[RecommendationType.ACTIVITY.ordinal()],
+            countsByOrdinal[RecommendationType.PACKAGE.ordinal()]);
+    }
+
+    /**
+     * Returns the count for one recommendation type.
+     *
+     * @param type the recommendation type
+     * @return the number of recommendations of that type
+     */
+    public int get(RecommendationType type) {
+        return switch (type) {
+            case FLIGHT -> flights;
+            case HOTEL -> hotels;
+            case ACTIVITY -> activities;
+            case PACKAGE -> packages;
+        };
+    }
+
+    /**
+     * Returns the total number of recommendations counted.
+     *
+     * @return the sum of all four counts
+     */
+    public int total() {
+        return flights + hotels + activities + packages;
+    }
+}
@@ -0,0 +1,73 @@
+package com.edreams.travelrecommender.model;
+
+/**
+ * Enumerates the permitted subtypes of the sealed {@link Recommendation} interface.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Code that groups or counts recommendations by kind needs a key for each subtype.
+ * String keys such as {@code "Flights"} are easy to mistype and hash on every lookup;
+ * this enum gives each permitted record a constant that can key an
+ * {@link java.util.EnumMap} (a plain array indexed by ordinal) or index a primitive
+ * counter array directly.</p>
+ *
+ * <h2>OCP Java 21 Feature: Exhaustive Switch over a Sealed Type</h2>
+ * <p>{@link #of(Recommendation)} maps a recommendation to its constant with a pattern
+ * matching switch that has no default branch. If a fifth record is ever added to the
+ * {@code permits} clause, the switch stops compiling until it is handled here, which
+ * keeps the enum in step with the hierarchy.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * RecommendationType type = RecommendationType.of(recommendation);
+ * System.out.println(type.label() + " -> " + type.recordClass().getSimpleName());
+ * }</pre>
+ */
+public enum RecommendationType {
+    FLIGHT("Flights", FlightRecommendation.class),
+    HOTEL("Hotels", HotelRecommendation.class),
+    ACTIVITY("Activities", ActivityRecommendation.class),
+    PACKAGE("Packages", PackageRecommendation.class);
+
+    private final String label;
+    private final Class<? extends Recommendation> recordClass;
+
+    RecommendationType(String label, Class<? extends Recommendation> recordClass) {
+        this.label = label;
+        this.recordClass = recordClass;
+    }
+
+    /**
+     * Returns the type constant for the given recommendation.
+     *
+     * @param recommendation the recommendation to classify
+     * @return the constant matching the recommendation's record type
+     * @throws NullPointerException if the recommendation is null
+     */
+    public static RecommendationType of(Recommendation recommendation) {
+        return switch (recommendation) {
+            case FlightRecommendation flight -> FLIGHT;
+            case HotelRecommendation hotel -> HOTEL;
+            case ActivityRecommendation activity -> ACTIVITY;
+            case PackageRecommendation pkg -> PACKAGE;
+        };
+    }
+
+    /**
+     * Returns the plural display label, matching the keys used by
+     * {@code RecommendationService.categorizeRecommendations}.
+     *
+     * @return the category label, for example {@code "Flights"}
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Returns the record class this constant stands for.
+     *
+     * @return the permitted subtype of {@link Recommendation}
+     */
+    public Class<? extends Recommendation> recordClass() {
+        return recordClass;
+    }
+}
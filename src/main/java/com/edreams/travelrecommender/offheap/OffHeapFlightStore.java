@@ -0,0 +1,381 @@
+package com.edreams.travelrecommender.offheap;
+
+import com.edreams.travelrecommender.filter.Comparison;
+import com.edreams.travelrecommender.filter.Selection;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Flight recommendations stored column by column in off-heap memory.
+ *
+ * <p>This is the flight counterpart of {@link OffHeapHotelStore}: confidence and price
+ * are {@code double} columns, departure and arrival times are UTC epoch seconds plus a
+ * nano-of-second column, airports and airlines are dictionary codes, and ids, titles and
+ * descriptions are off-heap UTF-8 text decoded on access. Filters scan the columns and
+ * return {@link Selection} bitmaps; records are materialized only on access.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (OffHeapFlightStore store = OffHeapFlightStore.copyOf(flights)) {
+ *     Selection route = store.departsFrom("JFK").and(store.arrivesAt("LAX"));
+ *     Selection cheap = store.where(OffHeapFlightStore.Column.PRICE, Comparison.LESS_THAN, 400.0);
+ *     List<FlightRecommendation> result = store.select(route.and(cheap).and(store.directOnly()));
+ * }
+ * }</pre>
+ *
+ * <p>The store is immutable after construction and safe for concurrent reads.</p>
+ */
+public final class OffHeapFlightStore implements AutoCloseable {
+
+    /**
+     * The numeric columns that can be filtered with {@link #where}. Times are compared
+     * as UTC epoch seconds.
+     */
+    public enum Column { CONFIDENCE_SCORE, PRICE, DEPARTURE_EPOCH_SECOND, ARRIVAL_EPOCH_SECOND }
+
+    private final SegmentColumns columns;
+    private final MemorySegment confidence;
+    private final MemorySegment price;
+    private final MemorySegment departureSeconds;
+    private final MemorySegment departureNanos;
+    private final MemorySegment arrivalSeconds;
+    private final MemorySegment arrivalNanos;
+    private final MemorySegment direct;
+    private final SegmentColumns.TextColumn ids;
+    private final SegmentColumns.TextColumn titles;
+    private final SegmentColumns.TextColumn descriptions;
+    private final MemorySegment departureAirports;
+    private final MemorySegment arrivalAirports;
+    private final MemorySegment airlines;
+    private final MemorySegment amenities;
+
+    private OffHeapFlightStore(List<? extends FlightRecommendation> flights) {
+        int size = flights.size();
+        columns = new SegmentColumns(size);
+        confidence = columns.allocate(ValueLayout.JAVA_DOUBLE);
+        price = columns.allocate(ValueLayout.JAVA_DOUBLE);
+        departureSeconds = columns.allocate(ValueLayout.JAVA_LONG);
+        departureNanos = columns.allocate(ValueLayout.JAVA_INT);
+        arrivalSeconds = columns.allocate(ValueLayout.JAVA_LONG);
+        arrivalNanos = columns.allocate(ValueLayout.JAVA_INT);
+        direct = columns.allocate(ValueLayout.JAVA_BYTE);
+        departureAirports = columns.allocate(ValueLayout.JAVA_INT);
+        arrivalAirports = columns.allocate(ValueLayout.JAVA_INT);
+        airlines = columns.allocate(ValueLayout.JAVA_INT);
+        amenities = columns.allocate(ValueLayout.JAVA_INT);
+        for (int i = 0; i < size; i++) {
+            FlightRecommendation flight = Objects.requireNonNull(flights.get(i), "flight");
+            LocalDateTime departure = Objects.requireNonNull(flight.departureTime(), "departureTime");
+            LocalDateTime arrival = Objects.requireNonNull(flight.arrivalTime(), "arrivalTime");
+            confidence.setAtIndex(ValueLayout.JAVA_DOUBLE, i, flight.confidenceScore());
+            price.setAtIndex(ValueLayout.JAVA_DOUBLE, i, flight.price());
+            departureSeconds.setAtIndex(ValueLayout.JAVA_LONG, i, departure.toEpochSecond(ZoneOffset.UTC));
+            departureNanos.setAtIndex(ValueLayout.JAVA_INT, i, departure.getNano());
+            arrivalSeconds.setAtIndex(ValueLayout.JAVA_LONG, i, arrival.toEpochSecond(ZoneOffset.UTC));
+            arrivalNanos.setAtIndex(ValueLayout.JAVA_INT, i, arrival.getNano());
+            direct.setAtIndex(ValueLayout.JAVA_BYTE, i, (byte) (flight.isDirect() ? 1 : 0));
+            departureAirports.setAtIndex(ValueLayout.JAVA_INT, i, columns.encodeSymbol(flight.departureAirport()));
+            arrivalAirports.setAtIndex(ValueLayout.JAVA_INT, i, columns.encodeSymbol(flight.arrivalAirport()));
+            airlines.setAtIndex(ValueLayout.JAVA_INT, i, columns.encodeSymbol(flight.airline()));
+            amenities.setAtIndex(ValueLayout.JAVA_INT, i, columns.encodeFeatures(flight.amenities()));
+        }
+        ids = columns.text(flights, FlightRecommendation::id);
+        titles = columns.text(flights, FlightRecommendation::title);
+        descriptions = columns.text(flights, FlightRecommendation::description);
+    }
+
+    /**
+     * Copies the given flights into a new off-heap store.
+     *
+     * @param flights the flights to store (producer of FlightRecommendation)
+     * @return a new store owning its off-heap memory
+     * @throws NullPointerException if the list, any element or any flight time is null
+     */
+    public static OffHeapFlightStore copyOf(List<? extends FlightRecommendation> flights) {
+        return new OffHeapFlightStore(flights);
+    }
+
+    /**
+     * Returns the number of flights in the store.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * Compares a numeric column against a constant.
+     *
+     * @param column the column to test
+     * @param comparison the operator to apply
+     * @param constant the right-hand side of the comparison
+     * @return a selection of the matching rows
+     */
+    public Selection where(Column column, Comparison comparison, double constant) {
+        return switch (column) {
+            case CONFIDENCE_SCORE -> columns.compare(confidence, ValueLayout.JAVA_DOUBLE, comparison, constant);
+            case PRICE -> columns.compare(price, ValueLayout.JAVA_DOUBLE, comparison, constant);
+            case DEPARTURE_EPOCH_SECOND -> columns.compare(departureSeconds, ValueLayout.JAVA_LONG, comparison, constant);
+            case ARRIVAL_EPOCH_SECOND -> columns.compare(arrivalSeconds, ValueLayout.JAVA_LONG, comparison, constant);
+        };
+    }
+
+    /**
+     * Selects the flights departing from an airport by comparing dictionary codes.
+     *
+     * @param airport the departure airport code
+     * @return a selection of the matching flights
+     */
+    public Selection departsFrom(String airport) {
+        return columns.equalTo(departureAirports, columns.symbolCodeOf(airport));
+    }
+
+    /**
+     * Selects the flights arriving at an airport by comparing dictionary codes.
+     *
+     * @param airport the arrival airport code
+     * @return a selection of the matching flights
+     */
+    public Selection arrivesAt(String airport) {
+        return columns.equalTo(arrivalAirports, columns.symbolCodeOf(airport));
+    }
+
+    /**
+     * Selects the flights operated by an airline by comparing dictionary codes.
+     *
+     * @param airline the airline name
+     * @return a selection of the matching flights
+     */
+    public Selection operatedBy(String airline) {
+        return columns.equalTo(airlines, columns.symbolCodeOf(airline));
+    }
+
+    /**
+     * Selects the direct flights.
+     *
+     * @return a selection of the flights with {@code isDirect} set
+     */
+    public Selection directOnly() {
+        return columns.compare(direct, ValueLayout.JAVA_BYTE, Comparison.EQUAL, 1);
+    }
+
+    /**
+     * Groups the rows by airline in one pass over the code column.
+     *
+     * @return one selection per airline, in order of first appearance
+     */
+    public Map<String, Selection> categorizeByAirline() {
+        return columns.groupBySymbol(airlines);
+    }
+
+    /**
+     * Materializes the flight at the given row.
+     *
+     * @param index the row index
+     * @return a new record equal to the one that was stored
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public FlightRecommendation get(int index) {
+        Objects.checkIndex(index, size());
+        return new FlightRecommendation(
+            ids.get(index),
+            titles.get(index),
+            descriptions.get(index),
+            confidence.getAtIndex(ValueLayout.JAVA_DOUBLE, index),
+            columns.decodeSymbol(departureAirports.getAtIndex(ValueLayout.JAVA_INT, index)),
+            columns.decodeSymbol(arrivalAirports.getAtIndex(ValueLayout.JAVA_INT, index)),
+            departureTime(index),
+            arrivalTime(index),
+            columns.decodeSymbol(airlines.getAtIndex(ValueLayout.JAVA_INT, index)),
+            direct.getAtIndex(ValueLayout.JAVA_BYTE, index) != 0,
+            columns.decodeFeatures(amenities.getAtIndex(ValueLayout.JAVA_INT, index)),
+            price.getAtIndex(ValueLayout.JAVA_DOUBLE, index));
+    }
+
+    /**
+     * Materializes only the selected flights, in row order.
+     *
+     * @param selection a selection over this store's rows
+     * @return a new list of records
+     * @throws IllegalArgumentException if the selection covers a different number of rows
+     */
+    public List<FlightRecommendation> select(Selection selection) {
+        return selection.applyTo(asList());
+    }
+
+    /**
+     * Returns a read-only list view that materializes each flight when it is accessed.
+     *
+     * @return a lazy list backed by this store
+     */
+    public List<FlightRecommendation> asList() {
+        return new LazyList();
+    }
+
+    /**
+     * Returns a new cursor positioned on row 0.
+     *
+     * @return a reusable flyweight over this store's rows
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Frees the off-heap memory. The store and its views must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        columns.close();
+    }
+
+    private LocalDateTime departureTime(int index) {
+        return LocalDateTime.ofEpochSecond(departureSeconds.getAtIndex(ValueLayout.JAVA_LONG, index),
+            departureNanos.getAtIndex(ValueLayout.JAVA_INT, index), ZoneOffset.UTC);
+    }
+
+    private LocalDateTime arrivalTime(int index) {
+        return LocalDateTime.ofEpochSecond(arrivalSeconds.getAtIndex(ValueLayout.JAVA_LONG, index),
+            arrivalNanos.getAtIndex(ValueLayout.JAVA_INT, index), ZoneOffset.UTC);
+    }
+
+    /**
+     * A movable flyweight that reads single fields of one row straight from the columns.
+     *
+     * <p>One cursor can walk the whole store without allocating. It is not thread-safe;
+     * create one per thread.</p>
+     */
+    public final class Cursor {
+        private int index;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves the cursor to another row.
+         *
+         * @param index the row index
+         * @return this cursor
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public Cursor moveTo(int index) {
+            this.index = Objects.checkIndex(index, size());
+            return this;
+        }
+
+        /**
+         * Returns the current row index.
+         *
+         * @return the row index
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * Returns the flight id of the current row.
+         *
+         * @return the id
+         */
+        public String id() {
+            return ids.get(index);
+        }
+
+        /**
+         * Returns the confidence score of the current row.
+         *
+         * @return the confidence score
+         */
+        public double confidenceScore() {
+            return confidence.getAtIndex(ValueLayout.JAVA_DOUBLE, index);
+        }
+
+        /**
+         * Returns the price of the current row.
+         *
+         * @return the price
+         */
+        public double price() {
+            return price.getAtIndex(ValueLayout.JAVA_DOUBLE, index);
+        }
+
+        /**
+         * Returns the departure airport of the current row.
+         *
+         * @return the canonical airport code
+         */
+        public String departureAirport() {
+            return columns.decodeSymbol(departureAirports.getAtIndex(ValueLayout.JAVA_INT, index));
+        }
+
+        /**
+         * Returns the arrival airport of the current row.
+         *
+         * @return the canonical airport code
+         */
+        public String arrivalAirport() {
+            return columns.decodeSymbol(arrivalAirports.getAtIndex(ValueLayout.JAVA_INT, index));
+        }
+
+        /**
+         * Returns the departure time of the current row.
+         *
+         * @return the departure time
+         */
+        public LocalDateTime departureTime() {
+            return OffHeapFlightStore.this.departureTime(index);
+        }
+
+        /**
+         * Returns the arrival time of the current row.
+         *
+         * @return the arrival time
+         */
+        public LocalDateTime arrivalTime() {
+            return OffHeapFlightStore.this.arrivalTime(index);
+        }
+
+        /**
+         * Returns whether the current row is a direct flight.
+         *
+         * @return true for a direct flight
+         */
+        public boolean isDirect() {
+            return direct.getAtIndex(ValueLayout.JAVA_BYTE, index) != 0;
+        }
+
+        /**
+         * Materializes the current row as a record.
+         *
+         * @return a new record equal to the one that was stored
+         */
+        public FlightRecommendation toRecord() {
+            return get(index);
+        }
+    }
+
+    /**
+     * List view that creates records on demand.
+     */
+    private final class LazyList extends AbstractList<FlightRecommendation> implements RandomAccess {
+        @Override
+        public FlightRecommendation get(int index) {
+            return OffHeapFlightStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return OffHeapFlightStore.this.size();
+        }
+    }
+}
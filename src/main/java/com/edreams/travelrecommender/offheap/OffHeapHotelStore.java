@@ -0,0 +1,361 @@
+package com.edreams.travelrecommender.offheap;
+
+import com.edreams.travelrecommender.filter.Comparison;
+import com.edreams.travelrecommender.filter.Selection;
+import com.edreams.travelrecommender.model.HotelRecommendation;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Hotel recommendations stored column by column in off-heap memory.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Tens of millions of {@link HotelRecommendation} objects on the heap mean tens of
+ * millions of objects for the garbage collector to trace. This store copies the numeric
+ * fields into one {@link MemorySegment} column each (confidence, price per night, distance,
+ * stars, free cancellation). Mostly unique strings (id, title, description, hotel name) are
+ * stored as UTF-8 bytes in an off-heap segment with offset and length columns, and decoded
+ * only when read. Locations and amenity lists repeat across hotels, so they are replaced
+ * by {@code int} dictionary codes. The heap then holds a handful of column handles plus
+ * the dictionaries, whose size depends on the number of distinct locations and amenity
+ * lists rather than on the number of hotels.</p>
+ *
+ * <h2>Queries</h2>
+ * <p>{@link #where}, {@link #locatedIn} and {@link #categorizeByHotelType} scan the
+ * columns directly and return {@link Selection} bitmaps, so filters combine with
+ * {@link Selection#and} without creating any record. Records are only created when a
+ * caller asks for them through {@link #get(int)}, {@link #select(Selection)} or the lazy
+ * {@link #asList()} view. A {@link Cursor} reads single fields of any row without
+ * materializing it at all.</p>
+ *
+ * <h2>OCP Java 21 Note</h2>
+ * <p>{@code java.lang.foreign} is a preview API in Java 21 and needs
+ * {@code --enable-preview} at compile and run time; the build configures both. Memory is
+ * owned by a shared {@link java.lang.foreign.Arena}, so the store can be read from any
+ * thread, and {@link #close()} frees it deterministically. Any access after closing fails
+ * with {@link IllegalStateException} instead of reading freed memory.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (OffHeapHotelStore store = OffHeapHotelStore.copyOf(hotels)) {
+ *     Selection cheap = store.where(OffHeapHotelStore.Column.PRICE_PER_NIGHT, Comparison.LESS_THAN, 150.0);
+ *     Selection inParis = store.locatedIn("Paris");
+ *     List<HotelRecommendation> result = store.select(cheap.and(inParis));
+ * }
+ * }</pre>
+ *
+ * <p>The store is immutable after construction and safe for concurrent reads.</p>
+ */
+public final class OffHeapHotelStore implements AutoCloseable {
+
+    /**
+     * The numeric columns that can be filtered with {@link #where}.
+     */
+    public enum Column { CONFIDENCE_SCORE, PRICE_PER_NIGHT, DISTANCE_TO_CENTER, STAR_RATING }
+
+    private static final String[] HOTEL_TYPES = {"Budget", "Standard", "Premium", "Luxury"};
+
+    private final SegmentColumns columns;
+    private final MemorySegment confidence;
+    private final MemorySegment pricePerNight;
+    private final MemorySegment distance;
+    private final MemorySegment stars;
+    private final MemorySegment freeCancellation;
+    private final SegmentColumns.TextColumn ids;
+    private final SegmentColumns.TextColumn titles;
+    private final SegmentColumns.TextColumn descriptions;
+    private final SegmentColumns.TextColumn hotelNames;
+    private final MemorySegment locations;
+    private final MemorySegment amenities;
+
+    private OffHeapHotelStore(List<? extends HotelRecommendation> hotels) {
+        int size = hotels.size();
+        columns = new SegmentColumns(size);
+        confidence = columns.allocate(ValueLayout.JAVA_DOUBLE);
+        pricePerNight = columns.allocate(ValueLayout.JAVA_DOUBLE);
+        distance = columns.allocate(ValueLayout.JAVA_DOUBLE);
+        stars = columns.allocate(ValueLayout.JAVA_BYTE);
+        freeCancellation = columns.allocate(ValueLayout.JAVA_BYTE);
+        locations = columns.allocate(ValueLayout.JAVA_INT);
+        amenities = columns.allocate(ValueLayout.JAVA_INT);
+        for (int i = 0; i < size; i++) {
+            HotelRecommendation hotel = Objects.requireNonNull(hotels.get(i), "hotel");
+            confidence.setAtIndex(ValueLayout.JAVA_DOUBLE, i, hotel.confidenceScore());
+            pricePerNight.setAtIndex(ValueLayout.JAVA_DOUBLE, i, hotel.pricePerNight());
+            distance.setAtIndex(ValueLayout.JAVA_DOUBLE, i, hotel.distanceToCenter());
+            // Star ratings are validated to 1..5, so a byte holds them
+            stars.setAtIndex(ValueLayout.JAVA_BYTE, i, (byte) hotel.starRating());
+            freeCancellation.setAtIndex(ValueLayout.JAVA_BYTE, i, (byte) (hotel.hasFreeCancellation() ? 1 : 0));
+            locations.setAtIndex(ValueLayout.JAVA_INT, i, columns.encodeSymbol(hotel.location()));
+            amenities.setAtIndex(ValueLayout.JAVA_INT, i, columns.encodeFeatures(hotel.amenities()));
+        }
+        ids = columns.text(hotels, HotelRecommendation::id);
+        titles = columns.text(hotels, HotelRecommendation::title);
+        descriptions = columns.text(hotels, HotelRecommendation::description);
+        hotelNames = columns.text(hotels, HotelRecommendation::hotelName);
+    }
+
+    /**
+     * Copies the given hotels into a new off-heap store.
+     *
+     * @param hotels the hotels to store (producer of HotelRecommendation)
+     * @return a new store owning its off-heap memory
+     * @throws NullPointerException if the list or any element is null
+     */
+    public static OffHeapHotelStore copyOf(List<? extends HotelRecommendation> hotels) {
+        return new OffHeapHotelStore(hotels);
+    }
+
+    /**
+     * Returns the number of hotels in the store.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * Compares a numeric column against a constant.
+     *
+     * @param column the column to test
+     * @param comparison the operator to apply
+     * @param constant the right-hand side of the comparison
+     * @return a selection of the matching rows
+     */
+    public Selection where(Column column, Comparison comparison, double constant) {
+        return switch (column) {
+            case CONFIDENCE_SCORE -> columns.compare(confidence, ValueLayout.JAVA_DOUBLE, comparison, constant);
+            case PRICE_PER_NIGHT -> columns.compare(pricePerNight, ValueLayout.JAVA_DOUBLE, comparison, constant);
+            case DISTANCE_TO_CENTER -> columns.compare(distance, ValueLayout.JAVA_DOUBLE, comparison, constant);
+            case STAR_RATING -> columns.compare(stars, ValueLayout.JAVA_BYTE, comparison, constant);
+        };
+    }
+
+    /**
+     * Selects the hotels in a location by comparing dictionary codes.
+     *
+     * @param location the location name
+     * @return a selection of the hotels in that location
+     */
+    public Selection locatedIn(String location) {
+        return columns.equalTo(locations, columns.symbolCodeOf(location));
+    }
+
+    /**
+     * Groups the rows by {@link HotelRecommendation#getHotelType()} in one pass over the
+     * star column.
+     *
+     * @return one selection per hotel type that occurs, in order Budget, Standard, Premium, Luxury
+     */
+    public Map<String, Selection> categorizeByHotelType() {
+        int size = size();
+        long[][] bitmaps = new long[HOTEL_TYPES.length][(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            // Same mapping as HotelRecommendation.getHotelType()
+            int type = switch (stars.getAtIndex(ValueLayout.JAVA_BYTE, i)) {
+                case 1, 2 -> 0;
+                case 3 -> 1;
+                case 4 -> 2;
+                default -> 3;
+            };
+            bitmaps[type][i >>> 6] |= 1L << i;
+        }
+        Map<String, Selection> types = new LinkedHashMap<>();
+        for (int type = 0; type < HOTEL_TYPES.length; type++) {
+            Selection selection = Selection.fromBitmap(bitmaps[type], size);
+            if (selection.cardinality() > 0) {
+                types.put(HOTEL_TYPES[type], selection);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Groups the rows by location in one pass over the code column.
+     *
+     * @return one selection per location, in order of first appearance
+     */
+    public Map<String, Selection> categorizeByLocation() {
+        return columns.groupBySymbol(locations);
+    }
+
+    /**
+     * Materializes the hotel at the given row.
+     *
+     * @param index the row index
+     * @return a new record equal to the one that was stored
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public HotelRecommendation get(int index) {
+        Objects.checkIndex(index, size());
+        return new HotelRecommendation(
+            ids.get(index),
+            titles.get(index),
+            descriptions.get(index),
+            confidence.getAtIndex(ValueLayout.JAVA_DOUBLE, index),
+            hotelNames.get(index),
+            stars.getAtIndex(ValueLayout.JAVA_BYTE, index),
+            columns.decodeSymbol(locations.getAtIndex(ValueLayout.JAVA_INT, index)),
+            columns.decodeFeatures(amenities.getAtIndex(ValueLayout.JAVA_INT, index)),
+            pricePerNight.getAtIndex(ValueLayout.JAVA_DOUBLE, index),
+            distance.getAtIndex(ValueLayout.JAVA_DOUBLE, index),
+            freeCancellation.getAtIndex(ValueLayout.JAVA_BYTE, index) != 0);
+    }
+
+    /**
+     * Materializes only the selected hotels, in row order.
+     *
+     * @param selection a selection over this store's rows
+     * @return a new list of records
+     * @throws IllegalArgumentException if the selection covers a different number of rows
+     */
+    public List<HotelRecommendation> select(Selection selection) {
+        return selection.applyTo(asList());
+    }
+
+    /**
+     * Returns a read-only list view that materializes each hotel when it is accessed.
+     *
+     * @return a lazy list backed by this store
+     */
+    public List<HotelRecommendation> asList() {
+        return new LazyList();
+    }
+
+    /**
+     * Returns a new cursor positioned on row 0.
+     *
+     * @return a reusable flyweight over this store's rows
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Frees the off-heap memory. The store and its views must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        columns.close();
+    }
+
+    /**
+     * A movable flyweight that reads single fields of one row straight from the columns.
+     *
+     * <p>One cursor can walk the whole store without allocating. It is not thread-safe;
+     * create one per thread.</p>
+     */
+    public final class Cursor {
+        private int index;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves the cursor to another row.
+         *
+         * @param index the row index
+         * @return this cursor
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public Cursor moveTo(int index) {
+            this.index = Objects.checkIndex(index, size());
+            return this;
+        }
+
+        /**
+         * Returns the current row index.
+         *
+         * @return the row index
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * Returns the hotel id of the current row.
+         *
+         * @return the id
+         */
+        public String id() {
+            return ids.get(index);
+        }
+
+        /**
+         * Returns the confidence score of the current row.
+         *
+         * @return the confidence score
+         */
+        public double confidenceScore() {
+            return confidence.getAtIndex(ValueLayout.JAVA_DOUBLE, index);
+        }
+
+        /**
+         * Returns the price per night of the current row.
+         *
+         * @return the price per night
+         */
+        public double pricePerNight() {
+            return pricePerNight.getAtIndex(ValueLayout.JAVA_DOUBLE, index);
+        }
+
+        /**
+         * Returns the distance to the center of the current row.
+         *
+         * @return the distance to the center
+         */
+        public double distanceToCenter() {
+            return distance.getAtIndex(ValueLayout.JAVA_DOUBLE, index);
+        }
+
+        /**
+         * Returns the star rating of the current row.
+         *
+         * @return the star rating, 1 to 5
+         */
+        public int starRating() {
+            return stars.getAtIndex(ValueLayout.JAVA_BYTE, index);
+        }
+
+        /**
+         * Returns the location of the current row.
+         *
+         * @return the canonical location string
+         */
+        public String location() {
+            return columns.decodeSymbol(locations.getAtIndex(ValueLayout.JAVA_INT, index));
+        }
+
+        /**
+         * Materializes the current row as a record.
+         *
+         * @return a new record equal to the one that was stored
+         */
+        public HotelRecommendation toRecord() {
+            return get(index);
+        }
+    }
+
+    /**
+     * List view that creates records on demand.
+     */
+    private final class LazyList extends AbstractList<HotelRecommendation> implements RandomAccess {
+        @Override
+        public HotelRecommendation get(int index) {
+            return OffHeapHotelStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return OffHeapHotelStore.this.size();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.edreams.travelrecommender.offheap;
+
+import com.edreams.travelrecommender.filter.Comparison;
+import com.edreams.travelrecommender.filter.Selection;
+import com.edreams.travelrecommender.model.FeatureSet;
+import com.edreams.travelrecommender.symbol.SymbolTable;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shared plumbing for the off-heap stores: column allocation, string and feature
+ * columns, and scans that turn a column into a {@link Selection}.
+ *
+ * <p>All columns of a store are allocated from one shared {@link Arena}, so closing the
+ * store releases them together. Strings are stored in one of two ways. Mostly unique
+ * values such as ids and descriptions go into a {@link TextColumn}, whose UTF-8 bytes live
+ * off-heap and are decoded on access. Low-cardinality values such as locations and
+ * airports go through the {@code symbols} dictionary, so they can be grouped and compared
+ * by code. A {@code null} symbol or feature list is stored as {@link #NULL_CODE}.</p>
+ */
+final class SegmentColumns implements AutoCloseable {
+    static final int NULL_CODE = -1;
+
+    private final Arena arena = Arena.ofShared();
+    private final int size;
+    private final SymbolTable symbols = new SymbolTable();
+    private final Map<List<String>, Integer> featureCodes = new HashMap<>();
+    private final List<FeatureSet> features = new ArrayList<>();
+
+    SegmentColumns(int size) {
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Allocates a zeroed column of {@code size} values of the given layout.
+     */
+    MemorySegment allocate(ValueLayout layout) {
+        return arena.allocate(Math.max(1, layout.byteSize() * size), layout.byteAlignment());
+    }
+
+    /**
+     * Copies one string field of every row into a new off-heap {@link TextColumn}. The
+     * first pass sizes the byte segment so it is allocated once; the second encodes.
+     *
+     * @param rows the rows being stored, already checked for null elements
+     * @param field reads the string field of a row
+     */
+    <T> TextColumn text(List<? extends T> rows, Function<? super T, String> field) {
+        long byteCount = 0;
+        for (int i = 0; i < size; i++) {
+            String value = field.apply(rows.get(i));
+            if (value != null) {
+                byteCount += utf8Length(value);
+            }
+        }
+        MemorySegment offsets = allocate(ValueLayout.JAVA_LONG);
+        MemorySegment lengths = allocate(ValueLayout.JAVA_INT);
+        MemorySegment bytes = arena.allocate(Math.max(1, byteCount));
+        long offset = 0;
+        for (int i = 0; i < size; i++) {
+            String value = field.apply(rows.get(i));
+            offsets.setAtIndex(ValueLayout.JAVA_LONG, i, offset);
+            if (value == null) {
+                lengths.setAtIndex(ValueLayout.JAVA_INT, i, NULL_CODE);
+            } else {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                MemorySegment.copy(encoded, 0, bytes, ValueLayout.JAVA_BYTE, offset, encoded.length);
+                lengths.setAtIndex(ValueLayout.JAVA_INT, i, encoded.length);
+                offset += encoded.length;
+            }
+        }
+        return new TextColumn(offsets, lengths, bytes);
+    }
+
+    /**
+     * Returns the number of bytes {@link String#getBytes} produces for UTF-8, without
+     * encoding. Unpaired surrogates count as the one-byte replacement {@code '?'}.
+     */
+    private static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    int encodeSymbol(String value) {
+        return value == null ? NULL_CODE : symbols.encode(value);
+    }
+
+    String decodeSymbol(int code) {
+        return code == NULL_CODE ? null : symbols.decode(code);
+    }
+
+    /**
+     * Encodes a feature list; equal lists share one code. Only called while the store
+     * is being built, before it is published to other threads.
+     */
+    int encodeFeatures(List<String> values) {
+        if (values == null) {
+            return NULL_CODE;
+        }
+        return featureCodes.computeIfAbsent(values, key -> {
+            features.add(FeatureSet.of(key));
+            return features.size() - 1;
+        });
+    }
+
+    List<String> decodeFeatures(int code) {
+        return code == NULL_CODE ? null : features.get(code);
+    }
+
+    /**
+     * Returns the code of a symbol without adding it, or {@link SymbolTable#NO_CODE}.
+     */
+    int symbolCodeOf(String value) {
+        return symbols.codeOf(value);
+    }
+
+    /**
+     * Compares every value of a numeric column against a constant. The layout switch
+     * sits outside the loops so each loop reads a single primitive type.
+     */
+    Selection compare(MemorySegment column, ValueLayout layout, Comparison comparison, double constant) {
+        long[] words = new long[(size + 63) >>> 6];
+        switch (layout) {
+            case ValueLayout.OfDouble doubles -> {
+                for (int i = 0; i < size; i++) {
+                    if (comparison.test(column.getAtIndex(doubles, i), constant)) {
+                        words[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            case ValueLayout.OfLong longs -> {
+                for (int i = 0; i < size; i++) {
+                    if (comparison.test(column.getAtIndex(longs, i), constant)) {
+                        words[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            case ValueLayout.OfInt ints -> {
+                for (int i = 0; i < size; i++) {
+                    if (comparison.test(column.getAtIndex(ints, i), constant)) {
+                        words[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            case ValueLayout.OfByte bytes -> {
+                for (int i = 0; i < size; i++) {
+                    if (comparison.test(column.getAtIndex(bytes, i), constant)) {
+                        words[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            default -> throw new IllegalArgumentException("Unsupported column layout: " + layout);
+        }
+        return Selection.fromBitmap(words, size);
+    }
+
+    /**
+     * Selects the rows whose symbol code column equals {@code code}.
+     */
+    Selection equalTo(MemorySegment codes, int code) {
+        long[] words = new long[(size + 63) >>> 6];
+        if (code != SymbolTable.NO_CODE) {
+            for (int i = 0; i < size; i++) {
+                if (codes.getAtIndex(ValueLayout.JAVA_INT, i) == code) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return Selection.fromBitmap(words, size);
+    }
+
+    /**
+     * Builds one selection per distinct symbol code in a single pass over the column,
+     * keyed by the decoded symbol in order of first appearance.
+     */
+    Map<String, Selection> groupBySymbol(MemorySegment codes) {
+        // Codes are dense, so buckets are indexed by code + 1 to make room for NULL_CODE
+        long[][] bitmaps = new long[symbols.size() + 1][];
+        int[] firstSeen = new int[bitmaps.length];
+        int groups = 0;
+        for (int i = 0; i < size; i++) {
+            int bucket = codes.getAtIndex(ValueLayout.JAVA_INT, i) + 1;
+            if (bitmaps[bucket] == null) {
+                bitmaps[bucket] = new long[(size + 63) >>> 6];
+                firstSeen[groups++] = bucket;
+            }
+            bitmaps[bucket][i >>> 6] |= 1L << i;
+        }
+        Map<String, Selection> result = new LinkedHashMap<>();
+        for (int g = 0; g < groups; g++) {
+            int bucket = firstSeen[g];
+            result.put(decodeSymbol(bucket - 1), Selection.fromBitmap(bitmaps[bucket], size));
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * A string column stored as UTF-8 bytes in one off-heap segment, with a {@code long}
+     * offset and an {@code int} length per row. A length of {@link #NULL_CODE} marks a
+     * {@code null} value. Strings are decoded on every access and never cached.
+     */
+    record TextColumn(MemorySegment offsets, MemorySegment lengths, MemorySegment bytes) {
+
+        String get(int index) {
+            int length = lengths.getAtIndex(ValueLayout.JAVA_INT, index);
+            if (length == NULL_CODE) {
+                return null;
+            }
+            byte[] encoded = new byte[length];
+            MemorySegment.copy(bytes, ValueLayout.JAVA_BYTE, offsets.getAtIndex(ValueLayout.JAVA_LONG, index),
+                encoded, 0, length);
+            return new String(encoded, StandardCharsets.UTF_8);
+        }
+    }
+}
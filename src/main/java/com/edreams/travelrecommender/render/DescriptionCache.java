@@ -0,0 +1,259 @@
+package com.edreams.travelrecommender.render;
+
+import com.edreams.travelrecommender.model.ActivityRecommendation;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import com.edreams.travelrecommender.model.Recommendation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache with approximate least-recently-used eviction for the derived strings
+ * of recommendations.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Recommendations are immutable records, so the text derived from a given instance
+ * never changes. Pages that show the same popular recommendations over and over can
+ * therefore render each description once and reuse it. This cache is opt-in: nothing
+ * in the service layer uses it unless a caller creates one and routes lookups through it.</p>
+ *
+ * <p>Besides descriptions, it holds the other formatted strings that records derive on
+ * every call: {@link ActivityRecommendation#getFormattedDuration()} and
+ * {@link FlightRecommendation#getDuration()}.</p>
+ *
+ * <h2>Keys</h2>
+ * <p>Entries are keyed by {@link Recommendation#getId()} <em>and</em> the identity of the
+ * record instance. Record {@code equals} compares values, but an id alone is not enough
+ * either: a supplier update may publish a new record with the same id and a different
+ * price. Keying on identity means an updated record simply misses and gets its own entry,
+ * while the stale one ages out.</p>
+ *
+ * <h2>Eviction and Statistics</h2>
+ * <p>Entries live in a {@link ConcurrentHashMap}, so hits are lock-free reads that only set
+ * a "referenced" flag on the entry. Eviction uses the CLOCK approximation of LRU: keys wait
+ * in a queue in insertion order, and when the cache holds more than {@code maximumSize}
+ * entries the writer that overflowed it walks the queue, gives each referenced entry a
+ * second chance by clearing its flag and re-queueing it, and evicts the first entry that
+ * has not been read since its last pass. Hits, misses and evictions are counted with
+ * {@link LongAdder}s and reported by {@link #stats()}.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * DescriptionCache cache = new DescriptionCache(10_000);
+ * String text = cache.describe(recommendation);
+ * System.out.println("Hit rate: " + cache.stats().hitRate());
+ * }</pre>
+ *
+ * <p>This class is thread-safe. Only eviction and {@link #clear()} take a lock. Values are
+ * computed without it, so two threads missing on the same key at once may both render
+ * it; the result is the same either way, and only the first is stored.</p>
+ */
+public final class DescriptionCache {
+
+    /**
+     * A snapshot of cache activity.
+     *
+     * @param hits lookups answered from the cache
+     * @param misses lookups that had to compute the value
+     * @param evictions entries removed to stay within the size bound
+     * @param size entries currently held
+     */
+    public record CacheStats(long hits, long misses, long evictions, int size) {
+
+        /**
+         * Returns the fraction of lookups that were hits.
+         *
+         * @return the hit rate between 0.0 and 1.0, or 0.0 if there were no lookups
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * The derived strings the cache can hold for a record.
+     */
+    private enum Kind { DESCRIPTION, ACTIVITY_DURATION, FLIGHT_DURATION }
+
+    /**
+     * Cache key combining the kind of string, the record id and the record instance.
+     */
+    private record Key(Kind kind, String id, Recommendation instance) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && kind == key.kind
+                    && instance == key.instance
+                    && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return (kind.ordinal() * 31 + id.hashCode()) * 31 + System.identityHashCode(instance);
+        }
+    }
+
+    /**
+     * A cached string and its CLOCK reference flag, set on every hit and cleared when the
+     * eviction hand passes the entry.
+     */
+    private static final class Entry {
+        final String value;
+        volatile boolean referenced;
+
+        Entry(String value) {
+            this.value = value;
+        }
+    }
+
+    private final int maximumSize;
+    private final RecommendationRenderer renderer;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    /** Keys in CLOCK order; may hold keys of entries that were already removed. */
+    private final ConcurrentLinkedQueue<Key> clock = new ConcurrentLinkedQueue<>();
+    private final Object evictionLock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache that renders descriptions with {@link RecommendationRenderer#create()}.
+     *
+     * @param maximumSize the maximum number of entries to keep
+     * @throws IllegalArgumentException if {@code maximumSize} is less than 1
+     */
+    public DescriptionCache(int maximumSize) {
+        this(maximumSize, RecommendationRenderer.create());
+    }
+
+    /**
+     * Creates a cache that renders descriptions with the given renderer.
+     *
+     * @param maximumSize the maximum number of entries to keep
+     * @param renderer the renderer used on a cache miss
+     * @throws IllegalArgumentException if {@code maximumSize} is less than 1
+     */
+    public DescriptionCache(int maximumSize, RecommendationRenderer renderer) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1");
+        }
+        this.maximumSize = maximumSize;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Returns the description of a recommendation, rendering it on a miss.
+     *
+     * @param recommendation the recommendation to describe
+     * @return the same text as {@code RecommendationService.describeRecommendation}
+     */
+    public String describe(Recommendation recommendation) {
+        return lookup(Kind.DESCRIPTION, recommendation, () -> renderer.describe(recommendation));
+    }
+
+    /**
+     * Returns {@link ActivityRecommendation#getFormattedDuration()}, computing it on a miss.
+     *
+     * @param activity the activity recommendation
+     * @return the formatted activity duration
+     */
+    public String formattedDuration(ActivityRecommendation activity) {
+        return lookup(Kind.ACTIVITY_DURATION, activity, activity::getFormattedDuration);
+    }
+
+    /**
+     * Returns {@link FlightRecommendation#getDuration()}, computing it on a miss.
+     *
+     * @param flight the flight recommendation
+     * @return the formatted flight duration
+     */
+    public String duration(FlightRecommendation flight) {
+        return lookup(Kind.FLIGHT_DURATION, flight, flight::getDuration);
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters.
+     *
+     * @return the current statistics
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    /**
+     * Returns the number of entries currently cached.
+     *
+     * <p>While other threads are inserting, this can briefly exceed the maximum size until
+     * the inserting thread has evicted.</p>
+     *
+     * @return the entry count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all entries. The statistics counters are kept.
+     */
+    public void clear() {
+        synchronized (evictionLock) {
+            Key key;
+            while ((key = clock.poll()) != null) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    private String lookup(Kind kind, Recommendation recommendation, Supplier<String> compute) {
+        Key key = new Key(kind, recommendation.getId(), recommendation);
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            hits.increment();
+            // Skip the volatile write when the flag is already set, to keep hot entries read-only
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            return cached.value;
+        }
+        misses.increment();
+        String value = compute.get();
+        if (entries.putIfAbsent(key, new Entry(value)) == null) {
+            clock.offer(key);
+            if (entries.size() > maximumSize) {
+                evict();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Advances the CLOCK hand until the cache is back within its bound.
+     *
+     * <h3>Complexity</h3>
+     * <p>Each entry gets at most one second chance per call: after {@code maximumSize}
+     * second chances the flags are ignored, so readers that keep setting them cannot stall
+     * the writer.</p>
+     */
+    private void evict() {
+        synchronized (evictionLock) {
+            int secondChances = 0;
+            Key key;
+            while (entries.size() > maximumSize && (key = clock.poll()) != null) {
+                Entry entry = entries.get(key);
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.referenced && secondChances < maximumSize) {
+                    entry.referenced = false;
+                    secondChances++;
+                    clock.offer(key);
+                } else if (entries.remove(key, entry)) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.edreams.travelrecommender.render;
+
+import com.edreams.travelrecommender.model.Recommendation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Streams recommendation descriptions as UTF-8 lines into a {@link ByteBuffer} or channel.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Bulk exports that call {@code describeRecommendation} for every record, join the
+ * strings and then call {@code getBytes(UTF_8)} create several copies of every character.
+ * This exporter renders each record into one reused {@link StringBuilder} with a
+ * {@link RecommendationRenderer} and encodes its characters straight into a reused direct
+ * buffer, so no {@code String} or {@code byte[]} is created per record. Full buffers are
+ * written to the target channel and reused.</p>
+ *
+ * <h2>Output Format</h2>
+ * <p>Each description is followed by a single {@code '\n'}. The bytes are identical to
+ * {@code description.getBytes(StandardCharsets.UTF_8)} for every line, including the
+ * replacement of unpaired surrogates with {@code '?'}.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * DescriptionExporter exporter = new DescriptionExporter(RecommendationRenderer.create(), 1 << 16);
+ * long bytes = exporter.export(catalog, Path.of("descriptions.txt"));
+ * }</pre>
+ *
+ * <p>An exporter owns mutable scratch buffers and is not thread-safe; use one per
+ * exporting thread.</p>
+ */
+public final class DescriptionExporter {
+    /** The longest UTF-8 encoding of one code point, and so the smallest usable buffer. */
+    private static final int MAX_BYTES_PER_CODE_POINT = 4;
+
+    private final RecommendationRenderer renderer;
+    private final ByteBuffer buffer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    /**
+     * Creates an exporter with a direct buffer of the given capacity.
+     *
+     * @param renderer the renderer producing each description
+     * @param bufferCapacity the size of the reusable direct buffer in bytes
+     * @throws IllegalArgumentException if the capacity is smaller than 4 bytes
+     */
+    public DescriptionExporter(RecommendationRenderer renderer, int bufferCapacity) {
+        if (bufferCapacity < MAX_BYTES_PER_CODE_POINT) {
+            throw new IllegalArgumentException("Buffer capacity must be at least " + MAX_BYTES_PER_CODE_POINT);
+        }
+        this.renderer = renderer;
+        this.buffer = ByteBuffer.allocateDirect(bufferCapacity);
+    }
+
+    /**
+     * Writes the descriptions of all recommendations to a file, replacing its contents.
+     *
+     * @param recommendations the recommendations to export
+     * @param file the target file, created if missing
+     * @return the number of bytes written
+     * @throws IOException if the file cannot be opened or written
+     */
+    public long export(List<? extends Recommendation> recommendations, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return export(recommendations, channel);
+        }
+    }
+
+    /**
+     * Writes the descriptions of all recommendations to a channel.
+     *
+     * <p>The channel is not closed. Records longer than the buffer are written in
+     * several pieces.</p>
+     *
+     * @param recommendations the recommendations to export
+     * @param channel the channel to write to
+     * @return the number of bytes written
+     * @throws IOException if writing to the channel fails
+     */
+    public long export(List<? extends Recommendation> recommendations, WritableByteChannel channel) throws IOException {
+        long written = 0;
+        buffer.clear();
+        for (Recommendation recommendation : recommendations) {
+            renderLine(recommendation);
+            int length = line.length();
+            int index = 0;
+            while (index < length) {
+                if (buffer.remaining() < MAX_BYTES_PER_CODE_POINT) {
+                    written += drain(channel);
+                }
+                index = encode(line, index, length, buffer, MAX_BYTES_PER_CODE_POINT);
+            }
+        }
+        return written + drain(channel);
+    }
+
+    /**
+     * Encodes as many whole description lines as fit into the target buffer.
+     *
+     * <p>This is the channel-free variant for callers that manage their own buffers, for
+     * example to hand them to an asynchronous writer. Lines are never split: encoding
+     * stops before the first line that does not fit in the buffer's remaining space.</p>
+     *
+     * @param recommendations the recommendations to export
+     * @param fromIndex the index of the first recommendation to encode
+     * @param target the buffer to write into, from its current position
+     * @return the index of the first recommendation that was not encoded; equal to the
+     *         list size when all remaining lines fit
+     * @throws IllegalArgumentException if the line at {@code fromIndex} is larger than
+     *         the whole capacity of {@code target}
+     */
+    public int encodeInto(List<? extends Recommendation> recommendations, int fromIndex, ByteBuffer target) {
+        int index = fromIndex;
+        while (index < recommendations.size()) {
+            renderLine(recommendations.get(index));
+            int bytes = utf8Length(line);
+            if (bytes > target.remaining()) {
+                if (bytes > target.capacity()) {
+                    throw new IllegalArgumentException(
+                        "Line " + index + " needs " + bytes + " bytes but the buffer holds " + target.capacity());
+                }
+                break;
+            }
+            encode(line, 0, line.length(), target, 0);
+            index++;
+        }
+        return index;
+    }
+
+    private void renderLine(Recommendation recommendation) {
+        line.setLength(0);
+        renderer.render(recommendation, line).append('\n');
+    }
+
+    private long drain(WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        long bytes = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        return bytes;
+    }
+
+    /**
+     * Encodes characters from {@code from} until the end or until fewer than {@code reserve}
+     * bytes remain in the target, and returns the index of the next character to encode.
+     * A reserve of zero is only safe when the caller has checked that everything fits.
+     */
+    private static int encode(CharSequence chars, int from, int to, ByteBuffer target, int reserve) {
+        int i = from;
+        while (i < to && target.remaining() >= reserve) {
+            char c = chars.charAt(i++);
+            if (c < 0x80) {
+                target.put((byte) c);
+            } else if (c < 0x800) {
+                target.put((byte) (0xC0 | (c >> 6)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i < to && Character.isLowSurrogate(chars.charAt(i))) {
+                int codePoint = Character.toCodePoint(c, chars.charAt(i++));
+                target.put((byte) (0xF0 | (codePoint >> 18)));
+                target.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                target.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Same replacement as String.getBytes(UTF_8) for an unpaired surrogate
+                target.put((byte) '?');
+            } else {
+                target.put((byte) (0xE0 | (c >> 12)));
+                target.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Returns the number of bytes {@link #encode} will produce for the whole sequence.
+     */
+    private static int utf8Length(CharSequence chars) {
+        int bytes = 0;
+        int length = chars.length();
+        for (int i = 0; i < length; i++) {
+            char c = chars.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes += 1;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
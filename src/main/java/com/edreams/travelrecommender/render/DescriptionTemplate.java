@@ -0,0 +1,81 @@
+package com.edreams.travelrecommender.render;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A description pattern compiled once into literal text and field writers.
+ *
+ * <p>Patterns name record fields in braces, for example
+ * {@code "Flight from {departureAirport} to {arrivalAirport}"}. Compiling splits the
+ * pattern into the literal runs between placeholders and resolves every placeholder to
+ * a {@link FieldWriter} up front, so rendering is a straight loop of appends with no
+ * parsing and no lookups.</p>
+ *
+ * @param <T> the record type this template renders
+ */
+final class DescriptionTemplate<T> {
+
+    /**
+     * Writes one field of a record into the output.
+     *
+     * @param <T> the record type
+     */
+    @FunctionalInterface
+    interface FieldWriter<T> {
+        void write(T record, StringBuilder out, TwoDecimalFormat numbers);
+    }
+
+    /** {@code literals[i]} precedes {@code fields[i]}; the last literal follows the last field. */
+    private final String[] literals;
+    private final List<FieldWriter<? super T>> fields;
+
+    private DescriptionTemplate(String[] literals, List<FieldWriter<? super T>> fields) {
+        this.literals = literals;
+        this.fields = fields;
+    }
+
+    /**
+     * Compiles a pattern against the field writers available for a record type.
+     *
+     * @param <T> the record type
+     * @param pattern the pattern with {@code {name}} placeholders
+     * @param writers the field writers by placeholder name
+     * @return the compiled template
+     * @throws IllegalArgumentException if a placeholder is unclosed or names an unknown field
+     */
+    static <T> DescriptionTemplate<T> compile(String pattern, Map<String, FieldWriter<? super T>> writers) {
+        List<String> literals = new ArrayList<>();
+        List<FieldWriter<? super T>> fields = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = pattern.indexOf('{', position)) >= 0) {
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at " + open + " in: " + pattern);
+            }
+            String name = pattern.substring(open + 1, close);
+            FieldWriter<? super T> writer = writers.get(name);
+            if (writer == null) {
+                throw new IllegalArgumentException("Unknown field '" + name + "' in: " + pattern);
+            }
+            literals.add(pattern.substring(position, open));
+            fields.add(writer);
+            position = close + 1;
+        }
+        literals.add(pattern.substring(position));
+        return new DescriptionTemplate<>(literals.toArray(new String[0]), fields);
+    }
+
+    /**
+     * Renders a record by interleaving the literal runs with its field values.
+     */
+    void render(T record, StringBuilder out, TwoDecimalFormat numbers) {
+        for (int i = 0; i < fields.size(); i++) {
+            out.append(literals[i]);
+            fields.get(i).write(record, out, numbers);
+        }
+        out.append(literals[literals.length - 1]);
+    }
+}
@@ -0,0 +1,171 @@
+package com.edreams.travelrecommender.render;
+
+import com.edreams.travelrecommender.model.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders recommendation descriptions into caller-supplied buffers without {@code String.format}.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>{@link com.edreams.travelrecommender.RecommendationService#describeRecommendation} builds
+ * each description with {@code String.format}, which re-parses its pattern, boxes every
+ * number and creates a new {@code Formatter} per call. This renderer produces the same
+ * text from templates compiled once per recommendation type, appending directly to a
+ * {@link StringBuilder} or {@link Appendable} that the caller can reuse across records.
+ * Numbers go through {@link TwoDecimalFormat}, which matches {@code %d} and {@code %.2f}
+ * character for character.</p>
+ *
+ * <h2>Locale</h2>
+ * <p>{@code String.format} reads the default {@link Locale.Category#FORMAT} locale on every
+ * call, whereas a renderer reads it once when created. Output is identical to
+ * {@code describeRecommendation} as long as the default locale has not changed since then;
+ * use {@link #forLocale(Locale)} to pin a specific one.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * RecommendationRenderer renderer = RecommendationRenderer.create();
+ * StringBuilder page = new StringBuilder(4096);
+ * for (Recommendation rec : results) {
+ *     renderer.render(rec, page).append('\n');
+ * }
+ * }</pre>
+ *
+ * <p>Instances are immutable and safe to share between threads.</p>
+ */
+public final class RecommendationRenderer {
+    private static final DescriptionTemplate<FlightRecommendation> FLIGHT = DescriptionTemplate.compile(
+        "Flight from {departureAirport} to {arrivalAirport} on {airline}, {directness}, Price: ${price}",
+        Map.<String, DescriptionTemplate.FieldWriter<? super FlightRecommendation>>of(
+            "departureAirport", (flight, out, numbers) -> out.append(flight.departureAirport()),
+            "arrivalAirport", (flight, out, numbers) -> out.append(flight.arrivalAirport()),
+            "airline", (flight, out, numbers) -> out.append(flight.airline()),
+            "directness", (flight, out, numbers) -> out.append(flight.isDirect() ? "Direct" : "Connecting"),
+            "price", (flight, out, numbers) -> numbers.appendFixed2(out, flight.price())));
+
+    private static final DescriptionTemplate<HotelRecommendation> HOTEL = DescriptionTemplate.compile(
+        "{starRating}-star hotel '{hotelName}' in {location}, Price: ${pricePerNight} per night",
+        Map.<String, DescriptionTemplate.FieldWriter<? super HotelRecommendation>>of(
+            // %s on an int uses Integer.toString, so the star rating is never localized
+            "starRating", (hotel, out, numbers) -> out.append(hotel.starRating()),
+            "hotelName", (hotel, out, numbers) -> out.append(hotel.hotelName()),
+            "location", (hotel, out, numbers) -> out.append(hotel.location()),
+            "pricePerNight", (hotel, out, numbers) -> numbers.appendFixed2(out, hotel.pricePerNight())));
+
+    private static final DescriptionTemplate<ActivityRecommendation> ACTIVITY = DescriptionTemplate.compile(
+        "Activity: {activityName} in {location}, Duration: {duration}, Price: ${price}",
+        Map.<String, DescriptionTemplate.FieldWriter<? super ActivityRecommendation>>of(
+            "activityName", (activity, out, numbers) -> out.append(activity.activityName()),
+            "location", (activity, out, numbers) -> out.append(activity.location()),
+            "duration", (activity, out, numbers) -> appendFormattedDuration(activity.duration(), out, numbers),
+            "price", (activity, out, numbers) -> numbers.appendFixed2(out, activity.price())));
+
+    private static final DescriptionTemplate<PackageRecommendation> PACKAGE = DescriptionTemplate.compile(
+        "Package: {title} - Including flight, {hotelStars}-star hotel, and {activityCount} activities, "
+            + "Total price: ${totalPrice} (Save: ${savings})",
+        Map.<String, DescriptionTemplate.FieldWriter<? super PackageRecommendation>>of(
+            "title", (pkg, out, numbers) -> out.append(pkg.title()),
+            "hotelStars", (pkg, out, numbers) -> numbers.appendInteger(out, pkg.hotel().starRating()),
+            "activityCount", (pkg, out, numbers) -> numbers.appendInteger(out, pkg.activities().size()),
+            "totalPrice", (pkg, out, numbers) -> numbers.appendFixed2(out, pkg.totalPrice()),
+            "savings", (pkg, out, numbers) -> numbers.appendFixed2(out, pkg.getSavingsAmount())));
+
+    private final TwoDecimalFormat numbers;
+
+    private RecommendationRenderer(Locale locale) {
+        this.numbers = new TwoDecimalFormat(locale);
+    }
+
+    /**
+     * Creates a renderer for the current default {@link Locale.Category#FORMAT} locale.
+     *
+     * @return a new renderer
+     */
+    public static RecommendationRenderer create() {
+        return forLocale(Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Creates a renderer whose numbers match {@code String.format(locale, ...)}.
+     *
+     * @param locale the locale supplying the zero digit and decimal separator
+     * @return a new renderer
+     */
+    public static RecommendationRenderer forLocale(Locale locale) {
+        return new RecommendationRenderer(locale);
+    }
+
+    /**
+     * Appends the description of a recommendation to a builder.
+     *
+     * <p><strong>OCP Java 21 Note:</strong> The template is chosen with a pattern matching
+     * switch over the sealed {@link Recommendation} interface, so the compiler checks that
+     * every permitted record has one.</p>
+     *
+     * @param recommendation the recommendation to describe
+     * @param out the builder to append to
+     * @return {@code out}, for chaining
+     */
+    public StringBuilder render(Recommendation recommendation, StringBuilder out) {
+        switch (recommendation) {
+            case FlightRecommendation flight -> FLIGHT.render(flight, out, numbers);
+            case HotelRecommendation hotel -> HOTEL.render(hotel, out, numbers);
+            case ActivityRecommendation activity -> ACTIVITY.render(activity, out, numbers);
+            case PackageRecommendation pkg -> PACKAGE.render(pkg, out, numbers);
+        }
+        return out;
+    }
+
+    /**
+     * Appends the description of a recommendation to any {@link Appendable}.
+     *
+     * <p>A {@link StringBuilder} is written to directly. Other targets, such as a
+     * {@link java.io.Writer}, receive the description as a single {@code append} call.</p>
+     *
+     * @param recommendation the recommendation to describe
+     * @param out the target to append to
+     * @throws IOException if the target fails to accept the text
+     */
+    public void render(Recommendation recommendation, Appendable out) throws IOException {
+        if (out instanceof StringBuilder builder) {
+            render(recommendation, builder);
+        } else {
+            out.append(render(recommendation, new StringBuilder(128)));
+        }
+    }
+
+    /**
+     * Returns the description of a recommendation as a new string.
+     *
+     * @param recommendation the recommendation to describe
+     * @return the same text as {@code RecommendationService.describeRecommendation}
+     */
+    public String describe(Recommendation recommendation) {
+        return render(recommendation, new StringBuilder(128)).toString();
+    }
+
+    /**
+     * Appends the same text as {@link ActivityRecommendation#getFormattedDuration()}.
+     *
+     * <p>That method formats the leading number with {@code %d} but concatenates the
+     * trailing minutes with {@code +}, so only the former is localized here too.</p>
+     */
+    private static void appendFormattedDuration(Duration duration, StringBuilder out, TwoDecimalFormat numbers) {
+        long hours = duration.toHours();
+        long minutes = duration.toMinutesPart();
+
+        if (hours > 0) {
+            numbers.appendInteger(out, hours);
+            out.append(" hours");
+            if (minutes > 0) {
+                out.append(' ').append(minutes).append(" minutes");
+            }
+        } else {
+            numbers.appendInteger(out, minutes);
+            out.append(" minutes");
+        }
+    }
+}
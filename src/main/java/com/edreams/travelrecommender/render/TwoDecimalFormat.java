@@ -0,0 +1,100 @@
+package com.edreams.travelrecommender.render;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Allocation-free replacement for the {@code %d} and {@code %.2f} conversions of
+ * {@link String#format}.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>{@link java.util.Formatter} parses the pattern, boxes every argument and allocates
+ * intermediate strings for each number it prints. This class writes the same characters
+ * straight into a {@link StringBuilder}, using the zero digit and decimal separator of
+ * a locale captured once at construction.</p>
+ *
+ * <h2>Matching {@code %.2f} Exactly</h2>
+ * <p>{@code Formatter} rounds the shortest decimal representation of a double
+ * ({@link Double#toString(double)}) half-up to two places. For magnitudes below
+ * {@value #FAST_PATH_LIMIT} the value times 100 is exact to well under {@code 1e-6}, so
+ * unless its fractional part lies within {@value #TIE_MARGIN} of one half, rounding the
+ * binary value gives the same digits. Values outside that window, and NaN or infinities,
+ * are delegated to {@code String.format} so the output is always identical.</p>
+ */
+final class TwoDecimalFormat {
+    private static final double FAST_PATH_LIMIT = 1e7;
+    private static final double TIE_MARGIN = 1e-6;
+
+    private final Locale locale;
+    private final char zeroDigit;
+    private final char decimalSeparator;
+
+    TwoDecimalFormat(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        this.locale = locale;
+        this.zeroDigit = symbols.getZeroDigit();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+    }
+
+    /**
+     * Appends {@code value} exactly as {@code String.format(locale, "%.2f", value)} would.
+     */
+    void appendFixed2(StringBuilder out, double value) {
+        double magnitude = Math.abs(value);
+        if (!(magnitude < FAST_PATH_LIMIT)) {
+            out.append(String.format(locale, "%.2f", value));
+            return;
+        }
+        double scaled = magnitude * 100.0;
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (Math.abs(fraction - 0.5) <= TIE_MARGIN) {
+            out.append(String.format(locale, "%.2f", value));
+            return;
+        }
+        long cents = (long) floor + (fraction > 0.5 ? 1 : 0);
+
+        // Formatter prints a sign for every value that compares below +0.0, including -0.0
+        if (Double.compare(value, 0.0) < 0) {
+            out.append('-');
+        }
+        appendDigits(out, cents / 100);
+        out.append(decimalSeparator);
+        long remainder = cents % 100;
+        out.append((char) (zeroDigit + remainder / 10));
+        out.append((char) (zeroDigit + remainder % 10));
+    }
+
+    /**
+     * Appends {@code value} exactly as {@code String.format(locale, "%d", value)} would.
+     */
+    void appendInteger(StringBuilder out, long value) {
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                out.append(String.format(locale, "%d", value));
+                return;
+            }
+            out.append('-');
+            value = -value;
+        }
+        appendDigits(out, value);
+    }
+
+    private void appendDigits(StringBuilder out, long value) {
+        if (zeroDigit == '0') {
+            out.append(value);
+            return;
+        }
+        int start = out.length();
+        do {
+            out.append((char) (zeroDigit + value % 10));
+            value /= 10;
+        } while (value != 0);
+        // Digits were written least significant first
+        for (int left = start, right = out.length() - 1; left < right; left++, right--) {
+            char swap = out.charAt(left);
+            out.setCharAt(left, out.charAt(right));
+            out.setCharAt(right, swap);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.edreams.travelrecommender.repository;
+
+import com.edreams.travelrecommender.model.ActivityRecommendation;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import com.edreams.travelrecommender.model.PackageRecommendation;
+import com.edreams.travelrecommender.model.Recommendation;
+import com.edreams.travelrecommender.model.RecommendationCounts;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * A concurrent in-memory store of recommendations keyed by {@link Recommendation#getId()}.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>The rest of the library works on {@code List}s handed in by the caller. This class is
+ * the catalog those lists can come from: supplier updates write single records while
+ * request threads read them, and neither waits for the other. Readers never lock; writers
+ * only contend when they touch the same record.</p>
+ *
+ * <h2>Layout and Concurrency</h2>
+ * <p>Records are held in a {@link ConcurrentHashMap} by id, plus one map per permitted
+ * subtype of the sealed {@link Recommendation} interface. Reads of any map are lock-free.
+ * Every write goes through {@link ConcurrentHashMap#compute} on the id map, which locks
+ * only the hash bin of that id, so writes are striped over the bins and writes to one
+ * record are serialized. The subtype maps are updated inside that critical section, so
+ * for a given id they always follow the id map's history.</p>
+ * <p>A record is visible in {@link #findById} as soon as its write completes. The subtype
+ * views are updated in the same write but by separate steps: while a record changes type
+ * it may appear in both views for an instant, and iteration over a view is weakly
+ * consistent, as for any concurrent map.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * RecommendationRepository repository = new RecommendationRepository();
+ * repository.putAll(supplierFeed);
+ *
+ * Optional<HotelRecommendation> hotel = repository.findById("HT001", HotelRecommendation.class);
+ * int hotelCount = repository.hotels().size();
+ *
+ * // Atomic compare-and-replace of one record
+ * boolean updated = repository.replace(oldFlight, repricedFlight);
+ * }</pre>
+ */
+public final class RecommendationRepository {
+    private final ConcurrentHashMap<String, Recommendation> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, FlightRecommendation> flights = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, HotelRecommendation> hotels = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ActivityRecommendation> activities = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PackageRecommendation> packages = new ConcurrentHashMap<>();
+
+    private final Collection<Recommendation> allView = Collections.unmodifiableCollection(byId.values());
+    private final Map<String, FlightRecommendation> flightView = Collections.unmodifiableMap(flights);
+    private final Map<String, HotelRecommendation> hotelView = Collections.unmodifiableMap(hotels);
+    private final Map<String, ActivityRecommendation> activityView = Collections.unmodifiableMap(activities);
+    private final Map<String, PackageRecommendation> packageView = Collections.unmodifiableMap(packages);
+
+    /**
+     * Creates an empty repository.
+     */
+    public RecommendationRepository() {
+    }
+
+    /**
+     * Returns the record with the given id.
+     *
+     * @param id the record id
+     * @return the record, or empty if there is none
+     * @throws NullPointerException if {@code id} is null
+     */
+    public Optional<Recommendation> findById(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Returns the record with the given id if it is of the given type.
+     *
+     * @param <T> the expected record type
+     * @param id the record id
+     * @param type the expected record class
+     * @return the record, or empty if there is none or it has another type
+     * @throws NullPointerException if {@code id} is null
+     */
+    public <T extends Recommendation> Optional<T> findById(String id, Class<T> type) {
+        return byId.get(id) instanceof Recommendation recommendation && type.isInstance(recommendation)
+            ? Optional.of(type.cast(recommendation))
+            : Optional.empty();
+    }
+
+    /**
+     * Returns the number of records.
+     *
+     * @return the number of distinct ids stored
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Counts the records of each type.
+     *
+     * <p>The counts are read from the subtype maps one after the other, so under concurrent
+     * writes they are each current but not necessarily from the same instant.</p>
+     *
+     * @return the per-type counts
+     */
+    public RecommendationCounts counts() {
+        return new RecommendationCounts(flights.size(), hotels.size(), activities.size(), packages.size());
+    }
+
+    /**
+     * Returns a read-only live view of every record.
+     *
+     * @return an unmodifiable, weakly consistent view of the stored records
+     */
+    public Collection<Recommendation> all() {
+        return allView;
+    }
+
+    /**
+     * Returns a read-only live view of the flights by id.
+     *
+     * @return an unmodifiable, weakly consistent view of the stored flights
+     */
+    public Map<String, FlightRecommendation> flights() {
+        return flightView;
+    }
+
+    /**
+     * Returns a read-only live view of the hotels by id.
+     *
+     * @return an unmodifiable, weakly consistent view of the stored hotels
+     */
+    public Map<String, HotelRecommendation> hotels() {
+        return hotelView;
+    }
+
+    /**
+     * Returns a read-only live view of the activities by id.
+     *
+     * @return an unmodifiable, weakly consistent view of the stored activities
+     */
+    public Map<String, ActivityRecommendation> activities() {
+        return activityView;
+    }
+
+    /**
+     * Returns a read-only live view of the packages by id.
+     *
+     * @return an unmodifiable, weakly consistent view of the stored packages
+     */
+    public Map<String, PackageRecommendation> packages() {
+        return packageView;
+    }
+
+    /**
+     * Stores a record, replacing any record with the same id, whatever its type.
+     *
+     * @param recommendation the record to store
+     * @return the record previously stored under the id, or null
+     * @throws NullPointerException if the record or its id is null
+     */
+    public Recommendation put(Recommendation recommendation) {
+        return update(idOf(recommendation), current -> recommendation);
+    }
+
+    /**
+     * Stores a record unless its id is already present.
+     *
+     * @param recommendation the record to store
+     * @return the record already stored under the id, or null if this one was stored
+     * @throws NullPointerException if the record or its id is null
+     */
+    public Recommendation putIfAbsent(Recommendation recommendation) {
+        return update(idOf(recommendation), current -> current == null ? recommendation : current);
+    }
+
+    /**
+     * Stores every record in a list, each as by {@link #put}.
+     *
+     * <p>Each record is stored atomically, but the list as a whole is not: readers may see
+     * some of its records before others.</p>
+     *
+     * @param recommendations the records to store (producer of Recommendation)
+     * @throws NullPointerException if a record or its id is null
+     */
+    public void putAll(List<? extends Recommendation> recommendations) {
+        for (Recommendation recommendation : recommendations) {
+            put(recommendation);
+        }
+    }
+
+    /**
+     * Replaces the record with the same id, if there is one.
+     *
+     * @param replacement the new record
+     * @return the record replaced, or null if the id was absent and nothing was stored
+     * @throws NullPointerException if the record or its id is null
+     */
+    public Recommendation replace(Recommendation replacement) {
+        return update(idOf(replacement), current -> current == null ? null : replacement);
+    }
+
+    /**
+     * Atomically replaces a record only if it is still the stored one.
+     *
+     * <p>The stored record is compared with {@code expected} by {@link Object#equals}, so a
+     * writer that read a record, derived a new version and calls this method fails instead
+     * of overwriting a concurrent update.</p>
+     *
+     * @param expected the record believed to be stored
+     * @param replacement the new record
+     * @return true if the record was replaced
+     * @throws IllegalArgumentException if the two records have different ids
+     * @throws NullPointerException if either record or its id is null
+     */
+    public boolean replace(Recommendation expected, Recommendation replacement) {
+        String id = idOf(expected);
+        if (!id.equals(idOf(replacement))) {
+            throw new IllegalArgumentException("Replacement id " + replacement.getId() + " does not match " + id);
+        }
+        Recommendation previous = update(id, current -> expected.equals(current) ? replacement : current);
+        return expected.equals(previous);
+    }
+
+    /**
+     * Removes the record with the given id.
+     *
+     * @param id the record id
+     * @return the record removed, or null if there was none
+     * @throws NullPointerException if {@code id} is null
+     */
+    public Recommendation remove(String id) {
+        return update(Objects.requireNonNull(id, "id"), current -> null);
+    }
+
+    /**
+     * Applies a change to the record stored under an id and keeps the subtype maps in step.
+     *
+     * <p>Runs inside {@link ConcurrentHashMap#compute}, so the change is atomic per id and
+     * readers of the id map see either the old record or the new one.</p>
+     *
+     * @param change maps the current record, or null, to the new record, or null to remove
+     * @return the record stored before the change, or null
+     */
+    private Recommendation update(String id, UnaryOperator<Recommendation> change) {
+        Recommendation[] previous = new Recommendation[1];
+        byId.compute(id, (key, current) -> {
+            previous[0] = current;
+            Recommendation next = change.apply(current);
+            if (next != current) {
+                // Index the new record first, so a same-type replace never leaves a gap
+                if (next != null) {
+                    index(next);
+                }
+                if (current != null && (next == null || next.getClass() != current.getClass())) {
+                    unindex(current);
+                }
+            }
+            return next;
+        });
+        return previous[0];
+    }
+
+    private void index(Recommendation recommendation) {
+        switch (recommendation) {
+            case FlightRecommendation flight -> flights.put(flight.getId(), flight);
+            case HotelRecommendation hotel -> hotels.put(hotel.getId(), hotel);
+            case ActivityRecommendation activity -> activities.put(activity.getId(), activity);
+            case PackageRecommendation pkg -> packages.put(pkg.getId(), pkg);
+        }
+    }
+
+    private void unindex(Recommendation recommendation) {
+        switch (recommendation) {
+            case FlightRecommendation flight -> flights.remove(flight.getId());
+            case HotelRecommendation hotel -> hotels.remove(hotel.getId());
+            case ActivityRecommendation activity -> activities.remove(activity.getId());
+            case PackageRecommendation pkg -> packages.remove(pkg.getId());
+        }
+    }
+
+    private static String idOf(Recommendation recommendation) {
+        return Objects.requireNonNull(recommendation.getId(), "id");
+    }
+}
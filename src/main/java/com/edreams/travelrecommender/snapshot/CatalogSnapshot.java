@@ -0,0 +1,422 @@
+package com.edreams.travelrecommender.snapshot;
+
+import com.edreams.travelrecommender.model.*;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+import static com.edreams.travelrecommender.snapshot.SnapshotFormat.*;
+
+/**
+ * A read-only recommendation catalog backed by a memory-mapped snapshot file.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Rebuilding the catalog from supplier feeds at startup takes minutes. A snapshot is
+ * written once with {@link #write(List, Path)} and opened with {@link #open(Path)}, which
+ * maps the file with {@link FileChannel#map} and reads nothing but the header. Queries
+ * then work straight on the mapped bytes: counting by type and filtering by confidence
+ * scan the compact type and score columns, looking up an id is a binary search over a
+ * sorted index, and a record is decoded only when {@link #get(int)} asks for it. The
+ * operating system pages the file in on demand and shares it between processes.</p>
+ *
+ * <h2>Format and Versioning</h2>
+ * <p>Files start with a magic number and a format version (see {@code SnapshotFormat}).
+ * {@link #open(Path)} rejects files with a different magic number or an unsupported
+ * version, so a format change cannot be misread as data. All four permitted record types
+ * are stored, including packages with their nested flight, hotel and activities.</p>
+ *
+ * <h2>OCP Java 21 Note</h2>
+ * <p>The file is mapped into a {@link MemorySegment} owned by a shared {@link Arena}
+ * ({@code java.lang.foreign}, a preview API in Java 21). Unlike a {@code MappedByteBuffer}
+ * the mapping is not limited to 2 GiB, and {@link #close()} unmaps it immediately instead
+ * of waiting for garbage collection.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * CatalogSnapshot.write(catalog, Path.of("catalog.snapshot"));
+ *
+ * try (CatalogSnapshot snapshot = CatalogSnapshot.open(Path.of("catalog.snapshot"))) {
+ *     RecommendationCounts counts = snapshot.countByType();
+ *     List<Recommendation> best = snapshot.filterByConfidence(0.8);
+ *     Optional<Recommendation> flight = snapshot.findById("F001");
+ * }
+ * }</pre>
+ *
+ * <p>A snapshot is immutable and safe for concurrent reads.</p>
+ */
+public final class CatalogSnapshot implements AutoCloseable {
+    private static final RecommendationType[] TYPES = RecommendationType.values();
+
+    private final Arena arena;
+    private final MemorySegment file;
+    private final int size;
+    private final long typesOffset;
+    private final long confidenceOffset;
+    private final long recordOffsetsOffset;
+    private final long idIndexOffset;
+    private final long stringsOffset;
+    private final long stringBytesOffset;
+
+    private CatalogSnapshot(Arena arena, MemorySegment file) throws IOException {
+        this.arena = arena;
+        this.file = file;
+        if (file.byteSize() < HEADER_SIZE || file.get(INT, 0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        int version = file.get(INT, 4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ", expected " + VERSION);
+        }
+        this.size = file.get(INT, 8);
+        int stringCount = file.get(INT, 12);
+        this.typesOffset = file.get(LONG, 16);
+        this.confidenceOffset = file.get(LONG, 24);
+        this.recordOffsetsOffset = file.get(LONG, 32);
+        this.idIndexOffset = file.get(LONG, 40);
+        this.stringsOffset = file.get(LONG, 48);
+        this.stringBytesOffset = stringsOffset + 4L * (stringCount + 1);
+    }
+
+    /**
+     * Writes a snapshot of the given recommendations, replacing the file if it exists.
+     *
+     * <p>The snapshot is written to a temporary file in the same directory and then
+     * atomically moved into place, so snapshots already open on the old file keep working
+     * and a failed write leaves the old file untouched.</p>
+     *
+     * @param recommendations the catalog to write, in row order
+     * @param file the target file
+     * @throws IOException if the file cannot be written, or the file system cannot replace
+     *         it atomically
+     * @throws NullPointerException if the list or any element is null
+     */
+    public static void write(List<? extends Recommendation> recommendations, Path file) throws IOException {
+        new SnapshotWriter().write(recommendations, file);
+    }
+
+    /**
+     * Maps a snapshot file for reading.
+     *
+     * @param file the snapshot file
+     * @return an open snapshot; close it to unmap the file
+     * @throws IOException if the file cannot be mapped, is not a snapshot, or has an
+     *         unsupported version
+     */
+    public static CatalogSnapshot open(Path file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MemorySegment mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            return new CatalogSnapshot(arena, mapped);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of recommendations in the snapshot.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the type of a row without decoding it.
+     *
+     * @param row the row index
+     * @return the row's record type
+     */
+    public RecommendationType type(int row) {
+        Objects.checkIndex(row, size);
+        return TYPES[file.get(BYTE, typesOffset + row)];
+    }
+
+    /**
+     * Returns the confidence score of a row without decoding it.
+     *
+     * @param row the row index
+     * @return the confidence score
+     */
+    public double confidenceScore(int row) {
+        Objects.checkIndex(row, size);
+        return file.get(DOUBLE, confidenceOffset + 8L * row);
+    }
+
+    /**
+     * Counts rows per type by scanning the one-byte type column.
+     *
+     * @return the per-type counts
+     */
+    public RecommendationCounts countByType() {
+        int[] counts = new int[TYPES.length];
+        for (int row = 0; row < size; row++) {
+            counts[file.get(BYTE, typesOffset + row)]++;
+        }
+        return RecommendationCounts.fromOrdinals(counts);
+    }
+
+    /**
+     * Returns the rows of one type, in row order.
+     *
+     * @param type the record type
+     * @return the matching row indices
+     */
+    public int[] rowsOfType(RecommendationType type) {
+        byte ordinal = (byte) type.ordinal();
+        int[] rows = new int[size];
+        int matches = 0;
+        for (int row = 0; row < size; row++) {
+            if (file.get(BYTE, typesOffset + row) == ordinal) {
+                rows[matches++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, matches);
+    }
+
+    /**
+     * Decodes the recommendations whose score is at least {@code minConfidence}.
+     *
+     * <p>The scan reads only the score column; only matching rows are decoded.</p>
+     *
+     * @param minConfidence the minimum confidence score (inclusive)
+     * @return the matching recommendations in row order
+     */
+    public List<Recommendation> filterByConfidence(double minConfidence) {
+        List<Recommendation> result = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (file.get(DOUBLE, confidenceOffset + 8L * row) >= minConfidence) {
+                result.add(get(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the row of a recommendation by id with a binary search over the id index.
+     *
+     * <p>If several rows share the id, any one of them may be returned.</p>
+     *
+     * @param id the recommendation id
+     * @return the row index, or -1 if no row has that id
+     */
+    public int indexOf(String id) {
+        Objects.requireNonNull(id);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int row = file.get(INT, idIndexOffset + 4L * mid);
+            String candidate = string(file.get(INT, bodyOffset(row)));
+            // Null ids sort first
+            int cmp = candidate == null ? -1 : candidate.compareTo(id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes the recommendation with the given id, if present.
+     *
+     * @param id the recommendation id
+     * @return the decoded recommendation, or empty if no row has that id
+     */
+    public Optional<Recommendation> findById(String id) {
+        int row = indexOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(get(row));
+    }
+
+    /**
+     * Decodes one row.
+     *
+     * @param row the row index
+     * @return a record equal to the one that was written
+     * @throws IndexOutOfBoundsException if the row is out of range
+     */
+    public Recommendation get(int row) {
+        Objects.checkIndex(row, size);
+        Cursor cursor = new Cursor(bodyOffset(row));
+        return switch (TYPES[file.get(BYTE, typesOffset + row)]) {
+            case FLIGHT -> cursor.flight();
+            case HOTEL -> cursor.hotel();
+            case ACTIVITY -> cursor.activity();
+            case PACKAGE -> cursor.pkg();
+        };
+    }
+
+    /**
+     * Returns a read-only list view that decodes each row when it is accessed.
+     *
+     * @return a lazy list backed by the mapped file
+     */
+    public List<Recommendation> asList() {
+        return new LazyList();
+    }
+
+    /**
+     * Unmaps the file. The snapshot and its views must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private long bodyOffset(int row) {
+        return file.get(LONG, recordOffsetsOffset + 8L * row);
+    }
+
+    /**
+     * Decodes a string from the mapped table on every call. Nothing is cached, so the
+     * heap does not grow with the number of distinct strings a long-lived snapshot has
+     * served.
+     */
+    private String string(int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        int start = file.get(INT, stringsOffset + 4L * ref);
+        int end = file.get(INT, stringsOffset + 4L * (ref + 1));
+        byte[] bytes = new byte[end - start];
+        MemorySegment.copy(file, BYTE, stringBytesOffset + start, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sequential reader over one record body.
+     */
+    private final class Cursor {
+        private long position;
+
+        Cursor(long position) {
+            this.position = position;
+        }
+
+        FlightRecommendation flight() {
+            return new FlightRecommendation(
+                nextString(), nextString(), nextString(), nextDouble(),
+                nextString(), nextString(), nextTime(), nextTime(),
+                nextString(), nextBoolean(), nextList(), nextDouble());
+        }
+
+        HotelRecommendation hotel() {
+            return new HotelRecommendation(
+                nextString(), nextString(), nextString(), nextDouble(),
+                nextString(), nextByte(), nextString(), nextList(),
+                nextDouble(), nextDouble(), nextBoolean());
+        }
+
+        ActivityRecommendation activity() {
+            return new ActivityRecommendation(
+                nextString(), nextString(), nextString(), nextDouble(),
+                nextString(), nextString(), nextDuration(), nextList(),
+                nextBoolean(), nextDouble(), nextInt());
+        }
+
+        PackageRecommendation pkg() {
+            String id = nextString();
+            String title = nextString();
+            String description = nextString();
+            double confidence = nextDouble();
+            FlightRecommendation flight = flight();
+            HotelRecommendation hotel = hotel();
+            int activityCount = nextInt();
+            List<ActivityRecommendation> activities = new ArrayList<>(activityCount);
+            for (int i = 0; i < activityCount; i++) {
+                activities.add(activity());
+            }
+            return new PackageRecommendation(id, title, description, confidence,
+                flight, hotel, List.copyOf(activities), nextDouble(), nextDouble());
+        }
+
+        private byte nextByte() {
+            return file.get(BYTE, position++);
+        }
+
+        private boolean nextBoolean() {
+            return nextByte() != 0;
+        }
+
+        private int nextInt() {
+            int value = file.get(INT, position);
+            position += 4;
+            return value;
+        }
+
+        private long nextLong() {
+            long value = file.get(LONG, position);
+            position += 8;
+            return value;
+        }
+
+        private double nextDouble() {
+            double value = file.get(DOUBLE, position);
+            position += 8;
+            return value;
+        }
+
+        private String nextString() {
+            return string(nextInt());
+        }
+
+        private LocalDateTime nextTime() {
+            long seconds = nextLong();
+            int nanos = nextInt();
+            return seconds == NULL_TIME ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+
+        private Duration nextDuration() {
+            long seconds = nextLong();
+            int nanos = nextInt();
+            return seconds == NULL_TIME ? null : Duration.ofSeconds(seconds, nanos);
+        }
+
+        private List<String> nextList() {
+            int count = nextInt();
+            if (count < 0) {
+                return null;
+            }
+            String[] values = new String[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = nextString();
+            }
+            return FeatureSet.of(values);
+        }
+    }
+
+    /**
+     * List view that decodes rows on demand.
+     */
+    private final class LazyList extends AbstractList<Recommendation> implements RandomAccess {
+        @Override
+        public Recommendation get(int index) {
+            return CatalogSnapshot.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
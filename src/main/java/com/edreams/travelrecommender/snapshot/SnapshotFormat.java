@@ -0,0 +1,42 @@
+package com.edreams.travelrecommender.snapshot;
+
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Constants describing version 1 of the catalog snapshot file.
+ *
+ * <p>All numbers are big-endian and unaligned. The file is laid out as:</p>
+ * <pre>
+ * header     magic:int version:int count:int stringCount:int
+ *            typesOffset:long confidenceOffset:long recordOffsetsOffset:long
+ *            idIndexOffset:long stringsOffset:long  (padded to HEADER_SIZE)
+ * types      byte[count]        RecommendationType ordinal per row
+ * confidence double[count]      confidence score per row
+ * records    long[count]        absolute offset of each row's record body
+ * idIndex    int[count]         rows sorted by id, for binary search
+ * strings    int[stringCount+1] byte offsets into the UTF-8 blob, then the blob
+ * bodies     one body per row, see SnapshotWriter
+ * </pre>
+ *
+ * <p>Strings inside record bodies are {@code int} references into the string table,
+ * with {@link #NULL_REF} for {@code null}. Lists are an {@code int} count ({@code -1}
+ * for {@code null}) followed by that many references.</p>
+ */
+final class SnapshotFormat {
+    /** "TRCS" in ASCII. */
+    static final int MAGIC = 0x54524353;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int NULL_REF = -1;
+    /** Marks a null {@code LocalDateTime} or {@code Duration} in place of its seconds. */
+    static final long NULL_TIME = Long.MIN_VALUE;
+
+    static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private SnapshotFormat() {
+    }
+}
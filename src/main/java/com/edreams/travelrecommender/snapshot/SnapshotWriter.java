@@ -0,0 +1,280 @@
+package com.edreams.travelrecommender.snapshot;
+
+import com.edreams.travelrecommender.model.*;
+import com.edreams.travelrecommender.symbol.SymbolTable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the snapshot format described in {@link SnapshotFormat}.
+ *
+ * <p>Record bodies are streamed to a temporary file next to the target while the string
+ * table and columns are collected, which fixes the size of every section without holding
+ * the bodies in memory. The header and sections are then written to a second temporary
+ * file, the bodies are copied after them, and that file is atomically moved over the
+ * target. A snapshot that is still mapped keeps reading the old file, and a failed write
+ * leaves the previous snapshot in place. Offsets are tracked as {@code long}, so only the
+ * string table is limited to 2 GiB.</p>
+ *
+ * <p>Body layouts, after the common {@code id, title, description} references and the
+ * confidence {@code double}:</p>
+ * <ul>
+ *   <li>Flight: departure ref, arrival ref, departure time, arrival time, airline ref,
+ *       direct byte, amenities list, price</li>
+ *   <li>Hotel: name ref, stars byte, location ref, amenities list, price per night,
+ *       distance, free-cancellation byte</li>
+ *   <li>Activity: name ref, location ref, duration, categories list, indoor byte,
+ *       price, minimum age int</li>
+ *   <li>Package: flight body, hotel body, activity count and bodies, discount, total price</li>
+ * </ul>
+ * <p>Times are epoch seconds (UTC) plus an {@code int} nano; durations are seconds plus nanos.</p>
+ */
+final class SnapshotWriter {
+    private final SymbolTable strings = new SymbolTable();
+    private CountingOutputStream bodyBytes;
+    private DataOutputStream body;
+
+    void write(List<? extends Recommendation> recommendations, Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        String prefix = file.getFileName().toString();
+        Path bodies = Files.createTempFile(directory, prefix, ".bodies");
+        Path staged = null;
+        try {
+            staged = Files.createTempFile(directory, prefix, ".tmp");
+            write(recommendations, staged, bodies);
+            Files.move(staged, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(bodies);
+            if (staged != null) {
+                Files.deleteIfExists(staged);
+            }
+        }
+    }
+
+    private void write(List<? extends Recommendation> recommendations, Path file, Path bodies) throws IOException {
+        int count = recommendations.size();
+        byte[] types = new byte[count];
+        double[] confidence = new double[count];
+        long[] bodyOffsets = new long[count];
+        int[] idRefs = new int[count];
+        bodyBytes = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(bodies), 1 << 16));
+        try (DataOutputStream bodyOut = new DataOutputStream(bodyBytes)) {
+            body = bodyOut;
+            for (int i = 0; i < count; i++) {
+                Recommendation recommendation = recommendations.get(i);
+                types[i] = (byte) RecommendationType.of(recommendation).ordinal();
+                confidence[i] = recommendation.getConfidenceScore();
+                bodyOffsets[i] = bodyBytes.count;
+                idRefs[i] = ref(recommendation.getId());
+                writeBody(recommendation);
+            }
+        }
+        int[] idIndex = idIndex(idRefs);
+
+        byte[][] utf8 = new byte[strings.size()][];
+        long stringBytes = 0;
+        for (int s = 0; s < utf8.length; s++) {
+            utf8[s] = strings.decode(s).getBytes(StandardCharsets.UTF_8);
+            stringBytes += utf8[s].length;
+        }
+        if (stringBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("String table exceeds 2 GiB: " + stringBytes);
+        }
+
+        long typesOffset = SnapshotFormat.HEADER_SIZE;
+        long confidenceOffset = typesOffset + count;
+        long recordOffsetsOffset = confidenceOffset + 8L * count;
+        long idIndexOffset = recordOffsetsOffset + 8L * count;
+        long stringsOffset = idIndexOffset + 4L * count;
+        long bodiesOffset = stringsOffset + 4L * (utf8.length + 1) + stringBytes;
+
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.writeInt(SnapshotFormat.MAGIC);
+            out.writeInt(SnapshotFormat.VERSION);
+            out.writeInt(count);
+            out.writeInt(utf8.length);
+            out.writeLong(typesOffset);
+            out.writeLong(confidenceOffset);
+            out.writeLong(recordOffsetsOffset);
+            out.writeLong(idIndexOffset);
+            out.writeLong(stringsOffset);
+            out.write(new byte[SnapshotFormat.HEADER_SIZE - out.size()]);
+            out.write(types);
+            for (double score : confidence) {
+                out.writeDouble(score);
+            }
+            for (long offset : bodyOffsets) {
+                out.writeLong(bodiesOffset + offset);
+            }
+            for (int row : idIndex) {
+                out.writeInt(row);
+            }
+            int position = 0;
+            for (byte[] bytes : utf8) {
+                out.writeInt(position);
+                position += bytes.length;
+            }
+            out.writeInt(position);
+            for (byte[] bytes : utf8) {
+                out.write(bytes);
+            }
+            Files.copy(bodies, out);
+        }
+    }
+
+    /**
+     * Returns the rows ordered by id, {@code null} ids first and ties in row order.
+     *
+     * <p>Only the distinct ids are sorted as strings. Each row then becomes one
+     * {@code long} holding its id's rank in the high half and the row in the low half, so
+     * the rows are ordered by a primitive sort without boxing.</p>
+     */
+    private int[] idIndex(int[] idRefs) {
+        int[] rank = new int[strings.size()];
+        List<String> distinct = new ArrayList<>();
+        for (int ref : idRefs) {
+            if (ref != SnapshotFormat.NULL_REF && rank[ref] == 0) {
+                rank[ref] = -1;
+                distinct.add(strings.decode(ref));
+            }
+        }
+        String[] sorted = distinct.toArray(String[]::new);
+        Arrays.sort(sorted);
+        for (int r = 0; r < sorted.length; r++) {
+            // Rank 0 is left for null ids
+            rank[strings.codeOf(sorted[r])] = r + 1;
+        }
+        long[] keys = new long[idRefs.length];
+        for (int row = 0; row < keys.length; row++) {
+            int ref = idRefs[row];
+            keys[row] = (long) (ref == SnapshotFormat.NULL_REF ? 0 : rank[ref]) << 32 | row;
+        }
+        Arrays.sort(keys);
+        int[] rows = new int[keys.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = (int) keys[i];
+        }
+        return rows;
+    }
+
+    private void writeBody(Recommendation recommendation) throws IOException {
+        switch (recommendation) {
+            case FlightRecommendation flight -> writeFlight(flight);
+            case HotelRecommendation hotel -> writeHotel(hotel);
+            case ActivityRecommendation activity -> writeActivity(activity);
+            case PackageRecommendation pkg -> {
+                writeCommon(pkg);
+                writeFlight(pkg.flight());
+                writeHotel(pkg.hotel());
+                body.writeInt(pkg.activities().size());
+                for (ActivityRecommendation activity : pkg.activities()) {
+                    writeActivity(activity);
+                }
+                body.writeDouble(pkg.packageDiscount());
+                body.writeDouble(pkg.totalPrice());
+            }
+        }
+    }
+
+    private void writeFlight(FlightRecommendation flight) throws IOException {
+        writeCommon(flight);
+        body.writeInt(ref(flight.departureAirport()));
+        body.writeInt(ref(flight.arrivalAirport()));
+        writeTime(flight.departureTime());
+        writeTime(flight.arrivalTime());
+        body.writeInt(ref(flight.airline()));
+        body.writeBoolean(flight.isDirect());
+        writeList(flight.amenities());
+        body.writeDouble(flight.price());
+    }
+
+    private void writeHotel(HotelRecommendation hotel) throws IOException {
+        writeCommon(hotel);
+        body.writeInt(ref(hotel.hotelName()));
+        body.writeByte(hotel.starRating());
+        body.writeInt(ref(hotel.location()));
+        writeList(hotel.amenities());
+        body.writeDouble(hotel.pricePerNight());
+        body.writeDouble(hotel.distanceToCenter());
+        body.writeBoolean(hotel.hasFreeCancellation());
+    }
+
+    private void writeActivity(ActivityRecommendation activity) throws IOException {
+        writeCommon(activity);
+        body.writeInt(ref(activity.activityName()));
+        body.writeInt(ref(activity.location()));
+        Duration duration = activity.duration();
+        body.writeLong(duration == null ? SnapshotFormat.NULL_TIME : duration.getSeconds());
+        body.writeInt(duration == null ? 0 : duration.getNano());
+        writeList(activity.categories());
+        body.writeBoolean(activity.isIndoor());
+        body.writeDouble(activity.price());
+        body.writeInt(activity.minimumAge());
+    }
+
+    private void writeCommon(Recommendation recommendation) throws IOException {
+        body.writeInt(ref(recommendation.getId()));
+        body.writeInt(ref(recommendation.getTitle()));
+        body.writeInt(ref(recommendation.getDescription()));
+        body.writeDouble(recommendation.getConfidenceScore());
+    }
+
+    private void writeTime(LocalDateTime time) throws IOException {
+        body.writeLong(time == null ? SnapshotFormat.NULL_TIME : time.toEpochSecond(ZoneOffset.UTC));
+        body.writeInt(time == null ? 0 : time.getNano());
+    }
+
+    private void writeList(List<String> values) throws IOException {
+        if (values == null) {
+            body.writeInt(-1);
+            return;
+        }
+        body.writeInt(values.size());
+        for (String value : values) {
+            body.writeInt(ref(value));
+        }
+    }
+
+    private int ref(String value) {
+        return value == null ? SnapshotFormat.NULL_REF : strings.encode(value);
+    }
+
+    /**
+     * Counts the bytes written so far as a {@code long}; {@link DataOutputStream#size()}
+     * stops at {@link Integer#MAX_VALUE}.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.edreams.travelrecommender.sort;
+
+import com.edreams.travelrecommender.model.Recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Sorts recommendations by numeric keys without comparators or boxing.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>{@code list.sort(Comparator.comparingDouble(...))} calls the key accessors twice per
+ * comparison, O(n log n) virtual calls in all. This class reads each key once per record
+ * into a primitive column, sorts an {@code int[]} of ordinals against the column, and
+ * builds the result by following the ordinals.</p>
+ *
+ * <h2>Radix Sort on IEEE-754 Bits</h2>
+ * <p>Each {@code double} is mapped to a {@code long} whose unsigned order is the order of
+ * {@link Double#compare}: the sign bit of a positive value is set, and every bit of a
+ * negative value is flipped. Descending keys are flipped once more. The ordinals are then
+ * sorted by a least-significant-digit radix sort on 11-bit digits, six passes at most.
+ * A pass is skipped when every key has the same digit in it, which is common for small
+ * ranges such as star ratings or prices in whole currency units.</p>
+ *
+ * <h2>Multi-Key Ordering</h2>
+ * <p>The radix sort is stable, so keys are applied from the last to the first: each sort
+ * keeps the order of the previous one among its ties. Records equal on every key keep
+ * their order in the source list, exactly as with {@link List#sort}.</p>
+ *
+ * <h2>Parallel Mode</h2>
+ * <p>{@link #parallelSort} splits the rows into chunks on a fork-join pool. Keys are read,
+ * and every radix pass counts digits and scatters rows, one chunk per task. Each chunk
+ * writes to its own precomputed offsets, so the result is identical to the sequential
+ * sort. Lists below {@link #PARALLEL_THRESHOLD} are sorted sequentially.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * // Most stars first, then cheapest first
+ * List<HotelRecommendation> sorted = RecommendationSort.sort(hotels,
+ *     SortKey.descending(HotelRecommendation::starRating),
+ *     SortKey.ascending(HotelRecommendation::pricePerNight));
+ *
+ * // Primitive keys computed elsewhere, such as package savings
+ * int[] bySavings = RecommendationSort.sortedOrdinals(PackageMetrics.savingsAmounts(packages), true);
+ * }</pre>
+ */
+public final class RecommendationSort {
+    /** The list size from which {@link #parallelSort(List, SortKey[])} sorts in parallel. */
+    public static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    private static final int DIGIT_BITS = 11;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int PASSES = (Long.SIZE + DIGIT_BITS - 1) / DIGIT_BITS;
+    /** Below this size the digit counts cost more than an insertion sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+    /** The smallest number of rows given to one parallel task. */
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    private RecommendationSort() {
+    }
+
+    /**
+     * Returns the recommendations sorted by the given keys.
+     *
+     * <h3>Complexity</h3>
+     * <p>One key read per record and key, then at most six linear passes per key: O(n·k)
+     * for k keys, independent of how the keys compare.</p>
+     *
+     * @param <T> the type of recommendation
+     * @param recommendations the recommendations to sort (producer of T)
+     * @param keys the keys, most significant first (consumers of T)
+     * @return a new list of the recommendations in key order; ties keep their source order
+     */
+    @SafeVarargs
+    public static <T extends Recommendation> List<T> sort(List<? extends T> recommendations,
+                                                          SortKey<? super T>... keys) {
+        return sort(recommendations, Chunks.SEQUENTIAL, keys);
+    }
+
+    /**
+     * Returns the recommendations sorted by the given keys, in parallel on the common pool
+     * for lists of at least {@link #PARALLEL_THRESHOLD} elements.
+     *
+     * @param <T> the type of recommendation
+     * @param recommendations the recommendations to sort (producer of T)
+     * @param keys the keys, most significant first (consumers of T)
+     * @return a new list of the recommendations in key order; ties keep their source order
+     * @see #parallelSort(List, int, ForkJoinPool, SortKey[])
+     */
+    @SafeVarargs
+    public static <T extends Recommendation> List<T> parallelSort(List<? extends T> recommendations,
+                                                                  SortKey<? super T>... keys) {
+        return parallelSort(recommendations, PARALLEL_THRESHOLD, ForkJoinPool.commonPool(), keys);
+    }
+
+    /**
+     * Returns the recommendations sorted by the given keys, in parallel on the given pool
+     * for lists of at least {@code parallelThreshold} elements.
+     *
+     * <p>The key functions are called from several threads and must not depend on shared
+     * mutable state; record accessors qualify. The result is the same as that of
+     * {@link #sort(List, SortKey[])}.</p>
+     *
+     * @param <T> the type of recommendation
+     * @param recommendations the recommendations to sort (producer of T)
+     * @param parallelThreshold the smallest list size sorted in parallel
+     * @param pool the pool that runs the chunk tasks
+     * @param keys the keys, most significant first (consumers of T)
+     * @return a new list of the recommendations in key order; ties keep their source order
+     */
+    @SafeVarargs
+    public static <T extends Recommendation> List<T> parallelSort(List<? extends T> recommendations,
+                                                                  int parallelThreshold, ForkJoinPool pool,
+                                                                  SortKey<? super T>... keys) {
+        int size = recommendations.size();
+        Chunks chunks = size < parallelThreshold ? Chunks.SEQUENTIAL : Chunks.of(pool, size);
+        return sort(recommendations, chunks, keys);
+    }
+
+    /**
+     * Returns the positions of the keys in sorted order.
+     *
+     * <p>Element {@code r} of the result is the index in {@code keys} of the key at rank
+     * {@code r}. Equal keys keep their index order.</p>
+     *
+     * @param keys the key column; not modified
+     * @param descending whether larger keys come first
+     * @return a new array of indices into {@code keys}
+     */
+    public static int[] sortedOrdinals(double[] keys, boolean descending) {
+        int size = keys.length;
+        int[] order = new int[size];
+        long[] bits = new long[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            bits[i] = sortableBits(keys[i], descending);
+        }
+        sortByBits(order, bits, Chunks.SEQUENTIAL);
+        return order;
+    }
+
+    private static <T> List<T> sort(List<? extends T> recommendations, Chunks chunks, SortKey<? super T>[] keys) {
+        List<T> records = new ArrayList<>(recommendations);
+        int size = records.size();
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        double[] column = new double[size];
+        long[] bits = new long[size];
+
+        for (int k = keys.length - 1; k >= 0; k--) {
+            SortKey<? super T> key = keys[k];
+            // Read keys in source order, then gather them into the current order
+            chunks.forEach(chunk -> {
+                for (int i = chunks.start(chunk, size), end = chunks.start(chunk + 1, size); i < end; i++) {
+                    column[i] = key.key().applyAsDouble(records.get(i));
+                }
+            });
+            chunks.forEach(chunk -> {
+                for (int i = chunks.start(chunk, size), end = chunks.start(chunk + 1, size); i < end; i++) {
+                    bits[i] = sortableBits(column[order[i]], key.descending());
+                }
+            });
+            sortByBits(order, bits, chunks);
+        }
+
+        List<T> sorted = new ArrayList<>(size);
+        for (int ordinal : order) {
+            sorted.add(records.get(ordinal));
+        }
+        return sorted;
+    }
+
+    /**
+     * Maps a double to a long whose unsigned order matches {@link Double#compare}, or its
+     * reverse when descending. NaNs are collapsed to the canonical NaN first.
+     */
+    private static long sortableBits(double value, boolean descending) {
+        long bits = Double.doubleToLongBits(value);
+        bits ^= (bits >> 63) | Long.MIN_VALUE;
+        return descending ? ~bits : bits;
+    }
+
+    private static int digit(long bits, int pass) {
+        return (int) (bits >>> (pass * DIGIT_BITS)) & (RADIX - 1);
+    }
+
+    /**
+     * Stable sort of {@code order} by the unsigned values of {@code bits}, which holds the
+     * key of {@code order[i]} at {@code i}. Both arrays are permuted together.
+     */
+    private static void sortByBits(int[] order, long[] bits, Chunks chunks) {
+        int size = order.length;
+        if (size <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(order, bits);
+            return;
+        }
+
+        // One read of the keys counts the digits of every pass
+        int[][] counts = new int[chunks.count()][PASSES * RADIX];
+        chunks.forEach(chunk -> {
+            int[] local = counts[chunk];
+            for (int i = chunks.start(chunk, size), end = chunks.start(chunk + 1, size); i < end; i++) {
+                long value = bits[i];
+                for (int pass = 0; pass < PASSES; pass++) {
+                    local[pass * RADIX + digit(value, pass)]++;
+                }
+            }
+        });
+
+        int[][] offsets = new int[chunks.count()][RADIX];
+        int[] sourceOrder = order;
+        long[] sourceBits = bits;
+        int[] targetOrder = new int[size];
+        long[] targetBits = new long[size];
+        boolean scattered = false;
+        for (int pass = 0; pass < PASSES; pass++) {
+            int base = pass * RADIX;
+            int first = base + digit(sourceBits[0], pass);
+            int sharingFirst = 0;
+            for (int[] local : counts) {
+                sharingFirst += local[first];
+            }
+            if (sharingFirst == size) {
+                // Every key has the same digit here, so the pass would not move anything
+                continue;
+            }
+
+            int digitPass = pass;
+            int[] fromOrder = sourceOrder;
+            long[] fromBits = sourceBits;
+            int[] toOrder = targetOrder;
+            long[] toBits = targetBits;
+            if (scattered && chunks.count() > 1) {
+                // Earlier passes moved rows between chunks, so recount this digit per chunk
+                chunks.forEach(chunk -> {
+                    int[] local = counts[chunk];
+                    Arrays.fill(local, base, base + RADIX, 0);
+                    for (int i = chunks.start(chunk, size), end = chunks.start(chunk + 1, size); i < end; i++) {
+                        local[base + digit(fromBits[i], digitPass)]++;
+                    }
+                });
+            }
+            // Digit-major, chunk-minor offsets keep rows of equal digits in their order
+            int next = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                for (int chunk = 0; chunk < counts.length; chunk++) {
+                    offsets[chunk][digit] = next;
+                    next += counts[chunk][base + digit];
+                }
+            }
+            chunks.forEach(chunk -> {
+                int[] local = offsets[chunk];
+                for (int i = chunks.start(chunk, size), end = chunks.start(chunk + 1, size); i < end; i++) {
+                    int position = local[digit(fromBits[i], digitPass)]++;
+                    toOrder[position] = fromOrder[i];
+                    toBits[position] = fromBits[i];
+                }
+            });
+
+            sourceOrder = toOrder;
+            sourceBits = toBits;
+            targetOrder = fromOrder;
+            targetBits = fromBits;
+            scattered = true;
+        }
+        if (sourceOrder != order) {
+            System.arraycopy(sourceOrder, 0, order, 0, size);
+            System.arraycopy(sourceBits, 0, bits, 0, size);
+        }
+    }
+
+    private static void insertionSort(int[] order, long[] bits) {
+        for (int i = 1; i < order.length; i++) {
+            int ordinal = order[i];
+            long value = bits[i];
+            int j = i - 1;
+            // Strictly greater only, so equal keys stay behind earlier ones
+            while (j >= 0 && Long.compareUnsigned(bits[j], value) > 0) {
+                order[j + 1] = order[j];
+                bits[j + 1] = bits[j];
+                j--;
+            }
+            order[j + 1] = ordinal;
+            bits[j + 1] = value;
+        }
+    }
+
+    /**
+     * A split of the rows into contiguous chunks, run on a pool when there is more than one.
+     */
+    private record Chunks(ForkJoinPool pool, int count) {
+        static final Chunks SEQUENTIAL = new Chunks(null, 1);
+
+        static Chunks of(ForkJoinPool pool, int size) {
+            return new Chunks(pool, Math.max(1, Math.min(pool.getParallelism() * 4, size / MIN_CHUNK_SIZE)));
+        }
+
+        int start(int chunk, int size) {
+            return (int) ((long) size * chunk / count);
+        }
+
+        void forEach(IntConsumer body) {
+            if (count == 1) {
+                body.accept(0);
+            } else {
+                pool.invoke(new ChunkTask(body, 0, count));
+            }
+        }
+    }
+
+    /**
+     * Fork-join task that runs a body for a range of chunks, one leaf task per chunk.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private final IntConsumer body;
+        private final int from;
+        private final int to;
+
+        ChunkTask(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(body, from, mid), new ChunkTask(body, mid, to));
+        }
+    }
+}
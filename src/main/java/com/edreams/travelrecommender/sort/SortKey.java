@@ -0,0 +1,56 @@
+package com.edreams.travelrecommender.sort;
+
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * One numeric key of a {@link RecommendationSort} ordering, with its direction.
+ *
+ * <p>Keys order like {@link java.util.Comparator#comparingDouble}, or its reverse when
+ * descending: {@code -0.0} sorts before {@code 0.0} and NaN after every other value.
+ * Integer accessors such as {@code HotelRecommendation::starRating} can be used directly,
+ * as their values widen to {@code double} exactly.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * SortKey<HotelRecommendation> stars = SortKey.descending(HotelRecommendation::starRating);
+ * SortKey<HotelRecommendation> price = SortKey.ascending(HotelRecommendation::pricePerNight);
+ * }</pre>
+ *
+ * @param key the function that reads the key from a record; called once per record
+ * @param descending whether larger keys come first
+ * @param <T> the type of record the key is read from
+ */
+public record SortKey<T>(ToDoubleFunction<? super T> key, boolean descending) {
+
+    /**
+     * Validates the key function.
+     *
+     * @throws NullPointerException if {@code key} is null
+     */
+    public SortKey {
+        Objects.requireNonNull(key, "key");
+    }
+
+    /**
+     * Creates a key that puts smaller values first.
+     *
+     * @param <T> the type of record
+     * @param key the function that reads the key
+     * @return an ascending sort key
+     */
+    public static <T> SortKey<T> ascending(ToDoubleFunction<? super T> key) {
+        return new SortKey<>(key, false);
+    }
+
+    /**
+     * Creates a key that puts larger values first.
+     *
+     * @param <T> the type of record
+     * @param key the function that reads the key
+     * @return a descending sort key
+     */
+    public static <T> SortKey<T> descending(ToDoubleFunction<? super T> key) {
+        return new SortKey<>(key, true);
+    }
+}
@@ -0,0 +1,260 @@
+package com.edreams.travelrecommender.symbol;
+
+import com.edreams.travelrecommender.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Canonicalizes the repetitive string fields of recommendations at ingestion time.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Feeds deliver each record with freshly allocated strings. Passing records through
+ * {@link #canonicalize} before storing them replaces airports, airlines and locations with
+ * the shared instances held by three {@link SymbolTable}s, so the catalog keeps one copy of
+ * each distinct value. Records whose fields are already canonical are returned unchanged.</p>
+ *
+ * <h2>Equality Filters</h2>
+ * <p>The predicates built here resolve the query value to its canonical instance once.
+ * For canonicalized records, {@link String#equals} then succeeds on its identity check
+ * without comparing characters. The lookup never adds to the dictionary, so arbitrary
+ * search terms cannot grow it: a value that no canonicalized record has yet produces a
+ * predicate that matches nothing. Build predicates after the records are canonicalized. For columnar scans, {@link SymbolTable#encodeAll} turns a
+ * field into an {@code int[]} that can be compared against a single code.</p>
+ *
+ * <h2>OCP Java 21 Note</h2>
+ * <p>Records are immutable, so canonicalizing one means creating a copy through the
+ * canonical constructor. The copy passes through the same compact-constructor validation
+ * as the original.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * RecommendationDictionary dictionary = new RecommendationDictionary();
+ * List<FlightRecommendation> flights = dictionary.canonicalizeAll(parsedFlights);
+ * List<FlightRecommendation> fromJfk = RecommendationService.filterByPredicate(
+ *     flights, dictionary.departsFrom("JFK"));
+ * }</pre>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public final class RecommendationDictionary {
+    private final SymbolTable airports = new SymbolTable();
+    private final SymbolTable airlines = new SymbolTable();
+    private final SymbolTable locations = new SymbolTable();
+
+    /**
+     * Returns the table shared by departure and arrival airports.
+     *
+     * @return the airport symbol table
+     */
+    public SymbolTable airports() {
+        return airports;
+    }
+
+    /**
+     * Returns the table of airline names.
+     *
+     * @return the airline symbol table
+     */
+    public SymbolTable airlines() {
+        return airlines;
+    }
+
+    /**
+     * Returns the table shared by hotel and activity locations.
+     *
+     * @return the location symbol table
+     */
+    public SymbolTable locations() {
+        return locations;
+    }
+
+    /**
+     * Returns a flight whose airports and airline are canonical instances.
+     *
+     * @param flight the flight to canonicalize
+     * @return {@code flight} itself if already canonical, otherwise an equal copy
+     */
+    public FlightRecommendation canonicalize(FlightRecommendation flight) {
+        String departure = airports.canonical(flight.departureAirport());
+        String arrival = airports.canonical(flight.arrivalAirport());
+        String airline = airlines.canonical(flight.airline());
+        if (departure == flight.departureAirport() && arrival == flight.arrivalAirport()
+                && airline == flight.airline()) {
+            return flight;
+        }
+        return new FlightRecommendation(
+            flight.id(), flight.title(), flight.description(), flight.confidenceScore(),
+            departure, arrival, flight.departureTime(), flight.arrivalTime(),
+            airline, flight.isDirect(), flight.amenities(), flight.price());
+    }
+
+    /**
+     * Returns a hotel whose location is a canonical instance.
+     *
+     * @param hotel the hotel to canonicalize
+     * @return {@code hotel} itself if already canonical, otherwise an equal copy
+     */
+    public HotelRecommendation canonicalize(HotelRecommendation hotel) {
+        String location = locations.canonical(hotel.location());
+        if (location == hotel.location()) {
+            return hotel;
+        }
+        return new HotelRecommendation(
+            hotel.id(), hotel.title(), hotel.description(), hotel.confidenceScore(),
+            hotel.hotelName(), hotel.starRating(), location, hotel.amenities(),
+            hotel.pricePerNight(), hotel.distanceToCenter(), hotel.hasFreeCancellation());
+    }
+
+    /**
+     * Returns an activity whose location is a canonical instance.
+     *
+     * @param activity the activity to canonicalize
+     * @return {@code activity} itself if already canonical, otherwise an equal copy
+     */
+    public ActivityRecommendation canonicalize(ActivityRecommendation activity) {
+        String location = locations.canonical(activity.location());
+        if (location == activity.location()) {
+            return activity;
+        }
+        return new ActivityRecommendation(
+            activity.id(), activity.title(), activity.description(), activity.confidenceScore(),
+            activity.activityName(), location, activity.duration(), activity.categories(),
+            activity.isIndoor(), activity.price(), activity.minimumAge());
+    }
+
+    /**
+     * Returns a package whose flight, hotel and activities are all canonical.
+     *
+     * @param pkg the package to canonicalize
+     * @return {@code pkg} itself if already canonical, otherwise an equal copy
+     */
+    public PackageRecommendation canonicalize(PackageRecommendation pkg) {
+        FlightRecommendation flight = canonicalize(pkg.flight());
+        HotelRecommendation hotel = canonicalize(pkg.hotel());
+        List<ActivityRecommendation> activities = new ArrayList<>(pkg.activities().size());
+        boolean changed = flight != pkg.flight() || hotel != pkg.hotel();
+        for (ActivityRecommendation activity : pkg.activities()) {
+            ActivityRecommendation canonical = canonicalize(activity);
+            changed |= canonical != activity;
+            activities.add(canonical);
+        }
+        if (!changed) {
+            return pkg;
+        }
+        return new PackageRecommendation(
+            pkg.id(), pkg.title(), pkg.description(), pkg.confidenceScore(),
+            flight, hotel, List.copyOf(activities), pkg.packageDiscount(), pkg.totalPrice());
+    }
+
+    /**
+     * Canonicalizes any recommendation, dispatching on its sealed subtype.
+     *
+     * @param <T> the recommendation type, preserved in the result
+     * @param recommendation the recommendation to canonicalize
+     * @return the recommendation itself if already canonical, otherwise an equal copy
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Recommendation> T canonicalize(T recommendation) {
+        // Every branch returns the same record type it received, so the cast is safe
+        return (T) switch (recommendation) {
+            case FlightRecommendation flight -> canonicalize(flight);
+            case HotelRecommendation hotel -> canonicalize(hotel);
+            case ActivityRecommendation activity -> canonicalize(activity);
+            case PackageRecommendation pkg -> canonicalize(pkg);
+        };
+    }
+
+    /**
+     * Canonicalizes every recommendation in a list.
+     *
+     * @param <T> the recommendation type
+     * @param recommendations the recommendations to canonicalize (producer of T)
+     * @return a new list of canonical recommendations in the same order
+     */
+    public <T extends Recommendation> List<T> canonicalizeAll(List<? extends T> recommendations) {
+        List<T> result = new ArrayList<>(recommendations.size());
+        for (T recommendation : recommendations) {
+            result.add(canonicalize(recommendation));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a predicate matching flights that depart from the given airport.
+     *
+     * @param airport the departure airport code
+     * @return a predicate comparing against the canonical airport instance
+     * @throws NullPointerException if {@code airport} is null
+     */
+    public Predicate<FlightRecommendation> departsFrom(String airport) {
+        String canonical = lookup(airports, Objects.requireNonNull(airport, "airport"));
+        if (canonical == null) {
+            return flight -> false;
+        }
+        return flight -> canonical.equals(flight.departureAirport());
+    }
+
+    /**
+     * Returns a predicate matching flights that arrive at the given airport.
+     *
+     * @param airport the arrival airport code
+     * @return a predicate comparing against the canonical airport instance
+     * @throws NullPointerException if {@code airport} is null
+     */
+    public Predicate<FlightRecommendation> arrivesAt(String airport) {
+        String canonical = lookup(airports, Objects.requireNonNull(airport, "airport"));
+        if (canonical == null) {
+            return flight -> false;
+        }
+        return flight -> canonical.equals(flight.arrivalAirport());
+    }
+
+    /**
+     * Returns a predicate matching flights operated by the given airline.
+     *
+     * @param airline the airline name
+     * @return a predicate comparing against the canonical airline instance
+     * @throws NullPointerException if {@code airline} is null
+     */
+    public Predicate<FlightRecommendation> operatedBy(String airline) {
+        String canonical = lookup(airlines, Objects.requireNonNull(airline, "airline"));
+        if (canonical == null) {
+            return flight -> false;
+        }
+        return flight -> canonical.equals(flight.airline());
+    }
+
+    /**
+     * Returns a predicate matching hotels and activities in the given location.
+     *
+     * <p>Flights and packages have no single location and never match.</p>
+     *
+     * @param location the location name
+     * @return a predicate comparing against the canonical location instance
+     * @throws NullPointerException if {@code location} is null
+     */
+    public Predicate<Recommendation> locatedIn(String location) {
+        String canonical = lookup(locations, Objects.requireNonNull(location, "location"));
+        if (canonical == null) {
+            return recommendation -> false;
+        }
+        return recommendation -> switch (recommendation) {
+            case HotelRecommendation hotel -> canonical.equals(hotel.location());
+            case ActivityRecommendation activity -> canonical.equals(activity.location());
+            case FlightRecommendation flight -> false;
+            case PackageRecommendation pkg -> false;
+        };
+    }
+
+    /**
+     * Returns the canonical instance of a value without adding it, or null if the table
+     * has never seen it.
+     */
+    private static String lookup(SymbolTable table, String value) {
+        int code = table.codeOf(value);
+        return code == SymbolTable.NO_CODE ? null : table.decode(code);
+    }
+}
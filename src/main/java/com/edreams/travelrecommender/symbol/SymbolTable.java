@@ -0,0 +1,143 @@
+package com.edreams.travelrecommender.symbol;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A thread-safe dictionary that assigns dense {@code int} codes to distinct strings.
+ *
+ * <h2>Purpose in Architecture</h2>
+ * <p>Fields such as airport codes, airline names and locations take only a few thousand
+ * distinct values across millions of records, yet every record parsed from a feed holds
+ * its own {@code String} copy. A symbol table keeps one canonical instance per distinct
+ * value and numbers the values 0, 1, 2, ... in order of first appearance. Records that
+ * store canonical instances share memory, and columns of codes can be compared with a
+ * single {@code int} comparison instead of {@link String#equals}.</p>
+ *
+ * <h2>Concurrency</h2>
+ * <p>Lookups of known values are lock-free reads of a {@link ConcurrentHashMap}. Adding a
+ * new value takes a lock so that codes stay dense, which is rare once the table has
+ * warmed up. Codes are never reassigned or removed.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * SymbolTable airports = new SymbolTable();
+ * String jfk = airports.canonical(parsedAirport);   // shared instance
+ * int code = airports.encode("JFK");                // stable int code
+ * String name = airports.decode(code);              // "JFK"
+ * }</pre>
+ */
+public final class SymbolTable {
+    /** Returned by {@link #codeOf(String)} for values that have never been encoded. */
+    public static final int NO_CODE = -1;
+
+    /**
+     * A canonical value together with its code.
+     */
+    private record Symbol(int code, String value) {
+    }
+
+    private final ConcurrentHashMap<String, Symbol> symbols = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    /** Values by code; replaced on growth and re-published on every append. */
+    private volatile String[] values = new String[64];
+    private int size;
+
+    /**
+     * Returns the canonical instance equal to the given value, adding it if it is new.
+     *
+     * @param value the value to canonicalize, or null
+     * @return the shared instance equal to {@code value}, or null if {@code value} is null
+     */
+    public String canonical(String value) {
+        return value == null ? null : symbol(value).value();
+    }
+
+    /**
+     * Returns the code of the given value, adding it if it is new.
+     *
+     * @param value the value to encode
+     * @return the value's code, between 0 and {@code size() - 1}
+     * @throws NullPointerException if the value is null
+     */
+    public int encode(String value) {
+        return symbol(Objects.requireNonNull(value)).code();
+    }
+
+    /**
+     * Returns the code of the given value without adding it.
+     *
+     * @param value the value to look up
+     * @return the value's code, or {@link #NO_CODE} if it has not been encoded
+     */
+    public int codeOf(String value) {
+        Symbol symbol = value == null ? null : symbols.get(value);
+        return symbol == null ? NO_CODE : symbol.code();
+    }
+
+    /**
+     * Returns the canonical value for a code.
+     *
+     * @param code a code returned by {@link #encode(String)}
+     * @return the canonical value
+     * @throws IndexOutOfBoundsException if no value has that code
+     */
+    public String decode(int code) {
+        String[] snapshot = values;
+        String value = code >= 0 && code < snapshot.length ? snapshot[code] : null;
+        if (value == null) {
+            throw new IndexOutOfBoundsException("Unknown symbol code: " + code);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of distinct values in the table.
+     *
+     * @return the size of the table
+     */
+    public int size() {
+        return symbols.size();
+    }
+
+    /**
+     * Encodes one string field of every element into a column of codes.
+     *
+     * @param <T> the element type
+     * @param elements the elements to read (producer of T)
+     * @param field extracts the string to encode (consumer of T)
+     * @return one code per element, in list order
+     */
+    public <T> int[] encodeAll(List<? extends T> elements, Function<? super T, String> field) {
+        int[] codes = new int[elements.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = encode(field.apply(elements.get(i)));
+        }
+        return codes;
+    }
+
+    private Symbol symbol(String value) {
+        Symbol symbol = symbols.get(value);
+        if (symbol != null) {
+            return symbol;
+        }
+        synchronized (lock) {
+            symbol = symbols.get(value);
+            if (symbol == null) {
+                String[] current = values;
+                if (size == current.length) {
+                    current = Arrays.copyOf(current, size * 2);
+                }
+                current[size] = value;
+                // Volatile write publishes the new slot before the code becomes visible
+                values = current;
+                symbol = new Symbol(size++, value);
+                symbols.put(value, symbol);
+            }
+            return symbol;
+        }
+    }
+}
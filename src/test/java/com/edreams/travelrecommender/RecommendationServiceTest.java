@@ -9,8 +9,13 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -99,7 +104,26 @@ class RecommendationServiceTest {
             assertTrue(combined.contains(hotel));
             assertTrue(combined.contains(activity));
         }
-        
+
+        @Test
+        @DisplayName("Combine recommendations into a read-only view")
+        void testCombineRecommendationsView() {
+            List<FlightRecommendation> flights = List.of(flight, flight);
+            List<HotelRecommendation> hotels = List.of();
+            List<ActivityRecommendation> activities = new LinkedList<>(List.of(activity));
+
+            List<Recommendation> view = RecommendationService.<Recommendation>combineRecommendationsView(
+                    flights, hotels, activities, List.of(packageRec));
+
+            assertEquals(4, view.size());
+            assertEquals(List.of(flight, flight, activity, packageRec), view);
+            assertEquals(activity, view.get(2));
+            assertEquals(packageRec, view.get(3));
+            assertThrows(IndexOutOfBoundsException.class, () -> view.get(4));
+            assertThrows(UnsupportedOperationException.class, () -> view.add(hotel));
+            assertTrue(RecommendationService.combineRecommendationsView().isEmpty());
+        }
+
         @Test
         @DisplayName("Add recommendations with bounded wildcard super")
         void testAddRecommendation() {
@@ -137,6 +161,137 @@ class RecommendationServiceTest {
         }
     }
     
+    @Nested
+    @DisplayName("Parallel Filtering Tests")
+    class ParallelFilteringTests {
+
+        private List<Recommendation> largeCatalog() {
+            List<Recommendation> catalog = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                catalog.add(allRecommendations.get(i % allRecommendations.size()));
+            }
+            return catalog;
+        }
+
+        @Test
+        @DisplayName("Parallel filter preserves encounter order")
+        void testParallelMatchesSequential() {
+            List<Recommendation> catalog = largeCatalog();
+            Predicate<Recommendation> predicate = rec -> rec.getConfidenceScore() >= 0.75;
+
+            var pool = new ForkJoinPool(4);
+            try {
+                var parallel = RecommendationService.filterByPredicateParallel(catalog, predicate, 100, pool);
+                assertEquals(RecommendationService.filterByPredicate(catalog, predicate), parallel);
+            } finally {
+                pool.shutdown();
+            }
+            assertEquals(
+                RecommendationService.filterByPredicate(catalog, predicate),
+                RecommendationService.filterByPredicateParallel(new LinkedList<>(catalog), predicate));
+        }
+
+        @Test
+        @DisplayName("Parallel filter works with specific subtypes and small inputs")
+        void testParallelWithSubtypes() {
+            List<FlightRecommendation> flights = List.of(flight);
+            var direct = RecommendationService.filterByPredicateParallel(flights, FlightRecommendation::isDirect);
+            assertEquals(List.of(flight), direct);
+
+            assertThrows(IllegalArgumentException.class, () ->
+                RecommendationService.filterByPredicateParallel(flights, f -> true, 0, ForkJoinPool.commonPool()));
+        }
+
+        @Test
+        @DisplayName("Parallel categorization matches the sequential result")
+        void testParallelCategorization() {
+            List<Recommendation> catalog = largeCatalog();
+
+            var sequential = RecommendationService.categorizeByType(catalog);
+            assertEquals(sequential, RecommendationService.categorizeByTypeParallel(catalog));
+            assertEquals(sequential, catalog.parallelStream().collect(RecommendationService.toTypeCategories()));
+            assertEquals(
+                RecommendationService.countByType(catalog),
+                catalog.parallelStream().collect(RecommendationService.toTypeCounts()));
+
+            // The collectors also accept streams of a specific subtype
+            var flightsOnly = Stream.of(flight, flight).collect(RecommendationService.toTypeCounts());
+            assertEquals(2, flightsOnly.flights());
+        }
+    }
+
+    @Nested
+    @DisplayName("Top-K Selection Tests")
+    class TopKTests {
+
+        private List<HotelRecommendation> hotels(int count) {
+            List<HotelRecommendation> hotels = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                // Only 50 distinct scores, so ties are frequent
+                double score = ((i * 37) % 50) / 50.0;
+                hotels.add(new HotelRecommendation(
+                    "H" + i, "Hotel " + i, "A hotel", score,
+                    "Hotel " + i, 3, "Test Location", List.of("Pool"), 50.0 + (i * 13) % 400, 1.0, true));
+            }
+            return hotels;
+        }
+
+        private <T> List<T> sortAndTruncate(List<T> source, int k, Comparator<? super T> comparator) {
+            return source.stream().sorted(comparator.reversed()).limit(k).toList();
+        }
+
+        @Test
+        @DisplayName("Top-K by confidence matches a stable sort followed by truncation")
+        void testTopKByConfidence() {
+            var hotels = hotels(1_000);
+            for (int k : new int[] {0, 1, 7, 50, 1_000, 5_000}) {
+                assertEquals(
+                    sortAndTruncate(hotels, k, RecommendationService.CONFIDENCE_ORDER),
+                    RecommendationService.topK(hotels, k));
+            }
+            List<Recommendation> best = RecommendationService.topK(allRecommendations, 2);
+            assertEquals(List.of(packageRec, flight), best);
+        }
+
+        @Test
+        @DisplayName("Top-K accepts a custom comparator")
+        void testTopKWithComparator() {
+            var hotels = hotels(1_000);
+            Comparator<HotelRecommendation> valueForMoney = Comparator.comparingDouble(
+                h -> h.getConfidenceScore() / Math.log1p(h.pricePerNight()));
+
+            var top = RecommendationService.topK(new LinkedList<>(hotels), 25, valueForMoney);
+            assertEquals(sortAndTruncate(hotels, 25, valueForMoney), top);
+        }
+
+        @Test
+        @DisplayName("Parallel top-K merges partial heaps into the sequential result")
+        void testTopKParallel() {
+            var hotels = hotels(20_000);
+            var pool = new ForkJoinPool(4);
+            try {
+                for (int k : new int[] {1, 10, 300}) {
+                    assertEquals(
+                        RecommendationService.topK(hotels, k),
+                        RecommendationService.topKParallel(hotels, k, RecommendationService.CONFIDENCE_ORDER, 128, pool));
+                }
+            } finally {
+                pool.shutdown();
+            }
+            assertEquals(
+                RecommendationService.topK(hotels, 40),
+                RecommendationService.topKParallel(hotels, 40, RecommendationService.CONFIDENCE_ORDER));
+        }
+
+        @Test
+        @DisplayName("Top-K rejects a negative k")
+        void testTopKValidation() {
+            assertThrows(IllegalArgumentException.class, () -> RecommendationService.topK(allRecommendations, -1));
+            assertThrows(IllegalArgumentException.class, () -> RecommendationService.topKParallel(
+                allRecommendations, 1, RecommendationService.CONFIDENCE_ORDER, 0, ForkJoinPool.commonPool()));
+        }
+    }
+
     @Nested
     @DisplayName("Pattern Matching Tests")
     class PatternMatchingTests {
@@ -180,6 +335,35 @@ class RecommendationServiceTest {
             assertEquals(activity, categorized.get("Activities").getFirst());
             assertEquals(packageRec, categorized.get("Packages").getFirst());
         }
+
+        @Test
+        @DisplayName("Categorize recommendations by enum type")
+        void testCategorizeByType() {
+            var mixed = List.of(hotel, flight, hotel, packageRec);
+            var categorized = RecommendationService.categorizeByType(mixed);
+
+            assertEquals(4, categorized.size());
+            assertEquals(List.of(flight), categorized.get(RecommendationType.FLIGHT));
+            assertEquals(List.of(hotel, hotel), categorized.get(RecommendationType.HOTEL));
+            assertTrue(categorized.get(RecommendationType.ACTIVITY).isEmpty());
+            assertEquals(List.of(packageRec), categorized.get(RecommendationType.PACKAGE));
+
+            // Enum labels line up with the string-keyed categorization
+            var byLabel = RecommendationService.categorizeRecommendations(allRecommendations);
+            RecommendationService.categorizeByType(allRecommendations).forEach((type, recs) ->
+                assertEquals(byLabel.get(type.label()), recs));
+        }
+
+        @Test
+        @DisplayName("Count recommendations by type")
+        void testCountByType() {
+            var counts = RecommendationService.countByType(List.of(hotel, flight, hotel, packageRec));
+
+            assertEquals(new RecommendationCounts(1, 2, 0, 1), counts);
+            assertEquals(2, counts.get(RecommendationType.HOTEL));
+            assertEquals(4, counts.total());
+            assertEquals(RecommendationType.ACTIVITY, RecommendationType.of(activity));
+        }
     }
     
     @Nested
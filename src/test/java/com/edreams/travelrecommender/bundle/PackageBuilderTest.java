@@ -0,0 +1,207 @@
+package com.edreams.travelrecommender.bundle;
+
+import com.edreams.travelrecommender.model.ActivityRecommendation;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import com.edreams.travelrecommender.model.PackageRecommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the branch-and-bound package builder.
+ */
+@DisplayName("Package Builder Tests")
+class PackageBuilderTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.parse("2023-10-15T00:00:00");
+    private static final String PARIS = "Paris, France";
+    private static final Duration GENEROUS = Duration.ofSeconds(30);
+
+    private List<FlightRecommendation> flights;
+    private List<HotelRecommendation> hotels;
+    private List<ActivityRecommendation> activities;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(11);
+        flights = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            String to = i % 4 == 0 ? "LHR" : "CDG";
+            LocalDateTime departure = DAY.plusMinutes(random.nextInt(4 * 24 * 60));
+            flights.add(new FlightRecommendation("F" + i, "Flight " + i, "A test flight", random.nextDouble(),
+                "JFK", to, departure, departure.plusHours(8), "Test Airline", true, List.of(),
+                200 + random.nextInt(900)));
+        }
+        hotels = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            String location = i % 3 == 0 ? "London, UK" : PARIS;
+            hotels.add(new HotelRecommendation("H" + i, "Hotel " + i, "A test hotel", random.nextDouble(),
+                "Hotel " + i, 1 + random.nextInt(5), location, List.of(), 60 + random.nextInt(300),
+                random.nextDouble() * 5, true));
+        }
+        activities = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            String location = i % 5 == 0 ? "London, UK" : PARIS;
+            activities.add(new ActivityRecommendation("A" + i, "Activity " + i, "A test activity",
+                random.nextDouble(), "Activity " + i, location, Duration.ofHours(2), List.of("Cultural"),
+                false, 10 + random.nextInt(200), 0));
+        }
+    }
+
+    private PackageQuery parisTrip(double maximumPrice, int maximumActivities) {
+        return new PackageQuery("JFK", "CDG", PARIS, DAY, DAY.plusDays(2), maximumPrice, maximumActivities);
+    }
+
+    /**
+     * Builds every affordable package for a query and sorts them by score, best first.
+     */
+    private List<PackageRecommendation> allPackages(PackageBuilder builder, PackageQuery query) {
+        List<ActivityRecommendation> local = activities.stream()
+            .filter(activity -> activity.location().equals(query.location())).toList();
+        List<PackageRecommendation> all = new ArrayList<>();
+        for (FlightRecommendation flight : flights) {
+            if (!flight.arrivalAirport().equals(query.destination())
+                    || flight.departureTime().isBefore(query.departFrom())
+                    || !flight.departureTime().isBefore(query.departTo())) {
+                continue;
+            }
+            for (HotelRecommendation hotel : hotels) {
+                if (hotel.location().equals(query.location())) {
+                    addSubsets(flight, hotel, local, 0, new ArrayList<>(), query, all);
+                }
+            }
+        }
+        all.sort(Comparator.comparingDouble((PackageRecommendation p) -> builder.score(p, query)).reversed());
+        return all;
+    }
+
+    private void addSubsets(FlightRecommendation flight, HotelRecommendation hotel,
+                            List<ActivityRecommendation> local, int from, List<ActivityRecommendation> chosen,
+                            PackageQuery query, List<PackageRecommendation> all) {
+        if (!chosen.isEmpty()) {
+            double individual = flight.price() + hotel.pricePerNight() * Math.max(3, chosen.size() / 2)
+                + chosen.stream().mapToDouble(ActivityRecommendation::price).sum();
+            double total = individual * (1 - PackageBuilder.DEFAULT_DISCOUNT);
+            if (total <= query.maximumPrice()) {
+                double confidence = (flight.confidenceScore() + hotel.confidenceScore()
+                    + chosen.stream().mapToDouble(ActivityRecommendation::confidenceScore).sum())
+                    / (chosen.size() + 2);
+                all.add(new PackageRecommendation("P", "P", "P", confidence, flight, hotel, List.copyOf(chosen),
+                    PackageBuilder.DEFAULT_DISCOUNT, total));
+            }
+        }
+        if (chosen.size() == query.maximumActivities()) {
+            return;
+        }
+        for (int i = from; i < local.size(); i++) {
+            chosen.add(local.get(i));
+            addSubsets(flight, hotel, local, i + 1, chosen, query, all);
+            chosen.remove(chosen.size() - 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Best packages match exhaustive enumeration")
+    void testMatchesExhaustiveSearch() {
+        var builder = PackageBuilder.of(flights, hotels, activities);
+        for (double maximumPrice : new double[] {900, 1_500, 4_000}) {
+            for (int maximumActivities : new int[] {1, 3, 8}) {
+                PackageQuery query = parisTrip(maximumPrice, maximumActivities);
+                var all = allPackages(builder, query);
+                var expected = all.subList(0, Math.min(10, all.size()));
+                var actual = builder.build(query, 10, GENEROUS);
+
+                assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(builder.score(expected.get(i), query), builder.score(actual.get(i), query), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Generated packages respect the query and price their components")
+    void testPackageContents() {
+        var builder = PackageBuilder.of(flights, hotels, activities);
+        PackageQuery query = parisTrip(1_500, 3);
+        var packages = builder.build(query, 20, GENEROUS);
+        assertFalse(packages.isEmpty());
+
+        for (PackageRecommendation recommendation : packages) {
+            assertEquals("CDG", recommendation.flight().arrivalAirport());
+            assertFalse(recommendation.flight().departureTime().isBefore(query.departFrom()));
+            assertTrue(recommendation.flight().departureTime().isBefore(query.departTo()));
+            assertEquals(PARIS, recommendation.hotel().location());
+            assertTrue(recommendation.activities().stream().allMatch(a -> a.location().equals(PARIS)));
+            assertTrue(recommendation.activities().size() >= 1 && recommendation.activities().size() <= 3);
+            assertTrue(recommendation.totalPrice() <= query.maximumPrice());
+            assertEquals(PackageBuilder.DEFAULT_DISCOUNT, recommendation.packageDiscount());
+
+            double individual = recommendation.totalPrice() + recommendation.getSavingsAmount();
+            assertEquals(PackageBuilder.DEFAULT_DISCOUNT * individual, recommendation.getSavingsAmount(), 1e-6);
+            assertTrue(recommendation.getId().startsWith(
+                "PK-" + recommendation.flight().id() + "-" + recommendation.hotel().id() + "-"));
+        }
+        for (int i = 1; i < packages.size(); i++) {
+            assertTrue(builder.score(packages.get(i - 1), query) >= builder.score(packages.get(i), query) - 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel and single-threaded searches return the same packages")
+    void testDeterministicAcrossPools() {
+        var builder = PackageBuilder.of(flights, hotels, activities);
+        PackageQuery query = parisTrip(2_500, 4);
+        var pool = new ForkJoinPool(1);
+        try {
+            assertEquals(builder.build(query, 15, GENEROUS, pool), builder.build(query, 15, GENEROUS));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("An exhausted latency budget returns valid packages only")
+    void testLatencyBudget() {
+        var builder = PackageBuilder.of(flights, hotels, activities);
+        PackageQuery query = parisTrip(3_000, 5);
+        var packages = builder.build(query, 10, Duration.ZERO);
+        assertTrue(packages.size() <= 10);
+        for (PackageRecommendation recommendation : packages) {
+            assertTrue(recommendation.totalPrice() <= query.maximumPrice());
+        }
+    }
+
+    @Test
+    @DisplayName("Unmatched queries give no packages and invalid arguments are rejected")
+    void testEdgeCases() {
+        var builder = PackageBuilder.of(flights, hotels, activities);
+        assertTrue(builder.build(new PackageQuery("JFK", "CDG", "Rome, Italy", DAY, DAY.plusDays(2), 2_000, 3), 5)
+            .isEmpty());
+        assertTrue(builder.build(new PackageQuery("JFK", "NRT", PARIS, DAY, DAY.plusDays(2), 2_000, 3), 5)
+            .isEmpty());
+        assertTrue(builder.build(parisTrip(10, 3), 5).isEmpty());
+        assertTrue(builder.build(parisTrip(2_000, 3), 0).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> builder.build(parisTrip(2_000, 3), -1));
+        assertThrows(IllegalArgumentException.class, () ->
+            builder.build(parisTrip(2_000, 3), 5, Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> parisTrip(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> parisTrip(2_000, 0));
+        assertThrows(IllegalArgumentException.class, () ->
+            new PackageQuery("JFK", "CDG", PARIS, DAY, DAY.minusDays(1), 2_000, 3));
+        assertThrows(IllegalArgumentException.class, () -> PackageBuilder.of(flights, hotels, activities, 1.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> PackageBuilder.of(flights, hotels, activities, 0.1, -1.0));
+    }
+}
@@ -0,0 +1,104 @@
+package com.edreams.travelrecommender.codec;
+
+import com.edreams.travelrecommender.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the binary recommendation codec.
+ */
+@DisplayName("Recommendation Codec Tests")
+class RecommendationCodecTest {
+
+    private FlightRecommendation flight;
+    private HotelRecommendation hotel;
+    private ActivityRecommendation activity;
+    private PackageRecommendation pkg;
+
+    @BeforeEach
+    void setUp() {
+        flight = new FlightRecommendation("F1", "Flight to Tokyo", "Overnight", 0.85, "SFO", "HND",
+            LocalDateTime.of(2024, 3, 10, 23, 55, 0, 123_456_789), LocalDateTime.of(2024, 3, 12, 5, 10),
+            "Sky Test", false, List.of("Wi-Fi"), 1234.56);
+        hotel = new HotelRecommendation("H1", "東京ホテル", null, 0.75,
+            "東京ホテル", 3, "Tokyo", null, 180.25, 2.5, false);
+        activity = new ActivityRecommendation("A1", "Sushi Class", "Learn to roll", 0.6,
+            "Sushi Class", "Tokyo", Duration.ofMinutes(95), List.of("Food", "Cultural"), true, 80.0, 12);
+        pkg = new PackageRecommendation("P1", "Tokyo Escape", "All in one", 0.9,
+            flight, hotel, List.of(activity), 0.15, 2100.0);
+    }
+
+    @Test
+    @DisplayName("All subtypes round-trip, including nulls, nanos and non-ASCII text")
+    void testRoundTrip() throws IOException {
+        List<Recommendation> batch = List.of(flight, hotel, activity, pkg);
+
+        assertEquals(batch, RecommendationCodec.decode(RecommendationCodec.encode(batch)));
+        assertEquals(List.of(), RecommendationCodec.decode(RecommendationCodec.encode(List.of())));
+    }
+
+    @Test
+    @DisplayName("Package components are referenced by id and not returned on their own")
+    void testPackageReferences() throws IOException {
+        byte[] packageOnly = RecommendationCodec.encode(List.of(pkg));
+        byte[] withComponents = RecommendationCodec.encode(List.of(flight, hotel, activity, pkg));
+
+        assertEquals(List.of(pkg), RecommendationCodec.decode(packageOnly));
+        // The components are written once either way; only their tags differ
+        assertEquals(packageOnly.length, withComponents.length);
+
+        var conflicting = new HotelRecommendation("H1", "Other", "Other", 0.1,
+            "Other", 1, "Tokyo", List.of(), 10.0, 1.0, false);
+        assertThrows(IllegalArgumentException.class,
+            () -> RecommendationCodec.encode(List.of(conflicting, pkg)));
+    }
+
+    @Test
+    @DisplayName("Repeated strings are written once per batch")
+    void testCompactness() throws IOException {
+        List<Recommendation> batch = new ArrayList<>();
+        long textBytes = 0;
+        for (int i = 0; i < 200; i++) {
+            var repeated = new FlightRecommendation("F" + i, "Flight to Tokyo", "Overnight", 0.5, "SFO", "HND",
+                LocalDateTime.of(2024, 3, 10, 8, 0).plusHours(i), LocalDateTime.of(2024, 3, 11, 8, 0).plusHours(i),
+                "Sky Test", true, List.of("Wi-Fi", "Meals"), 900.0 + i);
+            batch.add(repeated);
+            textBytes += (repeated.id() + repeated.title() + repeated.description() + repeated.departureAirport()
+                + repeated.arrivalAirport() + repeated.airline() + String.join("", repeated.amenities())).length();
+        }
+
+        byte[] encoded = RecommendationCodec.encode(batch);
+
+        assertEquals(batch, RecommendationCodec.decode(encoded));
+        // Numbers included, the batch is smaller than the raw text of its strings
+        assertTrue(encoded.length < textBytes, "encoded " + encoded.length + " bytes vs text " + textBytes);
+    }
+
+    @Test
+    @DisplayName("Batches are read back to back from one stream, and bad headers are rejected")
+    void testStreamsAndVersions() throws IOException {
+        var out = new ByteArrayOutputStream();
+        RecommendationCodec.encode(List.of(flight), out);
+        RecommendationCodec.encode(List.of(hotel, activity), out);
+        var in = new ByteArrayInputStream(out.toByteArray());
+
+        assertEquals(List.of(flight), RecommendationCodec.decode(in));
+        assertEquals(List.of(hotel, activity), RecommendationCodec.decode(in));
+
+        byte[] future = RecommendationCodec.encode(List.of(flight));
+        future[2] = (byte) (RecommendationCodec.SCHEMA_VERSION + 1);
+        assertThrows(IOException.class, () -> RecommendationCodec.decode(future));
+        assertThrows(IOException.class, () -> RecommendationCodec.decode(new byte[] {1, 2, 3}));
+    }
+}
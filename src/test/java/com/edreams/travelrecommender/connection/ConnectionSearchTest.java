@@ -0,0 +1,173 @@
+package com.edreams.travelrecommender.connection;
+
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the multi-leg connection search.
+ */
+@DisplayName("Connection Search Tests")
+class ConnectionSearchTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.parse("2023-10-15T00:00:00");
+    private static final Duration MINIMUM_CONNECTION = Duration.ofMinutes(45);
+    private static final Duration MAXIMUM_CONNECTION = Duration.ofHours(6);
+    private static final String[] AIRPORTS = {"JFK", "CDG", "LHR", "MAD", "BCN", "FCO", "NRT", "SYD"};
+
+    private List<FlightRecommendation> flights;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        flights = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            String from = AIRPORTS[random.nextInt(AIRPORTS.length)];
+            String to = AIRPORTS[random.nextInt(AIRPORTS.length)];
+            if (from.equals(to)) {
+                continue;
+            }
+            LocalDateTime departure = DAY.plusMinutes(random.nextInt(48 * 60));
+            flights.add(leg("F" + i, from, to, departure, departure.plusMinutes(60 + random.nextInt(600)),
+                50 + random.nextInt(900), true));
+        }
+    }
+
+    private static FlightRecommendation leg(String id, String from, String to,
+                                            LocalDateTime departure, LocalDateTime arrival,
+                                            double price, boolean direct) {
+        return new FlightRecommendation(id, "Flight " + id, "A test flight", 0.5,
+            from, to, departure, arrival, "Test Airline", direct, List.of(), price);
+    }
+
+    /**
+     * Enumerates every itinerary of up to three legs by depth-first search.
+     */
+    private List<Itinerary> allItineraries(String origin, String destination, LocalDateTime from, LocalDateTime to) {
+        List<Itinerary> found = new ArrayList<>();
+        for (FlightRecommendation first : flights) {
+            if (first.departureAirport().equals(origin)
+                    && !first.departureTime().isBefore(from) && first.departureTime().isBefore(to)) {
+                extend(new ArrayList<>(List.of(first)), destination, found);
+            }
+        }
+        return found;
+    }
+
+    private void extend(List<FlightRecommendation> path, String destination, List<Itinerary> found) {
+        FlightRecommendation last = path.get(path.size() - 1);
+        if (last.arrivalAirport().equals(destination)) {
+            found.add(new Itinerary(path));
+            return;
+        }
+        if (path.size() == ConnectionSearch.DEFAULT_MAXIMUM_LEGS) {
+            return;
+        }
+        Set<String> visited = new HashSet<>();
+        for (FlightRecommendation leg : path) {
+            visited.add(leg.departureAirport());
+        }
+        visited.add(last.arrivalAirport());
+        for (FlightRecommendation next : flights) {
+            Duration layover = Duration.between(last.arrivalTime(), next.departureTime());
+            if (next.departureAirport().equals(last.arrivalAirport())
+                    && !visited.contains(next.arrivalAirport())
+                    && layover.compareTo(MINIMUM_CONNECTION) >= 0
+                    && layover.compareTo(MAXIMUM_CONNECTION) <= 0) {
+                path.add(next);
+                extend(path, destination, found);
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("K best by price and by duration match exhaustive enumeration")
+    void testMatchesExhaustiveSearch() {
+        var search = ConnectionSearch.of(flights, MINIMUM_CONNECTION, MAXIMUM_CONNECTION, 3);
+        LocalDateTime to = DAY.plusDays(1);
+
+        for (String origin : new String[] {"JFK", "NRT"}) {
+            for (String destination : new String[] {"SYD", "CDG"}) {
+                var all = allItineraries(origin, destination, DAY, to);
+                for (ItineraryOrder order : ItineraryOrder.values()) {
+                    all.sort(order.comparator());
+                    var expected = all.subList(0, Math.min(10, all.size()));
+                    var actual = search.search(origin, destination, DAY, to, 10, order);
+
+                    assertEquals(expected.size(), actual.size());
+                    for (int i = 0; i < expected.size(); i++) {
+                        assertEquals(expected.get(i).totalPrice(), actual.get(i).totalPrice());
+                        assertEquals(expected.get(i).totalDuration(), actual.get(i).totalDuration());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Connections respect the minimum connection time and skip indirect flights")
+    void testConnectionRules() {
+        List<FlightRecommendation> legs = List.of(
+            leg("A", "JFK", "LHR", DAY.withHour(8), DAY.withHour(14), 300, true),
+            leg("B", "LHR", "NRT", DAY.withHour(14).plusMinutes(30), DAY.withHour(23), 400, true),
+            leg("C", "LHR", "NRT", DAY.withHour(16), DAY.plusDays(1).withHour(2), 500, true),
+            leg("D", "JFK", "NRT", DAY.withHour(9), DAY.withHour(20), 100, false)
+        );
+        var search = ConnectionSearch.of(legs, MINIMUM_CONNECTION);
+        assertEquals(3, search.legCount());
+
+        var itineraries = search.search("JFK", "NRT", DAY, DAY.plusDays(1), 5, ItineraryOrder.PRICE);
+        assertEquals(1, itineraries.size());
+        Itinerary best = itineraries.get(0);
+        assertEquals(List.of(legs.get(0), legs.get(2)), best.legs());
+        assertEquals(800.0, best.totalPrice());
+        assertEquals(Duration.ofHours(18), best.totalDuration());
+        assertEquals(1, best.stops());
+        assertEquals("JFK", best.origin());
+        assertEquals("NRT", best.destination());
+    }
+
+    @Test
+    @DisplayName("An earlier, cheaper arrival does not hide a later one that can still connect")
+    void testEarlierArrivalDoesNotDominate() {
+        List<FlightRecommendation> legs = List.of(
+            leg("A", "AAA", "BBB", DAY.withHour(6), DAY.withHour(7), 100, true),
+            leg("B", "AAA", "BBB", DAY.withHour(18), DAY.withHour(19), 150, true),
+            leg("C", "BBB", "CCC", DAY.plusDays(1).withHour(5), DAY.plusDays(1).withHour(7), 100, true)
+        );
+        var search = ConnectionSearch.of(legs, MINIMUM_CONNECTION);
+
+        for (ItineraryOrder order : ItineraryOrder.values()) {
+            var itineraries = search.search("AAA", "CCC", DAY, DAY.plusDays(1), 1, order);
+            assertEquals(1, itineraries.size());
+            assertEquals(List.of(legs.get(1), legs.get(2)), itineraries.get(0).legs());
+        }
+    }
+
+    @Test
+    @DisplayName("Unknown airports give no results and invalid arguments are rejected")
+    void testEdgeCases() {
+        var search = ConnectionSearch.of(flights, MINIMUM_CONNECTION);
+        assertTrue(search.search("XXX", "JFK", DAY, DAY.plusDays(1), 5, ItineraryOrder.PRICE).isEmpty());
+        assertTrue(search.search("JFK", "JFK", DAY, DAY.plusDays(1), 5, ItineraryOrder.PRICE).isEmpty());
+        assertTrue(search.search("JFK", "CDG", DAY, DAY.plusDays(1), 0, ItineraryOrder.PRICE).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () ->
+            search.search("JFK", "CDG", DAY, DAY.plusDays(1), -1, ItineraryOrder.PRICE));
+        assertThrows(IllegalArgumentException.class, () ->
+            ConnectionSearch.of(flights, Duration.ofHours(2), Duration.ofHours(1), 3));
+        assertThrows(IllegalArgumentException.class, () -> new Itinerary(List.of()));
+    }
+}
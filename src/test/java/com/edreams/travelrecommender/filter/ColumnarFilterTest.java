@@ -0,0 +1,111 @@
+package com.edreams.travelrecommender.filter;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the columnar numeric filter engine.
+ *
+ * <p>Row counts deliberately avoid multiples of 64 and of common vector lane counts,
+ * so both the bulk loop and the scalar tail are exercised.</p>
+ */
+@DisplayName("Columnar Filter Tests")
+class ColumnarFilterTest {
+
+    private List<HotelRecommendation> hotels;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        hotels = new ArrayList<>();
+        for (int i = 0; i < 203; i++) {
+            hotels.add(new HotelRecommendation(
+                "H" + i, "Hotel " + i, "A test hotel", random.nextInt(101) / 100.0,
+                "Hotel " + i, 1 + random.nextInt(5), "Test Location", List.of(),
+                50.0 + random.nextInt(300), random.nextInt(50) / 10.0, random.nextBoolean()
+            ));
+        }
+    }
+
+    @Test
+    @DisplayName("Bulk comparisons match the per-record predicate path")
+    void testMatchesFilterByPredicate() {
+        var filter = ColumnarFilter.of(hotels);
+
+        for (Comparison comparison : Comparison.values()) {
+            var expected = RecommendationService.filterByPredicate(
+                hotels, hotel -> comparison.test(hotel.pricePerNight(), 150.0));
+            var actual = filter.select(filter.where(NumericField.PRICE_PER_NIGHT, comparison, 150.0));
+            assertEquals(expected, actual, comparison.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Selections combine with AND / OR")
+    void testCombinedSelections() {
+        var filter = ColumnarFilter.of(hotels);
+
+        var fourStars = filter.where(NumericField.STAR_RATING, Comparison.GREATER_OR_EQUAL, 4);
+        var central = filter.where(NumericField.DISTANCE_TO_CENTER, Comparison.LESS_OR_EQUAL, 1.0);
+        var confident = filter.between(NumericField.CONFIDENCE_SCORE, 0.5, 0.9);
+
+        assertEquals(
+            RecommendationService.filterByPredicate(hotels,
+                h -> h.starRating() >= 4 && h.distanceToCenter() <= 1.0),
+            filter.select(fourStars.and(central)));
+        assertEquals(
+            RecommendationService.filterByPredicate(hotels,
+                h -> h.starRating() >= 4 || (h.getConfidenceScore() >= 0.5 && h.getConfidenceScore() <= 0.9)),
+            filter.select(fourStars.or(confident)));
+    }
+
+    @Test
+    @DisplayName("Active kernel agrees with the scalar fallback")
+    void testKernelsAgree() {
+        double[] column = new double[1000];
+        Random random = new Random(7);
+        for (int i = 0; i < column.length; i++) {
+            column[i] = random.nextInt(20);
+        }
+
+        for (Comparison comparison : Comparison.values()) {
+            long[] scalar = new long[Selection.wordCount(column.length)];
+            ScalarComparisonKernel.INSTANCE.compare(column, comparison, 10.0, scalar);
+            var active = ColumnarFilter.compare(column, comparison, 10.0);
+            assertArrayEquals(
+                new Selection(scalar, column.length).toIndices(), active.toIndices());
+        }
+    }
+
+    @Test
+    @DisplayName("Selection bookkeeping")
+    void testSelection() {
+        var all = Selection.all(70);
+        assertEquals(70, all.cardinality());
+        assertTrue(all.isSelected(69));
+        assertThrows(IndexOutOfBoundsException.class, () -> all.isSelected(70));
+        assertThrows(IllegalArgumentException.class, () -> all.and(Selection.all(71)));
+        assertEquals(0, ColumnarFilter.compare(new double[0], Comparison.EQUAL, 1.0).cardinality());
+    }
+
+    @Test
+    @DisplayName("Selections built from external bitmaps are copied and trimmed")
+    void testFromBitmap() {
+        long[] words = {-1L, -1L};
+        var selection = Selection.fromBitmap(words, 70);
+        words[0] = 0L;
+
+        assertEquals(70, selection.cardinality());
+        assertTrue(selection.isSelected(0));
+        assertThrows(IllegalArgumentException.class, () -> Selection.fromBitmap(new long[1], 70));
+    }
+}
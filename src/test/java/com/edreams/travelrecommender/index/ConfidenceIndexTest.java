@@ -0,0 +1,80 @@
+package com.edreams.travelrecommender.index;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the columnar confidence index.
+ */
+@DisplayName("Confidence Index Tests")
+class ConfidenceIndexTest {
+
+    private List<HotelRecommendation> hotels;
+
+    @BeforeEach
+    void setUp() {
+        hotels = List.of(
+            hotel("H1", 0.85),
+            hotel("H2", 0.60),
+            hotel("H3", 0.85),
+            hotel("H4", 0.30),
+            hotel("H5", 0.92)
+        );
+    }
+
+    private static HotelRecommendation hotel(String id, double confidence) {
+        return new HotelRecommendation(
+            id, "Hotel " + id, "A test hotel", confidence,
+            "Hotel " + id, 3, "Test Location", List.of(), 100.0, 1.0, true
+        );
+    }
+
+    @Test
+    @DisplayName("Threshold query returns matches best first with stable ties")
+    void testAtLeastOrdering() {
+        var index = ConfidenceIndex.of(hotels);
+
+        var best = index.atLeast(0.8);
+
+        assertEquals(3, best.size());
+        assertEquals("H5", best.get(0).id());
+        assertEquals("H1", best.get(1).id());
+        assertEquals("H3", best.get(2).id());
+        assertEquals(0.92, index.scoreAt(0));
+    }
+
+    @Test
+    @DisplayName("Encounter-order query matches filterByConfidence")
+    void testMatchesLinearFilter() {
+        List<Recommendation> mixed = new ArrayList<>(hotels);
+        ConfidenceIndex<Recommendation> index = ConfidenceIndex.of(mixed);
+
+        for (double threshold : new double[] {0.0, 0.3, 0.5, 0.85, 0.9, 1.0}) {
+            assertEquals(
+                RecommendationService.filterByConfidence(mixed, threshold),
+                RecommendationService.filterByConfidence(index, threshold));
+        }
+    }
+
+    @Test
+    @DisplayName("Count and views handle empty results and reject mutation")
+    void testEdgeCases() {
+        var index = ConfidenceIndex.of(hotels);
+
+        assertEquals(5, index.countAtLeast(0.0));
+        assertEquals(0, index.countAtLeast(0.95));
+        assertTrue(index.atLeast(0.95).isEmpty());
+        assertEquals(0, ConfidenceIndex.of(List.of()).size());
+        assertThrows(UnsupportedOperationException.class,
+            () -> index.atLeast(0.5).add(hotel("H6", 0.5)));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.atLeast(0.9).get(1));
+    }
+}
@@ -0,0 +1,104 @@
+package com.edreams.travelrecommender.index;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the time-window index over flight departure and arrival times.
+ */
+@DisplayName("Flight Time Index Tests")
+class FlightTimeIndexTest {
+
+    private static final LocalDateTime FRIDAY = LocalDateTime.parse("2023-10-13T00:00:00");
+    private static final String[] AIRPORTS = {"JFK", "CDG", "LHR"};
+
+    private List<FlightRecommendation> flights;
+
+    @BeforeEach
+    void setUp() {
+        flights = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            // Departures every 17 minutes and 13 seconds, so windows cut through minutes
+            LocalDateTime departure = FRIDAY.plusSeconds(i * 1_033L);
+            flights.add(new FlightRecommendation(
+                "F" + i, "Flight " + i, "A test flight", (i % 10) / 10.0,
+                AIRPORTS[i % 3], AIRPORTS[(i + 1 + i / 3) % 3], departure, departure.plusMinutes(95 + i % 60),
+                "Test Airline", true, List.of(), 100.0
+            ));
+        }
+        flights.add(new FlightRecommendation(
+            "N", "No times", "A test flight", 0.9,
+            "JFK", "CDG", null, null, "Test Airline", true, List.of(), 100.0
+        ));
+    }
+
+    private static boolean within(LocalDateTime time, LocalDateTime from, LocalDateTime to) {
+        return time != null && !time.isBefore(from) && time.isBefore(to);
+    }
+
+    @Test
+    @DisplayName("Departure and arrival windows match a linear scan")
+    void testWindowsMatchScan() {
+        var index = FlightTimeIndex.of(flights);
+        assertEquals(flights.size(), index.size());
+
+        LocalDateTime from = FRIDAY.withHour(18).withSecond(20);
+        LocalDateTime to = FRIDAY.plusDays(1).withHour(10);
+        assertEquals(
+            RecommendationService.filterByPredicate(flights, f -> within(f.departureTime(), from, to)),
+            index.select(index.departingBetween(from, to)));
+        assertEquals(
+            RecommendationService.filterByPredicate(flights, f -> within(f.arrivalTime(), from, to)),
+            index.select(index.arrivingBetween(from, to)));
+
+        assertEquals(0, index.departingBetween(from, from).cardinality());
+        assertEquals(400, index.departingBetween(LocalDateTime.MIN, LocalDateTime.MAX).cardinality());
+    }
+
+    @Test
+    @DisplayName("Windows compose with route and confidence selections")
+    void testComposition() {
+        var times = FlightTimeIndex.of(flights);
+        var confidence = ConfidenceIndex.of(flights);
+
+        LocalDateTime from = FRIDAY.withHour(18);
+        LocalDateTime to = FRIDAY.plusDays(1).withHour(10);
+        var selection = times.departingBetween(from, to)
+            .and(times.onRoute("JFK", "CDG"))
+            .and(confidence.selectAtLeast(0.5));
+
+        var expected = RecommendationService.filterByPredicate(flights, f ->
+            within(f.departureTime(), from, to)
+                && f.departureAirport().equals("JFK") && f.arrivalAirport().equals("CDG")
+                && f.getConfidenceScore() >= 0.5);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, times.select(selection));
+    }
+
+    @Test
+    @DisplayName("Route and confidence selections match their linear filters")
+    void testRouteAndConfidenceSelections() {
+        var times = FlightTimeIndex.of(flights);
+        var confidence = ConfidenceIndex.of(flights);
+
+        assertEquals(
+            RecommendationService.filterByPredicate(flights, f ->
+                f.departureAirport().equals("LHR") && f.arrivalAirport().equals("JFK")),
+            times.select(times.onRoute("LHR", "JFK")));
+        assertEquals(0, times.onRoute("SFO", "JFK").cardinality());
+        assertEquals(
+            RecommendationService.filterByConfidence(flights, 0.7),
+            times.select(confidence.selectAtLeast(0.7)));
+
+        assertThrows(IllegalArgumentException.class, () -> times.departingBetween(FRIDAY.plusDays(1), FRIDAY));
+    }
+}
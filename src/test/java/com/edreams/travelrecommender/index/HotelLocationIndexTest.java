@@ -0,0 +1,102 @@
+package com.edreams.travelrecommender.index;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-location hotel index by distance and star rating.
+ */
+@DisplayName("Hotel Location Index Tests")
+class HotelLocationIndexTest {
+
+    private static final String[] LOCATIONS = {"Paris", "London", "Rome"};
+
+    private List<HotelRecommendation> hotels;
+
+    @BeforeEach
+    void setUp() {
+        hotels = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            hotels.add(hotel("H" + i, LOCATIONS[i % 3], 1 + (i * 7) % 5, ((i * 13) % 40) / 10.0));
+        }
+    }
+
+    private static HotelRecommendation hotel(String id, String location, int stars, double distance) {
+        return new HotelRecommendation(
+            id, "Hotel " + id, "A test hotel", 0.5,
+            "Hotel " + id, stars, location, List.of(), 100.0, distance, true
+        );
+    }
+
+    private List<HotelRecommendation> scan(String location, double maximumDistance, int minimumStars) {
+        var matches = RecommendationService.filterByPredicate(hotels, h ->
+            h.location().equals(location) && h.distanceToCenter() <= maximumDistance && h.starRating() >= minimumStars);
+        matches.sort(Comparator.comparingDouble(HotelRecommendation::distanceToCenter)
+            .thenComparing(Comparator.comparingInt(HotelRecommendation::starRating).reversed()));
+        return matches;
+    }
+
+    @Test
+    @DisplayName("Range lookups match a sorted linear scan")
+    void testMatchesScan() {
+        var index = HotelLocationIndex.of(hotels);
+        assertEquals(hotels.size(), index.size());
+
+        for (String location : LOCATIONS) {
+            for (int stars = 1; stars <= 5; stars++) {
+                for (double distance : new double[] {0.0, 1.0, 2.5, 10.0}) {
+                    var expected = scan(location, distance, stars);
+                    assertEquals(expected, index.within(location, distance, stars));
+                    assertEquals(expected.size(), index.count(location, distance, stars));
+                }
+            }
+        }
+        assertTrue(index.within("Tokyo", 10.0, 1).isEmpty());
+        assertEquals(0, index.count("Paris", 10.0, 6));
+    }
+
+    @Test
+    @DisplayName("Incremental updates and rebuilds keep buckets sorted")
+    void testUpdates() {
+        var index = new HotelLocationIndex();
+        for (HotelRecommendation hotel : hotels) {
+            index.add(hotel);
+        }
+        assertEquals(scan("Paris", 1.0, 4), index.within("Paris", 1.0, 4));
+
+        var removed = index.within("Paris", 1.0, 4).get(0);
+        assertTrue(index.remove(removed));
+        assertFalse(index.remove(removed));
+        assertFalse(index.remove(hotel("X", "Tokyo", 3, 1.0)));
+        hotels.remove(removed);
+        assertEquals(scan("Paris", 1.0, 4), index.within("Paris", 1.0, 4));
+        assertEquals(hotels.size(), index.size());
+
+        index.rebuild(List.of(hotel("N", "Oslo", 5, 0.5)));
+        assertEquals(1, index.size());
+        assertTrue(index.within("Paris", 10.0, 1).isEmpty());
+        assertEquals(1, index.count("Oslo", 0.5, 5));
+    }
+
+    @Test
+    @DisplayName("Equal distances keep insertion order within a star rating")
+    void testTies() {
+        var first = hotel("A", "Paris", 4, 1.0);
+        var second = hotel("B", "Paris", 4, 1.0);
+        var better = hotel("C", "Paris", 5, 1.0);
+        var index = HotelLocationIndex.of(List.of(first, second));
+        index.add(better);
+
+        assertEquals(List.of(better, first, second), index.within("Paris", 1.0, 1));
+        assertThrows(NullPointerException.class, () -> index.add(hotel("N", null, 3, 1.0)));
+    }
+}
@@ -0,0 +1,121 @@
+package com.edreams.travelrecommender.index;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the route index over flight departure and arrival airports.
+ */
+@DisplayName("Route Index Tests")
+class RouteIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.parse("2023-10-15T00:00:00");
+    private static final String[] AIRPORTS = {"JFK", "CDG", "LHR", "MAD", "BCN"};
+
+    private List<FlightRecommendation> flights;
+
+    @BeforeEach
+    void setUp() {
+        flights = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String from = AIRPORTS[i % AIRPORTS.length];
+            String to = AIRPORTS[(i / AIRPORTS.length + 1 + i) % AIRPORTS.length];
+            // Departures repeat every 37 hours, so routes hold equal departure times
+            flights.add(flight("F" + i, from, to, BASE.plusHours((i * 7L) % 37)));
+        }
+    }
+
+    private static FlightRecommendation flight(String id, String from, String to, LocalDateTime departure) {
+        return new FlightRecommendation(
+            id, "Flight " + id, "A test flight", 0.5,
+            from, to, departure, departure.plusHours(3),
+            "Test Airline", true, List.of(), 100.0
+        );
+    }
+
+    private List<FlightRecommendation> scan(String from, String to, LocalDateTime start, LocalDateTime end) {
+        var matches = RecommendationService.filterByPredicate(flights, f ->
+            f.departureAirport().equals(from) && f.arrivalAirport().equals(to)
+                && !f.departureTime().isBefore(start) && f.departureTime().isBefore(end));
+        matches.sort(Comparator.comparing(FlightRecommendation::departureTime));
+        return matches;
+    }
+
+    @Test
+    @DisplayName("Route and window lookups match a sorted linear scan")
+    void testMatchesScan() {
+        var index = RouteIndex.of(flights);
+        assertEquals(flights.size(), index.size());
+
+        LocalDateTime start = BASE.plusHours(5);
+        LocalDateTime end = BASE.plusHours(20);
+        for (String from : AIRPORTS) {
+            for (String to : AIRPORTS) {
+                assertEquals(scan(from, to, LocalDateTime.MIN, LocalDateTime.MAX), index.flights(from, to));
+                assertEquals(scan(from, to, start, end), index.flights(from, to, start, end));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Incremental inserts and removals keep routes sorted")
+    void testIncrementalUpdates() {
+        var index = new RouteIndex();
+        for (FlightRecommendation flight : flights) {
+            index.add(flight);
+        }
+        assertEquals(RouteIndex.of(flights).flights("JFK", "CDG"), index.flights("JFK", "CDG"));
+
+        var before = index.flights("JFK", "CDG");
+        FlightRecommendation removed = before.get(before.size() / 2);
+        assertTrue(index.remove(removed));
+        assertFalse(index.remove(flight("X", "JFK", "CDG", BASE)));
+        assertFalse(index.remove(flight("X", "SFO", "CDG", BASE)));
+
+        flights.remove(removed);
+        assertEquals(scan("JFK", "CDG", LocalDateTime.MIN, LocalDateTime.MAX), index.flights("JFK", "CDG"));
+        assertEquals(flights.size(), index.size());
+        // Views taken before an update keep showing the old route
+        assertTrue(before.contains(removed));
+    }
+
+    @Test
+    @DisplayName("Equal departure times keep insertion order and sub-second bounds are honoured")
+    void testTiesAndPrecision() {
+        var index = new RouteIndex();
+        var first = flight("A", "JFK", "CDG", BASE.plusNanos(500));
+        var second = flight("B", "JFK", "CDG", BASE.plusNanos(500));
+        var earlier = flight("C", "JFK", "CDG", BASE);
+        index.add(first);
+        index.add(second);
+        index.add(earlier);
+
+        assertEquals(List.of(earlier, first, second), index.flights("JFK", "CDG"));
+        assertEquals(List.of(first, second), index.flights("JFK", "CDG", BASE.plusNanos(1), BASE.plusSeconds(1)));
+        assertEquals(List.of(earlier), index.flights("JFK", "CDG", BASE, BASE.plusNanos(500)));
+    }
+
+    @Test
+    @DisplayName("Unknown routes are empty and invalid input is rejected")
+    void testEdgeCases() {
+        var index = RouteIndex.of(flights);
+        assertTrue(index.flights("SFO", "JFK").isEmpty());
+        assertTrue(index.flights("CDG", "SFO").isEmpty());
+        long routes = flights.stream().map(f -> f.departureAirport() + "-" + f.arrivalAirport()).distinct().count();
+        assertEquals(routes, index.routeCount());
+
+        assertThrows(IllegalArgumentException.class, () -> index.flights("JFK", "CDG", BASE.plusDays(1), BASE));
+        assertThrows(NullPointerException.class, () -> index.add(flight("N", null, "CDG", BASE)));
+        assertThrows(UnsupportedOperationException.class, () -> index.flights("JFK", "CDG").clear());
+    }
+}
@@ -0,0 +1,124 @@
+package com.edreams.travelrecommender.index;
+
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import com.edreams.travelrecommender.model.Recommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the inverted full-text index.
+ */
+@DisplayName("Text Index Tests")
+class TextIndexTest {
+
+    private static final String[] WORDS = {
+        "paris", "museum", "river", "cruise", "spa", "beach", "tour", "food", "wine", "castle"
+    };
+
+    private List<HotelRecommendation> hotels;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(11);
+        hotels = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Word frequencies are skewed so that common terms have long posting lists
+            String title = WORDS[(int) Math.sqrt(random.nextInt(100))] + " Hotel";
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 6; w++) {
+                description.append(WORDS[(int) Math.sqrt(random.nextInt(100))]).append(w % 2 == 0 ? ", " : " ");
+            }
+            hotels.add(hotel("H" + i, title, description.toString(), random.nextInt(101) / 100.0));
+        }
+    }
+
+    private static HotelRecommendation hotel(String id, String title, String description, double confidence) {
+        return new HotelRecommendation(
+            id, title, description, confidence,
+            "Hotel " + id, 3, "Test Location", List.of(), 100.0, 1.0, true
+        );
+    }
+
+    private static boolean containsTerm(Recommendation rec, String term) {
+        return TextIndex.tokenize(rec.getTitle()).contains(term) || TextIndex.tokenize(rec.getDescription()).contains(term);
+    }
+
+    @Test
+    @DisplayName("Tokenization splits on non-alphanumerics and lower-cases")
+    void testTokenize() {
+        assertEquals(List.of("wi", "fi", "paris", "2024", "café"), TextIndex.tokenize("Wi-Fi, PARIS!  2024 Café"));
+        assertTrue(TextIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("AND and OR queries match a linear scan")
+    void testMatchesScan() {
+        var index = TextIndex.of(hotels);
+        assertEquals(hotels.size(), index.size());
+        assertEquals(WORDS.length + 1, index.termCount());
+
+        for (String[] query : new String[][] {{"paris"}, {"paris", "castle"}, {"museum", "wine", "spa"}, {"castle", "unknown"}}) {
+            String text = String.join(" ", query);
+            long all = hotels.stream().filter(h -> List.of(query).stream().allMatch(t -> containsTerm(h, t))).count();
+            long any = hotels.stream().filter(h -> List.of(query).stream().anyMatch(t -> containsTerm(h, t))).count();
+
+            assertEquals(all, index.count(text, TextIndex.Match.ALL));
+            assertEquals(any, index.count(text, TextIndex.Match.ANY));
+            assertEquals(Math.min(all, 5), index.search(text, TextIndex.Match.ALL, 5).size());
+            assertEquals(all, index.search(text, TextIndex.Match.ALL, hotels.size()).size());
+        }
+        assertEquals(0, index.count("", TextIndex.Match.ANY));
+    }
+
+    @Test
+    @DisplayName("Hits are ranked by BM25 blended with confidence")
+    void testRanking() {
+        List<Recommendation> catalog = List.of(
+            hotel("D", "Quiet Hotel", "Near the museum", 0.9),
+            hotel("T", "Museum Hotel", "Quiet street", 0.9),
+            hotel("L", "Museum Hotel", "Quiet street", 0.1),
+            hotel("X", "Beach Hotel", "Sunny", 0.9)
+        );
+        var index = TextIndex.of(catalog);
+
+        // A title match ranks first; high confidence lifts a description match above a
+        // low-confidence title match
+        var hits = index.search("museum", TextIndex.Match.ANY, 10);
+        assertEquals(List.of("T", "D", "L"), hits.stream().map(hit -> hit.recommendation().getId()).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+
+        // Without the confidence boost, identical texts tie and keep source order
+        var unboosted = index.search("museum", TextIndex.Match.ANY, 10, 0.0);
+        assertEquals(unboosted.get(0).score(), unboosted.get(1).score());
+        assertEquals("T", unboosted.get(0).recommendation().getId());
+
+        assertThrows(IllegalArgumentException.class, () -> index.search("museum", TextIndex.Match.ANY, -1));
+        assertThrows(IllegalArgumentException.class, () -> index.search("museum", TextIndex.Match.ANY, 1, -1.0));
+    }
+
+    @Test
+    @DisplayName("Pruned top-K hits match ranking all matches")
+    void testTopKMatchesFullRanking() {
+        var index = TextIndex.of(hotels);
+        // "hotel" is in every title, so MaxScore soon treats it as non-essential
+        for (String query : new String[] {"river cruise", "hotel castle", "paris museum wine hotel"}) {
+            for (TextIndex.Match match : TextIndex.Match.values()) {
+                var all = index.search(query, match, hotels.size());
+                for (int k : new int[] {1, 25}) {
+                    assertEquals(all.subList(0, Math.min(k, all.size())), index.search(query, match, k));
+                }
+                for (int i = 1; i < all.size(); i++) {
+                    assertTrue(all.get(i - 1).score() >= all.get(i).score());
+                }
+            }
+        }
+        assertTrue(index.search("paris", TextIndex.Match.ANY, 0).isEmpty());
+    }
+}
@@ -0,0 +1,148 @@
+package com.edreams.travelrecommender.json;
+
+import com.edreams.travelrecommender.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming JSON reader and writer.
+ */
+@DisplayName("Recommendation JSON Tests")
+class RecommendationJsonTest {
+
+    private RecommendationJsonWriter writer;
+    private RecommendationJsonReader reader;
+    private FlightRecommendation flight;
+    private HotelRecommendation hotel;
+    private ActivityRecommendation activity;
+    private PackageRecommendation pkg;
+
+    @BeforeEach
+    void setUp() {
+        writer = new RecommendationJsonWriter();
+        reader = new RecommendationJsonReader();
+        flight = new FlightRecommendation("F1", "Flight \"Express\"", "Line 1\nLine 2\t\u0001", 0.85,
+            "JFK", "NRT", LocalDateTime.of(2024, 7, 1, 10, 0), LocalDateTime.of(2024, 7, 2, 13, 5, 9, 120_000_000),
+            "Air Ünïcode 🛫", true, List.of("Wi-Fi", "Meals"), 1499.99);
+        hotel = new HotelRecommendation("H1", "Hotel \\ Backslash", null, 0.7,
+            "Hotel \ud800 Lone", 5, "Tokyo", null, 0.1 + 0.2, 1e-7, true);
+        activity = new ActivityRecommendation("A1", "Tea Ceremony", "Quiet", 0.65,
+            "Tea", "Kyoto", Duration.ofMinutes(75).plusSeconds(5), List.of("Cultural"), true, 42.0, 8);
+        pkg = new PackageRecommendation("P1", "Japan Trip", "Everything", 0.9,
+            flight, hotel, List.of(activity), 0.12, 3999.5);
+    }
+
+    @Test
+    @DisplayName("Every subtype round-trips, including escapes, surrogates and awkward doubles")
+    void testRoundTrip() {
+        for (Recommendation recommendation : List.of(flight, hotel, activity, pkg)) {
+            assertEquals(recommendation, reader.read(writer.toBytes(recommendation)));
+        }
+        var withNull = new HotelRecommendation("H2", "Hotel", "Nulls", 0.5, "Hotel", 3, "Osaka",
+            Arrays.asList("Wi-Fi", null), 80.0, 1.0, false);
+        assertEquals(withNull, reader.read(writer.toBytes(withNull)));
+    }
+
+    @Test
+    @DisplayName("Output is plain JSON with a type discriminator")
+    void testOutputShape() {
+        String json = writer.toJson(activity);
+
+        assertTrue(json.startsWith("{\"type\":\"activity\",\"id\":\"A1\""), json);
+        assertTrue(json.contains("\"duration\":\"PT1H15M5S\""), json);
+        assertTrue(json.contains("\"minimumAge\":8"), json);
+        assertTrue(writer.toJson(hotel).contains("\"description\":null"));
+    }
+
+    @Test
+    @DisplayName("Member order, whitespace, unknown members and escaped names are tolerated")
+    void testLenientInput() {
+        String json = """
+            {
+              "price" : 42.0, "extra": {"nested": [1, "two", {"three": null}], "s": "]}"},
+              "type": "activity", "id": "A1", "title": "Tea Ceremony", "description": "Quiet",
+              "confidenceScore": 65e-2, "activityName": "Tea", "location": "Kyoto",
+              "duration": "PT1H15M5S", "categories": ["Cultural"], "isIndoor": true,
+              "minimum\\u0041ge": 8
+            }
+            """;
+
+        assertEquals(activity, reader.read(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Numbers parse to the same doubles as Double.parseDouble")
+    void testNumbers() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            double price = switch (i % 4) {
+                case 0 -> random.nextDouble() * 10_000;
+                case 1 -> Math.round(random.nextDouble() * 1_000_000) / 100.0;
+                case 2 -> random.nextDouble() * 1e-5;
+                default -> random.nextInt(5000);
+            };
+            var priced = new HotelRecommendation("H", "T", "D", 0.5, "N", 3, "L", List.of(), price, 0.0, false);
+            var parsed = (HotelRecommendation) reader.read(writer.toBytes(priced));
+            assertEquals(price, parsed.pricePerNight());
+        }
+        String digits = "{\"type\":\"hotel\",\"starRating\":3,\"pricePerNight\":0.30000000000000004441,\"distanceToCenter\":123456789012345678}";
+        var parsed = (HotelRecommendation) reader.read(digits.getBytes(StandardCharsets.UTF_8));
+        assertEquals(0.30000000000000004441, parsed.pricePerNight());
+        assertEquals(123456789012345678.0, parsed.distanceToCenter());
+    }
+
+    @Test
+    @DisplayName("Line-delimited feeds stream through heap and direct buffers")
+    void testLines() throws IOException {
+        List<Recommendation> feed = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            feed.add(i % 2 == 0 ? flight : pkg);
+        }
+        var out = new ByteArrayOutputStream();
+        long written = writer.writeLines(feed, out);
+        byte[] bytes = out.toByteArray();
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+        assertEquals(bytes.length, written);
+        assertEquals(feed, reader.readLines(ByteBuffer.wrap(bytes)));
+        assertEquals(feed, reader.readLines(direct));
+        assertFalse(direct.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Malformed input reports the offending byte")
+    void testErrors() {
+        var truncated = assertThrows(IllegalArgumentException.class,
+            () -> reader.read("{\"type\":\"flight\",\"id\":\"F".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(truncated.getMessage().contains("at byte"));
+        assertThrows(IllegalArgumentException.class,
+            () -> reader.read("{\"id\":\"X\"}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class,
+            () -> reader.read("{\"type\":\"cruise\"}".getBytes(StandardCharsets.UTF_8)));
+        var trailing = assertThrows(IllegalArgumentException.class,
+            () -> reader.read("{\"type\":\"hotel\",\"starRating\":3} garbage {[".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(trailing.getMessage().contains("at byte 32"));
+        assertThrows(IllegalArgumentException.class,
+            () -> reader.read("{\"type\":\"package\",\"flight\":{\"type\":\"hotel\",\"starRating\":1}}".getBytes(StandardCharsets.UTF_8)));
+        String deep = "{\"type\":\"hotel\",\"hotel\":".repeat(20_000) + "{}" + "}".repeat(20_000);
+        var nested = assertThrows(IllegalArgumentException.class,
+            () -> reader.read(deep.getBytes(StandardCharsets.UTF_8)));
+        assertTrue(nested.getMessage().contains("top-level package"));
+        var nan = new HotelRecommendation("H", "T", "D", 0.5, "N", 3, "L", List.of(), Double.NaN, 0.0, false);
+        assertThrows(IllegalArgumentException.class, () -> writer.toBytes(nan));
+    }
+}
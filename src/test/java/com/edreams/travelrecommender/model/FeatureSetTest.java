@@ -0,0 +1,129 @@
+package com.edreams.travelrecommender.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for amenity and category bitsets.
+ */
+@DisplayName("Feature Set Tests")
+class FeatureSetTest {
+
+    private static HotelRecommendation hotel(List<String> amenities) {
+        return new HotelRecommendation(
+            "H1", "Test Hotel", "A test hotel", 0.7,
+            "Test Hotel", 4, "Test City", amenities, 100.0, 1.0, true
+        );
+    }
+
+    private static ActivityRecommendation activity(List<String> categories, boolean indoor) {
+        return new ActivityRecommendation(
+            "A1", "Test Activity", "A test activity", 0.6,
+            "Test Activity", "Test City", Duration.ofHours(2),
+            categories, indoor, 30.0, 0
+        );
+    }
+
+    @Test
+    @DisplayName("A feature set behaves like an immutable copy of its list")
+    void testListBehavior() {
+        var source = new ArrayList<>(List.of("Pool", "Spa", "Wi-Fi"));
+        var features = FeatureSet.of(source);
+        source.add("Gym");
+
+        assertEquals(List.of("Pool", "Spa", "Wi-Fi"), features);
+        assertEquals(List.of("Pool", "Spa", "Wi-Fi").hashCode(), features.hashCode());
+        assertEquals("[Pool, Spa, Wi-Fi]", features.toString());
+        assertTrue(features.contains("Spa"));
+        assertFalse(features.contains("Gym"));
+        assertFalse(features.contains("Never registered anywhere"));
+        assertSame(features, FeatureSet.of(features));
+        assertThrows(UnsupportedOperationException.class, () -> features.add("Gym"));
+    }
+
+    @Test
+    @DisplayName("Records wrap their lists and keep value equality")
+    void testRecordsCarryMasks() {
+        var plain = hotel(List.of("Pool", "Spa"));
+        var copy = hotel(new ArrayList<>(List.of("Pool", "Spa")));
+
+        assertInstanceOfFeatureSet(plain.amenities());
+        assertEquals(plain, copy);
+        assertTrue(plain.hasAmenities(FeatureSet.of("Pool", "Spa")));
+        assertFalse(plain.hasAmenities(FeatureSet.of("Pool", "Gym")));
+        assertTrue(plain.hasAmenities(FeatureSet.of()));
+        assertFalse(hotel(null).hasAmenities(FeatureSet.of("Pool")));
+    }
+
+    @Test
+    @DisplayName("Masks work beyond the first 64 registered names")
+    void testWideMasks() {
+        List<String> many = IntStream.range(0, 150).mapToObj(i -> "Feature-" + i).toList();
+        var all = FeatureSet.of(many);
+        var last = FeatureSet.of("Feature-149");
+
+        assertTrue(all.containsAll(last));
+        assertTrue(all.containsAny(last));
+        assertTrue(all.contains("Feature-149"));
+        assertFalse(FeatureSet.of("Feature-0").containsAll(last));
+        assertFalse(FeatureSet.of("Feature-0").containsAny(last));
+    }
+
+    @Test
+    @DisplayName("Null elements are accepted and found by a scan")
+    void testNullElements() {
+        var withNull = Arrays.asList("Pool", null, "Spa");
+        var plain = hotel(withNull);
+
+        assertEquals(withNull, plain.amenities());
+        assertTrue(plain.amenities().contains(null));
+        assertTrue(plain.hasAmenities(FeatureSet.of("Pool", "Spa")));
+        assertTrue(FeatureSet.of(withNull).containsAll(FeatureSet.of((String) null)));
+        assertFalse(FeatureSet.of("Pool").contains(null));
+        assertFalse(FeatureSet.of("Pool").containsAny(FeatureSet.of((String) null)));
+    }
+
+    @Test
+    @DisplayName("Names beyond the registry capacity fall back to a scan")
+    void testRegistryCapacity() {
+        List<String> flood = IntStream.range(0, FeatureSet.REGISTRY_CAPACITY + 100)
+            .mapToObj(i -> "Flood-" + i).toList();
+        var all = FeatureSet.of(flood);
+        var overflow = FeatureSet.of("Flood-" + (FeatureSet.REGISTRY_CAPACITY + 99), "Pool");
+        var free = FeatureSet.of("Free text that is not an amenity");
+
+        assertEquals(flood, all);
+        assertTrue(all.contains("Flood-" + (FeatureSet.REGISTRY_CAPACITY + 50)));
+        assertTrue(overflow.contains("Pool"));
+        assertTrue(all.containsAny(overflow));
+        assertFalse(all.containsAll(overflow));
+        assertTrue(all.containsAll(FeatureSet.of(flood.subList(flood.size() - 10, flood.size()))));
+        assertFalse(all.contains("Free text that is not an amenity"));
+        assertFalse(all.containsAny(free));
+        assertTrue(free.containsAll(FeatureSet.of("Free text that is not an amenity")));
+    }
+
+    @Test
+    @DisplayName("Activity type is derived from the category mask")
+    void testActivityType() {
+        assertEquals("Outdoor Adventure", activity(List.of("Adventure"), false).getActivityType());
+        assertEquals("Indoor Activity", activity(List.of("Adventure"), true).getActivityType());
+        assertEquals("Cultural Experience", activity(List.of("Art", "Museum"), true).getActivityType());
+        assertEquals("Culinary Experience", activity(List.of("Dining"), false).getActivityType());
+        assertEquals("Outdoor Activity", activity(List.of("Sightseeing"), false).getActivityType());
+        assertTrue(activity(List.of("Art", "Museum"), true).hasAnyCategory(FeatureSet.of("Museum", "Food")));
+        assertTrue(activity(List.of("Art", "Museum"), true).hasCategories(FeatureSet.of("Art", "Museum")));
+    }
+
+    private static void assertInstanceOfFeatureSet(List<String> list) {
+        assertTrue(list instanceof FeatureSet, "Expected a FeatureSet but got " + list.getClass());
+    }
+}
@@ -0,0 +1,89 @@
+package com.edreams.travelrecommender.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for derived package prices and their batch computation.
+ */
+@DisplayName("Package Metrics Tests")
+class PackageMetricsTest {
+
+    private static final FlightRecommendation FLIGHT = new FlightRecommendation(
+        "F1", "Test Flight", "A test flight", 0.8, "JFK", "CDG",
+        LocalDateTime.parse("2023-10-15T08:00:00"), LocalDateTime.parse("2023-10-15T20:00:00"),
+        "Test Airline", true, List.of(), 500.0);
+    private static final HotelRecommendation HOTEL = new HotelRecommendation(
+        "H1", "Test Hotel", "A test hotel", 0.7, "Test Hotel", 4, "Paris", List.of(), 100.0, 1.0, true);
+
+    private static ActivityRecommendation activity(String id, double price) {
+        return new ActivityRecommendation(id, "Activity " + id, "A test activity", 0.6, "Activity " + id,
+            "Paris", Duration.ofHours(2), List.of("Cultural"), false, price, 0);
+    }
+
+    private static PackageRecommendation pkg(List<ActivityRecommendation> activities, double totalPrice) {
+        return new PackageRecommendation("P1", "Test Package", "A test package", 0.8,
+            FLIGHT, HOTEL, activities, 0.1, totalPrice);
+    }
+
+    @Test
+    @DisplayName("Metrics hold the duration, individual price and savings of a package")
+    void testMetrics() {
+        var recommendation = pkg(List.of(activity("A1", 40.0), activity("A2", 60.0)), 750.0);
+        PackageMetrics metrics = recommendation.metrics();
+
+        assertEquals(3, metrics.durationInDays());
+        assertEquals(900.0, metrics.individualPrice());
+        assertEquals(150.0, metrics.savingsAmount());
+        assertEquals(recommendation.getIndividualPrice(), metrics.individualPrice());
+        assertEquals(recommendation.getSavingsAmount(), metrics.savingsAmount());
+
+        List<ActivityRecommendation> many = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            many.add(activity("A" + i, 10.0));
+        }
+        assertEquals(4, pkg(many, 900.0).metrics().durationInDays());
+        assertEquals(980.0, pkg(many, 900.0).metrics().individualPrice());
+    }
+
+    @Test
+    @DisplayName("Activity prices are summed exactly like DoubleStream.sum()")
+    void testCompensatedSummation() {
+        List<ActivityRecommendation> cents = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            cents.add(activity("C" + i, 0.1 + i * 1e-3));
+        }
+        List<ActivityRecommendation> mixed = List.of(activity("M1", 1e15), activity("M2", 0.3),
+            activity("M3", 0.3), activity("M4", 0.3), activity("M5", 1e-3));
+        for (List<ActivityRecommendation> activities : List.of(cents, mixed)) {
+            var recommendation = pkg(activities, 500.0);
+            double expected = FLIGHT.price() + HOTEL.pricePerNight() * recommendation.getDurationInDays()
+                + activities.stream().mapToDouble(ActivityRecommendation::price).sum();
+            assertEquals(expected, recommendation.getIndividualPrice());
+        }
+    }
+
+    @Test
+    @DisplayName("Batch savings match the per-package values for any list")
+    void testSavingsAmounts() {
+        List<PackageRecommendation> packages = new LinkedList<>();
+        for (int i = 0; i < 20; i++) {
+            packages.add(pkg(List.of(activity("A" + i, 10.0 + i * 3.7), activity("B" + i, 0.3 * i)), 600.0 + i));
+        }
+        double[] savings = PackageMetrics.savingsAmounts(packages);
+
+        assertEquals(packages.size(), savings.length);
+        for (int i = 0; i < savings.length; i++) {
+            assertEquals(packages.get(i).getSavingsAmount(), savings[i]);
+        }
+        assertEquals(0, PackageMetrics.savingsAmounts(List.of()).length);
+    }
+}
@@ -0,0 +1,123 @@
+package com.edreams.travelrecommender.offheap;
+
+import com.edreams.travelrecommender.filter.Comparison;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the off-heap hotel and flight stores.
+ */
+@DisplayName("Off-Heap Store Tests")
+class OffHeapStoreTest {
+
+    private List<HotelRecommendation> hotels;
+    private List<FlightRecommendation> flights;
+
+    @BeforeEach
+    void setUp() {
+        hotels = List.of(
+            new HotelRecommendation("H1", "Budget Inn", "Cheap stay", 0.6,
+                "Budget Inn", 2, "Paris", List.of("Wi-Fi"), 80.0, 3.5, false),
+            new HotelRecommendation("H2", "Grand Hotel", "Luxury stay", 0.9,
+                "Grand Hotel", 5, "Paris", List.of("Pool", "Spa"), 400.0, 0.4, true),
+            new HotelRecommendation("H3", "Città Rooms ✈ 🏨", "Central stay", 0.7,
+                "City Rooms", 4, "Rome", List.of("Wi-Fi"), 150.0, 0.8, true)
+        );
+        flights = List.of(
+            new FlightRecommendation("F1", "Morning", "Early flight", 0.8, "JFK", "LAX",
+                LocalDateTime.of(2024, 5, 1, 8, 0), LocalDateTime.of(2024, 5, 1, 11, 30, 15, 500),
+                "Alpha", true, List.of("Wi-Fi"), 300.0),
+            new FlightRecommendation("F2", "Evening", null, 0.5, "JFK", "SFO",
+                LocalDateTime.of(2024, 5, 1, 19, 0), LocalDateTime.of(2024, 5, 1, 22, 45),
+                "Beta", false, null, 180.0)
+        );
+    }
+
+    @Test
+    @DisplayName("Materialized hotels equal the originals")
+    void testHotelRoundTrip() {
+        try (var store = OffHeapHotelStore.copyOf(hotels)) {
+            assertEquals(3, store.size());
+            assertEquals(hotels, store.asList());
+            assertEquals(hotels.get(1), store.get(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(3));
+        }
+    }
+
+    @Test
+    @DisplayName("Hotel filters and categories run on the columns")
+    void testHotelQueries() {
+        try (var store = OffHeapHotelStore.copyOf(hotels)) {
+            var central = store.where(OffHeapHotelStore.Column.DISTANCE_TO_CENTER, Comparison.LESS_THAN, 1.0);
+            var paris = store.locatedIn("Paris");
+
+            assertEquals(List.of(hotels.get(1)), store.select(central.and(paris)));
+            assertEquals(0, store.locatedIn("Berlin").cardinality());
+            assertEquals(2, store.where(OffHeapHotelStore.Column.STAR_RATING, Comparison.GREATER_OR_EQUAL, 4).cardinality());
+
+            var types = store.categorizeByHotelType();
+            assertEquals(List.of("Budget", "Premium", "Luxury"), List.copyOf(types.keySet()));
+            assertEquals(List.of(hotels.get(2)), store.select(types.get("Premium")));
+
+            var locations = store.categorizeByLocation();
+            assertEquals(List.of("Paris", "Rome"), List.copyOf(locations.keySet()));
+            assertEquals(2, locations.get("Paris").cardinality());
+        }
+    }
+
+    @Test
+    @DisplayName("A cursor reads fields without materializing records")
+    void testCursor() {
+        try (var store = OffHeapHotelStore.copyOf(hotels)) {
+            var cursor = store.cursor();
+            double total = 0;
+            for (int i = 0; i < store.size(); i++) {
+                total += cursor.moveTo(i).pricePerNight();
+            }
+            assertEquals(630.0, total);
+            assertEquals("Rome", cursor.location());
+            assertEquals(4, cursor.starRating());
+            assertEquals(hotels.get(2), cursor.toRecord());
+        }
+    }
+
+    @Test
+    @DisplayName("Flights round-trip including nanos and null fields, and filter by code")
+    void testFlights() {
+        try (var store = OffHeapFlightStore.copyOf(flights)) {
+            assertEquals(flights, store.asList());
+            assertEquals(2, store.departsFrom("JFK").cardinality());
+            assertEquals(List.of(flights.get(0)), store.select(store.arrivesAt("LAX").and(store.directOnly())));
+            assertEquals(0, store.operatedBy("Gamma").cardinality());
+
+            long evening = LocalDateTime.of(2024, 5, 1, 12, 0).toEpochSecond(ZoneOffset.UTC);
+            var late = store.where(OffHeapFlightStore.Column.DEPARTURE_EPOCH_SECOND, Comparison.GREATER_THAN, evening);
+            assertEquals(List.of(flights.get(1)), store.select(late));
+            assertEquals(List.of("Alpha", "Beta"), List.copyOf(store.categorizeByAirline().keySet()));
+            assertEquals("SFO", store.cursor().moveTo(1).arrivalAirport());
+        }
+    }
+
+    @Test
+    @DisplayName("Closed stores reject access and empty stores work")
+    void testLifecycle() {
+        var store = OffHeapHotelStore.copyOf(hotels);
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.get(0));
+
+        try (var empty = OffHeapFlightStore.copyOf(List.of())) {
+            assertEquals(0, empty.size());
+            assertEquals(0, empty.directOnly().cardinality());
+            assertTrue(empty.categorizeByAirline().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.edreams.travelrecommender.render;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded description cache.
+ */
+@DisplayName("Description Cache Tests")
+class DescriptionCacheTest {
+
+    private FlightRecommendation flight;
+    private ActivityRecommendation activity;
+
+    @BeforeEach
+    void setUp() {
+        flight = new FlightRecommendation(
+            "F1", "Test Flight", "A test flight", 0.8,
+            "SRC", "DST", LocalDateTime.of(2024, 1, 1, 8, 0), LocalDateTime.of(2024, 1, 1, 13, 20),
+            "Test Airline", true, List.of("Wi-Fi"), 200.0
+        );
+        activity = new ActivityRecommendation(
+            "A1", "Test Activity", "A test activity", 0.6,
+            "Test Activity", "Test Location", Duration.ofMinutes(150),
+            List.of("Test"), false, 50.0, 10
+        );
+    }
+
+    @Test
+    @DisplayName("Cached strings match the uncached methods and count hits")
+    void testHitsAndMisses() {
+        var cache = new DescriptionCache(10);
+
+        String first = cache.describe(flight);
+        String second = cache.describe(flight);
+
+        assertEquals(RecommendationService.describeRecommendation(flight), first);
+        assertSame(first, second);
+        assertEquals(flight.getDuration(), cache.duration(flight));
+        assertEquals(activity.getFormattedDuration(), cache.formattedDuration(activity));
+
+        var stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(3, stats.misses());
+        assertEquals(3, stats.size());
+        assertEquals(0.25, stats.hitRate());
+    }
+
+    @Test
+    @DisplayName("Equal records that are different instances get separate entries")
+    void testIdentityKeys() {
+        var cache = new DescriptionCache(10);
+        var updated = new FlightRecommendation(
+            flight.id(), flight.title(), flight.description(), flight.confidenceScore(),
+            flight.departureAirport(), flight.arrivalAirport(), flight.departureTime(), flight.arrivalTime(),
+            flight.airline(), flight.isDirect(), flight.amenities(), 250.0);
+
+        cache.describe(flight);
+        assertTrue(cache.describe(updated).endsWith("$250.00"));
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    @DisplayName("Least recently used entries are evicted at the size bound")
+    void testEviction() {
+        var cache = new DescriptionCache(2);
+
+        cache.describe(flight);
+        cache.describe(activity);
+        cache.describe(flight);               // flight becomes most recently used
+        cache.formattedDuration(activity);    // evicts the activity description
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.stats().evictions());
+        cache.describe(flight);
+        assertEquals(2, cache.stats().hits());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new DescriptionCache(0));
+    }
+
+    @Test
+    @DisplayName("Concurrent lookups return correct strings and respect the bound")
+    void testConcurrentLookups() throws Exception {
+        var cache = new DescriptionCache(50);
+        List<FlightRecommendation> flights = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            flights.add(new FlightRecommendation("F" + i, "Flight " + i, "A test flight", 0.8,
+                "SRC", "DST", flight.departureTime(), flight.arrivalTime(), "Test Airline", true, List.of(), 100.0 + i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                long seed = thread;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 20_000; i++) {
+                        // Skewed towards the first flights so that some entries stay hot
+                        var target = flights.get(random.nextInt(1 + random.nextInt(flights.size())));
+                        assertEquals(RecommendationService.describeRecommendation(target), cache.describe(target));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        var stats = cache.stats();
+        assertTrue(stats.size() <= 50);
+        assertEquals(80_000, stats.hits() + stats.misses());
+        assertTrue(stats.hits() > 0);
+        assertTrue(stats.evictions() > 0);
+    }
+}
@@ -0,0 +1,101 @@
+package com.edreams.travelrecommender.render;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming UTF-8 description exporter.
+ */
+@DisplayName("Description Exporter Tests")
+class DescriptionExporterTest {
+
+    private List<Recommendation> recommendations;
+    private byte[] expected;
+
+    @BeforeEach
+    void setUp() {
+        recommendations = new ArrayList<>();
+        // Two-, three- and four-byte characters plus an unpaired surrogate
+        String[] locations = {"Zürich", "東京", "Paris 🗼", "broken \uD800 text", "Lisbon"};
+        for (int i = 0; i < 50; i++) {
+            String location = locations[i % locations.length];
+            recommendations.add(new HotelRecommendation(
+                "H" + i, "Hotel " + i, "desc", 0.5, "Hôtel " + i, 1 + i % 5,
+                location, List.of(), 80.0 + i, 1.0, true));
+            recommendations.add(new ActivityRecommendation(
+                "A" + i, "Activity " + i, "desc", 0.5, "Tour " + i, location,
+                Duration.ofMinutes(45 + i), List.of(), false, 20.0 + i, 0));
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (Recommendation rec : recommendations) {
+            text.append(RecommendationService.describeRecommendation(rec)).append('\n');
+        }
+        expected = text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Channel export matches getBytes(UTF_8), even with a tiny buffer")
+    void testExportToChannel() throws Exception {
+        for (int capacity : new int[] {4, 7, 64, 1 << 16}) {
+            var exporter = new DescriptionExporter(RecommendationRenderer.create(), capacity);
+            var out = new ByteArrayOutputStream();
+
+            long written = exporter.export(recommendations, Channels.newChannel(out));
+
+            assertEquals(expected.length, written);
+            assertArrayEquals(expected, out.toByteArray());
+        }
+    }
+
+    @Test
+    @DisplayName("File export writes the same bytes")
+    void testExportToFile() throws Exception {
+        Path file = Files.createTempFile("descriptions", ".txt");
+        try {
+            var exporter = new DescriptionExporter(RecommendationRenderer.create(), 256);
+            assertEquals(expected.length, exporter.export(recommendations, file));
+            assertArrayEquals(expected, Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Buffer export stops at whole lines and resumes from the returned index")
+    void testEncodeIntoBuffer() {
+        var exporter = new DescriptionExporter(RecommendationRenderer.create(), 16);
+        ByteBuffer target = ByteBuffer.allocate(300);
+        var out = new ByteArrayOutputStream();
+
+        int next = 0;
+        while (next < recommendations.size()) {
+            target.clear();
+            int end = exporter.encodeInto(recommendations, next, target);
+            assertTrue(end > next);
+            out.write(target.array(), 0, target.position());
+            next = end;
+        }
+        assertArrayEquals(expected, out.toByteArray());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> exporter.encodeInto(recommendations, 0, ByteBuffer.allocate(10)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new DescriptionExporter(RecommendationRenderer.create(), 3));
+    }
+}
@@ -0,0 +1,106 @@
+package com.edreams.travelrecommender.render;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the precompiled renderer reproduces {@code describeRecommendation} exactly.
+ */
+@DisplayName("Recommendation Renderer Tests")
+class RecommendationRendererTest {
+
+    private static List<Recommendation> randomRecommendations(long seed, int count) {
+        Random random = new Random(seed);
+        List<Recommendation> recommendations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Prices with three decimals hit the half-up rounding ties of %.2f
+            double price = random.nextInt(2_000_000) / 1000.0;
+            var flight = new FlightRecommendation(
+                "F" + i, "Flight " + i, "desc", 0.5, "AAA", "BBB",
+                LocalDateTime.of(2024, 5, 1, 8, 0), LocalDateTime.of(2024, 5, 1, 11, 30),
+                "Airline " + i, random.nextBoolean(), List.of(), price);
+            var hotel = new HotelRecommendation(
+                "H" + i, "Hotel " + i, "desc", 0.5, "Hotel 'Q' " + i, 1 + random.nextInt(5),
+                "City " + i, List.of(), random.nextDouble() * 500, 1.0, true);
+            var activity = new ActivityRecommendation(
+                "A" + i, "Activity " + i, "desc", 0.5, "Activity " + i, "City " + i,
+                Duration.ofMinutes(random.nextInt(600)), List.of(), false,
+                random.nextInt(100_000) / 1000.0, 0);
+            // Savings can be negative, which exercises the sign handling
+            var pkg = new PackageRecommendation(
+                "P" + i, "Package " + i, "desc", 0.5, flight, hotel, List.of(activity, activity),
+                0.1, random.nextInt(5_000_000) / 1000.0);
+            recommendations.addAll(List.of(flight, hotel, activity, pkg));
+        }
+        return recommendations;
+    }
+
+    @Test
+    @DisplayName("Output is identical to describeRecommendation")
+    void testMatchesDescribeRecommendation() {
+        var renderer = RecommendationRenderer.create();
+        for (Recommendation rec : randomRecommendations(1, 2_000)) {
+            assertEquals(RecommendationService.describeRecommendation(rec), renderer.describe(rec));
+        }
+    }
+
+    @Test
+    @DisplayName("Output is identical under locales with other separators and digits")
+    void testMatchesUnderOtherLocales() {
+        Locale original = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            for (Locale locale : List.of(Locale.GERMANY, Locale.forLanguageTag("ar-EG"), Locale.forLanguageTag("hi-IN-u-nu-deva"))) {
+                Locale.setDefault(Locale.Category.FORMAT, locale);
+                var renderer = RecommendationRenderer.create();
+                for (Recommendation rec : randomRecommendations(2, 200)) {
+                    assertEquals(RecommendationService.describeRecommendation(rec), renderer.describe(rec),
+                        locale.toLanguageTag());
+                }
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, original);
+        }
+    }
+
+    @Test
+    @DisplayName("Renders into caller-supplied builders and appendables")
+    void testRenderTargets() throws Exception {
+        var renderer = RecommendationRenderer.forLocale(Locale.US);
+        var rec = randomRecommendations(3, 1).getFirst();
+
+        StringBuilder builder = new StringBuilder("> ");
+        renderer.render(rec, builder).append(" <");
+        assertEquals("> " + renderer.describe(rec) + " <", builder.toString());
+
+        StringWriter writer = new StringWriter();
+        renderer.render(rec, writer);
+        assertEquals(renderer.describe(rec), writer.toString());
+    }
+
+    @Test
+    @DisplayName("Two-decimal format matches %.2f at the edges")
+    void testTwoDecimalEdges() {
+        var format = new TwoDecimalFormat(Locale.US);
+        for (double value : new double[] {0.0, -0.0, 0.005, 0.015, 0.125, 1.005, 2.675, -0.001,
+                -12.345, 9_999_999.995, 1e7, 1e300, Double.NaN, Double.NEGATIVE_INFINITY, 0.29}) {
+            StringBuilder out = new StringBuilder();
+            format.appendFixed2(out, value);
+            assertEquals(String.format(Locale.US, "%.2f", value), out.toString(), Double.toString(value));
+        }
+        StringBuilder out = new StringBuilder();
+        format.appendInteger(out, Long.MIN_VALUE);
+        assertEquals(String.format(Locale.US, "%d", Long.MIN_VALUE), out.toString());
+    }
+}
@@ -0,0 +1,148 @@
+package com.edreams.travelrecommender.repository;
+
+import com.edreams.travelrecommender.model.ActivityRecommendation;
+import com.edreams.travelrecommender.model.FlightRecommendation;
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import com.edreams.travelrecommender.model.PackageRecommendation;
+import com.edreams.travelrecommender.model.Recommendation;
+import com.edreams.travelrecommender.model.RecommendationCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the concurrent recommendation repository.
+ */
+@DisplayName("Recommendation Repository Tests")
+class RecommendationRepositoryTest {
+
+    private RecommendationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RecommendationRepository();
+    }
+
+    private static FlightRecommendation flight(String id, double price) {
+        return new FlightRecommendation(id, "Flight " + id, "A test flight", 0.8, "JFK", "CDG",
+            LocalDateTime.parse("2023-10-15T08:00:00"), LocalDateTime.parse("2023-10-15T20:00:00"),
+            "Test Airline", true, List.of(), price);
+    }
+
+    private static HotelRecommendation hotel(String id, double price) {
+        return new HotelRecommendation(id, "Hotel " + id, "A test hotel", 0.7, "Hotel " + id, 4, "Paris",
+            List.of(), price, 1.0, true);
+    }
+
+    private static ActivityRecommendation activity(String id) {
+        return new ActivityRecommendation(id, "Activity " + id, "A test activity", 0.6, "Activity " + id,
+            "Paris", Duration.ofHours(2), List.of("Cultural"), false, 40.0, 0);
+    }
+
+    @Test
+    @DisplayName("Records are found by id and listed in the view of their type")
+    void testPutAndViews() {
+        var flight = flight("X1", 500);
+        var hotel = hotel("X2", 120);
+        var activity = activity("X3");
+        var pkg = new PackageRecommendation("X4", "Package", "A test package", 0.8, flight, hotel,
+            List.of(activity), 0.1, 700);
+        repository.putAll(List.of(flight, hotel, activity, pkg));
+
+        assertEquals(4, repository.size());
+        assertEquals(new RecommendationCounts(1, 1, 1, 1), repository.counts());
+        assertEquals(flight, repository.findById("X1").orElseThrow());
+        assertEquals(hotel, repository.findById("X2", HotelRecommendation.class).orElseThrow());
+        assertTrue(repository.findById("X2", FlightRecommendation.class).isEmpty());
+        assertTrue(repository.findById("missing").isEmpty());
+        assertEquals(pkg, repository.packages().get("X4"));
+        assertEquals(activity, repository.activities().get("X3"));
+        assertEquals(4, repository.all().size());
+        assertThrows(UnsupportedOperationException.class, () -> repository.flights().clear());
+    }
+
+    @Test
+    @DisplayName("Writes replace, remove and move records between type views")
+    void testWrites() {
+        var original = flight("R1", 500);
+        var repriced = flight("R1", 450);
+        assertNull(repository.replace(original));
+        assertTrue(repository.findById("R1").isEmpty());
+
+        assertNull(repository.put(original));
+        assertEquals(original, repository.putIfAbsent(repriced));
+        assertEquals(original, repository.findById("R1").orElseThrow());
+
+        assertTrue(repository.replace(original, repriced));
+        assertFalse(repository.replace(original, flight("R1", 400)));
+        assertEquals(repriced, repository.flights().get("R1"));
+
+        var sameIdHotel = hotel("R1", 90);
+        assertEquals(repriced, repository.put(sameIdHotel));
+        assertTrue(repository.flights().isEmpty());
+        assertEquals(sameIdHotel, repository.hotels().get("R1"));
+
+        assertEquals(sameIdHotel, repository.remove("R1"));
+        assertNull(repository.remove("R1"));
+        assertEquals(0, repository.size());
+        assertEquals(0, repository.counts().total());
+
+        assertThrows(IllegalArgumentException.class, () -> repository.replace(original, flight("R2", 1)));
+        assertThrows(NullPointerException.class, () -> repository.put(flight(null, 1)));
+    }
+
+    @Test
+    @DisplayName("Concurrent writers leave the id map and type views consistent")
+    void testConcurrentWrites() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                long seed = thread;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 20_000; i++) {
+                        String id = "C" + random.nextInt(200);
+                        switch (random.nextInt(5)) {
+                            case 0 -> repository.put(flight(id, random.nextInt(1_000)));
+                            case 1 -> repository.put(hotel(id, random.nextInt(500)));
+                            case 2 -> repository.remove(id);
+                            case 3 -> repository.findById(id).ifPresent(current ->
+                                repository.replace(current, activity(id)));
+                            default -> repository.findById(id, FlightRecommendation.class);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        RecommendationCounts counts = repository.counts();
+        assertEquals(repository.size(), counts.total());
+        for (Recommendation recommendation : repository.all()) {
+            String id = recommendation.getId();
+            Recommendation viewed = switch (recommendation) {
+                case FlightRecommendation flight -> repository.flights().get(id);
+                case HotelRecommendation hotel -> repository.hotels().get(id);
+                case ActivityRecommendation activity -> repository.activities().get(id);
+                case PackageRecommendation pkg -> repository.packages().get(id);
+            };
+            assertSame(recommendation, viewed);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.edreams.travelrecommender.snapshot;
+
+import com.edreams.travelrecommender.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the memory-mapped catalog snapshot.
+ */
+@DisplayName("Catalog Snapshot Tests")
+class CatalogSnapshotTest {
+
+    private List<Recommendation> catalog;
+
+    @BeforeEach
+    void setUp() {
+        var flight = new FlightRecommendation("F1", "Flight to Paris", "Direct", 0.9, "JFK", "CDG",
+            LocalDateTime.of(2024, 6, 1, 18, 0), LocalDateTime.of(2024, 6, 2, 7, 30, 0, 250),
+            "Air Test", true, List.of("Wi-Fi", "Meals"), 650.0);
+        var hotel = new HotelRecommendation("H1", "Hôtel Étoile", null, 0.7,
+            "Hôtel Étoile", 4, "Paris", null, 220.0, 0.6, true);
+        var activity = new ActivityRecommendation("A1", "Louvre Tour", "Museum visit", 0.5,
+            "Louvre", "Paris", Duration.ofMinutes(150), List.of("Cultural", "Museum"), true, 45.0, 0);
+        var pkg = new PackageRecommendation("P1", "Paris Week", "Everything included", 0.95,
+            flight, hotel, List.of(activity), 0.1, 1400.0);
+        catalog = List.of(pkg, activity, flight, hotel);
+    }
+
+    private Path writeSnapshot(List<? extends Recommendation> recommendations) throws IOException {
+        Path file = Files.createTempFile("catalog", ".snapshot");
+        CatalogSnapshot.write(recommendations, file);
+        return file;
+    }
+
+    @Test
+    @DisplayName("Every subtype round-trips through the mapped file")
+    void testRoundTrip() throws Exception {
+        Path file = writeSnapshot(catalog);
+        try (var snapshot = CatalogSnapshot.open(file)) {
+            assertEquals(catalog.size(), snapshot.size());
+            assertEquals(catalog, snapshot.asList());
+            assertEquals(RecommendationType.PACKAGE, snapshot.type(0));
+            assertEquals(0.5, snapshot.confidenceScore(1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Queries read the columns and decode only what they return")
+    void testQueries() throws Exception {
+        Path file = writeSnapshot(catalog);
+        try (var snapshot = CatalogSnapshot.open(file)) {
+            assertEquals(new RecommendationCounts(1, 1, 1, 1), snapshot.countByType());
+            assertArrayEquals(new int[] {3}, snapshot.rowsOfType(RecommendationType.HOTEL));
+            assertEquals(List.of(catalog.get(0), catalog.get(2)), snapshot.filterByConfidence(0.9));
+            assertEquals(2, snapshot.indexOf("F1"));
+            assertEquals(Optional.of(catalog.get(3)), snapshot.findById("H1"));
+            assertEquals(-1, snapshot.indexOf("X9"));
+            assertEquals(Optional.empty(), snapshot.findById("A0"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Every id is found in a shuffled catalog and no temporary file is left behind")
+    void testIdIndex() throws Exception {
+        List<Recommendation> many = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            many.add(new HotelRecommendation(i % 500 == 0 ? null : "H" + (i % 1_500), "Hotel " + i, null, 0.5,
+                "Hotel " + i, 3, "Paris", null, 100.0 + i, 1.0, false));
+        }
+        Collections.shuffle(many, new Random(7));
+        Path directory = Files.createTempDirectory("snapshots");
+        Path file = directory.resolve("catalog.snapshot");
+        try {
+            CatalogSnapshot.write(many, file);
+            try (var files = Files.list(directory)) {
+                assertEquals(List.of(file), files.toList());
+            }
+            try (var snapshot = CatalogSnapshot.open(file)) {
+                assertEquals(many, snapshot.asList());
+                for (Recommendation recommendation : many) {
+                    if (recommendation.getId() != null) {
+                        int row = snapshot.indexOf(recommendation.getId());
+                        assertEquals(recommendation.getId(), many.get(row).getId());
+                    }
+                }
+                assertEquals(-1, snapshot.indexOf("H1500"));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    @DisplayName("Rewriting a snapshot leaves open snapshots of the old file readable")
+    void testRewriteWhileOpen() throws Exception {
+        Path file = writeSnapshot(catalog);
+        try (var old = CatalogSnapshot.open(file)) {
+            CatalogSnapshot.write(catalog.subList(0, 1), file);
+            assertEquals(catalog, old.asList());
+            try (var rewritten = CatalogSnapshot.open(file)) {
+                assertEquals(catalog.subList(0, 1), rewritten.asList());
+            }
+            assertThrows(NullPointerException.class, () -> CatalogSnapshot.write(Arrays.asList(catalog.get(1), null), file));
+            try (var kept = CatalogSnapshot.open(file)) {
+                assertEquals(catalog.subList(0, 1), kept.asList());
+            }
+            try (var files = Files.list(file.getParent())) {
+                assertEquals(0, files.filter(p -> p.getFileName().toString().startsWith(file.getFileName().toString())
+                    && !p.equals(file)).count());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Empty catalogs and foreign files are handled")
+    void testEmptyAndInvalid() throws Exception {
+        Path file = writeSnapshot(List.of());
+        Path foreign = Files.createTempFile("foreign", ".bin");
+        try {
+            try (var snapshot = CatalogSnapshot.open(file)) {
+                assertEquals(0, snapshot.size());
+                assertEquals(-1, snapshot.indexOf("F1"));
+                assertEquals(0, snapshot.countByType().total());
+            }
+            Files.write(foreign, new byte[128]);
+            assertThrows(IOException.class, () -> CatalogSnapshot.open(foreign));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(foreign);
+        }
+    }
+
+    @Test
+    @DisplayName("Closed snapshots reject access")
+    void testClose() throws Exception {
+        Path file = writeSnapshot(catalog);
+        try {
+            var snapshot = CatalogSnapshot.open(file);
+            snapshot.close();
+            assertThrows(IllegalStateException.class, () -> snapshot.get(0));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.edreams.travelrecommender.sort;
+
+import com.edreams.travelrecommender.model.HotelRecommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the primitive radix sort of recommendations.
+ */
+@DisplayName("Recommendation Sort Tests")
+class RecommendationSortTest {
+
+    private List<HotelRecommendation> hotels;
+
+    @BeforeEach
+    void setUp() {
+        hotels = hotels(5_000, new Random(3));
+    }
+
+    private static List<HotelRecommendation> hotels(int count, Random random) {
+        List<HotelRecommendation> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(new HotelRecommendation("H" + i, "Hotel " + i, "A test hotel", random.nextInt(101) / 100.0,
+                "Hotel " + i, 1 + random.nextInt(5), "Paris", List.of(), 50 + random.nextInt(40) * 12.5,
+                random.nextDouble() * 10, true));
+        }
+        return list;
+    }
+
+    private static int[] boxedOrder(double[] keys, boolean descending) {
+        Comparator<Integer> byKey = (a, b) -> Double.compare(keys[a], keys[b]);
+        return IntStream.range(0, keys.length).boxed()
+            .sorted(descending ? byKey.reversed() : byKey)
+            .mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    @DisplayName("Single keys sort like a stable comparator sort")
+    void testSingleKey() {
+        var expected = new ArrayList<>(hotels);
+        expected.sort(Comparator.comparingDouble(HotelRecommendation::pricePerNight));
+        assertEquals(expected, RecommendationSort.sort(hotels, SortKey.ascending(HotelRecommendation::pricePerNight)));
+
+        expected = new ArrayList<>(hotels);
+        expected.sort(Comparator.comparingDouble(HotelRecommendation::confidenceScore).reversed());
+        assertEquals(expected, RecommendationSort.sort(hotels, SortKey.descending(HotelRecommendation::confidenceScore)));
+    }
+
+    @Test
+    @DisplayName("Multiple keys order by the first and break ties with the next")
+    void testMultiKey() {
+        var expected = new ArrayList<>(hotels);
+        expected.sort(Comparator.comparingInt(HotelRecommendation::starRating).reversed()
+            .thenComparingDouble(HotelRecommendation::pricePerNight)
+            .thenComparing(Comparator.comparingDouble(HotelRecommendation::distanceToCenter).reversed()));
+
+        var actual = RecommendationSort.sort(hotels,
+            SortKey.descending(HotelRecommendation::starRating),
+            SortKey.ascending(HotelRecommendation::pricePerNight),
+            SortKey.descending(HotelRecommendation::distanceToCenter));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Key columns order negatives, signed zeros, infinities and NaN like Double.compare")
+    void testSortedOrdinals() {
+        double[] special = {3.0, Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, -1.5, 0.0, Double.POSITIVE_INFINITY,
+            -0.0, Double.MIN_VALUE, -Double.MAX_VALUE, 3.0};
+        for (boolean descending : new boolean[] {false, true}) {
+            assertArrayEquals(boxedOrder(special, descending), RecommendationSort.sortedOrdinals(special, descending));
+        }
+
+        Random random = new Random(5);
+        double[] wide = new double[20_000];
+        for (int i = 0; i < wide.length; i++) {
+            wide[i] = i % 7 == 0 ? wide[random.nextInt(i + 1)] : (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+        }
+        for (boolean descending : new boolean[] {false, true}) {
+            assertArrayEquals(boxedOrder(wide, descending), RecommendationSort.sortedOrdinals(wide, descending));
+        }
+        assertEquals(0, RecommendationSort.sortedOrdinals(new double[0], false).length);
+    }
+
+    @Test
+    @DisplayName("Parallel sorting returns the same order as sequential sorting")
+    void testParallelSort() {
+        var large = hotels(100_000, new Random(9));
+        var pool = new ForkJoinPool(4);
+        try {
+            SortKey<HotelRecommendation> stars = SortKey.descending(HotelRecommendation::starRating);
+            SortKey<HotelRecommendation> price = SortKey.ascending(HotelRecommendation::pricePerNight);
+            assertEquals(RecommendationSort.sort(large, stars, price),
+                RecommendationSort.parallelSort(large, 0, pool, stars, price));
+            // Below the default threshold the parallel entry point sorts sequentially
+            assertEquals(RecommendationSort.sort(hotels, price), RecommendationSort.parallelSort(hotels, price));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Small lists, empty lists and missing keys keep the source order")
+    void testEdgeCases() {
+        var few = hotels.subList(0, 10);
+        var expected = new ArrayList<>(few);
+        expected.sort(Comparator.comparingDouble(HotelRecommendation::pricePerNight));
+        assertEquals(expected, RecommendationSort.sort(few, SortKey.ascending(HotelRecommendation::pricePerNight)));
+
+        assertEquals(hotels, RecommendationSort.sort(hotels));
+        assertTrue(RecommendationSort.sort(List.<HotelRecommendation>of(),
+            SortKey.ascending(HotelRecommendation::pricePerNight)).isEmpty());
+        assertThrows(NullPointerException.class, () -> SortKey.ascending(null));
+    }
+}
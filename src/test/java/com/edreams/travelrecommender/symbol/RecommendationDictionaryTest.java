@@ -0,0 +1,165 @@
+package com.edreams.travelrecommender.symbol;
+
+import com.edreams.travelrecommender.RecommendationService;
+import com.edreams.travelrecommender.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the symbol table and the recommendation dictionary.
+ */
+@DisplayName("Recommendation Dictionary Tests")
+class RecommendationDictionaryTest {
+
+    private static FlightRecommendation flight(String id, String from, String to, String airline) {
+        return new FlightRecommendation(
+            id, "Flight " + id, "A test flight", 0.8,
+            new String(from), new String(to),
+            LocalDateTime.of(2024, 1, 1, 8, 0), LocalDateTime.of(2024, 1, 1, 12, 0),
+            new String(airline), true, List.of(), 200.0
+        );
+    }
+
+    private static HotelRecommendation hotel(String id, String location) {
+        return new HotelRecommendation(
+            id, "Hotel " + id, "A test hotel", 0.7,
+            "Test Hotel", 4, new String(location), List.of(), 100.0, 1.0, true
+        );
+    }
+
+    private static ActivityRecommendation activity(String id, String location) {
+        return new ActivityRecommendation(
+            id, "Activity " + id, "A test activity", 0.6,
+            "Test Activity", new String(location), Duration.ofHours(2),
+            List.of("Test"), false, 30.0, 0
+        );
+    }
+
+    @Test
+    @DisplayName("Codes are dense, stable and decode to the canonical instance")
+    void testSymbolTableCodes() {
+        var table = new SymbolTable();
+
+        int jfk = table.encode("JFK");
+        int lax = table.encode("LAX");
+
+        assertEquals(0, jfk);
+        assertEquals(1, lax);
+        assertEquals(jfk, table.encode(new String("JFK")));
+        assertEquals(jfk, table.codeOf("JFK"));
+        assertEquals(SymbolTable.NO_CODE, table.codeOf("SFO"));
+        assertSame(table.decode(jfk), table.canonical(new String("JFK")));
+        assertNull(table.canonical(null));
+        assertEquals(2, table.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> table.decode(2));
+        assertThrows(NullPointerException.class, () -> table.encode(null));
+    }
+
+    @Test
+    @DisplayName("Concurrent encoding assigns one code per distinct value")
+    void testConcurrentEncoding() {
+        var table = new SymbolTable();
+        Set<Integer> codes = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 20_000).parallel()
+            .forEach(i -> codes.add(table.encode("V" + (i % 500))));
+
+        assertEquals(500, table.size());
+        assertEquals(500, codes.size());
+        for (int i = 0; i < 500; i++) {
+            int code = table.codeOf("V" + i);
+            assertTrue(code >= 0 && code < 500);
+            assertEquals("V" + i, table.decode(code));
+        }
+    }
+
+    @Test
+    @DisplayName("Canonicalized records share string instances and stay equal")
+    void testCanonicalizeShares() {
+        var dictionary = new RecommendationDictionary();
+        var first = flight("F1", "JFK", "LAX", "Test Airline");
+        var second = flight("F2", "LAX", "JFK", "Test Airline");
+
+        var canonicalFirst = dictionary.canonicalize(first);
+        var canonicalSecond = dictionary.canonicalize(second);
+
+        assertEquals(first, canonicalFirst);
+        assertEquals(second, canonicalSecond);
+        assertSame(canonicalFirst.departureAirport(), canonicalSecond.arrivalAirport());
+        assertSame(canonicalFirst.airline(), canonicalSecond.airline());
+        assertSame(canonicalFirst, dictionary.canonicalize(canonicalFirst));
+        assertEquals(2, dictionary.airports().size());
+        assertEquals(1, dictionary.airlines().size());
+    }
+
+    @Test
+    @DisplayName("Packages and mixed lists are canonicalized through the sealed hierarchy")
+    void testCanonicalizeMixed() {
+        var dictionary = new RecommendationDictionary();
+        var pkg = new PackageRecommendation(
+            "P1", "Package", "A test package", 0.9,
+            flight("F1", "JFK", "CDG", "Test Airline"), hotel("H1", "Paris"),
+            List.of(activity("A1", "Paris")), 0.1, 300.0
+        );
+        List<Recommendation> mixed = List.of(pkg, hotel("H2", "Paris"), activity("A2", "Rome"));
+
+        List<Recommendation> canonical = dictionary.canonicalizeAll(mixed);
+
+        assertEquals(mixed, canonical);
+        var canonicalPackage = (PackageRecommendation) canonical.get(0);
+        assertSame(canonicalPackage.hotel().location(), canonicalPackage.activities().get(0).location());
+        assertSame(canonicalPackage.hotel().location(), ((HotelRecommendation) canonical.get(1)).location());
+        assertEquals(2, dictionary.locations().size());
+    }
+
+    @Test
+    @DisplayName("Equality predicates and code columns select the same flights")
+    void testPredicatesAndCodes() {
+        var dictionary = new RecommendationDictionary();
+        List<FlightRecommendation> flights = dictionary.canonicalizeAll(List.of(
+            flight("F1", "JFK", "LAX", "Alpha"),
+            flight("F2", "LAX", "JFK", "Beta"),
+            flight("F3", "JFK", "SFO", "Beta")
+        ));
+
+        var fromJfk = RecommendationService.filterByPredicate(flights, dictionary.departsFrom("JFK"));
+        int[] departures = dictionary.airports().encodeAll(flights, FlightRecommendation::departureAirport);
+        int jfk = dictionary.airports().codeOf("JFK");
+
+        assertEquals(List.of("F1", "F3"), fromJfk.stream().map(FlightRecommendation::id).toList());
+        assertArrayEquals(new int[] {jfk, dictionary.airports().codeOf("LAX"), jfk}, departures);
+        assertEquals(1, RecommendationService.filterByPredicate(flights, dictionary.arrivesAt("JFK")).size());
+        assertEquals(2, RecommendationService.filterByPredicate(flights, dictionary.operatedBy("Beta")).size());
+        var paris = dictionary.canonicalize(hotel("H1", "Paris"));
+        assertTrue(dictionary.locatedIn("Paris").test(paris));
+        assertFalse(dictionary.locatedIn("Paris").test(flights.get(0)));
+    }
+
+    @Test
+    @DisplayName("Query values are looked up without growing the dictionary")
+    void testPredicatesDoNotIntern() {
+        var dictionary = new RecommendationDictionary();
+        var jfk = dictionary.canonicalize(flight("F1", "JFK", "LAX", "Alpha"));
+        int airports = dictionary.airports().size();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(dictionary.departsFrom("Q" + i).test(jfk));
+            assertFalse(dictionary.locatedIn("Q" + i).test(hotel("H1", "Q" + i)));
+        }
+        assertFalse(dictionary.operatedBy("Gamma").test(jfk));
+        assertEquals(airports, dictionary.airports().size());
+        assertEquals(1, dictionary.airlines().size());
+        assertEquals(0, dictionary.locations().size());
+        assertThrows(NullPointerException.class, () -> dictionary.arrivesAt(null));
+        assertThrows(NullPointerException.class, () -> dictionary.locatedIn(null));
+    }
+}